@@ -1,16 +1,28 @@
 package com.proj.taskmanager.controller;
 
+import com.proj.taskmanager.dto.CustomFieldDto;
+import com.proj.taskmanager.dto.ProjectDeletionDto;
+import com.proj.taskmanager.dto.ProjectDto;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.exceptions.PreconditionFailedException;
 import com.proj.taskmanager.model.Project;
 import com.proj.taskmanager.request.project.AddMemberReq;
 import com.proj.taskmanager.request.project.ChangeMemberRoleReq;
+import com.proj.taskmanager.request.project.CreateCustomFieldReq;
 import com.proj.taskmanager.request.project.CreateProjectReq;
 import com.proj.taskmanager.response.ApiResponse;
 import com.proj.taskmanager.security.JwtUtil;
+import com.proj.taskmanager.service.customfield.CustomFieldService;
+import com.proj.taskmanager.service.idempotency.IdempotencyService;
 import com.proj.taskmanager.service.project.IProjectService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,12 +35,16 @@ import java.util.List;
 @Tag(name = "Project Controller", description = "APIs related to Project management")
 public class ProjectController {
     private final IProjectService projectService;
+    private final ProjectVersionService projectVersionService;
+    private final IdempotencyService idempotencyService;
+    private final CustomFieldService customFieldService;
     private final JwtUtil jwtUtil;
 
     @PostMapping("/create")
-    @Operation(summary = "Create a new project", description = "Creates a new project and assigns the creator as the owner")
+    @Operation(summary = "Create a new project", description = "Creates a new project and assigns the creator as the owner. Send an Idempotency-Key header to make retries return the first response instead of creating the project again.")
     public ResponseEntity<ApiResponse> createProject(
             @Valid @RequestBody CreateProjectReq request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -37,9 +53,13 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                Project project = projectService.createProject(userId, request);
+                return idempotencyService.execute(userId, "project/create", idempotencyKey, request, () -> {
+                    Project project = projectService.createProject(userId, request);
 
-                return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse("Project created successfully!", project));
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .eTag(ETagUtils.toETag(project.getVersion()))
+                            .body(new ApiResponse("Project created successfully!", projectService.convertProjectToDto(project)));
+                });
             } catch (Exception e) {
                 return ResponseEntity.badRequest().body(new ApiResponse("Failed to create project: " + e.getMessage(), null));
             }
@@ -48,8 +68,9 @@ public class ProjectController {
     }
 
     @GetMapping("/user")
-    @Operation(summary = "Get all projects for user", description = "Retrieves all projects where the user is either the creator or a member")
+    @Operation(summary = "Get all projects for user", description = "Retrieves all projects where the user is either the creator or a member. Send the returned ETag as If-None-Match to get 304 Not Modified while nothing changed.")
     public ResponseEntity<ApiResponse> getAllProjectsByUser(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -58,9 +79,20 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                List<Project> projects = projectService.getAllProjectsByUserId(userId);
+                // Read before the list so a concurrent change can only make the tag older than the body, never newer
+                String eTag = ETagUtils.toETag(projectVersionService.getUserProjectsVersion(userId));
+                if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+                }
 
-                return ResponseEntity.ok(new ApiResponse("Projects retrieved successfully!", projects));
+                List<ProjectDto> projects = projectService.getAllProjectsByUserId(userId).stream()
+                        .map(projectService::convertProjectToDto)
+                        .toList();
+
+                return ResponseEntity.ok()
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .body(new ApiResponse("Projects retrieved successfully!", projects));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -75,6 +107,7 @@ public class ProjectController {
     public ResponseEntity<ApiResponse> addMemberToProject(
             @PathVariable Long projectId,
             @Valid @RequestBody AddMemberReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -83,9 +116,13 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                projectService.addMemberToProject(userId, projectId, request.projectMemberId(), request.projectRole());
+                Project project = projectService.addMemberToProject(userId, projectId, request.projectMemberId(), request.projectRole(), ETagUtils.parseVersion(ifMatch));
 
-                return ResponseEntity.ok(new ApiResponse("Member added to project successfully!", null));
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(project.getVersion()))
+                        .body(new ApiResponse("Member added to project successfully!", null));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -100,6 +137,7 @@ public class ProjectController {
     public ResponseEntity<ApiResponse> removeMemberFromProject(
             @PathVariable Long projectId,
             @PathVariable Long memberId,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -108,9 +146,13 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                projectService.removeMemberFromProject(userId, projectId, memberId);
+                Project project = projectService.removeMemberFromProject(userId, projectId, memberId, ETagUtils.parseVersion(ifMatch));
 
-                return ResponseEntity.ok(new ApiResponse("Member removed from project successfully!", null));
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(project.getVersion()))
+                        .body(new ApiResponse("Member removed from project successfully!", null));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -126,6 +168,7 @@ public class ProjectController {
             @PathVariable Long projectId,
             @PathVariable Long memberId,
             @Valid @RequestBody ChangeMemberRoleReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -134,9 +177,13 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                projectService.changeMemberRole(userId, projectId, memberId, request.projectRole());
+                Project project = projectService.changeMemberRole(userId, projectId, memberId, request.projectRole(), ETagUtils.parseVersion(ifMatch));
 
-                return ResponseEntity.ok(new ApiResponse("Member role changed successfully!", null));
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(project.getVersion()))
+                        .body(new ApiResponse("Member role changed successfully!", null));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -147,7 +194,7 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{projectId}")
-    @Operation(summary = "Delete project", description = "Deletes a project. Only project owners and editors can delete projects.")
+    @Operation(summary = "Delete project", description = "Deletes a project. Only project owners and editors can delete projects. The project disappears at once; its tasks are removed in the background, and the returned status can be followed at /{projectId}/deletion.")
     public ResponseEntity<ApiResponse> deleteProject(
             @PathVariable Long projectId,
             @RequestHeader("Authorization") String authHeader
@@ -158,9 +205,9 @@ public class ProjectController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                projectService.deleteProject(userId, projectId);
+                ProjectDeletionDto deletion = projectService.deleteProject(userId, projectId);
 
-                return ResponseEntity.ok(new ApiResponse("Project deleted successfully!", null));
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponse("Project deleted successfully!", deletion));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -169,4 +216,105 @@ public class ProjectController {
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
+
+    @GetMapping("/{projectId}/deletion")
+    @Operation(summary = "Get project deletion status", description = "Shows how far the background removal of a deleted project's tasks has got. Only the user who deleted the project can see it.")
+    public ResponseEntity<ApiResponse> getProjectDeletion(
+            @PathVariable Long projectId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                ProjectDeletionDto deletion = projectService.getProjectDeletion(userId, projectId);
+
+                return ResponseEntity.ok(new ApiResponse("Project deletion status retrieved successfully!", deletion));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve project deletion status: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/{projectId}/custom-fields")
+    @Operation(summary = "Create custom field", description = "Adds a typed field (NUMBER, TEXT, DATE, BOOLEAN or SELECT with options) to the tasks of a project. Only project owners and editors can manage custom fields.")
+    public ResponseEntity<ApiResponse> createCustomField(
+            @PathVariable Long projectId,
+            @Valid @RequestBody CreateCustomFieldReq request,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                CustomFieldDto field = customFieldService.createField(userId, projectId, request);
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse("Custom field created successfully!", field));
+            } catch (AlreadyExistsException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to create custom field: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{projectId}/custom-fields")
+    @Operation(summary = "Get custom fields", description = "Lists the custom fields of a project")
+    public ResponseEntity<ApiResponse> getCustomFields(
+            @PathVariable Long projectId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<CustomFieldDto> fields = customFieldService.getFields(userId, projectId);
+
+                return ResponseEntity.ok(new ApiResponse("Custom fields retrieved successfully!", fields));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve custom fields: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/{projectId}/custom-fields/{fieldId}")
+    @Operation(summary = "Delete custom field", description = "Removes a custom field and its values from every task of the project")
+    public ResponseEntity<ApiResponse> deleteCustomField(
+            @PathVariable Long projectId,
+            @PathVariable Long fieldId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                customFieldService.deleteField(userId, projectId, fieldId);
+
+                return ResponseEntity.ok(new ApiResponse("Custom field deleted successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete custom field: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
 }
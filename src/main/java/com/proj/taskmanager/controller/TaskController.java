@@ -1,21 +1,75 @@
 package com.proj.taskmanager.controller;
 
+import com.proj.taskmanager.dto.ArchivedTaskDto;
+import com.proj.taskmanager.dto.ProjectTimeReportDto;
+import com.proj.taskmanager.dto.TaskActivityDto;
+import com.proj.taskmanager.dto.TaskAttachmentDto;
+import com.proj.taskmanager.dto.TaskBoardDto;
+import com.proj.taskmanager.dto.TaskCountersDto;
+import com.proj.taskmanager.dto.TaskDependencyGraphDto;
+import com.proj.taskmanager.dto.TaskFieldPage;
+import com.proj.taskmanager.dto.TaskImportReport;
+import com.proj.taskmanager.dto.TaskInboxPage;
+import com.proj.taskmanager.dto.TaskLabelPage;
+import com.proj.taskmanager.dto.TaskRecurrenceDto;
+import com.proj.taskmanager.dto.TaskSummaryDto;
+import com.proj.taskmanager.dto.TaskSyncPage;
+import com.proj.taskmanager.dto.TaskTimeReportDto;
+import com.proj.taskmanager.dto.TimeEntryDto;
+import com.proj.taskmanager.dto.TimeEntryPage;
+import com.proj.taskmanager.enums.TaskExportFormat;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.exceptions.PreconditionFailedException;
 import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskAttachment;
+import com.proj.taskmanager.request.recurrence.CreateRecurrenceReq;
 import com.proj.taskmanager.request.task.CreateTaskReq;
+import com.proj.taskmanager.request.task.LogTimeReq;
+import com.proj.taskmanager.request.task.MoveTaskReq;
+import com.proj.taskmanager.request.task.SetCustomFieldsReq;
+import com.proj.taskmanager.request.task.SetTaskLabelsReq;
 import com.proj.taskmanager.request.task.UpdateTaskReq;
+import com.proj.taskmanager.request.task.UpdateTaskStatusReq;
 import com.proj.taskmanager.response.ApiResponse;
 import com.proj.taskmanager.security.JwtUtil;
+import com.proj.taskmanager.service.activity.TaskActivityService;
+import com.proj.taskmanager.service.archive.TaskArchiveService;
+import com.proj.taskmanager.service.attachment.ByteRange;
+import com.proj.taskmanager.service.attachment.TaskAttachmentService;
+import com.proj.taskmanager.service.feed.ProjectChangeFeed;
+import com.proj.taskmanager.service.idempotency.IdempotencyService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.recurrence.TaskRecurrenceService;
+import com.proj.taskmanager.service.search.TaskSearchIndex;
+import com.proj.taskmanager.service.search.TaskSearchService;
 import com.proj.taskmanager.service.task.ITaskService;
+import com.proj.taskmanager.service.task.TaskExportService;
+import com.proj.taskmanager.service.task.TaskImportService;
+import com.proj.taskmanager.service.time.TimeTrackingService;
+import com.proj.taskmanager.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @RestController
@@ -23,12 +77,24 @@ import java.util.List;
 @Tag(name = "Task Controller", description = "APIs related to Task management")
 public class TaskController {
     private final ITaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final ProjectChangeFeed projectChangeFeed;
+    private final ProjectVersionService projectVersionService;
+    private final TaskActivityService taskActivityService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskRecurrenceService taskRecurrenceService;
+    private final TaskAttachmentService taskAttachmentService;
+    private final TimeTrackingService timeTrackingService;
+    private final IdempotencyService idempotencyService;
     private final JwtUtil jwtUtil;
 
     @PostMapping("/create")
-    @Operation(summary = "Create a new task", description = "Creates a new task in a project. Can optionally assign the task and set a due date.")
+    @Operation(summary = "Create a new task", description = "Creates a new task in a project. Can optionally assign the task and set a due date. Send an Idempotency-Key header to make retries return the first response instead of creating the task again.")
     public ResponseEntity<ApiResponse> createTask(
             @Valid @RequestBody CreateTaskReq request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -37,9 +103,13 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                Task task = taskService.createTask(userId, request);
+                return idempotencyService.execute(userId, "task/create", idempotencyKey, request, () -> {
+                    Task task = taskService.createTask(userId, request);
 
-                return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse("Task created successfully!", task));
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .eTag(ETagUtils.toETag(task.getVersion()))
+                            .body(new ApiResponse("Task created successfully!", taskService.convertTaskToDto(task)));
+                });
             } catch (Exception e) {
                 return ResponseEntity.badRequest().body(new ApiResponse("Failed to create task: " + e.getMessage(), null));
             }
@@ -47,6 +117,132 @@ public class TaskController {
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
+    @PostMapping("/recurrence")
+    @Operation(summary = "Create a recurring task", description = "Creates a rule that adds a task on every date of a daily, weekly, monthly or cron schedule. Tasks are created ahead of time up to a rolling horizon; the first ones are created right away.")
+    public ResponseEntity<ApiResponse> createRecurrence(
+            @Valid @RequestBody CreateRecurrenceReq request,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskRecurrenceDto recurrence = taskRecurrenceService.createRecurrence(userId, request);
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse("Recurring task created successfully!", recurrence));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to create recurring task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/recurrence/{recurrenceId}")
+    @Operation(summary = "Delete a recurring task", description = "Stops a recurrence rule. Tasks it already created are kept.")
+    public ResponseEntity<ApiResponse> deleteRecurrence(
+            @PathVariable Long recurrenceId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                taskRecurrenceService.deleteRecurrence(userId, recurrenceId);
+
+                return ResponseEntity.ok(new ApiResponse("Recurring task deleted successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete recurring task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks", description = "Full-text search over task titles and descriptions in all projects visible to the user, ranked by relevance")
+    public ResponseEntity<ApiResponse> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<TaskSummaryDto> tasks = taskSearchService.search(userId, q, limit).stream()
+                        .map(taskService::convertTaskToSummaryDto)
+                        .toList();
+
+                return ResponseEntity.ok(new ApiResponse("Tasks found: " + tasks.size(), tasks));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to search tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/assigned")
+    @Operation(summary = "Get my assigned tasks", description = "Tasks assigned to the user in all projects they belong to, soonest due date first and undated tasks last. Pass the returned nextCursor as cursor for the next page.")
+    public ResponseEntity<ApiResponse> getAssignedTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskInboxPage page = taskService.getAssignedTasks(userId, cursor, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Assigned tasks retrieved successfully!", page));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve assigned tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Rebuild search index", description = "Rebuilds the in-memory task search index from the database. Admin only.")
+    public ResponseEntity<ApiResponse> rebuildSearchIndex(
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                if (!jwtUtil.extractRoles(token).contains("ADMIN")) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse("Only admins can rebuild the search index", null));
+                }
+
+                TaskSearchIndex.Stats stats = taskSearchService.rebuild();
+
+                return ResponseEntity.ok(new ApiResponse("Search index rebuilt successfully!", stats));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to rebuild search index: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID")
     public ResponseEntity<ApiResponse> getTask(
@@ -61,7 +257,9 @@ public class TaskController {
 
                 Task task = taskService.getTaskById(taskId);
 
-                return ResponseEntity.ok(new ApiResponse("Task retrieved successfully!", task));
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task retrieved successfully!", taskService.convertTaskToDto(task)));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -71,10 +269,87 @@ public class TaskController {
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
+    @GetMapping("/archive/{taskId}")
+    @Operation(summary = "Get archived task", description = "Retrieves a task that the archiver moved out of the project because it was finished long ago")
+    public ResponseEntity<ApiResponse> getArchivedTask(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                ArchivedTaskDto task = taskArchiveService.getArchivedTask(userId, taskId);
+
+                return ResponseEntity.ok(new ApiResponse("Archived task retrieved successfully!", task));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve archived task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/{taskId}/restore")
+    @Operation(summary = "Restore archived task", description = "Moves an archived task back into its project. Any update to an archived task restores it as well.")
+    public ResponseEntity<ApiResponse> restoreTask(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.restoreTask(userId, taskId);
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task restored successfully!", taskService.convertTaskToDto(task)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to restore task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{taskId}/activity")
+    @Operation(summary = "Get task history", description = "Lists field changes of a task, newest first. Pass the id of the last entry as before to get the next page. Also works for deleted tasks.")
+    public ResponseEntity<ApiResponse> getTaskActivity(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<TaskActivityDto> activity = taskActivityService.getTaskActivity(userId, taskId, before, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Activity retrieved successfully!", activity));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve activity: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
     @GetMapping("/project/{projectId}")
-    @Operation(summary = "Get all tasks in project", description = "Retrieves all tasks in a specific project")
+    @Operation(summary = "Get all tasks in project", description = "Retrieves all tasks in a specific project. Send the returned ETag as If-None-Match to get 304 Not Modified while nothing in the project changed.")
     public ResponseEntity<ApiResponse> getAllTasksByProject(
             @PathVariable Long projectId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -83,9 +358,20 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                List<Task> tasks = taskService.getAllTaskByProjectId(projectId);
+                // Read before the list so a concurrent change can only make the tag older than the body, never newer
+                String eTag = ETagUtils.toETag(projectVersionService.getVersion(projectId));
+                if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+                }
 
-                return ResponseEntity.ok(new ApiResponse("Tasks retrieved successfully!", tasks));
+                List<TaskSummaryDto> tasks = taskService.getAllTaskByProjectId(projectId).stream()
+                        .map(taskService::convertTaskToSummaryDto)
+                        .toList();
+
+                return ResponseEntity.ok()
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .body(new ApiResponse("Tasks retrieved successfully!", tasks));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
@@ -95,36 +381,36 @@ public class TaskController {
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
-    @GetMapping("/project/{projectId}/user/{userId}")
-    @Operation(summary = "Get tasks assigned to user", description = "Retrieves all tasks assigned to a specific user in a project")
-    public ResponseEntity<ApiResponse> getAllTasksByUser(
+    @GetMapping("/project/{projectId}/summary")
+    @Operation(summary = "Get task counters for project", description = "Returns task counts per status plus overdue and unassigned counts, served from pre-aggregated counters")
+    public ResponseEntity<ApiResponse> getTaskCounters(
             @PathVariable Long projectId,
-            @PathVariable Long userId,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
             try {
-                Long currentUserId = jwtUtil.extractUserId(token);
+                Long userId = jwtUtil.extractUserId(token);
 
-                List<Task> tasks = taskService.getAllTaskByUserId(projectId, userId);
+                TaskCountersDto counters = taskService.getTaskCounters(userId, projectId);
 
-                return ResponseEntity.ok(new ApiResponse("User tasks retrieved successfully!", tasks));
+                return ResponseEntity.ok(new ApiResponse("Task counters retrieved successfully!", counters));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
-                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve user tasks: " + e.getMessage(), null));
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve task counters: " + e.getMessage(), null));
             }
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
-    @PutMapping("/{taskId}")
-    @Operation(summary = "Update task", description = "Updates task properties including title, description, due date, and assignee")
-    public ResponseEntity<ApiResponse> updateTask(
-            @PathVariable Long taskId,
-            @Valid @RequestBody UpdateTaskReq request,
+    @GetMapping("/project/{projectId}/activity")
+    @Operation(summary = "Get project history", description = "Lists task changes across a project, newest first. Pass the id of the last entry as before to get the next page.")
+    public ResponseEntity<ApiResponse> getProjectActivity(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -133,23 +419,24 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                Task task = taskService.updateTask(userId, taskId, request);
+                List<TaskActivityDto> activity = taskActivityService.getProjectActivity(userId, projectId, before, limit);
 
-                return ResponseEntity.ok(new ApiResponse("Task updated successfully!", task));
+                return ResponseEntity.ok(new ApiResponse("Activity retrieved successfully!", activity));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
-                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task: " + e.getMessage(), null));
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve activity: " + e.getMessage(), null));
             }
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
-    @PutMapping("/{taskId}/assign/{assigneeId}")
-    @Operation(summary = "Assign task to user", description = "Assigns a task to a specific user. The assignee must be a project member.")
-    public ResponseEntity<ApiResponse> assignTask(
-            @PathVariable Long taskId,
-            @PathVariable Long assigneeId,
+    @GetMapping("/project/{projectId}/archive")
+    @Operation(summary = "Get archived tasks in project", description = "Lists archived tasks of a project, most recently created first. Pass the id of the last task as before to get the next page.")
+    public ResponseEntity<ApiResponse> getArchivedTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -158,23 +445,22 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                Task task = taskService.assignTask(userId, taskId, assigneeId);
+                List<ArchivedTaskDto> tasks = taskArchiveService.getArchivedTasks(userId, projectId, before, limit);
 
-                return ResponseEntity.ok(new ApiResponse("Task assigned successfully!", task));
+                return ResponseEntity.ok(new ApiResponse("Archived tasks retrieved successfully!", tasks));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
-                return ResponseEntity.badRequest().body(new ApiResponse("Failed to assign task: " + e.getMessage(), null));
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve archived tasks: " + e.getMessage(), null));
             }
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
-    @PutMapping("/{taskId}/due-date")
-    @Operation(summary = "Update task due date", description = "Updates the due date of a specific task")
-    public ResponseEntity<ApiResponse> updateTaskDueDate(
-            @PathVariable Long taskId,
-            @RequestParam LocalDate dueDate,
+    @GetMapping("/project/{projectId}/recurrences")
+    @Operation(summary = "Get recurring tasks in project", description = "Lists the recurrence rules of a project with the date of each rule's next occurrence")
+    public ResponseEntity<ApiResponse> getRecurrences(
+            @PathVariable Long projectId,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -183,22 +469,22 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                Task task = taskService.updateTaskDueDate(userId, taskId, dueDate);
+                List<TaskRecurrenceDto> recurrences = taskRecurrenceService.getRecurrences(userId, projectId);
 
-                return ResponseEntity.ok(new ApiResponse("Task due date updated successfully!", task));
+                return ResponseEntity.ok(new ApiResponse("Recurring tasks retrieved successfully!", recurrences));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
-                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task due date: " + e.getMessage(), null));
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve recurring tasks: " + e.getMessage(), null));
             }
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
     }
 
-    @DeleteMapping("/{taskId}")
-    @Operation(summary = "Delete task", description = "Deletes a specific task. Only project owners and editors can delete tasks.")
-    public ResponseEntity<ApiResponse> deleteTask(
-            @PathVariable Long taskId,
+    @GetMapping("/project/{projectId}/dependencies")
+    @Operation(summary = "Analyze task dependencies", description = "Returns the project's tasks in dependency order, the open tasks waiting on open blockers and the critical path: the longest chain of open tasks, preferring the earliest due date.")
+    public ResponseEntity<ApiResponse> getDependencyGraph(
+            @PathVariable Long projectId,
             @RequestHeader("Authorization") String authHeader
     ) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -207,13 +493,897 @@ public class TaskController {
             try {
                 Long userId = jwtUtil.extractUserId(token);
 
-                taskService.deleteTask(userId, taskId);
+                TaskDependencyGraphDto graph = taskService.getDependencyGraph(userId, projectId);
 
-                return ResponseEntity.ok(new ApiResponse("Task deleted successfully!", null));
+                return ResponseEntity.ok(new ApiResponse("Task dependencies retrieved successfully!", graph));
             } catch (RuntimeException e) {
                 return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
             } catch (Exception e) {
-                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete task: " + e.getMessage(), null));
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve task dependencies: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/board")
+    @Operation(summary = "Get board", description = "Returns the first tasks of every status column in board order with each column's total, from a single query. Continue a column with the board column endpoint. Send the returned ETag as If-None-Match to get 304 Not Modified while nothing in the project changed.")
+    public ResponseEntity<ApiResponse> getBoard(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "20") int perColumn,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                // Read before the board so a concurrent change can only make the tag older than the body, never newer
+                String eTag = ETagUtils.toETag(projectVersionService.getVersion(projectId));
+                if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+                }
+
+                TaskBoardDto board = taskService.getBoard(userId, projectId, perColumn);
+
+                return ResponseEntity.ok()
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .body(new ApiResponse("Board retrieved successfully!", board));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve board: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/board/{status}")
+    @Operation(summary = "Get board column", description = "Lists the tasks of one status column in board order. Pass the id of the last task as after to get the next page.")
+    public ResponseEntity<ApiResponse> getBoardColumn(
+            @PathVariable Long projectId,
+            @PathVariable TaskStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<TaskSummaryDto> tasks = taskService.getBoardColumn(userId, projectId, status, after, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Board column retrieved successfully!", tasks));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve board column: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/sync")
+    @Operation(summary = "Sync tasks in project", description = "Returns tasks created, updated or deleted since the given cursor, oldest change first. Omit the cursor for a full first sync, then keep passing back the returned cursor.")
+    public ResponseEntity<ApiResponse> syncTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskSyncPage page = taskService.syncTasks(userId, projectId, cursor, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Task changes retrieved successfully!", page));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to sync tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping(value = "/project/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow task changes in project", description = "Server-Sent Events stream of task-created, task-updated, task-assigned and task-deleted events. Reconnect with Last-Event-ID to replay missed events; a resync event means the client must reload the project.")
+    public ResponseEntity<?> followProject(
+            @PathVariable Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                SseEmitter emitter = projectChangeFeed.subscribe(userId, projectId, lastEventId);
+
+                return ResponseEntity.ok()
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(new ApiResponse("Failed to follow project: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/export")
+    @Operation(summary = "Export tasks in project", description = "Streams every task in the project as NDJSON (default) or CSV. Send Accept-Encoding: gzip for a compressed download.")
+    public ResponseEntity<?> exportTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskExportFormat exportFormat = TaskExportFormat.fromValue(format);
+                StreamingResponseBody body = taskExportService.export(userId, projectId, exportFormat);
+
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("project-" + projectId + "-tasks." + exportFormat.getExtension())
+                                .build().toString())
+                        .body(body);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to export tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping(value = "/project/{projectId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import tasks into project", description = "Bulk-creates tasks from an uploaded CSV (with header row) or NDJSON file with title, description, dueDate, status and assigneeEmail fields. Valid rows are committed in batches; invalid rows are listed in the report.")
+    public ResponseEntity<ApiResponse> importTasks(
+            @PathVariable Long projectId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                String name = file.getOriginalFilename();
+                TaskExportFormat importFormat = TaskExportFormat.fromValue(format != null ? format
+                        : name != null && name.contains(".") ? name.substring(name.lastIndexOf('.') + 1) : "ndjson");
+
+                TaskImportReport report = taskImportService.importTasks(userId, projectId, importFormat, file.getInputStream());
+
+                return ResponseEntity.ok(new ApiResponse("Imported " + report.imported() + " of " + report.rowsRead() + " tasks", report));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to import tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/user/{userId}")
+    @Operation(summary = "Get tasks assigned to user", description = "Retrieves all tasks assigned to a specific user in a project")
+    public ResponseEntity<ApiResponse> getAllTasksByUser(
+            @PathVariable Long projectId,
+            @PathVariable Long userId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long currentUserId = jwtUtil.extractUserId(token);
+
+                List<TaskSummaryDto> tasks = taskService.getAllTaskByUserId(projectId, userId).stream()
+                        .map(taskService::convertTaskToSummaryDto)
+                        .toList();
+
+                return ResponseEntity.ok(new ApiResponse("User tasks retrieved successfully!", tasks));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve user tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}")
+    @Operation(summary = "Update task", description = "Updates task properties including title, description, due date, and assignee")
+    public ResponseEntity<ApiResponse> updateTask(
+            @PathVariable Long taskId,
+            @Valid @RequestBody UpdateTaskReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.updateTask(userId, taskId, request, ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task updated successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/project/{projectId}/claim")
+    @Operation(summary = "Claim next task", description = "Assigns the project's next unassigned, unblocked pending task to the user: highest priority first, then earliest due date. Concurrent callers always get different tasks. Data is null when nothing is left to claim.")
+    public ResponseEntity<ApiResponse> claimNextTask(
+            @PathVariable Long projectId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Optional<Task> task = taskService.claimNextTask(userId, projectId);
+                if (task.isEmpty()) {
+                    return ResponseEntity.ok(new ApiResponse("No task left to claim", null));
+                }
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.get().getVersion()))
+                        .body(new ApiResponse("Task claimed successfully!", taskService.convertTaskToDto(task.get())));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to claim task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/assign/{assigneeId}")
+    @Operation(summary = "Assign task to user", description = "Assigns a task to a specific user. The assignee must be a project member.")
+    public ResponseEntity<ApiResponse> assignTask(
+            @PathVariable Long taskId,
+            @PathVariable Long assigneeId,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.assignTask(userId, taskId, assigneeId, ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task assigned successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to assign task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/due-date")
+    @Operation(summary = "Update task due date", description = "Updates the due date of a specific task")
+    public ResponseEntity<ApiResponse> updateTaskDueDate(
+            @PathVariable Long taskId,
+            @RequestParam LocalDate dueDate,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.updateTaskDueDate(userId, taskId, dueDate, ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task due date updated successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task due date: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/status")
+    @Operation(summary = "Update task status", description = "Moves a task to another status. Only valid transitions are accepted and an If-Match header guards against concurrent edits.")
+    public ResponseEntity<ApiResponse> updateTaskStatus(
+            @PathVariable Long taskId,
+            @Valid @RequestBody UpdateTaskStatusReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.updateTaskStatus(userId, taskId, request.status(), ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task status updated successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task status: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/move")
+    @Operation(summary = "Move task on the board", description = "Places a task between two neighbours in a board column, optionally moving it to another status. Only the moved task is written. An If-Match header guards against concurrent edits.")
+    public ResponseEntity<ApiResponse> moveTask(
+            @PathVariable Long taskId,
+            @RequestBody MoveTaskReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.moveTask(userId, taskId, request, ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task moved successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to move task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/{taskId}")
+    @Operation(summary = "Delete task", description = "Deletes a specific task. Only project owners and editors can delete tasks.")
+    public ResponseEntity<ApiResponse> deleteTask(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                taskService.deleteTask(userId, taskId);
+
+                return ResponseEntity.ok(new ApiResponse("Task deleted successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete task: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/{taskId}/attachments")
+    @Operation(summary = "Upload task attachment", description = "Attaches the raw request body as a file named by the filename parameter; send the file's type as Content-Type. The body is streamed to disk while it is hashed, so large files are fine. Identical files are stored once.")
+    public ResponseEntity<ApiResponse> uploadAttachment(
+            @PathVariable Long taskId,
+            @RequestParam String filename,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader("Authorization") String authHeader,
+            HttpServletRequest request
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskAttachmentDto attachment = taskAttachmentService.upload(userId, taskId, filename, contentType,
+                        request.getContentLengthLong(), request.getInputStream());
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse("Attachment uploaded successfully!", attachment));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to upload attachment: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{taskId}/attachments")
+    @Operation(summary = "Get task attachments", description = "Lists the files attached to a task")
+    public ResponseEntity<ApiResponse> getAttachments(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<TaskAttachmentDto> attachments = taskAttachmentService.getAttachments(userId, taskId);
+
+                return ResponseEntity.ok(new ApiResponse("Attachments retrieved successfully!", attachments));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve attachments: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/attachments/{attachmentId}")
+    @Operation(summary = "Download task attachment", description = "Streams the attached file. Supports a single-range Range header (with If-Range) for resuming downloads, and If-None-Match against the content hash.")
+    public ResponseEntity<?> downloadAttachment(
+            @PathVariable Long attachmentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskAttachment attachment = taskAttachmentService.getAttachmentForDownload(userId, attachmentId);
+                // The content never changes, so its hash is a strong entity tag; Tomcat also skips compressing
+                // responses with a strong tag, which keeps byte ranges meaningful
+                String eTag = "\"" + attachment.getSha256() + "\"";
+                if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+
+                long size = attachment.getSize();
+                ByteRange byteRange = null;
+                if (ifRange == null || ifRange.trim().equals(eTag)) {
+                    try {
+                        byteRange = ByteRange.of(range, size);
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                                .build();
+                    }
+                }
+                long start = byteRange != null ? byteRange.start() : 0;
+                long length = byteRange != null ? byteRange.length() : size;
+                StreamingResponseBody body = output -> taskAttachmentService.writeContent(attachment, start, length, output);
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.status(byteRange != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                        .eTag(eTag)
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .contentType(MediaType.parseMediaType(attachment.getContentType()))
+                        .contentLength(length)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(attachment.getFilename(), StandardCharsets.UTF_8)
+                                .build().toString());
+                if (byteRange != null) {
+                    response.header(HttpHeaders.CONTENT_RANGE, byteRange.toContentRange(size));
+                }
+                return response.body(body);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to download attachment: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/attachments/{attachmentId}")
+    @Operation(summary = "Delete task attachment", description = "Removes a file from its task. Only project owners and editors can delete attachments.")
+    public ResponseEntity<ApiResponse> deleteAttachment(
+            @PathVariable Long attachmentId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                taskAttachmentService.deleteAttachment(userId, attachmentId);
+
+                return ResponseEntity.ok(new ApiResponse("Attachment deleted successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete attachment: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/{taskId}/dependencies/{blockerId}")
+    @Operation(summary = "Add task dependency", description = "Marks the task as blocked by another task of the same project. Rejected if it would create a dependency cycle.")
+    public ResponseEntity<ApiResponse> addTaskDependency(
+            @PathVariable Long taskId,
+            @PathVariable Long blockerId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                taskService.addTaskDependency(userId, taskId, blockerId);
+
+                return ResponseEntity.ok(new ApiResponse("Task dependency added successfully!", null));
+            } catch (AlreadyExistsException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to add task dependency: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/{taskId}/dependencies/{blockerId}")
+    @Operation(summary = "Remove task dependency", description = "Removes the dependency of the task on the given blocker.")
+    public ResponseEntity<ApiResponse> removeTaskDependency(
+            @PathVariable Long taskId,
+            @PathVariable Long blockerId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                taskService.removeTaskDependency(userId, taskId, blockerId);
+
+                return ResponseEntity.ok(new ApiResponse("Task dependency removed successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to remove task dependency: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/labels")
+    @Operation(summary = "Set task labels", description = "Replaces the labels of a task. Labels are lower-cased; each is 1 to 50 letters, digits or _ . : / - and a task has at most 20. An If-Match header guards against concurrent edits.")
+    public ResponseEntity<ApiResponse> setTaskLabels(
+            @PathVariable Long taskId,
+            @Valid @RequestBody SetTaskLabelsReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.setTaskLabels(userId, taskId, request.labels(), ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Task labels updated successfully!", taskService.getTaskLabels(userId, taskId)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update task labels: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{taskId}/labels")
+    @Operation(summary = "Get task labels", description = "Lists the labels of a task in alphabetical order")
+    public ResponseEntity<ApiResponse> getTaskLabels(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                List<String> labels = taskService.getTaskLabels(userId, taskId);
+
+                return ResponseEntity.ok(new ApiResponse("Task labels retrieved successfully!", labels));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve task labels: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/labels")
+    @Operation(summary = "Get project labels", description = "Lists the labels used in a project with the number of tasks carrying each")
+    public ResponseEntity<ApiResponse> getProjectLabels(
+            @PathVariable Long projectId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Map<String, Integer> labels = taskService.getProjectLabels(userId, projectId);
+
+                return ResponseEntity.ok(new ApiResponse("Project labels retrieved successfully!", labels));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve project labels: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/by-labels")
+    @Operation(summary = "Filter tasks by labels", description = "Lists the tasks of a project matching a label query such as 'bug AND (backend OR api) AND NOT blocked', in id order. Pass the returned nextAfter as after for the next page.")
+    public ResponseEntity<ApiResponse> findTasksByLabels(
+            @PathVariable Long projectId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskLabelPage page = taskService.findTasksByLabels(userId, projectId, q, after, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Tasks found: " + page.total(), page));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to filter tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PutMapping("/{taskId}/custom-fields")
+    @Operation(summary = "Set custom field values", description = "Sets custom field values of a task by field key; null clears a field and fields not listed are kept. An If-Match header guards against concurrent edits.")
+    public ResponseEntity<ApiResponse> setTaskCustomFields(
+            @PathVariable Long taskId,
+            @Valid @RequestBody SetCustomFieldsReq request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                Task task = taskService.setTaskCustomFields(userId, taskId, request.values(), ETagUtils.parseVersion(ifMatch));
+
+                return ResponseEntity.ok()
+                        .eTag(ETagUtils.toETag(task.getVersion()))
+                        .body(new ApiResponse("Custom fields updated successfully!", taskService.convertTaskToDto(task)));
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiResponse(e.getMessage(), null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to update custom fields: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/by-fields")
+    @Operation(summary = "Filter tasks by custom fields", description = "Lists the tasks of a project matching every filter (e.g. filter=story_points>=3&filter=component=api; operators = != < <= > >=), with their custom field values. Sorted by id, or by a field with sort=story_points or sort=-story_points, tasks without a value last. Pass the returned nextCursor as cursor for the next page.")
+    public ResponseEntity<ApiResponse> findTasksByFields(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) List<String> filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskFieldPage page = taskService.findTasksByFields(userId, projectId, filter, sort, cursor, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Tasks retrieved successfully!", page));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to filter tasks: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @PostMapping("/{taskId}/time")
+    @Operation(summary = "Log time", description = "Records minutes the user spent on a task on a given day, at most 1440 per entry and not in the future. Only project owners and editors can log time.")
+    public ResponseEntity<ApiResponse> logTime(
+            @PathVariable Long taskId,
+            @Valid @RequestBody LogTimeReq request,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TimeEntryDto entry = timeTrackingService.logTime(userId, taskId, request.minutes(), request.spentOn(), request.note());
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse("Time logged successfully!", entry));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to log time: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{taskId}/time")
+    @Operation(summary = "Get task time", description = "Total time logged on a task and the time per week, read from the weekly rollups")
+    public ResponseEntity<ApiResponse> getTaskTime(
+            @PathVariable Long taskId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TaskTimeReportDto report = timeTrackingService.getTaskReport(userId, taskId);
+
+                return ResponseEntity.ok(new ApiResponse("Task time retrieved successfully!", report));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve task time: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/{taskId}/time/entries")
+    @Operation(summary = "Get time entries", description = "Lists the time entries of a task, newest first. Pass the returned nextBefore as before for the next page.")
+    public ResponseEntity<ApiResponse> getTimeEntries(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                TimeEntryPage page = timeTrackingService.getEntries(userId, taskId, before, limit);
+
+                return ResponseEntity.ok(new ApiResponse("Time entries retrieved successfully!", page));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve time entries: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @DeleteMapping("/time/{entryId}")
+    @Operation(summary = "Delete time entry", description = "Removes a time entry. Its author and the project owner can delete it.")
+    public ResponseEntity<ApiResponse> deleteTimeEntry(
+            @PathVariable Long entryId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long userId = jwtUtil.extractUserId(token);
+
+                timeTrackingService.deleteEntry(userId, entryId);
+
+                return ResponseEntity.ok(new ApiResponse("Time entry deleted successfully!", null));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to delete time entry: " + e.getMessage(), null));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
+    }
+
+    @GetMapping("/project/{projectId}/time")
+    @Operation(summary = "Get project time", description = "Time logged in a project per week and per user for the weeks from 'from' to 'to' (default: the last 12 weeks, at most 106), read from the weekly rollups. Pass userId for one user's weeks only.")
+    public ResponseEntity<ApiResponse> getProjectTime(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            try {
+                Long requesterId = jwtUtil.extractUserId(token);
+
+                ProjectTimeReportDto report = timeTrackingService.getProjectReport(requesterId, projectId, from, to, userId);
+
+                return ResponseEntity.ok(new ApiResponse("Project time retrieved successfully!", report));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ApiResponse("Failed to retrieve project time: " + e.getMessage(), null));
             }
         }
         return ResponseEntity.badRequest().body(new ApiResponse("Authorization header is required", null));
@@ -0,0 +1,29 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.ArchivedTask;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ArchivedTaskDto(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate dueDate,
+        Long projectId,
+        Long createdById,
+        Long assigneeId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime archivedAt
+) {
+    public static ArchivedTaskDto of(ArchivedTask task) {
+        return new ArchivedTaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+                task.getDueDate(), task.getProjectId(), task.getCreatedById(), task.getAssigneeId(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getArchivedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.CustomFieldType;
+import com.proj.taskmanager.model.CustomField;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record CustomFieldDto(
+        Long id,
+        Long projectId,
+        String key,
+        String name,
+        CustomFieldType type,
+        List<String> options,
+        LocalDateTime createdAt
+) {
+    public static CustomFieldDto of(CustomField field) {
+        return new CustomFieldDto(field.getId(), field.getProjectId(), field.getKey(), field.getName(), field.getType(),
+                field.getOptions(), field.getCreatedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.ProjectDeletionStatus;
+import com.proj.taskmanager.model.ProjectDeletion;
+
+import java.time.LocalDateTime;
+
+public record ProjectDeletionDto(
+        Long projectId,
+        ProjectDeletionStatus status,
+        long tasksTotal,
+        long tasksDeleted,
+        long archivedTasksDeleted,
+        long otherRowsDeleted,
+        LocalDateTime requestedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt
+) {
+    public static ProjectDeletionDto of(ProjectDeletion deletion) {
+        return new ProjectDeletionDto(deletion.getProjectId(), deletion.getStatus(), deletion.getTasksTotal(),
+                deletion.getTasksDeleted(), deletion.getArchivedTasksDeleted(), deletion.getOtherRowsDeleted(),
+                deletion.getRequestedAt(), deletion.getUpdatedAt(), deletion.getCompletedAt());
+    }
+}
@@ -0,0 +1,20 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ProjectDto {
+    private Long id;
+    private String name;
+    private UserDto createdBy;
+    private LocalDateTime createdAt;
+    private Long version;
+    private List<Member> members;
+
+    public record Member(UserDto user, ProjectRole role) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.proj.taskmanager.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Time logged in a project in the weeks starting {@code from} to {@code to}, both Mondays: in total, per
+ * week with time logged, and per user by most minutes. With {@code userId} set, everything is for that user only.
+ */
+public record ProjectTimeReportDto(
+        Long projectId,
+        Long userId,
+        LocalDate from,
+        LocalDate to,
+        long minutes,
+        long entries,
+        List<TimeWeekDto> weeks,
+        List<UserTotal> users
+) {
+    public record UserTotal(Long userId, long minutes, long entries) {
+    }
+}
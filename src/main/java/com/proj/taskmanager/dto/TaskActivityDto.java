@@ -0,0 +1,23 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.model.TaskActivity;
+
+import java.time.LocalDateTime;
+
+public record TaskActivityDto(
+        Long id,
+        Long taskId,
+        Long projectId,
+        Long actorId,
+        String action,
+        String field,
+        String oldValue,
+        String newValue,
+        LocalDateTime createdAt
+) {
+    public static TaskActivityDto of(TaskActivity activity) {
+        return new TaskActivityDto(activity.getId(), activity.getTaskId(), activity.getProjectId(), activity.getActorId(),
+                activity.getAction(), activity.getField(), activity.getOldValue(), activity.getNewValue(),
+                activity.getCreatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.model.TaskAttachment;
+
+import java.time.LocalDateTime;
+
+public record TaskAttachmentDto(
+        Long id,
+        Long taskId,
+        String filename,
+        String contentType,
+        long size,
+        String sha256,
+        Long uploadedById,
+        LocalDateTime createdAt
+) {
+    public static TaskAttachmentDto of(TaskAttachment attachment) {
+        return new TaskAttachmentDto(attachment.getId(), attachment.getTaskId(), attachment.getFilename(),
+                attachment.getContentType(), attachment.getSize(), attachment.getSha256(), attachment.getUploadedById(),
+                attachment.getCreatedAt());
+    }
+}
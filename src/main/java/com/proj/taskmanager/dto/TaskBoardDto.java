@@ -0,0 +1,22 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+import java.util.List;
+
+/**
+ * A project's board: one entry per status in enum order, each with the top of the column and its full size.
+ * When a column has more tasks, {@code nextAfter} is the id to pass as {@code after} to the column endpoint.
+ */
+public record TaskBoardDto(
+        Long projectId,
+        List<Column> columns
+) {
+    public record Column(
+            TaskStatus status,
+            long total,
+            List<TaskSummaryDto> tasks,
+            Long nextAfter
+    ) {
+    }
+}
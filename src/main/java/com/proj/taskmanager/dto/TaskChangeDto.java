@@ -0,0 +1,33 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Compact payload of a change feed event. Clients that need the full task fetch it by id.
+ */
+public record TaskChangeDto(
+        TaskEvent.Type type,
+        Long taskId,
+        Long projectId,
+        Long actorId,
+        TaskStatus status,
+        Long assigneeId,
+        LocalDate dueDate,
+        Long version,
+        LocalDateTime updatedAt
+) {
+    public static TaskChangeDto of(TaskEvent event) {
+        if (event.type() == TaskEvent.Type.DELETED || event.task() == null) {
+            return new TaskChangeDto(event.type(), event.taskId(), event.projectId(), event.actorId(),
+                    null, null, null, null, null);
+        }
+        var task = event.task();
+        return new TaskChangeDto(event.type(), event.taskId(), event.projectId(), event.actorId(), task.getStatus(),
+                task.getAssignee() != null ? task.getAssignee().getId() : null, task.getDueDate(),
+                task.getVersion(), task.getUpdatedAt());
+    }
+}
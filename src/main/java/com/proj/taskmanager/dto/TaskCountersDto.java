@@ -0,0 +1,18 @@
+package com.proj.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+public record TaskCountersDto(
+        Long projectId,
+        long pending,
+        long inProgress,
+        long completed,
+        long cancelled,
+        long overdue,
+        long unassigned,
+        LocalDateTime updatedAt
+) {
+    public long total() {
+        return pending + inProgress + completed + cancelled;
+    }
+}
@@ -0,0 +1,16 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * Dependency analysis of a project. {@code blocked} lists open tasks waiting on at least one open blocker;
+ * {@code criticalPath} is the longest chain of open tasks, ending at the earliest due date among equally long chains.
+ */
+public record TaskDependencyGraphDto(
+        int tasks,
+        int dependencies,
+        List<Long> topologicalOrder,
+        List<Long> blocked,
+        List<Long> criticalPath
+) {
+}
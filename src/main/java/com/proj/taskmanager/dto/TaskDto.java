@@ -0,0 +1,12 @@
+package com.proj.taskmanager.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class TaskDto extends TaskSummaryDto {
+    private String description;
+}
@@ -0,0 +1,22 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskExportRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        LocalDate dueDate,
+        Long createdById,
+        String createdByEmail,
+        Long assigneeId,
+        String assigneeEmail,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+}
@@ -0,0 +1,13 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of tasks filtered and sorted by custom fields, each with its custom field values. Pass
+ * {@code nextCursor} back for the next page; it is null on the last one.
+ */
+public record TaskFieldPage(
+        List<TaskSummaryDto> tasks,
+        String nextCursor
+) {
+}
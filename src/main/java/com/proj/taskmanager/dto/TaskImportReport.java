@@ -0,0 +1,19 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed; {@code failed} counts all of them.
+ */
+public record TaskImportReport(
+        long rowsRead,
+        long imported,
+        long failed,
+        int batches,
+        long elapsedMs,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of the tasks assigned to the caller, soonest due first and undated tasks last. Pass
+ * {@code nextCursor} back for the next page; it is null on the last one.
+ */
+public record TaskInboxPage(
+        List<TaskSummaryDto> tasks,
+        String nextCursor
+) {
+}
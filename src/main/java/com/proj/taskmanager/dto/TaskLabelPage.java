@@ -0,0 +1,14 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of the tasks matching a label query, in id order. {@code total} counts all matches; pass
+ * {@code nextAfter} back as {@code after} for the next page, it is null on the last one.
+ */
+public record TaskLabelPage(
+        long total,
+        List<TaskSummaryDto> tasks,
+        Long nextAfter
+) {
+}
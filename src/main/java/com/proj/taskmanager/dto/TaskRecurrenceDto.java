@@ -0,0 +1,29 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import com.proj.taskmanager.model.TaskRecurrence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskRecurrenceDto(
+        Long id,
+        Long projectId,
+        String title,
+        String description,
+        Long assigneeId,
+        Long createdById,
+        RecurrenceFrequency frequency,
+        int interval,
+        String cron,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate nextOccurrence,
+        LocalDateTime createdAt
+) {
+    public static TaskRecurrenceDto of(TaskRecurrence rule) {
+        return new TaskRecurrenceDto(rule.getId(), rule.getProjectId(), rule.getTitle(), rule.getDescription(),
+                rule.getAssigneeId(), rule.getCreatedById(), rule.getFrequency(), rule.getInterval(), rule.getCron(),
+                rule.getStartDate(), rule.getEndDate(), rule.getNextOccurrence(), rule.getCreatedAt());
+    }
+}
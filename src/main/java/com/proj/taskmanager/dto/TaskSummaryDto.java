@@ -0,0 +1,34 @@
+package com.proj.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A task as shown in lists: everything but the description, which is only loaded for a single task, and the
+ * custom fields, which are only loaded where asked for.
+ */
+@Data
+public class TaskSummaryDto {
+    private Long id;
+    private String title;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private Long projectId;
+    private UserDto createdBy;
+    private UserDto assignee;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private String boardRank;
+    private Long recurrenceId;
+    // Custom field values by key; left out of the JSON when not loaded
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> customFields;
+}
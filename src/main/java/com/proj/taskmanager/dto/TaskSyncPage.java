@@ -0,0 +1,25 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of delta sync. Pass {@code cursor} back to get the next page, or later to get what changed since.
+ * {@code resetRequired} means the cursor is older than the retained tombstones and the client must drop its
+ * copy and sync from scratch; {@code projectDeleted} means the project itself is gone.
+ */
+public record TaskSyncPage(
+        List<TaskDto> changed,
+        List<Long> deleted,
+        String cursor,
+        boolean hasMore,
+        boolean resetRequired,
+        boolean projectDeleted
+) {
+    public static TaskSyncPage reset() {
+        return new TaskSyncPage(List.of(), List.of(), null, false, true, false);
+    }
+
+    public static TaskSyncPage deletedProject() {
+        return new TaskSyncPage(List.of(), List.of(), null, false, false, true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * All time logged on a task, in total and per week with time logged.
+ */
+public record TaskTimeReportDto(
+        Long taskId,
+        long minutes,
+        long entries,
+        List<TimeWeekDto> weeks
+) {
+}
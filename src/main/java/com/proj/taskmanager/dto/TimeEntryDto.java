@@ -0,0 +1,21 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.model.TimeEntry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TimeEntryDto(
+        Long id,
+        Long taskId,
+        Long userId,
+        LocalDate spentOn,
+        int minutes,
+        String note,
+        LocalDateTime createdAt
+) {
+    public static TimeEntryDto of(TimeEntry entry) {
+        return new TimeEntryDto(entry.getId(), entry.getTaskId(), entry.getUserId(), entry.getSpentOn(),
+                entry.getMinutes(), entry.getNote(), entry.getCreatedAt());
+    }
+}
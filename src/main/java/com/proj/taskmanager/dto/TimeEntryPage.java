@@ -0,0 +1,13 @@
+package com.proj.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of a task's time entries, newest first. Pass {@code nextBefore} back as {@code before} for the
+ * next page, it is null on the last one.
+ */
+public record TimeEntryPage(
+        List<TimeEntryDto> entries,
+        Long nextBefore
+) {
+}
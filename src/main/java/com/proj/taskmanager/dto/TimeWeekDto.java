@@ -0,0 +1,15 @@
+package com.proj.taskmanager.dto;
+
+import com.proj.taskmanager.model.TimeRollup;
+
+import java.time.LocalDate;
+
+public record TimeWeekDto(
+        LocalDate weekStart,
+        long minutes,
+        long entries
+) {
+    public static TimeWeekDto of(TimeRollup rollup) {
+        return new TimeWeekDto(rollup.getWeekStart(), rollup.getMinutes(), rollup.getEntries());
+    }
+}
@@ -0,0 +1,10 @@
+package com.proj.taskmanager.enums;
+
+public enum CustomFieldType {
+    NUMBER,
+    TEXT,
+    DATE,
+    BOOLEAN,
+    // One of the field's options
+    SELECT
+}
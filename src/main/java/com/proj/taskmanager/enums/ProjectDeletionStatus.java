@@ -0,0 +1,7 @@
+package com.proj.taskmanager.enums;
+
+public enum ProjectDeletionStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED
+}
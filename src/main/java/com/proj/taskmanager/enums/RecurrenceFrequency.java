@@ -0,0 +1,9 @@
+package com.proj.taskmanager.enums;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    // Days matched by a Spring cron expression, e.g. "0 0 9 * * MON-FRI"; the time fields are ignored
+    CRON
+}
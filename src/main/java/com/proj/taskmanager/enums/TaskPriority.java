@@ -0,0 +1,28 @@
+package com.proj.taskmanager.enums;
+
+public enum TaskPriority {
+    LOW(0),
+    MEDIUM(1),
+    HIGH(2),
+    URGENT(3);
+
+    // Stored in the tasks table instead of the name, so that "most urgent first" is a plain index order
+    private final int level;
+
+    TaskPriority(int level) {
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public static TaskPriority ofLevel(int level) {
+        for (TaskPriority priority : values()) {
+            if (priority.level == level) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task priority level: " + level);
+    }
+}
@@ -4,5 +4,18 @@ public enum TaskStatus {
     PENDING,
     IN_PROGRESS,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean canTransitionTo(TaskStatus target) {
+        if (target == null || target == this) {
+            return false;
+        }
+        return switch (this) {
+            case PENDING -> target == IN_PROGRESS || target == COMPLETED || target == CANCELLED;
+            case IN_PROGRESS -> target == PENDING || target == COMPLETED || target == CANCELLED;
+            // Finished tasks can only be reopened
+            case COMPLETED -> target == IN_PROGRESS;
+            case CANCELLED -> target == PENDING;
+        };
+    }
 }
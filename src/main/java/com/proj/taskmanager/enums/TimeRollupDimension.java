@@ -0,0 +1,8 @@
+package com.proj.taskmanager.enums;
+
+// What a time rollup row totals: all of a project, one task, or one user within a project
+public enum TimeRollupDimension {
+    PROJECT,
+    TASK,
+    USER
+}
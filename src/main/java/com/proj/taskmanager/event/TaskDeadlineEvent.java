@@ -0,0 +1,18 @@
+package com.proj.taskmanager.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A batch of tasks whose reminder time or overdue time has passed, fired by the deadline scheduler.
+ */
+public record TaskDeadlineEvent(Kind kind, List<DueTask> tasks) {
+
+    public enum Kind {
+        REMINDER,
+        OVERDUE
+    }
+
+    public record DueTask(Long taskId, Long projectId, LocalDate dueDate) {
+    }
+}
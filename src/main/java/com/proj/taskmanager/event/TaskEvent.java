@@ -0,0 +1,32 @@
+package com.proj.taskmanager.event;
+
+import com.proj.taskmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Published by TaskService inside the mutating transaction. Listeners that keep
+ * derived in-memory state should use @TransactionalEventListener so they only see committed changes.
+ * {@code changes} lists the fields an update touched and is empty for other event types.
+ * ARCHIVED is published by the archiver per moved row and carries no {@code task}; to listeners the task is
+ * gone until a RESTORED event brings it back.
+ */
+public record TaskEvent(Type type, Long taskId, Long projectId, Long actorId, Task task, List<TaskFieldChange> changes) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ASSIGNED,
+        DELETED,
+        ARCHIVED,
+        RESTORED
+    }
+
+    public static TaskEvent of(Type type, Task task, Long actorId) {
+        return of(type, task, actorId, List.of());
+    }
+
+    public static TaskEvent of(Type type, Task task, Long actorId, List<TaskFieldChange> changes) {
+        return new TaskEvent(type, task.getId(), task.getProject().getId(), actorId, task, changes);
+    }
+}
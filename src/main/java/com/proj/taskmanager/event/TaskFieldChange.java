@@ -0,0 +1,50 @@
+package com.proj.taskmanager.event;
+
+import com.proj.taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One field of a task changed by an update, with both values rendered as strings.
+ */
+public record TaskFieldChange(String field, String oldValue, String newValue) {
+
+    /**
+     * Captures the tracked fields of a task. Take it before applying an update and pass it to {@link #between}.
+     * The description is lazily loaded, so it is left out; see {@link #fieldsOf(Task, boolean)}.
+     */
+    public static Map<String, String> fieldsOf(Task task) {
+        return fieldsOf(task, false);
+    }
+
+    /**
+     * Same as {@link #fieldsOf(Task)}, with the description included when the update may change it.
+     */
+    public static Map<String, String> fieldsOf(Task task, boolean withDescription) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", task.getTitle());
+        if (withDescription) {
+            fields.put("description", task.getDescription());
+        }
+        fields.put("status", task.getStatus() != null ? task.getStatus().name() : null);
+        fields.put("priority", task.getPriority() != null ? task.getPriority().name() : null);
+        fields.put("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
+        fields.put("assigneeId", task.getAssignee() != null ? String.valueOf(task.getAssignee().getId()) : null);
+        return fields;
+    }
+
+    public static List<TaskFieldChange> between(Map<String, String> before, Map<String, String> after) {
+        List<TaskFieldChange> changes = new ArrayList<>();
+        after.forEach((field, value) -> {
+            String old = before.get(field);
+            if (!Objects.equals(old, value)) {
+                changes.add(new TaskFieldChange(field, old, value));
+            }
+        });
+        return changes;
+    }
+}
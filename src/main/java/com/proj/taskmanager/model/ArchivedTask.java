@@ -0,0 +1,82 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A finished task moved out of the tasks table by the archiver. Rows keep the task's id and column names so
+ * they move between the two tables with INSERT ... SELECT; references are plain ids, since the archive is only
+ * read through its own endpoints. Modifying an archived task moves it back first.
+ */
+@Entity
+@Table(name = "archived_tasks", indexes = {
+        @Index(name = "idx_archived_tasks_project", columnList = "project_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    private String title;
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "custom_fields")
+    private Map<String, Object> customFields;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Convert(converter = TaskPriorityConverter.class)
+    @Column(nullable = false)
+    private TaskPriority priority;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "created_by_id")
+    private Long createdById;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    private Long version;
+
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
+    @Column(name = "board_rank", nullable = false)
+    private String boardRank;
+
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
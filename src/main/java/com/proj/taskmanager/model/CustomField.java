@@ -0,0 +1,53 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.CustomFieldType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A project-specific field on tasks. Task values refer to the field by id, so a key can be reused after its
+ * field was deleted without bringing old values back.
+ */
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "custom-fields")
+@Entity
+@Table(name = "custom_fields",
+        uniqueConstraints = @UniqueConstraint(name = "uk_custom_fields_project_key", columnNames = {"project_id", "field_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class CustomField {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // Used in task values and filters, e.g. story_points
+    @Column(name = "field_key", nullable = false, length = 40)
+    private String key;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CustomFieldType type;
+
+    // Allowed values of a SELECT field
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<String> options;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
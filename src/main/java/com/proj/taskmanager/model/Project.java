@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,6 +15,9 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+// Not in the second-level cache: each node caches separately, and a copy cached on another node before the
+// project was deleted would keep being served, since @SQLRestriction only filters rows read from the database
+@SQLRestriction("deleted_at IS NULL")
 @Entity
 @Table(name = "projects")
 public class Project {
@@ -29,9 +33,15 @@ public class Project {
 
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Version
+    private Long version;
+
+    @OneToMany(mappedBy = "project")
     private List<ProjectMember> members = new ArrayList<>();
 
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "project")
     private List<Task> tasks = new ArrayList<>();
 }
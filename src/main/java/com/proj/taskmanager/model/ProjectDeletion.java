@@ -0,0 +1,65 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.ProjectDeletionStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a project deletion. The project is hidden as soon as this row is written; the purge worker
+ * then removes its rows in batches and updates the counts here after every batch. Kept after the project row
+ * is gone so the requester can see that the deletion finished.
+ */
+@Entity
+@Table(name = "project_deletions", indexes = {
+        @Index(name = "idx_project_deletions_status", columnList = "status, requested_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectDeletion {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "requested_by", nullable = false)
+    private Long requestedBy;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProjectDeletionStatus status = ProjectDeletionStatus.QUEUED;
+
+    // Live tasks when the deletion was requested, taken from the project's counters
+    @Column(name = "tasks_total")
+    private long tasksTotal;
+
+    @Column(name = "tasks_deleted")
+    private long tasksDeleted;
+
+    @Column(name = "archived_tasks_deleted")
+    private long archivedTasksDeleted;
+
+    @Column(name = "other_rows_deleted")
+    private long otherRowsDeleted;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public ProjectDeletion(Long projectId, Long requestedBy, long tasksTotal) {
+        this.projectId = projectId;
+        this.requestedBy = requestedBy;
+        this.tasksTotal = tasksTotal;
+        this.requestedAt = LocalDateTime.now();
+        this.updatedAt = this.requestedAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "project_task_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectTaskCounter {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private int pending;
+
+    @Column(name = "in_progress")
+    private int inProgress;
+
+    private int completed;
+
+    private int cancelled;
+
+    private int overdue;
+
+    private int unassigned;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ProjectTaskCounter(Long projectId) {
+        this.projectId = projectId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Change counter of a project, bumped in the same transaction as every task or membership change.
+ * Kept apart from {@link Project#getVersion()}, which guards If-Match on the project itself and must not
+ * move on every task edit.
+ */
+@Entity
+@Table(name = "project_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectVersion {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private long version;
+
+    // Tombstones up to this version have been purged; sync cursors older than this must start over
+    @Column(name = "purged_through")
+    private long purgedThrough;
+
+    public ProjectVersion(Long projectId, long version) {
+        this.projectId = projectId;
+        this.version = version;
+    }
+}
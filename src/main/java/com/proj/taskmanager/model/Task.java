@@ -1,33 +1,65 @@
 package com.proj.taskmanager.model;
 
 
+import com.proj.taskmanager.enums.TaskPriority;
 import com.proj.taskmanager.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+// Updates only write the columns that changed; with enhanced dirty tracking, no snapshot comparison is needed
+@DynamicUpdate
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_sync", columnList = "project_id, sync_version, id"),
+        @Index(name = "idx_tasks_board", columnList = "project_id, status, board_rank, id"),
+        @Index(name = "idx_tasks_status_updated", columnList = "status, updated_at"),
+        @Index(name = "idx_tasks_assignee_due", columnList = "assignee_id, due_date, id"),
+        // Loading the deadline horizon; see TaskRepository#findOpenTasksDueBetween
+        @Index(name = "idx_tasks_due", columnList = "due_date, id"),
+        // In the order the next unassigned task is claimed; see TaskRepositoryCustom#lockNextClaimable
+        @Index(name = "idx_tasks_claim", columnList = "project_id, assignee_id, status, priority, due_date, id")
+}, uniqueConstraints = {
+        // At most one task per occurrence, however many generator runs or nodes race to create it
+        @UniqueConstraint(name = "uk_tasks_recurrence_occurrence", columnNames = {"recurrence_id", "occurrence_date"})
+})
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String title;
+    // Can run to many kilobytes; lists leave it unread and it is fetched on first access (needs build-time enhancement)
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Custom field values by field id, e.g. {"12": 5, "13": "api"}; lazy like the description and loaded with it
+    @Basic(fetch = FetchType.LAZY)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "custom_fields")
+    private Map<String, Object> customFields;
+
     @Enumerated(EnumType.STRING)
     private TaskStatus status = TaskStatus.PENDING;
 
+    @Convert(converter = TaskPriorityConverter.class)
+    @Column(nullable = false)
+    private TaskPriority priority = TaskPriority.MEDIUM;
+
     private LocalDate dueDate;
 
     @ManyToOne
@@ -41,4 +73,22 @@ public class Task {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    // Project change counter value at this task's last write; orders changes for delta sync
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
+    // Position within the project's board column for its status, compared as a string; see RankKey
+    @Column(name = "board_rank", nullable = false)
+    private String boardRank = "i0";
+
+    // Set on tasks generated from a recurrence rule
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
 }
@@ -0,0 +1,64 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only history entry: one row per changed field of an update, or a single row without a field for
+ * creations, deletions and other events that carry no field changes. Rows are never updated, and they
+ * outlive the task so deleted tasks keep their history.
+ */
+@Entity
+@Table(name = "task_activity", indexes = {
+        @Index(name = "idx_task_activity_task", columnList = "task_id, id"),
+        @Index(name = "idx_task_activity_project", columnList = "project_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(length = 50)
+    private String field;
+
+    @Column(name = "old_value", columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(name = "new_value", columnDefinition = "TEXT")
+    private String newValue;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TaskActivity(Long taskId, Long projectId, Long actorId, String action,
+                        String field, String oldValue, String newValue, LocalDateTime createdAt) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.actorId = actorId;
+        this.action = action;
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.createdAt = createdAt;
+    }
+}
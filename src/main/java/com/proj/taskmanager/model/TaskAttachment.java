@@ -0,0 +1,53 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A file attached to a task. Only the metadata lives here; the content is a blob in the
+ * {@link com.proj.taskmanager.service.attachment.AttachmentStore} named by its SHA-256, so identical files
+ * attached anywhere share one blob.
+ */
+@Entity
+@Table(name = "task_attachments", indexes = {
+        @Index(name = "idx_task_attachments_task", columnList = "task_id, id"),
+        @Index(name = "idx_task_attachments_project", columnList = "project_id, id"),
+        @Index(name = "idx_task_attachments_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "uploaded_by_id", nullable = false)
+    private Long uploadedById;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed claim whose task has not been given a new sync version yet. Written by the claiming transaction
+ * and removed by {@link com.proj.taskmanager.service.task.TaskClaimService} once the claim is stamped.
+ */
+@Entity
+@Table(name = "task_claims", indexes = @Index(name = "idx_task_claims_project", columnList = "project_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskClaim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    public TaskClaim(Long projectId, Long taskId, Long userId) {
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.claimedAt = LocalDateTime.now();
+    }
+}
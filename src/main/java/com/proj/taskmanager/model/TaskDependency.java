@@ -0,0 +1,48 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Edge of a project's dependency graph: {@code blockedId} cannot be finished before {@code blockerId}.
+ * Both tasks belong to {@code projectId}, which is stored on the edge so a project's graph loads with one index scan.
+ */
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_dependencies_edge", columnNames = {"blocker_id", "blocked_id"}),
+        indexes = {
+                @Index(name = "idx_task_dependencies_project", columnList = "project_id"),
+                @Index(name = "idx_task_dependencies_blocked", columnList = "blocked_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "blocker_id", nullable = false)
+    private Long blockerId;
+
+    @Column(name = "blocked_id", nullable = false)
+    private Long blockedId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TaskDependency(Long projectId, Long blockerId, Long blockedId) {
+        this.projectId = projectId;
+        this.blockerId = blockerId;
+        this.blockedId = blockedId;
+        this.createdAt = LocalDateTime.now();
+    }
+}
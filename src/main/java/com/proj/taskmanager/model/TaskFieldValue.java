@@ -0,0 +1,51 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Index row for one custom field value of a task; the values themselves are read from the task's
+ * {@code customFields} column. Numbers, dates (as epoch days) and booleans (0 or 1) go to
+ * {@code number_value}, text and options to {@code text_value}, so each field's values sort and range-scan
+ * on one of two indexes. Rows stay while the task is archived and come back with it.
+ */
+@Entity
+@Table(name = "task_field_values",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_field_values_task_field", columnNames = {"task_id", "field_id"}),
+        indexes = {
+                @Index(name = "idx_task_field_values_number", columnList = "field_id, number_value, task_id"),
+                @Index(name = "idx_task_field_values_text", columnList = "field_id, text_value, task_id"),
+                @Index(name = "idx_task_field_values_project", columnList = "project_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskFieldValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "field_id", nullable = false)
+    private Long fieldId;
+
+    @Column(name = "number_value")
+    private Double numberValue;
+
+    @Column(name = "text_value")
+    private String textValue;
+
+    public TaskFieldValue(Long projectId, Long taskId, Long fieldId) {
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.fieldId = fieldId;
+    }
+}
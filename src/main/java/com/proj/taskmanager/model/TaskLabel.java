@@ -0,0 +1,39 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A label on a task. {@code projectId} is stored on the row so a project's labels load with one index scan
+ * when its label index is rebuilt. Rows stay while the task is archived and come back with it.
+ */
+@Entity
+@Table(name = "task_labels",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_labels_task_name", columnNames = {"task_id", "name"}),
+        indexes = @Index(name = "idx_task_labels_project", columnList = "project_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskLabel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    public TaskLabel(Long projectId, Long taskId, String name) {
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.name = name;
+    }
+}
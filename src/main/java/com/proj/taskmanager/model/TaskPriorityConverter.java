@@ -0,0 +1,19 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.TaskPriority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(TaskPriority priority) {
+        return priority != null ? priority.getLevel() : null;
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Integer level) {
+        return level != null ? TaskPriority.ofLevel(level) : null;
+    }
+}
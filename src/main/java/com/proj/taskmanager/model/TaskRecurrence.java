@@ -0,0 +1,71 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A rule that creates a task on every date of its schedule. The generator materializes occurrences up to a
+ * rolling horizon and moves {@code nextOccurrence} past them in the same transaction; a rule whose schedule
+ * has ended keeps a null {@code nextOccurrence}.
+ */
+@Entity
+@Table(name = "task_recurrences", indexes = {
+        @Index(name = "idx_task_recurrences_next", columnList = "next_occurrence, id"),
+        @Index(name = "idx_task_recurrences_project", columnList = "project_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "created_by_id", nullable = false)
+    private Long createdById;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    // Every n days, weeks or months; unused for CRON
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval = 1;
+
+    private String cron;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    // Position of nextOccurrence in the schedule, counted from 0 at the start date
+    @Column(name = "occurrence_index", nullable = false)
+    private int occurrenceIndex;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
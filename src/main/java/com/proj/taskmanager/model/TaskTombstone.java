@@ -0,0 +1,45 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted task, kept so delta sync can tell clients to drop it. A tombstone without a task id
+ * marks the whole project as deleted.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_project_sync", columnList = "project_id, sync_version, task_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone(Long projectId, Long taskId, long syncVersion) {
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.syncVersion = syncVersion;
+        this.deletedAt = LocalDateTime.now();
+    }
+}
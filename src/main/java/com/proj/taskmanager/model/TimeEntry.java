@@ -0,0 +1,49 @@
+package com.proj.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Time a user spent on a task on one day. Reports never read these rows; they read the {@link TimeRollup}
+ * rows kept up to date in the same transaction.
+ */
+@Entity
+@Table(name = "time_entries", indexes = {
+        @Index(name = "idx_time_entries_task", columnList = "task_id, id"),
+        @Index(name = "idx_time_entries_project", columnList = "project_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TimeEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "spent_on", nullable = false)
+    private LocalDate spentOn;
+
+    @Column(nullable = false)
+    private int minutes;
+
+    @Column(length = 500)
+    private String note;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.proj.taskmanager.model;
+
+import com.proj.taskmanager.enums.TimeRollupDimension;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Minutes and entry count logged in one week, starting on Monday, for a project, a task or a user within a
+ * project. The subject is the project, task or user id according to the dimension.
+ */
+@Entity
+@Table(name = "time_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_time_rollups_bucket",
+                columnNames = {"project_id", "dimension", "subject_id", "week_start"}),
+        indexes = @Index(name = "idx_time_rollups_week", columnList = "project_id, dimension, week_start"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TimeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TimeRollupDimension dimension;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    private long minutes;
+
+    private long entries;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public TimeRollup(Long projectId, TimeRollupDimension dimension, Long subjectId, LocalDate weekStart) {
+        this.projectId = projectId;
+        this.dimension = dimension;
+        this.subjectId = subjectId;
+        this.weekStart = weekStart;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,19 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>, ArchivedTaskRepositoryCustom {
+
+    // Newest first; pass the last id of the previous page as beforeId
+    @Query("SELECT a FROM ArchivedTask a WHERE a.projectId = :projectId AND a.id < :beforeId ORDER BY a.id DESC")
+    List<ArchivedTask> findByProjectIdBefore(@Param("projectId") Long projectId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.projectId = :projectId ORDER BY a.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
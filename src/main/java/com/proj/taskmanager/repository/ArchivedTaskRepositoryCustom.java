@@ -0,0 +1,20 @@
+package com.proj.taskmanager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedTaskRepositoryCustom {
+
+    /**
+     * Moves the given tasks from tasks to archived_tasks with one INSERT ... SELECT and one DELETE. Joins the
+     * caller's transaction, which must hold the projects' version locks so the rows cannot change in between.
+     */
+    void archive(List<Long> taskIds, LocalDateTime archivedAt);
+
+    /**
+     * Moves an archived task back to the tasks table under its old id.
+     *
+     * @return false if the task is not in the archive
+     */
+    boolean restore(Long taskId);
+}
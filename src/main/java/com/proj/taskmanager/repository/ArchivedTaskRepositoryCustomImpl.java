@@ -0,0 +1,45 @@
+package com.proj.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ArchivedTaskRepositoryCustomImpl implements ArchivedTaskRepositoryCustom {
+    private static final String COLUMNS = "id, title, description, custom_fields, status, priority, due_date, project_id, "
+            + "created_by_id, assignee_id, created_at, updated_at, version, sync_version, board_rank, recurrence_id, occurrence_date";
+    private static final String ARCHIVE_SQL = "INSERT INTO archived_tasks (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", :archivedAt FROM tasks WHERE id IN (:taskIds)";
+    private static final String DELETE_HOT_SQL = "DELETE FROM tasks WHERE id IN (:taskIds)";
+    private static final String RESTORE_SQL = "INSERT INTO tasks (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM archived_tasks WHERE id = :taskId";
+    private static final String DELETE_ARCHIVED_SQL = "DELETE FROM archived_tasks WHERE id = :taskId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void archive(List<Long> taskIds, LocalDateTime archivedAt) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskIds", taskIds)
+                .addValue("archivedAt", archivedAt, Types.TIMESTAMP);
+        jdbcTemplate.update(ARCHIVE_SQL, params);
+        jdbcTemplate.update(DELETE_HOT_SQL, params);
+    }
+
+    @Override
+    public boolean restore(Long taskId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("taskId", taskId);
+        if (jdbcTemplate.update(RESTORE_SQL, params) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(DELETE_ARCHIVED_SQL, params);
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.CustomField;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CustomFieldRepository extends JpaRepository<CustomField, Long> {
+
+    // Needed to render every task read with custom values; results are dropped whenever custom_fields changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "custom-field-queries")
+    })
+    List<CustomField> findByProjectIdOrderById(Long projectId);
+
+    // Skips the query cache: a field another node just created does not evict this node's cached results
+    @Query("SELECT f FROM CustomField f WHERE f.projectId = :projectId ORDER BY f.id")
+    List<CustomField> findCurrentByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT f.id FROM CustomField f WHERE f.projectId = :projectId ORDER BY f.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
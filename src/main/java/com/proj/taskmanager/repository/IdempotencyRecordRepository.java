@@ -0,0 +1,33 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndScopeAndIdempotencyKey(Long userId, String scope, String idempotencyKey);
+
+    /**
+     * Takes over a key whose first request has been running since before {@code cutoff}, which means the node
+     * running it most likely died. Only one caller can succeed.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.startedAt = :now, r.requestHash = :requestHash, r.expiresAt = :expiresAt " +
+            "WHERE r.id = :id AND r.completedAt IS NULL AND r.startedAt < :cutoff")
+    int claimAbandoned(@Param("id") Long id, @Param("requestHash") String requestHash, @Param("now") LocalDateTime now,
+                       @Param("expiresAt") LocalDateTime expiresAt, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.completedAt IS NULL")
+    int deleteInFlight(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,30 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.ProjectDeletion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectDeletionRepository extends JpaRepository<ProjectDeletion, Long> {
+
+    // Held by the purge batch until commit, so two nodes never purge the same project at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM ProjectDeletion d WHERE d.projectId = :projectId")
+    Optional<ProjectDeletion> findByIdForUpdate(@Param("projectId") Long projectId);
+
+    @Query("SELECT d.projectId FROM ProjectDeletion d " +
+            "WHERE d.status <> com.proj.taskmanager.enums.ProjectDeletionStatus.COMPLETED ORDER BY d.requestedAt")
+    List<Long> findUnfinishedProjectIds();
+
+    @Modifying
+    @Query("DELETE FROM ProjectDeletion d " +
+            "WHERE d.status = com.proj.taskmanager.enums.ProjectDeletionStatus.COMPLETED AND d.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,18 @@
 package com.proj.taskmanager.repository;
 
 import com.proj.taskmanager.model.ProjectMember;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Long> {
@@ -14,7 +21,22 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     
     List<ProjectMember> findByUserId(Long userId);
     
+    // Checked on every task mutation; results are dropped by Hibernate whenever project_members changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "project-membership-queries")
+    })
     boolean existsByProjectIdAndUserId(Long projectId, Long userId);
-    
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "project-membership-queries")
+    })
     Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
+
+    @Query("SELECT m.user.id FROM ProjectMember m WHERE m.project.id = :projectId")
+    Set<Long> findUserIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT m.id FROM ProjectMember m WHERE m.project.id = :projectId ORDER BY m.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
 } 
\ No newline at end of file
@@ -1,17 +1,31 @@
 package com.proj.taskmanager.repository;
 
 import com.proj.taskmanager.model.Project;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
 
     Optional<Project> findById(Long id);
+
+    // Bumps the project version on commit so membership changes are covered by If-Match as well
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT DISTINCT p FROM Project p LEFT JOIN p.members m WHERE p.createdBy.id = :userId OR m.user.id = :userId")
     List<Project> findProjectsByUserId(@Param("userId") Long userId);
+
+    // A bulk update, so Hibernate drops the cached projects and the project is hidden on every node at once
+    @Modifying
+    @Query("UPDATE Project p SET p.deletedAt = :deletedAt WHERE p.id = :id")
+    int markDeleted(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
 }
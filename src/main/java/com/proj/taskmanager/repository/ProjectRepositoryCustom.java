@@ -0,0 +1,12 @@
+package com.proj.taskmanager.repository;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Removes the row of a project that was marked deleted. Entity queries cannot see such a project any more,
+     * so this bypasses the deleted_at restriction.
+     *
+     * @return whether the row was removed
+     */
+    boolean purgeDeleted(Long projectId);
+}
@@ -0,0 +1,23 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.Project;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+@RequiredArgsConstructor
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+    private static final String PURGE_SQL = "DELETE FROM projects WHERE id = :id AND deleted_at IS NOT NULL";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean purgeDeleted(Long projectId) {
+        // Declaring the table keeps Hibernate from dropping every second-level cache region after a native write
+        return entityManager.createNativeQuery(PURGE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Project.class)
+                .setParameter("id", projectId)
+                .executeUpdate() > 0;
+    }
+}
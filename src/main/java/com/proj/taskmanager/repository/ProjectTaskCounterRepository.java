@@ -0,0 +1,50 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.ProjectTaskCounter;
+import com.proj.taskmanager.service.task.TaskCounterDelta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter, Long> {
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCounter c SET " +
+            "c.pending = c.pending + :#{#delta.pending}, " +
+            "c.inProgress = c.inProgress + :#{#delta.inProgress}, " +
+            "c.completed = c.completed + :#{#delta.completed}, " +
+            "c.cancelled = c.cancelled + :#{#delta.cancelled}, " +
+            "c.overdue = c.overdue + :#{#delta.overdue}, " +
+            "c.unassigned = c.unassigned + :#{#delta.unassigned}, " +
+            "c.updatedAt = :now " +
+            "WHERE c.projectId = :projectId")
+    int applyDelta(@Param("projectId") Long projectId, @Param("delta") TaskCounterDelta delta, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectTaskCounter c WHERE c.projectId = :projectId")
+    Optional<ProjectTaskCounter> findByIdForUpdate(@Param("projectId") Long projectId);
+
+    @Query("SELECT c.projectId FROM ProjectTaskCounter c WHERE c.projectId > :afterId ORDER BY c.projectId")
+    List<Long> findProjectIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.proj.taskmanager.service.task.TaskCounterDelta(" +
+            "COALESCE(SUM(CASE WHEN t.status = com.proj.taskmanager.enums.TaskStatus.PENDING THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status = com.proj.taskmanager.enums.TaskStatus.IN_PROGRESS THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status = com.proj.taskmanager.enums.TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status = com.proj.taskmanager.enums.TaskStatus.CANCELLED THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status IN (com.proj.taskmanager.enums.TaskStatus.PENDING, com.proj.taskmanager.enums.TaskStatus.IN_PROGRESS) " +
+            "AND t.dueDate < :today THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status IN (com.proj.taskmanager.enums.TaskStatus.PENDING, com.proj.taskmanager.enums.TaskStatus.IN_PROGRESS) " +
+            "AND t.assignee IS NULL THEN 1 ELSE 0 END), 0)) " +
+            "FROM Task t WHERE t.project.id = :projectId")
+    TaskCounterDelta countByProjectId(@Param("projectId") Long projectId, @Param("today") LocalDate today);
+}
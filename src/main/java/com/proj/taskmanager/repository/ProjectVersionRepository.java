@@ -0,0 +1,33 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.ProjectVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectVersionRepository extends JpaRepository<ProjectVersion, Long> {
+
+    @Modifying
+    @Query("UPDATE ProjectVersion v SET v.version = v.version + 1 WHERE v.projectId = :projectId")
+    int increment(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("UPDATE ProjectVersion v SET v.version = v.version + :count WHERE v.projectId = :projectId")
+    int incrementBy(@Param("projectId") Long projectId, @Param("count") long count);
+
+    @Modifying
+    @Query("UPDATE ProjectVersion v SET v.purgedThrough = :syncVersion WHERE v.projectId = :projectId AND v.purgedThrough < :syncVersion")
+    int advancePurgedThrough(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion);
+
+    @Query("SELECT v.version FROM ProjectVersion v WHERE v.projectId = :projectId")
+    Optional<Long> findVersion(@Param("projectId") Long projectId);
+
+    @Query("SELECT v FROM ProjectVersion v WHERE v.projectId IN " +
+            "(SELECT p.id FROM Project p LEFT JOIN p.members m WHERE p.createdBy.id = :userId OR m.user.id = :userId) " +
+            "ORDER BY v.projectId")
+    List<ProjectVersion> findVisibleToUser(@Param("userId") Long userId);
+}
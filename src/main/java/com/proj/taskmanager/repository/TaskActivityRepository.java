@@ -0,0 +1,26 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskActivityRepository extends JpaRepository<TaskActivity, Long>, TaskActivityRepositoryCustom {
+
+    // Newest first; pass the last id of the previous page as beforeId
+    @Query("SELECT a FROM TaskActivity a WHERE a.taskId = :taskId AND a.id < :beforeId ORDER BY a.id DESC")
+    List<TaskActivity> findByTaskIdBefore(@Param("taskId") Long taskId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("SELECT a FROM TaskActivity a WHERE a.projectId = :projectId AND a.id < :beforeId ORDER BY a.id DESC")
+    List<TaskActivity> findByProjectIdBefore(@Param("projectId") Long projectId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    // Project of a task that may already be deleted
+    @Query("SELECT a.projectId FROM TaskActivity a WHERE a.taskId = :taskId ORDER BY a.id")
+    List<Long> findProjectIdsByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("SELECT a.id FROM TaskActivity a WHERE a.projectId = :projectId ORDER BY a.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskActivity;
+
+import java.util.List;
+
+public interface TaskActivityRepositoryCustom {
+
+    /**
+     * Inserts the entries with one JDBC batch, bypassing the persistence context.
+     */
+    void insertAll(List<TaskActivity> entries);
+}
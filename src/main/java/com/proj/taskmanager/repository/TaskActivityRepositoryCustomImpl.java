@@ -0,0 +1,40 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskActivity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskActivityRepositoryCustomImpl implements TaskActivityRepositoryCustom {
+    private static final String INSERT_SQL = "INSERT INTO task_activity "
+            + "(task_id, project_id, actor_id, action, field, old_value, new_value, created_at) "
+            + "VALUES (:taskId, :projectId, :actorId, :action, :field, :oldValue, :newValue, :createdAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<TaskActivity> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TaskActivity entry = entries.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("taskId", entry.getTaskId(), Types.BIGINT)
+                    .addValue("projectId", entry.getProjectId(), Types.BIGINT)
+                    .addValue("actorId", entry.getActorId(), Types.BIGINT)
+                    .addValue("action", entry.getAction(), Types.VARCHAR)
+                    .addValue("field", entry.getField(), Types.VARCHAR)
+                    .addValue("oldValue", entry.getOldValue(), Types.VARCHAR)
+                    .addValue("newValue", entry.getNewValue(), Types.VARCHAR)
+                    .addValue("createdAt", entry.getCreatedAt(), Types.TIMESTAMP);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+}
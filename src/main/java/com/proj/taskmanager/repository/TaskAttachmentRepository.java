@@ -0,0 +1,27 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskAttachment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    List<TaskAttachment> findByTaskIdOrderById(Long taskId);
+
+    // Blobs that are still referenced, among the ones the collector is about to remove
+    @Query("SELECT DISTINCT a.sha256 FROM TaskAttachment a WHERE a.sha256 IN :hashes")
+    List<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+    @Modifying
+    @Query("DELETE FROM TaskAttachment a WHERE a.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("SELECT a.id FROM TaskAttachment a WHERE a.projectId = :projectId ORDER BY a.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
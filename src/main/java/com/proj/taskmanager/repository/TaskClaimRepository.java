@@ -0,0 +1,27 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskClaim;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskClaimRepository extends JpaRepository<TaskClaim, Long> {
+
+    /**
+     * The project's oldest unstamped claims, skipping those another node is stamping right now.
+     */
+    @Query(value = "SELECT * FROM task_claims WHERE project_id = :projectId ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TaskClaim> lockPending(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT c.projectId FROM TaskClaim c")
+    List<Long> findPendingProjectIds();
+
+    long countByProjectId(Long projectId);
+
+    @Query("SELECT c.id FROM TaskClaim c WHERE c.projectId = :projectId ORDER BY c.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
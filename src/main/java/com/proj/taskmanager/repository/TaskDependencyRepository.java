@@ -0,0 +1,31 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskDependency;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    record Edge(Long blockerId, Long blockedId) {
+    }
+
+    @Query("SELECT new com.proj.taskmanager.repository.TaskDependencyRepository$Edge(d.blockerId, d.blockedId) " +
+            "FROM TaskDependency d WHERE d.projectId = :projectId")
+    List<Edge> findEdgesByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.blockerId = :blockerId AND d.blockedId = :blockedId")
+    int deleteEdge(@Param("blockerId") Long blockerId, @Param("blockedId") Long blockedId);
+
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.blockerId = :taskId OR d.blockedId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("SELECT d.id FROM TaskDependency d WHERE d.projectId = :projectId ORDER BY d.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
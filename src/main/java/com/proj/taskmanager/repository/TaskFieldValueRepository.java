@@ -0,0 +1,26 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskFieldValue;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskFieldValueRepository extends JpaRepository<TaskFieldValue, Long>, TaskFieldValueRepositoryCustom {
+
+    List<TaskFieldValue> findByTaskId(Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskFieldValue v WHERE v.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskFieldValue v WHERE v.fieldId = :fieldId")
+    int deleteByFieldId(@Param("fieldId") Long fieldId);
+
+    @Query("SELECT v.id FROM TaskFieldValue v WHERE v.projectId = :projectId ORDER BY v.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,44 @@
+package com.proj.taskmanager.repository;
+
+import java.util.List;
+
+public interface TaskFieldValueRepositoryCustom {
+
+    enum Operator {
+        EQ("="), NE("<>"), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        public String sql() {
+            return sql;
+        }
+    }
+
+    /**
+     * A task matches if it has a value for the field that compares as given; {@code value} is a Double for
+     * numeric fields and a String otherwise.
+     */
+    record Condition(long fieldId, boolean numeric, Operator operator, Object value) {
+    }
+
+    record Match(long taskId, Object value) {
+    }
+
+    /**
+     * Tasks with a value for the sort field that also meet every condition, ordered by that value and then by
+     * id, starting after ({@code afterValue}, {@code afterTaskId}); a null {@code afterValue} starts at the
+     * beginning. Read off the field's value index in order, so no sort is needed however many tasks match.
+     */
+    List<Match> findByFieldOrder(long fieldId, boolean numeric, boolean descending, Object afterValue, long afterTaskId,
+                                 List<Condition> conditions, int limit);
+
+    /**
+     * Tasks of the project in id order after {@code afterTaskId} that meet every condition and, if
+     * {@code withoutFieldId} is set, have no value for that field.
+     */
+    List<Long> findByIdOrder(long projectId, Long withoutFieldId, long afterTaskId, List<Condition> conditions, int limit);
+}
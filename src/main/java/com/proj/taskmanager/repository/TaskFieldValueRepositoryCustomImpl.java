@@ -0,0 +1,70 @@
+package com.proj.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskFieldValueRepositoryCustomImpl implements TaskFieldValueRepositoryCustom {
+    private static final String NUMBER_COLUMN = "number_value";
+    private static final String TEXT_COLUMN = "text_value";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Match> findByFieldOrder(long fieldId, boolean numeric, boolean descending, Object afterValue,
+                                        long afterTaskId, List<Condition> conditions, int limit) {
+        String column = "s." + (numeric ? NUMBER_COLUMN : TEXT_COLUMN);
+        String direction = descending ? " DESC" : "";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sortField", fieldId)
+                .addValue("limit", limit);
+        // The join drops rows of archived tasks, which keep theirs until they come back
+        StringBuilder sql = new StringBuilder("SELECT s.task_id, ").append(column)
+                .append(" FROM task_field_values s JOIN tasks t ON t.id = s.task_id WHERE s.field_id = :sortField");
+        if (afterValue != null) {
+            String after = descending ? " < " : " > ";
+            sql.append(" AND (").append(column).append(after).append(":afterValue OR (")
+                    .append(column).append(" = :afterValue AND s.task_id").append(after).append(":afterTaskId))");
+            params.addValue("afterValue", afterValue).addValue("afterTaskId", afterTaskId);
+        }
+        appendConditions(sql, params, conditions);
+        sql.append(" ORDER BY ").append(column).append(direction).append(", s.task_id").append(direction)
+                .append(" LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) ->
+                new Match(rs.getLong(1), numeric ? (Object) rs.getDouble(2) : rs.getString(2)));
+    }
+
+    @Override
+    public List<Long> findByIdOrder(long projectId, Long withoutFieldId, long afterTaskId, List<Condition> conditions,
+                                    int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("afterTaskId", afterTaskId)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT t.id FROM tasks t WHERE t.project_id = :projectId AND t.id > :afterTaskId");
+        if (withoutFieldId != null) {
+            sql.append(" AND NOT EXISTS (SELECT 1 FROM task_field_values s WHERE s.task_id = t.id AND s.field_id = :sortField)");
+            params.addValue("sortField", withoutFieldId);
+        }
+        appendConditions(sql, params, conditions);
+        sql.append(" ORDER BY t.id LIMIT :limit");
+        return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+
+    // Each condition is a probe into the unique (task_id, field_id) index of the candidate task
+    private static void appendConditions(StringBuilder sql, MapSqlParameterSource params, List<Condition> conditions) {
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            String alias = "c" + i;
+            sql.append(" AND EXISTS (SELECT 1 FROM task_field_values ").append(alias)
+                    .append(" WHERE ").append(alias).append(".task_id = t.id AND ")
+                    .append(alias).append(".field_id = :field").append(i).append(" AND ")
+                    .append(alias).append('.').append(condition.numeric() ? NUMBER_COLUMN : TEXT_COLUMN)
+                    .append(' ').append(condition.operator().sql()).append(" :value").append(i).append(')');
+            params.addValue("field" + i, condition.fieldId()).addValue("value" + i, condition.value());
+        }
+    }
+}
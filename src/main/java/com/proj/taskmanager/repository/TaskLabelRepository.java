@@ -0,0 +1,35 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskLabel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskLabelRepository extends JpaRepository<TaskLabel, Long> {
+
+    record Assignment(Long taskId, String name) {
+    }
+
+    @Query("SELECT l.name FROM TaskLabel l WHERE l.taskId = :taskId ORDER BY l.name")
+    List<String> findNamesByTaskId(@Param("taskId") Long taskId);
+
+    @Query("SELECT new com.proj.taskmanager.repository.TaskLabelRepository$Assignment(l.taskId, l.name) " +
+            "FROM TaskLabel l WHERE l.projectId = :projectId")
+    List<Assignment> findAssignmentsByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TaskLabel l WHERE l.taskId = :taskId AND l.name IN :names")
+    int deleteByTaskIdAndNameIn(@Param("taskId") Long taskId, @Param("names") Collection<String> names);
+
+    @Modifying
+    @Query("DELETE FROM TaskLabel l WHERE l.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("SELECT l.id FROM TaskLabel l WHERE l.projectId = :projectId ORDER BY l.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskRecurrence;
+import com.proj.taskmanager.service.recurrence.DueRecurrence;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, Long>, TaskRecurrenceRepositoryCustom {
+
+    /**
+     * Rules with an occurrence on or before the horizon, soonest first, skipping deleted projects. Served by a
+     * range scan of idx_task_recurrences_next; generated rules move past the horizon, so callers page by
+     * asking again.
+     */
+    @Query("SELECT new com.proj.taskmanager.service.recurrence.DueRecurrence(r.id, r.projectId, r.title, r.description, " +
+            "r.assigneeId, r.createdById, r.frequency, r.interval, r.cron, r.startDate, r.endDate, r.nextOccurrence, r.occurrenceIndex) " +
+            "FROM TaskRecurrence r WHERE r.nextOccurrence <= :horizon " +
+            "AND EXISTS (SELECT p.id FROM Project p WHERE p.id = r.projectId) " +
+            "ORDER BY r.nextOccurrence, r.id")
+    List<DueRecurrence> findDue(@Param("horizon") LocalDate horizon, Pageable pageable);
+
+    List<TaskRecurrence> findByProjectIdOrderById(Long projectId);
+
+    @Query("SELECT r.id FROM TaskRecurrence r WHERE r.projectId = :projectId ORDER BY r.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.proj.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TaskRecurrenceRepositoryCustom {
+
+    /**
+     * Moves a rule from {@code expected} to {@code next}, the occurrence at {@code index}; null means the
+     * schedule has ended.
+     */
+    record Advance(Long id, LocalDate expected, LocalDate next, int index) {
+    }
+
+    /**
+     * Applies every advance in one JDBC batch. An advance only applies while the rule is still at its expected
+     * occurrence, so of two generators reading the same rule only the first to commit gets to materialize it.
+     *
+     * @return for each advance, whether it applied
+     */
+    boolean[] advanceAll(List<Advance> advances);
+}
@@ -0,0 +1,40 @@
+package com.proj.taskmanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskRecurrenceRepositoryCustomImpl implements TaskRecurrenceRepositoryCustom {
+    private static final String ADVANCE_SQL = "UPDATE task_recurrences SET next_occurrence = :next, occurrence_index = :index "
+            + "WHERE id = :id AND next_occurrence = :expected";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean[] advanceAll(List<Advance> advances) {
+        if (advances.isEmpty()) {
+            return new boolean[0];
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[advances.size()];
+        for (int i = 0; i < advances.size(); i++) {
+            Advance advance = advances.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("next", advance.next(), Types.DATE)
+                    .addValue("index", advance.index(), Types.INTEGER)
+                    .addValue("id", advance.id(), Types.BIGINT)
+                    .addValue("expected", advance.expected(), Types.DATE);
+        }
+        int[] counts = jdbcTemplate.batchUpdate(ADVANCE_SQL, batch);
+        boolean[] applied = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            // Drivers that cannot report per-row counts return SUCCESS_NO_INFO; the unique occurrence key still holds
+            applied[i] = counts[i] != 0;
+        }
+        return applied;
+    }
+}
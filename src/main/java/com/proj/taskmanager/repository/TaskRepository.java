@@ -1,12 +1,170 @@
 package com.proj.taskmanager.repository;
 
+import com.proj.taskmanager.dto.TaskExportRow;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
 import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.service.archive.ArchiveCandidate;
+import com.proj.taskmanager.service.board.BoardColumn;
+import com.proj.taskmanager.service.deadline.TaskDueDateChange;
+import com.proj.taskmanager.service.dependency.TaskGraphNode;
+import com.proj.taskmanager.service.search.TaskSearchDocument;
+import com.proj.taskmanager.service.task.TaskCustomFields;
+import com.proj.taskmanager.service.task.TaskDetails;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     List<Task> findByProjectId(Long projectId);
     
     List<Task> findByProjectIdAndAssigneeId(Long projectId, Long assigneeId);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.assignee WHERE t.project.id = :projectId " +
+            "AND (t.syncVersion > :syncVersion OR (t.syncVersion = :syncVersion AND t.id > :taskId)) " +
+            "ORDER BY t.syncVersion, t.id")
+    List<Task> findChangedSince(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion,
+                                @Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * One page of a board column in display order, starting after the task with the given rank and id.
+     * Served by a range scan of idx_tasks_board; pass an empty rank and id 0 for the first page.
+     */
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.assignee " +
+            "WHERE t.project.id = :projectId AND t.status = :status " +
+            "AND (t.boardRank > :boardRank OR (t.boardRank = :boardRank AND t.id > :taskId)) " +
+            "ORDER BY t.boardRank, t.id")
+    List<Task> findBoardColumn(@Param("projectId") Long projectId, @Param("status") TaskStatus status,
+                               @Param("boardRank") String boardRank, @Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * Tasks assigned to the user across every project they still own or belong to, by due date and then id,
+     * starting after the given pair. Served by a range scan of idx_tasks_assignee_due, so the order needs no
+     * sort and the page costs the same however many projects the user is in. Undated tasks are not included.
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.assignee " +
+            "WHERE t.assignee.id = :userId AND t.dueDate IS NOT NULL " +
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :taskId)) " +
+            "AND (p.createdBy.id = :userId OR EXISTS (SELECT m.id FROM ProjectMember m WHERE m.project = p AND m.user.id = :userId)) " +
+            "ORDER BY t.dueDate, t.id")
+    List<Task> findAssignedDueAfter(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate,
+                                    @Param("taskId") Long taskId, Pageable pageable);
+
+    // The undated rest of the inbox, after all dated tasks
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.assignee " +
+            "WHERE t.assignee.id = :userId AND t.dueDate IS NULL AND t.id > :taskId " +
+            "AND (p.createdBy.id = :userId OR EXISTS (SELECT m.id FROM ProjectMember m WHERE m.project = p AND m.user.id = :userId)) " +
+            "ORDER BY t.id")
+    List<Task> findAssignedUndatedAfter(@Param("userId") Long userId, @Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("SELECT t.boardRank FROM Task t WHERE t.project.id = :projectId AND t.status = :status " +
+            "AND t.id <> :excludeId AND (t.boardRank > :boardRank OR (t.boardRank = :boardRank AND t.id > :taskId)) " +
+            "ORDER BY t.boardRank, t.id")
+    List<String> findBoardRanksAfter(@Param("projectId") Long projectId, @Param("status") TaskStatus status,
+                                     @Param("boardRank") String boardRank, @Param("taskId") Long taskId,
+                                     @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Query("SELECT t.boardRank FROM Task t WHERE t.project.id = :projectId AND t.status = :status " +
+            "AND t.id <> :excludeId AND (t.boardRank < :boardRank OR (t.boardRank = :boardRank AND t.id < :taskId)) " +
+            "ORDER BY t.boardRank DESC, t.id DESC")
+    List<String> findBoardRanksBefore(@Param("projectId") Long projectId, @Param("status") TaskStatus status,
+                                      @Param("boardRank") String boardRank, @Param("taskId") Long taskId,
+                                      @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Query("SELECT t.boardRank FROM Task t WHERE t.project.id = :projectId AND t.status = :status AND t.id <> :excludeId " +
+            "ORDER BY t.boardRank DESC, t.id DESC")
+    List<String> findLastBoardRanks(@Param("projectId") Long projectId, @Param("status") TaskStatus status,
+                                    @Param("excludeId") Long excludeId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId AND t.status = :status ORDER BY t.boardRank, t.id")
+    List<Long> findBoardColumnIds(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
+
+    @Query("SELECT DISTINCT new com.proj.taskmanager.service.board.BoardColumn(t.project.id, t.status) " +
+            "FROM Task t WHERE LENGTH(t.boardRank) > :maxLength")
+    List<BoardColumn> findColumnsWithRanksLongerThan(@Param("maxLength") int maxLength);
+
+    @Query("SELECT new com.proj.taskmanager.service.archive.ArchiveCandidate(t.id, t.project.id, t.status) FROM Task t " +
+            "WHERE t.status IN (com.proj.taskmanager.enums.TaskStatus.COMPLETED, com.proj.taskmanager.enums.TaskStatus.CANCELLED) " +
+            "AND t.updatedAt < :cutoff AND t.id > :afterId ORDER BY t.id")
+    List<ArchiveCandidate> findArchiveCandidates(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    // Re-reads candidates under the project locks; a task changed since the first read no longer qualifies
+    @Query("SELECT new com.proj.taskmanager.service.archive.ArchiveCandidate(t.id, t.project.id, t.status) FROM Task t " +
+            "WHERE t.id IN :taskIds " +
+            "AND t.status IN (com.proj.taskmanager.enums.TaskStatus.COMPLETED, com.proj.taskmanager.enums.TaskStatus.CANCELLED) " +
+            "AND t.updatedAt < :cutoff")
+    List<ArchiveCandidate> findArchiveCandidatesAmong(@Param("taskIds") List<Long> taskIds, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT new com.proj.taskmanager.service.dependency.TaskGraphNode(t.id, t.status, t.dueDate) " +
+            "FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<TaskGraphNode> findGraphNodes(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Description and custom fields are lazy on Task; these read them for many tasks at once
+    @Query("SELECT new com.proj.taskmanager.service.task.TaskDetails(t.id, t.description, t.customFields) " +
+            "FROM Task t WHERE t.id IN :ids")
+    List<TaskDetails> findDetails(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.proj.taskmanager.service.task.TaskCustomFields(t.id, t.customFields) FROM Task t " +
+            "WHERE t.id IN :ids AND t.customFields IS NOT NULL")
+    List<TaskCustomFields> findCustomFields(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.proj.taskmanager.service.search.TaskSearchDocument(t.id, t.project.id, t.syncVersion, t.title, t.description) " +
+            "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Same order and cursor as findChangedSince, without loading the tasks
+    @Query("SELECT new com.proj.taskmanager.service.search.TaskSearchDocument(t.id, t.project.id, t.syncVersion, t.title, t.description) " +
+            "FROM Task t WHERE t.project.id = :projectId " +
+            "AND (t.syncVersion > :syncVersion OR (t.syncVersion = :syncVersion AND t.id > :taskId)) " +
+            "ORDER BY t.syncVersion, t.id")
+    List<TaskSearchDocument> findSearchDocumentsChangedSince(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion,
+                                                             @Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("SELECT new com.proj.taskmanager.event.TaskDeadlineEvent$DueTask(t.id, t.project.id, t.dueDate) FROM Task t " +
+            "WHERE t.dueDate BETWEEN :from AND :to AND t.id > :afterId " +
+            "AND t.status IN (com.proj.taskmanager.enums.TaskStatus.PENDING, com.proj.taskmanager.enums.TaskStatus.IN_PROGRESS) " +
+            "ORDER BY t.id")
+    List<TaskDeadlineEvent.DueTask> findOpenTasksDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.proj.taskmanager.event.TaskDeadlineEvent$DueTask(t.id, t.project.id, t.dueDate) FROM Task t " +
+            "WHERE t.id IN :ids " +
+            "AND t.status IN (com.proj.taskmanager.enums.TaskStatus.PENDING, com.proj.taskmanager.enums.TaskStatus.IN_PROGRESS)")
+    List<TaskDeadlineEvent.DueTask> findOpenDueTasks(@Param("ids") Collection<Long> ids);
+
+    // Same order and cursor as findChangedSince, without loading the tasks
+    @Query("SELECT new com.proj.taskmanager.service.deadline.TaskDueDateChange(t.id, t.project.id, t.syncVersion, t.dueDate, t.status) " +
+            "FROM Task t WHERE t.project.id = :projectId " +
+            "AND (t.syncVersion > :syncVersion OR (t.syncVersion = :syncVersion AND t.id > :taskId)) " +
+            "ORDER BY t.syncVersion, t.id")
+    List<TaskDueDateChange> findDueDatesChangedSince(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion,
+                                                     @Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * Forward-only cursor over a project's tasks as plain rows. Must be consumed inside a read-only
+     * transaction and closed; nothing is added to the persistence context, so memory stays flat.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.proj.taskmanager.dto.TaskExportRow(t.id, t.title, t.description, t.status, t.dueDate, " +
+            "c.id, c.email, a.id, a.email, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Task t LEFT JOIN t.createdBy c LEFT JOIN t.assignee a WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<TaskExportRow> streamExportRows(@Param("projectId") Long projectId);
 }
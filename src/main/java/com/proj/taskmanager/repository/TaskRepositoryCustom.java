@@ -0,0 +1,45 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.Task;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    record BoardRow(Task task, long columnTotal) {
+    }
+
+    /**
+     * Inserts new tasks as a single JDBC batch, bypassing the persistence context, and sets the generated
+     * ids and initial version on the given instances. Joins the caller's transaction.
+     */
+    void insertAll(List<Task> tasks);
+
+    /**
+     * Rewrites the board ranks of the given tasks as one JDBC batch and stamps them with the sync version.
+     * The task version is left alone, since no field a client edits has changed. Joins the caller's transaction.
+     */
+    void updateBoardRanks(List<Long> taskIds, List<String> boardRanks, long syncVersion);
+
+    /**
+     * Stamps the given tasks with consecutive sync versions starting at {@code firstSyncVersion}, in list order,
+     * as one JDBC batch. The task version is left alone. Joins the caller's transaction.
+     */
+    void updateSyncVersions(List<Long> taskIds, long firstSyncVersion);
+
+    /**
+     * The first {@code perColumn} tasks of every status column of a project in board order, each with the size of
+     * its column. Row numbers and counts are computed over idx_tasks_board alone; only the tasks that make the
+     * cut are then loaded, in a second query and without their descriptions.
+     */
+    List<BoardRow> findBoard(Long projectId, int perColumn);
+
+    /**
+     * Locks the project's next task to claim: unassigned, pending and not waiting for an unfinished blocker; the
+     * highest priority first, then the earliest due date with undated tasks last, then the oldest. Rows already
+     * locked by concurrent claimers are skipped instead of waited for, so each of them gets a different task.
+     * The lock is held until the caller's transaction ends; joins the caller's transaction.
+     */
+    Optional<Long> lockNextClaimable(Long projectId);
+}
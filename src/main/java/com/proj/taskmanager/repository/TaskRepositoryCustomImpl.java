@@ -0,0 +1,159 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.model.Task;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final String INSERT_SQL = "INSERT INTO tasks "
+            + "(title, description, status, priority, due_date, project_id, created_by_id, assignee_id, created_at, updated_at, version, "
+            + "sync_version, board_rank, recurrence_id, occurrence_date) "
+            + "VALUES (:title, :description, :status, :priority, :dueDate, :projectId, :createdById, :assigneeId, :createdAt, :updatedAt, 0, "
+            + ":syncVersion, :boardRank, :recurrenceId, :occurrenceDate)";
+    private static final String UPDATE_BOARD_RANK_SQL =
+            "UPDATE tasks SET board_rank = :boardRank, sync_version = :syncVersion WHERE id = :id";
+    private static final String UPDATE_SYNC_VERSION_SQL = "UPDATE tasks SET sync_version = :syncVersion WHERE id = :id";
+
+    private static final String BOARD_SQL = "SELECT r.id, r.column_total FROM ("
+            + "SELECT id, status, ROW_NUMBER() OVER (PARTITION BY status ORDER BY board_rank, id) AS column_position, "
+            + "COUNT(*) OVER (PARTITION BY status) AS column_total "
+            + "FROM tasks WHERE project_id = :projectId) r "
+            + "WHERE r.column_position <= :perColumn "
+            + "ORDER BY r.status, r.column_position";
+    // Task entities can't come from the native query: Hibernate maps an entity result only with all columns, lazy ones included
+    private static final String BOARD_TASKS_JPQL = "SELECT t FROM Task t LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.assignee "
+            + "WHERE t.id IN :ids";
+
+    // One priority level at a time, dated tasks before undated ones, so that every probe is a range of idx_tasks_claim
+    // read in index order whatever the database's null ordering; the blocker check only runs for rows the probe reaches
+    private static final String NEXT_CLAIMABLE_SQL = "SELECT t.id FROM tasks t "
+            + "WHERE t.project_id = :projectId AND t.assignee_id IS NULL AND t.status = 'PENDING' AND t.priority = :priority "
+            + "AND t.due_date %s "
+            + "AND NOT EXISTS (SELECT 1 FROM task_dependencies d WHERE d.blocked_id = t.id "
+            + "AND (SELECT b.status FROM tasks b WHERE b.id = d.blocker_id) IN ('PENDING', 'IN_PROGRESS')) "
+            + "ORDER BY t.due_date, t.id "
+            + "LIMIT 1 FOR UPDATE SKIP LOCKED";
+    private static final String NEXT_DATED_CLAIMABLE_SQL = NEXT_CLAIMABLE_SQL.formatted("IS NOT NULL");
+    private static final String NEXT_UNDATED_CLAIMABLE_SQL = NEXT_CLAIMABLE_SQL.formatted("IS NULL");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("title", task.getTitle(), Types.VARCHAR)
+                    .addValue("description", task.getDescription(), Types.VARCHAR)
+                    .addValue("status", task.getStatus().name(), Types.VARCHAR)
+                    .addValue("priority", task.getPriority().getLevel(), Types.INTEGER)
+                    .addValue("dueDate", task.getDueDate(), Types.DATE)
+                    .addValue("projectId", task.getProject().getId(), Types.BIGINT)
+                    .addValue("createdById", task.getCreatedBy() != null ? task.getCreatedBy().getId() : null, Types.BIGINT)
+                    .addValue("assigneeId", task.getAssignee() != null ? task.getAssignee().getId() : null, Types.BIGINT)
+                    .addValue("createdAt", task.getCreatedAt(), Types.TIMESTAMP)
+                    .addValue("updatedAt", task.getUpdatedAt(), Types.TIMESTAMP)
+                    .addValue("syncVersion", task.getSyncVersion(), Types.BIGINT)
+                    .addValue("boardRank", task.getBoardRank(), Types.VARCHAR)
+                    .addValue("recurrenceId", task.getRecurrenceId(), Types.BIGINT)
+                    .addValue("occurrenceDate", task.getOccurrenceDate(), Types.DATE);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < tasks.size(); i++) {
+            // Key column label case differs between databases, so take the only value
+            Number id = (Number) keys.get(i).values().iterator().next();
+            tasks.get(i).setId(id.longValue());
+            tasks.get(i).setVersion(0L);
+        }
+    }
+
+    @Override
+    public void updateBoardRanks(List<Long> taskIds, List<String> boardRanks, long syncVersion) {
+        SqlParameterSource[] batch = new SqlParameterSource[taskIds.size()];
+        for (int i = 0; i < taskIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("boardRank", boardRanks.get(i), Types.VARCHAR)
+                    .addValue("syncVersion", syncVersion, Types.BIGINT)
+                    .addValue("id", taskIds.get(i), Types.BIGINT);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_BOARD_RANK_SQL, batch);
+    }
+
+    @Override
+    public void updateSyncVersions(List<Long> taskIds, long firstSyncVersion) {
+        SqlParameterSource[] batch = new SqlParameterSource[taskIds.size()];
+        for (int i = 0; i < taskIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("syncVersion", firstSyncVersion + i, Types.BIGINT)
+                    .addValue("id", taskIds.get(i), Types.BIGINT);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SYNC_VERSION_SQL, batch);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BoardRow> findBoard(Long projectId, int perColumn) {
+        List<Object[]> rows = entityManager.createNativeQuery(BOARD_SQL)
+                .setParameter("projectId", projectId)
+                .setParameter("perColumn", perColumn)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        Map<Long, Task> tasks = entityManager.createQuery(BOARD_TASKS_JPQL, Task.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<BoardRow> board = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            // A task deleted between the two queries is left out; the column total may be one off until the next read
+            Task task = tasks.get(((Number) row[0]).longValue());
+            if (task != null) {
+                board.add(new BoardRow(task, ((Number) row[1]).longValue()));
+            }
+        }
+        return board;
+    }
+
+    @Override
+    public Optional<Long> lockNextClaimable(Long projectId) {
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("projectId", projectId)
+                    .addValue("priority", priorities[i].getLevel());
+            for (String sql : List.of(NEXT_DATED_CLAIMABLE_SQL, NEXT_UNDATED_CLAIMABLE_SQL)) {
+                List<Long> ids = jdbcTemplate.queryForList(sql, params, Long.class);
+                if (!ids.isEmpty()) {
+                    return Optional.of(ids.get(0));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
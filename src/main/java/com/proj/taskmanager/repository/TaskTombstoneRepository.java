@@ -0,0 +1,42 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    record PurgeCandidate(Long projectId, Long throughSyncVersion) {
+    }
+
+    @Query("SELECT t FROM TaskTombstone t WHERE t.projectId = :projectId AND t.taskId IS NOT NULL " +
+            "AND (t.syncVersion > :syncVersion OR (t.syncVersion = :syncVersion AND t.taskId > :taskId)) " +
+            "ORDER BY t.syncVersion, t.taskId")
+    List<TaskTombstone> findChangedSince(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion,
+                                         @Param("taskId") Long taskId, Pageable pageable);
+
+    boolean existsByProjectIdAndTaskIdIsNull(Long projectId);
+
+    // Project ids with the newest sync version among their tombstones older than the cutoff
+    @Query("SELECT new com.proj.taskmanager.repository.TaskTombstoneRepository$PurgeCandidate(t.projectId, MAX(t.syncVersion)) " +
+            "FROM TaskTombstone t WHERE t.deletedAt < :cutoff AND t.taskId IS NOT NULL GROUP BY t.projectId")
+    List<PurgeCandidate> findPurgeableByProject(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.projectId = :projectId AND t.taskId IS NOT NULL AND t.syncVersion <= :syncVersion")
+    int deleteTaskTombstonesThrough(@Param("projectId") Long projectId, @Param("syncVersion") long syncVersion);
+
+    // Task tombstones only; the project's own record stays so sync keeps reporting the deletion
+    @Query("SELECT t.id FROM TaskTombstone t WHERE t.projectId = :projectId AND t.taskId IS NOT NULL ORDER BY t.id")
+    List<Long> findTaskTombstoneIds(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.taskId IS NULL AND t.deletedAt < :cutoff")
+    int deleteProjectTombstonesBefore(@Param("cutoff") LocalDateTime cutoff);
+}
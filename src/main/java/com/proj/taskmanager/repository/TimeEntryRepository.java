@@ -0,0 +1,35 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TimeEntry;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
+
+    List<TimeEntry> findByTaskIdAndIdLessThanOrderByIdDesc(Long taskId, Long id, Pageable pageable);
+
+    /**
+     * Locks the task's entries, so one being deleted on its own is either gone or waits for the task's deletion.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TimeEntry e WHERE e.taskId = :taskId")
+    List<TimeEntry> findByTaskIdForUpdate(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TimeEntry e WHERE e.id = :id")
+    int deleteEntry(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM TimeEntry e WHERE e.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("SELECT e.id FROM TimeEntry e WHERE e.projectId = :projectId ORDER BY e.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
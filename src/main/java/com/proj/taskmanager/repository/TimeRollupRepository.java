@@ -0,0 +1,40 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.TimeRollupDimension;
+import com.proj.taskmanager.model.TimeRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimeRollupRepository extends JpaRepository<TimeRollup, Long> {
+
+    @Modifying
+    @Query("UPDATE TimeRollup r SET r.minutes = r.minutes + :minutes, r.entries = r.entries + :entries, r.updatedAt = :now " +
+            "WHERE r.projectId = :projectId AND r.dimension = :dimension AND r.subjectId = :subjectId AND r.weekStart = :weekStart")
+    int applyDelta(@Param("projectId") Long projectId, @Param("dimension") TimeRollupDimension dimension,
+                   @Param("subjectId") Long subjectId, @Param("weekStart") LocalDate weekStart,
+                   @Param("minutes") long minutes, @Param("entries") long entries, @Param("now") LocalDateTime now);
+
+    List<TimeRollup> findByProjectIdAndDimensionAndSubjectIdOrderByWeekStart(
+            Long projectId, TimeRollupDimension dimension, Long subjectId);
+
+    List<TimeRollup> findByProjectIdAndDimensionAndSubjectIdAndWeekStartBetweenOrderByWeekStart(
+            Long projectId, TimeRollupDimension dimension, Long subjectId, LocalDate from, LocalDate to);
+
+    List<TimeRollup> findByProjectIdAndDimensionAndWeekStartBetween(
+            Long projectId, TimeRollupDimension dimension, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM TimeRollup r WHERE r.projectId = :projectId " +
+            "AND r.dimension = com.proj.taskmanager.enums.TimeRollupDimension.TASK AND r.subjectId = :taskId")
+    int deleteForTask(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
+
+    @Query("SELECT r.id FROM TimeRollup r WHERE r.projectId = :projectId ORDER BY r.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -3,6 +3,8 @@ package com.proj.taskmanager.repository;
 import com.proj.taskmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +12,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    List<UserIdView> findByEmailIn(Collection<String> emails);
+
+    interface UserIdView {
+        Long getId();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,15 @@
+package com.proj.taskmanager.request.project;
+
+import com.proj.taskmanager.enums.CustomFieldType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record CreateCustomFieldReq(
+        @NotBlank String key,
+        @NotBlank String name,
+        @NotNull CustomFieldType type,
+        List<String> options
+) {
+}
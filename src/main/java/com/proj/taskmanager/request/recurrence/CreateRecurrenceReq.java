@@ -0,0 +1,20 @@
+package com.proj.taskmanager.request.recurrence;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record CreateRecurrenceReq(
+        @NotNull Long projectId,
+        @NotEmpty String title,
+        String description,
+        Long assigneeId,
+        @NotNull RecurrenceFrequency frequency,
+        Integer interval,
+        String cron,
+        LocalDate startDate,
+        LocalDate endDate
+        ) {
+}
@@ -1,14 +1,17 @@
 package com.proj.taskmanager.request.task;
 
+import com.proj.taskmanager.enums.TaskPriority;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 
 public record CreateTaskReq(
         @NotEmpty String title,
         @NotEmpty String description,
-        @NotEmpty Long projectId,
+        @NotNull Long projectId,
         LocalDate dueDate,
-        Long assigneeId
+        Long assigneeId,
+        TaskPriority priority
         ) {
 }
@@ -0,0 +1,14 @@
+package com.proj.taskmanager.request.task;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public record LogTimeReq(
+        @NotNull @Positive Integer minutes,
+        @NotNull LocalDate spentOn,
+        @Size(max = 500) String note
+) {
+}
@@ -0,0 +1,14 @@
+package com.proj.taskmanager.request.task;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+/**
+ * Drops a task into a board column between two neighbours. Leave the status out to reorder within the current
+ * column; leave out either neighbour to place the task at the top or bottom of the column.
+ */
+public record MoveTaskReq(
+        TaskStatus status,
+        Long aboveTaskId,
+        Long belowTaskId
+) {
+}
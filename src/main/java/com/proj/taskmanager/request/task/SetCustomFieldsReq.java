@@ -0,0 +1,11 @@
+package com.proj.taskmanager.request.task;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+// Values by field key; a null value clears the field, fields not listed are left alone
+public record SetCustomFieldsReq(
+        @NotNull Map<String, Object> values
+) {
+}
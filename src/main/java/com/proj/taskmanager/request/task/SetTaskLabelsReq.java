@@ -0,0 +1,10 @@
+package com.proj.taskmanager.request.task;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record SetTaskLabelsReq(
+        @NotNull List<String> labels
+) {
+}
@@ -1,11 +1,14 @@
 package com.proj.taskmanager.request.task;
 
+import com.proj.taskmanager.enums.TaskPriority;
+
 import java.time.LocalDate;
 
 public record UpdateTaskReq(
         String title,
         String description,
         LocalDate dueDate,
-        Long assigneeId
+        Long assigneeId,
+        TaskPriority priority
 ) {
 } 
\ No newline at end of file
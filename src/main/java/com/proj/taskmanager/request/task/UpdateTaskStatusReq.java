@@ -0,0 +1,9 @@
+package com.proj.taskmanager.request.task;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateTaskStatusReq(
+        @NotNull TaskStatus status
+) {
+}
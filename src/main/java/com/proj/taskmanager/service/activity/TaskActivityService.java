@@ -0,0 +1,231 @@
+package com.proj.taskmanager.service.activity;
+
+import com.proj.taskmanager.dto.TaskActivityDto;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.model.TaskActivity;
+import com.proj.taskmanager.repository.TaskActivityRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task history. Committed task events are turned into activity rows and queued in memory; a single writer
+ * thread inserts them in JDBC batches, so request threads never wait for the audit insert. When the queue is
+ * full the caller waits briefly and then writes its own rows, which slows producers down instead of dropping
+ * history. On shutdown the writer stops taking new work and the queue is flushed before the data source closes.
+ * <p>
+ * History reads may trail the latest changes by up to one flush interval.
+ */
+@Slf4j
+@Service
+public class TaskActivityService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int WRITE_ATTEMPTS = 3;
+
+    private final TaskActivityRepository activityRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectAccessService projectAccessService;
+    private final TransactionTemplate writeTransaction;
+
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<TaskActivity> queue;
+
+    private final Counter written;
+    private final Counter callerWrites;
+    private final Counter dropped;
+
+    private volatile boolean accepting = true;
+    private Thread writer;
+
+    public TaskActivityService(TaskActivityRepository activityRepository,
+                               TaskRepository taskRepository,
+                               ProjectAccessService projectAccessService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${task.activity.queue-capacity:10000}") int queueCapacity,
+                               @Value("${task.activity.batch-size:500}") int batchSize,
+                               @Value("${task.activity.flush-interval-ms:200}") long flushIntervalMs,
+                               @Value("${task.activity.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.activityRepository = activityRepository;
+        this.taskRepository = taskRepository;
+        this.projectAccessService = projectAccessService;
+        // Events arrive after the task transaction committed, so writes always need a transaction of their own
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("task.activity.queue.size", queue, BlockingQueue::size)
+                .description("Activity rows waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("task.activity.written").register(meterRegistry);
+        this.callerWrites = Counter.builder("task.activity.caller.writes")
+                .description("Rows written on the request thread because the queue was full or shutting down")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("task.activity.dropped")
+                .description("Rows lost after repeated write failures")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::runWriter, "task-activity-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // The writer exits once the queue is empty; anything still here was enqueued while it was finishing
+        List<TaskActivity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        String action = event.type().name();
+        List<TaskActivity> entries = new ArrayList<>();
+        if (event.changes().isEmpty()) {
+            entries.add(new TaskActivity(event.taskId(), event.projectId(), event.actorId(), action, null, null, null, now));
+        }
+        for (TaskFieldChange change : event.changes()) {
+            entries.add(new TaskActivity(event.taskId(), event.projectId(), event.actorId(), action,
+                    change.field(), change.oldValue(), change.newValue(), now));
+        }
+        enqueue(entries);
+    }
+
+    public List<TaskActivityDto> getTaskActivity(Long userId, Long taskId, Long beforeId, int limit) {
+        Long projectId = taskRepository.findById(taskId)
+                .filter(task -> task.getProject() != null)
+                .map(task -> task.getProject().getId())
+                .orElseGet(() -> activityRepository.findProjectIdsByTaskId(taskId, PageRequest.ofSize(1)).stream()
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId)));
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "view the activity of");
+        return activityRepository.findByTaskIdBefore(taskId, beforeOrLatest(beforeId), pageOf(limit)).stream()
+                .map(TaskActivityDto::of)
+                .toList();
+    }
+
+    public List<TaskActivityDto> getProjectActivity(Long userId, Long projectId, Long beforeId, int limit) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "view the activity of");
+        return activityRepository.findByProjectIdBefore(projectId, beforeOrLatest(beforeId), pageOf(limit)).stream()
+                .map(TaskActivityDto::of)
+                .toList();
+    }
+
+    void enqueue(List<TaskActivity> entries) {
+        List<TaskActivity> overflow = null;
+        for (TaskActivity entry : entries) {
+            if (!offer(entry)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(entry);
+            }
+        }
+        if (overflow != null) {
+            callerWrites.increment(overflow.size());
+            write(overflow);
+        }
+    }
+
+    private boolean offer(TaskActivity entry) {
+        if (!accepting) {
+            return false;
+        }
+        try {
+            return queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runWriter() {
+        List<TaskActivity> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                TaskActivity first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Task activity writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TaskActivity> entries) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeTransaction.executeWithoutResult(status -> activityRepository.insertAll(entries));
+                written.increment(entries.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    dropped.increment(entries.size());
+                    log.error("Dropped {} task activity rows after {} failed attempts", entries.size(), attempt, e);
+                    return;
+                }
+                log.warn("Writing {} task activity rows failed, retrying", entries.size(), e);
+                sleepBeforeRetry(attempt);
+            }
+        }
+    }
+
+    private static void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(100L * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long beforeOrLatest(Long beforeId) {
+        return beforeId != null ? beforeId : Long.MAX_VALUE;
+    }
+
+    private static PageRequest pageOf(int limit) {
+        return PageRequest.ofSize(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+}
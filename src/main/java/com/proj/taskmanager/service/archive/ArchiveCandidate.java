@@ -0,0 +1,6 @@
+package com.proj.taskmanager.service.archive;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+public record ArchiveCandidate(Long taskId, Long projectId, TaskStatus status) {
+}
@@ -0,0 +1,181 @@
+package com.proj.taskmanager.service.archive;
+
+import com.proj.taskmanager.dto.ArchivedTaskDto;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.ArchivedTask;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.repository.ArchivedTaskRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskCounterDelta;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import com.proj.taskmanager.service.task.TaskTombstoneService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Moves tasks that were completed or cancelled more than {@code task.archive.after-days} ago from tasks to
+ * archived_tasks, so the hot table and its indexes only hold live work. To the rest of the application an
+ * archived task looks deleted: delta sync gets a tombstone, counters drop it and listeners see an ARCHIVED event.
+ * <p>
+ * Any write to an archived task goes through {@link #restore}, which moves it back under its old id first.
+ * Both directions take the project version lock, the same one task writes take, so a task cannot be changed
+ * while it is being moved.
+ */
+@Slf4j
+@Service
+public class TaskArchiveService {
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskTombstoneService taskTombstoneService;
+    private final TaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int archiveAfterDays;
+    private final int batchSize;
+
+    public TaskArchiveService(TaskRepository taskRepository,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              ProjectRepository projectRepository,
+                              ProjectAccessService projectAccessService,
+                              ProjectVersionService projectVersionService,
+                              TaskTombstoneService taskTombstoneService,
+                              TaskCounterService taskCounterService,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${task.archive.after-days:90}") int archiveAfterDays,
+                              @Value("${task.archive.batch-size:500}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.projectRepository = projectRepository;
+        this.projectAccessService = projectAccessService;
+        this.projectVersionService = projectVersionService;
+        this.taskTombstoneService = taskTombstoneService;
+        this.taskCounterService = taskCounterService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfterDays = archiveAfterDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every qualifying task in batches of {@code task.archive.batch-size}, one transaction per batch.
+     *
+     * @return the number of tasks archived
+     */
+    @Scheduled(cron = "${task.archive.cron:0 15 2 * * *}")
+    public int archiveFinishedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        long afterId = 0;
+        int archived = 0;
+        List<ArchiveCandidate> page;
+        do {
+            page = taskRepository.findArchiveCandidates(cutoff, afterId, PageRequest.ofSize(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<ArchiveCandidate> batch = page;
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(batch, cutoff));
+            archived += moved != null ? moved : 0;
+            afterId = page.get(page.size() - 1).taskId();
+        } while (page.size() == batchSize);
+
+        if (archived > 0) {
+            log.info("Archived {} tasks finished before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(List<ArchiveCandidate> candidates, LocalDateTime cutoff) {
+        // Lock the projects in id order so concurrent batches cannot deadlock, then re-read under the locks
+        Map<Long, Long> syncVersions = new HashMap<>();
+        for (Long projectId : new TreeSet<>(candidates.stream().map(ArchiveCandidate::projectId).toList())) {
+            syncVersions.put(projectId, projectVersionService.markChanged(projectId));
+        }
+        List<ArchiveCandidate> archivable = taskRepository.findArchiveCandidatesAmong(
+                candidates.stream().map(ArchiveCandidate::taskId).toList(), cutoff);
+        if (archivable.isEmpty()) {
+            return 0;
+        }
+
+        archivedTaskRepository.archive(archivable.stream().map(ArchiveCandidate::taskId).toList(), LocalDateTime.now());
+        Map<Long, TaskCounterDelta> deltas = new HashMap<>();
+        for (ArchiveCandidate task : archivable) {
+            taskTombstoneService.recordTaskDeleted(task.projectId(), task.taskId(), syncVersions.get(task.projectId()));
+            // Finished tasks are neither overdue nor counted as unassigned
+            deltas.merge(task.projectId(), TaskCounterDelta.between(new TaskCounterDelta.State(task.status(), false, false), null),
+                    TaskCounterDelta::plus);
+            eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.ARCHIVED, task.taskId(), task.projectId(), null, null, List.of()));
+        }
+        deltas.forEach(taskCounterService::applyDelta);
+        return archivable.size();
+    }
+
+    /**
+     * Moves an archived task back to the tasks table, where it shows up again as changed. The restore counts as
+     * an update, so the task is not archived again before another {@code task.archive.after-days} have passed.
+     * <p>
+     * The actor must be allowed to {@code action} the task before anything is moved or locked. To users outside
+     * the project an archived task looks like one that does not exist.
+     *
+     * @return the restored task, or empty if it is not archived (or someone else restored it first)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Task> restore(Long taskId, Long actorId, String action) {
+        ArchivedTask archived = archivedTaskRepository.findById(taskId).orElse(null);
+        // A deleted project's archive is only waiting for the purge
+        Project project = archived != null ? projectRepository.findById(archived.getProjectId()).orElse(null) : null;
+        if (project == null || !projectAccessService.isMember(actorId, project)) {
+            return Optional.empty();
+        }
+        projectAccessService.validateUserCanManageTask(actorId, project, action);
+        long syncVersion = projectVersionService.markChanged(archived.getProjectId());
+        if (!archivedTaskRepository.restore(taskId)) {
+            return Optional.empty();
+        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalStateException("Restored task " + taskId + " not found"));
+        task.setSyncVersion(syncVersion);
+        task.setUpdatedAt(LocalDateTime.now());
+        taskCounterService.recordChange(archived.getProjectId(), null, TaskCounterService.snapshot(task));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.RESTORED, task, actorId));
+        return Optional.of(task);
+    }
+
+    public List<ArchivedTaskDto> getArchivedTasks(Long userId, Long projectId, Long beforeId, int limit) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "view the archive of");
+        PageRequest page = PageRequest.ofSize(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        return archivedTaskRepository.findByProjectIdBefore(projectId, beforeId != null ? beforeId : Long.MAX_VALUE, page).stream()
+                .map(ArchivedTaskDto::of)
+                .toList();
+    }
+
+    public ArchivedTaskDto getArchivedTask(Long userId, Long taskId) {
+        ArchivedTask task = archivedTaskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Archived task not found with id: " + taskId));
+        projectAccessService.validateUserIsProjectMember(userId, task.getProjectId(), "view the archive of");
+        return ArchivedTaskDto.of(task);
+    }
+}
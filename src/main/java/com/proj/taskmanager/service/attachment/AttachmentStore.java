@@ -0,0 +1,181 @@
+package com.proj.taskmanager.service.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed blobs on the local disk, stored as {@code <dir>/ab/cd/<sha256>}. Uploads are copied
+ * through a fixed buffer into a temporary file while being hashed, then renamed to their hash, so heap use
+ * does not depend on the file size and a half-written upload is never visible under a blob name. Storing
+ * content that is already there only refreshes the blob's modification time.
+ * <p>
+ * Blobs are never deleted by the request that drops the last reference to them: the attachment service's
+ * collector removes unreferenced blobs older than a grace period, which a re-upload of the same content
+ * restarts.
+ */
+@Component
+public class AttachmentStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final String INCOMING = "incoming";
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxSize;
+
+    public record StoredBlob(String sha256, long size) {
+    }
+
+    public AttachmentStore(@Value("${task.attachments.dir:${java.io.tmpdir}/task-attachments}") String dir,
+                           @Value("${task.attachments.max-size:500MB}") DataSize maxSize) {
+        this.root = Paths.get(dir).toAbsolutePath();
+        this.incoming = root.resolve(INCOMING);
+        this.maxSize = maxSize.toBytes();
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment directory " + incoming, e);
+        }
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Copies the stream into the store.
+     *
+     * @throws RuntimeException if the content is larger than {@code task.attachments.max-size}
+     */
+    public StoredBlob store(InputStream input) throws IOException {
+        MessageDigest digest = sha256();
+        Path upload = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream in = new DigestInputStream(input, digest);
+                 FileChannel out = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new RuntimeException("Attachment is larger than " + maxSize + " bytes");
+                    }
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path blob = pathOf(sha256);
+            if (Files.exists(blob)) {
+                // Restarts the collector's grace period for a blob that may just have lost its last reference
+                Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(blob.getParent());
+                // Two uploads of the same content may both get here; either rename leaves the same bytes behind
+                Files.move(upload, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredBlob(sha256, size);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Writes {@code count} bytes of a blob starting at {@code position} with {@link FileChannel#transferTo},
+     * which hands the copy to the operating system instead of reading the file through a heap buffer.
+     */
+    public void transferTo(String sha256, long position, long count, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(sha256), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(output);
+            while (count > 0) {
+                long sent = channel.transferTo(position, count, target);
+                if (sent <= 0) {
+                    throw new EOFException("Blob " + sha256 + " ended before byte " + position);
+                }
+                position += sent;
+                count -= sent;
+            }
+        }
+        output.flush();
+    }
+
+    public boolean exists(String sha256) {
+        return Files.isRegularFile(pathOf(sha256));
+    }
+
+    /**
+     * Deletes a blob unless it was stored again after {@code notAfter}.
+     *
+     * @return whether the blob was deleted
+     */
+    public boolean deleteIfUnchangedSince(String sha256, Instant notAfter) throws IOException {
+        Path blob = pathOf(sha256);
+        if (!Files.exists(blob) || Files.getLastModifiedTime(blob).toInstant().isAfter(notAfter)) {
+            return false;
+        }
+        return Files.deleteIfExists(blob);
+    }
+
+    /**
+     * Passes the hash of every blob last stored before {@code before} to the consumer, and deletes
+     * temporary files of uploads that were abandoned before then.
+     */
+    public void forEachBlobOlderThan(Instant before, Consumer<String> consumer) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file) || Files.getLastModifiedTime(file).toInstant().isAfter(before)) {
+                    continue;
+                }
+                if (file.getParent().equals(incoming)) {
+                    Files.deleteIfExists(file);
+                } else if (SHA256.matcher(file.getFileName().toString()).matches()) {
+                    consumer.accept(file.getFileName().toString());
+                }
+            }
+        }
+    }
+
+    private Path pathOf(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid blob name: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
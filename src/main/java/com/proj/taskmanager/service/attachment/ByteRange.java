@@ -0,0 +1,43 @@
+package com.proj.taskmanager.service.attachment;
+
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+
+/**
+ * An inclusive byte range of a file, as asked for by a Range header.
+ */
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String toContentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    /**
+     * The range to send for a Range header.
+     *
+     * @return null to send the whole content: without a header, or when several ranges are asked for, which
+     * a server may answer with the full content instead of a multipart response
+     * @throws IllegalArgumentException if the header is malformed or the range lies past the end of the content
+     */
+    public static ByteRange of(String header, long size) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(header);
+        if (ranges.size() != 1) {
+            return null;
+        }
+        HttpRange range = ranges.get(0);
+        long start = range.getRangeStart(size);
+        long end = range.getRangeEnd(size);
+        if (start >= size || start > end) {
+            throw new IllegalArgumentException("Range " + header + " is not satisfiable for " + size + " bytes");
+        }
+        return new ByteRange(start, end);
+    }
+}
@@ -0,0 +1,232 @@
+package com.proj.taskmanager.service.attachment;
+
+import com.proj.taskmanager.dto.TaskAttachmentDto;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskAttachment;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskAttachmentRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.InvalidMimeTypeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Attachment metadata and access checks. Uploads are written to the {@link AttachmentStore} before any
+ * transaction starts, so a slow 500 MB upload holds no database connection; the metadata row is inserted
+ * afterwards, and an upload whose task disappeared meanwhile leaves an unreferenced blob for the collector.
+ */
+@Slf4j
+@Service
+public class TaskAttachmentService {
+    private static final int MAX_FILENAME_LENGTH = 255;
+    private static final int COLLECT_BATCH_SIZE = 500;
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+
+    public TaskAttachmentService(TaskAttachmentRepository attachmentRepository,
+                                 TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 ProjectAccessService projectAccessService,
+                                 AttachmentStore attachmentStore,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${task.attachments.gc-grace-minutes:60}") long gracePeriodMinutes) {
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectAccessService = projectAccessService;
+        this.attachmentStore = attachmentStore;
+        this.transactionTemplate = transactionTemplate;
+        this.gracePeriod = Duration.ofMinutes(gracePeriodMinutes);
+    }
+
+    /**
+     * Streams {@code content} into the store and attaches it to the task.
+     *
+     * @param declaredSize the request's Content-Length, or -1 if unknown; checked before reading anything
+     */
+    public TaskAttachmentDto upload(Long userId, Long taskId, String filename, String contentType,
+                                    long declaredSize, InputStream content) throws IOException {
+        Task task = findTask(taskId);
+        projectAccessService.validateUserCanManageProject(userId, task.getProject(), "manage attachments of");
+        String name = sanitizeFilename(filename);
+        String type = normalizeContentType(contentType);
+        if (declaredSize > attachmentStore.getMaxSize()) {
+            throw new RuntimeException("Attachment is larger than " + attachmentStore.getMaxSize() + " bytes");
+        }
+
+        AttachmentStore.StoredBlob blob = attachmentStore.store(content);
+
+        return transactionTemplate.execute(status -> {
+            Long projectId = findTask(taskId).getProject().getId();
+            TaskAttachment attachment = new TaskAttachment();
+            attachment.setTaskId(taskId);
+            attachment.setProjectId(projectId);
+            attachment.setFilename(name);
+            attachment.setContentType(type);
+            attachment.setSize(blob.size());
+            attachment.setSha256(blob.sha256());
+            attachment.setUploadedById(userId);
+            attachment.setCreatedAt(LocalDateTime.now());
+            return TaskAttachmentDto.of(attachmentRepository.save(attachment));
+        });
+    }
+
+    public List<TaskAttachmentDto> getAttachments(Long userId, Long taskId) {
+        Task task = findTask(taskId);
+        projectAccessService.validateUserIsProjectMember(userId, task.getProject(), "view the attachments of");
+        return attachmentRepository.findByTaskIdOrderById(taskId).stream()
+                .map(TaskAttachmentDto::of)
+                .toList();
+    }
+
+    public TaskAttachment getAttachmentForDownload(Long userId, Long attachmentId) {
+        TaskAttachment attachment = findAttachment(attachmentId);
+        projectAccessService.validateUserIsProjectMember(userId, findProject(attachment), "view the attachments of");
+        if (!attachmentStore.exists(attachment.getSha256())) {
+            throw new IllegalStateException("Content of attachment " + attachmentId + " is missing");
+        }
+        return attachment;
+    }
+
+    /**
+     * Writes bytes {@code position} to {@code position + count - 1} of the attachment's content.
+     */
+    public void writeContent(TaskAttachment attachment, long position, long count, OutputStream output) throws IOException {
+        attachmentStore.transferTo(attachment.getSha256(), position, count, output);
+    }
+
+    @Transactional
+    public void deleteAttachment(Long userId, Long attachmentId) {
+        TaskAttachment attachment = findAttachment(attachmentId);
+        Project project = findProject(attachment);
+        projectAccessService.validateUserCanManageProject(userId, project, "manage attachments of");
+        // The blob may be shared; the collector removes it once nothing refers to it
+        attachmentRepository.delete(attachment);
+    }
+
+    // Task deletion checks permissions and locks the project itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForTask(Long taskId) {
+        attachmentRepository.deleteByTaskId(taskId);
+    }
+
+    /**
+     * Deletes blobs that no attachment refers to and that were last stored more than
+     * {@code task.attachments.gc-grace-minutes} ago.
+     *
+     * @return the number of blobs deleted
+     */
+    @Scheduled(cron = "${task.attachments.gc-cron:0 0 4 * * *}")
+    public int collectGarbage() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<String> candidates = new ArrayList<>();
+        int[] deleted = {0};
+        try {
+            attachmentStore.forEachBlobOlderThan(cutoff, sha256 -> {
+                candidates.add(sha256);
+                if (candidates.size() == COLLECT_BATCH_SIZE) {
+                    deleted[0] += deleteUnreferenced(candidates, cutoff);
+                    candidates.clear();
+                }
+            });
+            deleted[0] += deleteUnreferenced(candidates, cutoff);
+        } catch (IOException e) {
+            log.warn("Collecting unreferenced attachment blobs failed", e);
+        }
+        if (deleted[0] > 0) {
+            log.info("Deleted {} unreferenced attachment blobs", deleted[0]);
+        }
+        return deleted[0];
+    }
+
+    private int deleteUnreferenced(List<String> hashes, Instant cutoff) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        Set<String> referenced = new HashSet<>(attachmentRepository.findReferencedHashes(hashes));
+        int deleted = 0;
+        for (String sha256 : hashes) {
+            try {
+                // An upload of the same content since the listing refreshed the blob and keeps it
+                if (!referenced.contains(sha256) && attachmentStore.deleteIfUnchangedSince(sha256, cutoff)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Deleting attachment blob {} failed", sha256, e);
+            }
+        }
+        return deleted;
+    }
+
+    private Task findTask(Long taskId) {
+        // A deleted project is hidden, so its tasks waiting for the purge come back without one
+        return taskRepository.findById(taskId)
+                .filter(task -> task.getProject() != null)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+    }
+
+    private TaskAttachment findAttachment(Long attachmentId) {
+        return attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new RuntimeException("Attachment not found with id: " + attachmentId));
+    }
+
+    private Project findProject(TaskAttachment attachment) {
+        return projectRepository.findById(attachment.getProjectId())
+                .orElseThrow(() -> new RuntimeException("Attachment not found with id: " + attachment.getId()));
+    }
+
+    static String sanitizeFilename(String filename) {
+        if (filename == null || filename.isBlank()) {
+            throw new RuntimeException("A filename is required");
+        }
+        // Keep the last path segment of names sent as paths by some clients
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1).strip();
+        if (name.isEmpty() || name.chars().anyMatch(Character::isISOControl)) {
+            throw new RuntimeException("Invalid filename: " + filename);
+        }
+        return name.length() > MAX_FILENAME_LENGTH ? name.substring(0, MAX_FILENAME_LENGTH) : name;
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if (type.isWildcardType() || type.isWildcardSubtype()) {
+                return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+            }
+            if (type.getType().equals("multipart") || type.equalsTypeAndSubtype(MediaType.APPLICATION_FORM_URLENCODED)) {
+                throw new RuntimeException("Send the file as the raw request body, not as a form");
+            }
+            return type.toString();
+        } catch (InvalidMimeTypeException e) {
+            throw new RuntimeException("Invalid content type: " + contentType);
+        }
+    }
+}
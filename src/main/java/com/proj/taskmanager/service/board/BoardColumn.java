@@ -0,0 +1,6 @@
+package com.proj.taskmanager.service.board;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+public record BoardColumn(Long projectId, TaskStatus status) {
+}
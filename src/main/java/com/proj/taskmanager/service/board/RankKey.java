@@ -0,0 +1,199 @@
+package com.proj.taskmanager.service.board;
+
+/**
+ * Fractional index keys that order tasks within a board column by plain string comparison, so a task can be
+ * placed between two others by writing only its own key.
+ * <p>
+ * A key is a variable-length integer part followed by an optional fraction. The first character of the
+ * integer part encodes its length, so appending to or prepending to a column only increments or decrements the
+ * integer and keys grow logarithmically. Inserting repeatedly into the same gap lengthens the fraction by about
+ * one character per five inserts; the board rebalancer rewrites a column whose keys got too long.
+ * <p>
+ * Keys use only digits and lowercase letters, which every common database collation orders the same way as
+ * {@link String#compareTo}, and never end in {@code '0'}, so there is always room before any key.
+ */
+public final class RankKey {
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+    // Heads '0'..'h' start negative integers (longest first), 'i'..'z' positive ones (shortest first)
+    private static final int FIRST_POSITIVE_HEAD = DIGITS.indexOf('i');
+    private static final int MAX_INTEGER_LENGTH = BASE - FIRST_POSITIVE_HEAD + 1;
+    private static final String ZERO = "i0";
+    private static final String SMALLEST_INTEGER = "0".repeat(MAX_INTEGER_LENGTH);
+
+    private RankKey() {
+    }
+
+    /**
+     * A key strictly between {@code lower} and {@code upper}.
+     *
+     * @param lower the key to sort after, or null for the start of the column
+     * @param upper the key to sort before, or null for the end of the column
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null) {
+            validate(lower);
+        }
+        if (upper != null) {
+            validate(upper);
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not before " + upper);
+        }
+
+        if (lower == null && upper == null) {
+            return ZERO;
+        }
+        if (lower == null) {
+            String integer = integerPart(upper);
+            if (integer.equals(SMALLEST_INTEGER)) {
+                return integer + midpoint("", upper.substring(integer.length()));
+            }
+            if (integer.compareTo(upper) < 0) {
+                return integer;
+            }
+            String decremented = decrementInteger(integer);
+            if (decremented == null) {
+                throw new IllegalArgumentException("No rank before " + upper);
+            }
+            return decremented;
+        }
+
+        String integer = integerPart(lower);
+        String fraction = lower.substring(integer.length());
+        if (upper == null) {
+            String incremented = incrementInteger(integer);
+            return incremented != null ? incremented : integer + midpoint(fraction, null);
+        }
+        String upperInteger = integerPart(upper);
+        if (integer.equals(upperInteger)) {
+            return integer + midpoint(fraction, upper.substring(upperInteger.length()));
+        }
+        String incremented = incrementInteger(integer);
+        if (incremented != null && incremented.compareTo(upper) < 0) {
+            return incremented;
+        }
+        return integer + midpoint(fraction, null);
+    }
+
+    public static boolean isValid(String key) {
+        try {
+            validate(key);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fraction strictly between {@code a} and {@code b}, read as base-36 digits after the point.
+     * {@code a} may be empty (zero) and {@code b} null (one); neither ends in {@code '0'}.
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Copy the common prefix, reading a as padded with zeros
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : '0') == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(n < a.length() ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : digit(a.charAt(0));
+        int digitB = b != null ? digit(b.charAt(0)) : BASE;
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        // Adjacent first digits: b's first digit alone is below b when b goes on, otherwise extend a
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+
+    private static String incrementInteger(String integer) {
+        char[] digits = integer.substring(1).toCharArray();
+        boolean carry = true;
+        for (int i = digits.length - 1; carry && i >= 0; i--) {
+            int d = digit(digits[i]) + 1;
+            if (d == BASE) {
+                digits[i] = '0';
+            } else {
+                digits[i] = DIGITS.charAt(d);
+                carry = false;
+            }
+        }
+        int head = digit(integer.charAt(0));
+        if (!carry) {
+            return integer.charAt(0) + new String(digits);
+        }
+        if (head == FIRST_POSITIVE_HEAD - 1) {
+            return ZERO;
+        }
+        if (head == BASE - 1) {
+            return null;
+        }
+        // Positive integers get one digit longer, negative ones one shorter
+        String rest = head + 1 > FIRST_POSITIVE_HEAD ? new String(digits) + '0' : new String(digits, 0, digits.length - 1);
+        return DIGITS.charAt(head + 1) + rest;
+    }
+
+    private static String decrementInteger(String integer) {
+        char[] digits = integer.substring(1).toCharArray();
+        boolean borrow = true;
+        for (int i = digits.length - 1; borrow && i >= 0; i--) {
+            int d = digit(digits[i]) - 1;
+            if (d == -1) {
+                digits[i] = DIGITS.charAt(BASE - 1);
+            } else {
+                digits[i] = DIGITS.charAt(d);
+                borrow = false;
+            }
+        }
+        int head = digit(integer.charAt(0));
+        if (!borrow) {
+            return integer.charAt(0) + new String(digits);
+        }
+        if (head == FIRST_POSITIVE_HEAD) {
+            return String.valueOf(DIGITS.charAt(FIRST_POSITIVE_HEAD - 1)) + DIGITS.charAt(BASE - 1);
+        }
+        if (head == 0) {
+            return null;
+        }
+        String rest = head - 1 < FIRST_POSITIVE_HEAD - 1
+                ? new String(digits) + DIGITS.charAt(BASE - 1) : new String(digits, 0, digits.length - 1);
+        return DIGITS.charAt(head - 1) + rest;
+    }
+
+    private static int integerLength(char head) {
+        int h = digit(head);
+        return h >= FIRST_POSITIVE_HEAD ? h - FIRST_POSITIVE_HEAD + 2 : FIRST_POSITIVE_HEAD - h + 1;
+    }
+
+    private static String integerPart(String key) {
+        return key.substring(0, integerLength(key.charAt(0)));
+    }
+
+    private static void validate(String key) {
+        if (key.isEmpty() || key.equals(SMALLEST_INTEGER)) {
+            throw new IllegalArgumentException("Invalid rank: " + key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            digit(key.charAt(i));
+        }
+        int length = integerLength(key.charAt(0));
+        if (key.length() < length || (key.length() > length && key.charAt(key.length() - 1) == '0')) {
+            throw new IllegalArgumentException("Invalid rank: " + key);
+        }
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return d;
+    }
+}
@@ -0,0 +1,184 @@
+package com.proj.taskmanager.service.board;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out board ranks and keeps them short. Every method that picks a rank expects the caller to have bumped
+ * the project version first: that holds the project_versions row lock, so no other writer can take the same
+ * gap in the column before the caller commits.
+ * <p>
+ * A rank longer than {@code task.board.max-rank-length} queues its column for the rebalancer, which rewrites
+ * every rank in the column in one batch. The nightly sweep catches columns queued on a node that went away.
+ */
+@Slf4j
+@Service
+public class TaskBoardService {
+    private static final Long NO_TASK = 0L;
+    private static final PageRequest FIRST = PageRequest.ofSize(1);
+
+    private final TaskRepository taskRepository;
+    private final ProjectVersionService projectVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRankLength;
+
+    private final Set<BoardColumn> pendingRebalance = ConcurrentHashMap.newKeySet();
+
+    public TaskBoardService(TaskRepository taskRepository,
+                            ProjectVersionService projectVersionService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${task.board.max-rank-length:24}") int maxRankLength) {
+        this.taskRepository = taskRepository;
+        this.projectVersionService = projectVersionService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRankLength = maxRankLength;
+    }
+
+    /**
+     * Rank at the bottom of a column, ignoring {@code taskId}'s current rank there.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String rankAtEnd(Long projectId, TaskStatus status, Long taskId) {
+        return checked(projectId, status, RankKey.between(lastRank(projectId, status, taskId), null));
+    }
+
+    /**
+     * Ranks for {@code count} new tasks appended to the bottom of a column in the given order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> ranksAtEnd(Long projectId, TaskStatus status, int count) {
+        List<String> ranks = new ArrayList<>(count);
+        String rank = lastRank(projectId, status, NO_TASK);
+        for (int i = 0; i < count; i++) {
+            rank = RankKey.between(rank, null);
+            ranks.add(rank);
+        }
+        if (!ranks.isEmpty()) {
+            checked(projectId, status, ranks.get(ranks.size() - 1));
+        }
+        return ranks;
+    }
+
+    /**
+     * Rank that places {@code taskId} directly below {@code above} and above {@code below}. Either neighbour may be
+     * null, meaning the task goes right above {@code below} or right below {@code above}; with neither it goes to
+     * the bottom. The caller has checked that the neighbours are other tasks of the same column.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String rankBetween(Long projectId, TaskStatus status, Long taskId, Task above, Task below) {
+        if (above == null && below == null) {
+            return rankAtEnd(projectId, status, taskId);
+        }
+        String lower = above != null ? above.getBoardRank()
+                : first(taskRepository.findBoardRanksBefore(projectId, status, below.getBoardRank(), below.getId(), taskId, FIRST));
+        String upper = below != null ? below.getBoardRank()
+                : first(taskRepository.findBoardRanksAfter(projectId, status, above.getBoardRank(), above.getId(), taskId, FIRST));
+
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            if (above != null && below != null && !lower.equals(upper)) {
+                throw new RuntimeException("Task " + above.getId() + " is not above task " + below.getId());
+            }
+            // Two tasks share a rank, which only a crash mid-rebalance or a manual edit leaves behind
+            requestRebalance(new BoardColumn(projectId, status));
+            throw new RuntimeException("The column is being reordered, please try again");
+        }
+        return checked(projectId, status, RankKey.between(lower, upper));
+    }
+
+    public List<Task> getColumn(Long projectId, TaskStatus status, Task after, int limit) {
+        String boardRank = after != null ? after.getBoardRank() : "";
+        Long taskId = after != null ? after.getId() : NO_TASK;
+        return taskRepository.findBoardColumn(projectId, status, boardRank, taskId, PageRequest.ofSize(limit));
+    }
+
+    @Scheduled(fixedDelayString = "${task.board.rebalance-delay-ms:5000}")
+    public void rebalancePending() {
+        for (BoardColumn column : List.copyOf(pendingRebalance)) {
+            pendingRebalance.remove(column);
+            try {
+                rebalance(column);
+            } catch (RuntimeException e) {
+                log.warn("Rebalancing board column {} of project {} failed", column.status(), column.projectId(), e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${task.board.rebalance-sweep-cron:0 45 3 * * *}")
+    public void sweep() {
+        taskRepository.findColumnsWithRanksLongerThan(maxRankLength).forEach(pendingRebalance::add);
+        rebalancePending();
+    }
+
+    /**
+     * Rewrites the ranks of a column as consecutive integer keys in the current order.
+     *
+     * @return the number of tasks in the column
+     */
+    public int rebalance(BoardColumn column) {
+        Integer rebalanced = transactionTemplate.execute(status -> {
+            long syncVersion = projectVersionService.markChanged(column.projectId());
+            List<Long> taskIds = taskRepository.findBoardColumnIds(column.projectId(), column.status());
+            if (taskIds.isEmpty()) {
+                // The project may be gone; do not leave a version row behind for it
+                status.setRollbackOnly();
+                return 0;
+            }
+            List<String> ranks = new ArrayList<>(taskIds.size());
+            String rank = null;
+            for (int i = 0; i < taskIds.size(); i++) {
+                rank = RankKey.between(rank, null);
+                ranks.add(rank);
+            }
+            taskRepository.updateBoardRanks(taskIds, ranks, syncVersion);
+            return taskIds.size();
+        });
+        log.info("Rebalanced board column {} of project {} with {} tasks", column.status(), column.projectId(), rebalanced);
+        return rebalanced != null ? rebalanced : 0;
+    }
+
+    private String lastRank(Long projectId, TaskStatus status, Long excludeId) {
+        return first(taskRepository.findLastBoardRanks(projectId, status, excludeId, FIRST));
+    }
+
+    private String checked(Long projectId, TaskStatus status, String rank) {
+        if (rank.length() > maxRankLength) {
+            requestRebalance(new BoardColumn(projectId, status));
+        }
+        return rank;
+    }
+
+    // Queued when the transaction ends, so the rebalancer sees the rank that triggered it
+    private void requestRebalance(BoardColumn column) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingRebalance.add(column);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pendingRebalance.add(column);
+            }
+        });
+    }
+
+    private static String first(List<String> ranks) {
+        return ranks.isEmpty() ? null : ranks.get(0);
+    }
+}
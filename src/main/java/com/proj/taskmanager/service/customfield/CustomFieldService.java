@@ -0,0 +1,456 @@
+package com.proj.taskmanager.service.customfield;
+
+import com.proj.taskmanager.dto.CustomFieldDto;
+import com.proj.taskmanager.enums.CustomFieldType;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.model.CustomField;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.TaskFieldValue;
+import com.proj.taskmanager.repository.CustomFieldRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskFieldValueRepository;
+import com.proj.taskmanager.repository.TaskFieldValueRepositoryCustom.Condition;
+import com.proj.taskmanager.repository.TaskFieldValueRepositoryCustom.Match;
+import com.proj.taskmanager.repository.TaskFieldValueRepositoryCustom.Operator;
+import com.proj.taskmanager.request.project.CreateCustomFieldReq;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Project-specific task fields. A task's values live in its {@code customFields} JSON column, keyed by field
+ * id, and are mirrored into {@link TaskFieldValue} rows in the same transaction; filters and sorting read
+ * only those rows. Values of a deleted field stay in the JSON, are skipped when rendering and are dropped the
+ * next time the task's values change.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomFieldService {
+    public static final int MAX_FIELDS_PER_PROJECT = 50;
+    public static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_OPTIONS = 100;
+    private static final int MAX_CONDITIONS = 10;
+    private static final Pattern KEY = Pattern.compile("[a-z][a-z0-9_]{0,39}");
+    // Two-character operators first, so "a>=1" is not read as "a" > "=1"
+    private static final Pattern CONDITION = Pattern.compile("([a-z][a-z0-9_]{0,39})\\s*(>=|<=|!=|=|<|>)\\s*(.*)");
+    private static final Map<String, Operator> OPERATORS = Map.of("=", Operator.EQ, "!=", Operator.NE,
+            "<", Operator.LT, "<=", Operator.LE, ">", Operator.GT, ">=", Operator.GE);
+    private static final String CHANGE_PREFIX = "customFields.";
+    // Cursor sections: still among the tasks with a value for the sort field, or past them
+    private static final String WITH_VALUE = "v";
+    private static final String WITHOUT_VALUE = "n";
+
+    private final CustomFieldRepository fieldRepository;
+    private final TaskFieldValueRepository valueRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final ProjectVersionService projectVersionService;
+
+    /**
+     * @param values  the task's values by field id afterwards, null if none are left
+     * @param changes one per field whose value changed, named {@code customFields.<key>}
+     */
+    public record Update(Map<String, Object> values, List<TaskFieldChange> changes) {
+    }
+
+    public record Page(List<Long> taskIds, String nextCursor) {
+    }
+
+    private record Cursor(boolean withValue, long taskId, Object value) {
+    }
+
+    @Transactional
+    public CustomFieldDto createField(Long userId, Long projectId, CreateCustomFieldReq request) {
+        Project project = findProject(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "manage custom fields of");
+        String key = request.key().strip().toLowerCase(Locale.ROOT);
+        if (!KEY.matcher(key).matches()) {
+            throw new RuntimeException("Invalid field key '" + request.key()
+                    + "': use 1 to 40 lower-case letters, digits and underscores, starting with a letter");
+        }
+        String name = request.name().strip();
+        if (name.length() > 100) {
+            throw new RuntimeException("Field name is longer than 100 characters");
+        }
+        List<String> options = validateOptions(request.type(), request.options());
+
+        List<CustomField> fields = fieldRepository.findCurrentByProjectId(projectId);
+        if (fields.stream().anyMatch(field -> field.getKey().equals(key))) {
+            throw new AlreadyExistsException("Project already has a field with key " + key);
+        }
+        if (fields.size() >= MAX_FIELDS_PER_PROJECT) {
+            throw new RuntimeException("A project can have at most " + MAX_FIELDS_PER_PROJECT + " custom fields");
+        }
+
+        CustomField field = new CustomField();
+        field.setProjectId(projectId);
+        field.setKey(key);
+        field.setName(name);
+        field.setType(request.type());
+        field.setOptions(options);
+        field.setCreatedAt(LocalDateTime.now());
+        return CustomFieldDto.of(fieldRepository.save(field));
+    }
+
+    public List<CustomFieldDto> getFields(Long userId, Long projectId) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "view the custom fields of");
+        return getDefinitions(projectId).stream()
+                .map(CustomFieldDto::of)
+                .toList();
+    }
+
+    /**
+     * Deletes a field and its index rows. Tasks stop showing its values at once, so the project version moves on.
+     */
+    @Transactional
+    public void deleteField(Long userId, Long projectId, Long fieldId) {
+        Project project = findProject(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "manage custom fields of");
+        CustomField field = fieldRepository.findById(fieldId)
+                .filter(f -> f.getProjectId().equals(projectId))
+                .orElseThrow(() -> new RuntimeException("Custom field not found with id: " + fieldId));
+        projectVersionService.markChanged(projectId);
+        valueRepository.deleteByFieldId(fieldId);
+        fieldRepository.delete(field);
+    }
+
+    // From the second-level query cache on most calls
+    public List<CustomField> getDefinitions(Long projectId) {
+        return fieldRepository.findByProjectIdOrderById(projectId);
+    }
+
+    /**
+     * A task's values by field key, in field order, skipping values of deleted fields.
+     */
+    public static Map<String, Object> render(List<CustomField> fields, Map<String, Object> values) {
+        Map<String, Object> rendered = new LinkedHashMap<>();
+        if (values == null || values.isEmpty()) {
+            return rendered;
+        }
+        for (CustomField field : fields) {
+            Object value = values.get(field.getId().toString());
+            if (value != null) {
+                rendered.put(field.getKey(), value);
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * Checks the new values against the field types, merges them into the task's current values and writes
+     * the index rows. The caller stores {@link Update#values()} on the task. Reads the field definitions from
+     * the database rather than the query cache, since values of fields it does not know are dropped.
+     *
+     * @param current  the task's values by field id, may be null
+     * @param valuesByKey new values by field key; null clears a field
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Update update(Long projectId, Long taskId, Map<String, Object> current, Map<String, Object> valuesByKey) {
+        // Not getDefinitions(): a cached list missing a field created on another node would reject its values
+        // and drop the task's existing ones
+        List<CustomField> fields = fieldRepository.findCurrentByProjectId(projectId);
+        Map<String, CustomField> byKey = fields.stream()
+                .collect(Collectors.toMap(CustomField::getKey, Function.identity()));
+        Set<String> liveIds = fields.stream().map(field -> field.getId().toString()).collect(Collectors.toSet());
+
+        Map<String, Object> values = new TreeMap<>();
+        if (current != null) {
+            current.forEach((id, value) -> {
+                if (liveIds.contains(id)) {
+                    values.put(id, value);
+                }
+            });
+        }
+        Map<Long, TaskFieldValue> rows = new HashMap<>();
+        boolean rowsLoaded = false;
+        List<TaskFieldChange> changes = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : new TreeMap<>(valuesByKey).entrySet()) {
+            CustomField field = byKey.get(entry.getKey());
+            if (field == null) {
+                throw new RuntimeException("Unknown custom field: " + entry.getKey());
+            }
+            String id = field.getId().toString();
+            Object value = normalize(field, entry.getValue());
+            Object previous = values.get(id);
+            if (sameValue(previous, value)) {
+                continue;
+            }
+            if (!rowsLoaded) {
+                valueRepository.findByTaskId(taskId).forEach(row -> rows.put(row.getFieldId(), row));
+                rowsLoaded = true;
+            }
+
+            TaskFieldValue row = rows.get(field.getId());
+            if (value == null) {
+                values.remove(id);
+                if (row != null) {
+                    valueRepository.delete(row);
+                }
+            } else {
+                values.put(id, value);
+                if (row == null) {
+                    row = new TaskFieldValue(projectId, taskId, field.getId());
+                }
+                setIndexedValue(row, field, value);
+                valueRepository.save(row);
+            }
+            changes.add(new TaskFieldChange(CHANGE_PREFIX + field.getKey(),
+                    previous != null ? previous.toString() : null, value != null ? value.toString() : null));
+        }
+        return new Update(values.isEmpty() ? null : values, changes);
+    }
+
+    // Task deletion checks permissions and locks the project itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForTask(Long taskId) {
+        valueRepository.deleteByTaskId(taskId);
+    }
+
+    /**
+     * Tasks of the project meeting every filter, such as {@code story_points>=3} or {@code component=api}.
+     * Without a sort key they come in id order; with one ({@code story_points}, or {@code -story_points} for
+     * descending) they are ordered by that field's value, followed by the tasks without a value in id order.
+     * Tasks without a value for a filtered field never match that filter.
+     */
+    public Page find(Long projectId, List<String> filters, String sort, String cursor, int limit) {
+        Map<String, CustomField> byKey = getDefinitions(projectId).stream()
+                .collect(Collectors.toMap(CustomField::getKey, Function.identity()));
+        List<Condition> conditions = parseConditions(byKey, filters);
+
+        if (sort == null || sort.isBlank()) {
+            long afterTaskId = cursor != null ? parseTaskId(cursor) : 0;
+            List<Long> taskIds = valueRepository.findByIdOrder(projectId, null, afterTaskId, conditions, limit + 1);
+            boolean hasMore = taskIds.size() > limit;
+            List<Long> page = hasMore ? taskIds.subList(0, limit) : taskIds;
+            return new Page(page, hasMore ? page.get(page.size() - 1).toString() : null);
+        }
+
+        boolean descending = sort.startsWith("-");
+        CustomField sortField = findField(byKey, descending ? sort.substring(1) : sort);
+        boolean numeric = isNumeric(sortField.getType());
+        Cursor from = cursor != null ? parseCursor(cursor, numeric) : new Cursor(true, 0, null);
+
+        // Tasks with a value first, read in order off the field's index, then the rest; like the inbox's undated tasks
+        List<Match> matches = from.withValue()
+                ? valueRepository.findByFieldOrder(sortField.getId(), numeric, descending, from.value(), from.taskId(),
+                conditions, limit + 1)
+                : List.of();
+        List<Long> rest = List.of();
+        if (matches.size() <= limit) {
+            long afterTaskId = from.withValue() ? 0 : from.taskId();
+            rest = valueRepository.findByIdOrder(projectId, sortField.getId(), afterTaskId, conditions,
+                    limit + 1 - matches.size());
+        }
+
+        List<Long> taskIds = new ArrayList<>(Math.min(limit, matches.size() + rest.size()));
+        String nextCursor = null;
+        for (Match match : matches) {
+            if (taskIds.size() == limit) {
+                break;
+            }
+            taskIds.add(match.taskId());
+            nextCursor = WITH_VALUE + ":" + match.taskId() + ":" + match.value();
+        }
+        for (Long taskId : rest) {
+            if (taskIds.size() == limit) {
+                break;
+            }
+            taskIds.add(taskId);
+            nextCursor = WITHOUT_VALUE + ":" + taskId;
+        }
+        boolean hasMore = matches.size() + rest.size() > limit;
+        return new Page(taskIds, hasMore ? nextCursor : null);
+    }
+
+    static boolean isNumeric(CustomFieldType type) {
+        return type == CustomFieldType.NUMBER || type == CustomFieldType.DATE || type == CustomFieldType.BOOLEAN;
+    }
+
+    /**
+     * The value as stored in the task's JSON: a Long or Double, a String, an ISO date String or a Boolean.
+     *
+     * @return null if the value clears the field
+     */
+    static Object normalize(CustomField field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (field.getType()) {
+            case NUMBER -> {
+                if (!(value instanceof Number number) || !Double.isFinite(number.doubleValue())) {
+                    throw invalidValue(field, "a number");
+                }
+                double d = number.doubleValue();
+                // Whole numbers are kept as such, so 5 doesn't come back as 5.0
+                return d == Math.rint(d) && Math.abs(d) < 1e15 ? (Object) (long) d : d;
+            }
+            case TEXT -> {
+                if (!(value instanceof String text)) {
+                    throw invalidValue(field, "a string");
+                }
+                String stripped = text.strip();
+                if (stripped.length() > MAX_TEXT_LENGTH) {
+                    throw invalidValue(field, "at most " + MAX_TEXT_LENGTH + " characters");
+                }
+                return stripped.isEmpty() ? null : stripped;
+            }
+            case DATE -> {
+                try {
+                    return LocalDate.parse((String) value).toString();
+                } catch (ClassCastException | DateTimeParseException e) {
+                    throw invalidValue(field, "a date as yyyy-mm-dd");
+                }
+            }
+            case BOOLEAN -> {
+                if (!(value instanceof Boolean)) {
+                    throw invalidValue(field, "true or false");
+                }
+                return value;
+            }
+            default -> {
+                if (!(value instanceof String option) || !field.getOptions().contains(option)) {
+                    throw invalidValue(field, "one of " + field.getOptions());
+                }
+                return option;
+            }
+        }
+    }
+
+    private static void setIndexedValue(TaskFieldValue row, CustomField field, Object value) {
+        switch (field.getType()) {
+            case NUMBER -> row.setNumberValue(((Number) value).doubleValue());
+            case DATE -> row.setNumberValue((double) LocalDate.parse((String) value).toEpochDay());
+            case BOOLEAN -> row.setNumberValue((Boolean) value ? 1.0 : 0.0);
+            default -> row.setTextValue((String) value);
+        }
+    }
+
+    // Values read back from JSON may be Integers where the new one is a Long
+    private static boolean sameValue(Object previous, Object value) {
+        if (previous instanceof Number a && value instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        return previous == null ? value == null : previous.equals(value);
+    }
+
+    private static List<Condition> parseConditions(Map<String, CustomField> byKey, List<String> filters) {
+        if (filters == null) {
+            return List.of();
+        }
+        if (filters.size() > MAX_CONDITIONS) {
+            throw new RuntimeException("At most " + MAX_CONDITIONS + " filters are allowed");
+        }
+        List<Condition> conditions = new ArrayList<>(filters.size());
+        for (String filter : filters) {
+            Matcher matcher = CONDITION.matcher(filter.strip());
+            if (!matcher.matches()) {
+                throw new RuntimeException("Invalid filter '" + filter + "', expected e.g. story_points>=3");
+            }
+            CustomField field = findField(byKey, matcher.group(1));
+            conditions.add(new Condition(field.getId(), isNumeric(field.getType()),
+                    OPERATORS.get(matcher.group(2)), parseFilterValue(field, matcher.group(3).strip())));
+        }
+        return conditions;
+    }
+
+    private static Object parseFilterValue(CustomField field, String value) {
+        try {
+            return switch (field.getType()) {
+                case NUMBER -> Double.parseDouble(value);
+                case DATE -> (double) LocalDate.parse(value).toEpochDay();
+                case BOOLEAN -> switch (value) {
+                    case "true" -> 1.0;
+                    case "false" -> 0.0;
+                    default -> throw new IllegalArgumentException(value);
+                };
+                default -> value;
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid value '" + value + "' for custom field " + field.getKey());
+        }
+    }
+
+    private static Cursor parseCursor(String cursor, boolean numeric) {
+        String[] parts = cursor.split(":", 3);
+        try {
+            if (parts.length == 3 && parts[0].equals(WITH_VALUE)) {
+                return new Cursor(true, Long.parseLong(parts[1]), numeric ? Double.parseDouble(parts[2]) : parts[2]);
+            }
+            if (parts.length == 2 && parts[0].equals(WITHOUT_VALUE)) {
+                return new Cursor(false, Long.parseLong(parts[1]), null);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new RuntimeException("Invalid cursor: " + cursor);
+    }
+
+    private static long parseTaskId(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static CustomField findField(Map<String, CustomField> byKey, String key) {
+        return Optional.ofNullable(byKey.get(key))
+                .orElseThrow(() -> new RuntimeException("Unknown custom field: " + key));
+    }
+
+    private static List<String> validateOptions(CustomFieldType type, List<String> options) {
+        if (type != CustomFieldType.SELECT) {
+            if (options != null && !options.isEmpty()) {
+                throw new RuntimeException("Only SELECT fields have options");
+            }
+            return null;
+        }
+        if (options == null || options.isEmpty()) {
+            throw new RuntimeException("A SELECT field needs at least one option");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String option : options) {
+            String stripped = option == null ? "" : option.strip();
+            if (stripped.isEmpty() || stripped.length() > MAX_TEXT_LENGTH) {
+                throw new RuntimeException("Options must be 1 to " + MAX_TEXT_LENGTH + " characters long");
+            }
+            distinct.add(stripped);
+        }
+        if (distinct.size() > MAX_OPTIONS) {
+            throw new RuntimeException("A SELECT field can have at most " + MAX_OPTIONS + " options");
+        }
+        return List.copyOf(distinct);
+    }
+
+    private static RuntimeException invalidValue(CustomField field, String expected) {
+        return new RuntimeException("Custom field " + field.getKey() + " expects " + expected);
+    }
+
+    private Project findProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+    }
+}
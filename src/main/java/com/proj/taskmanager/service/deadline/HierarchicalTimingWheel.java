@@ -0,0 +1,140 @@
+package com.proj.taskmanager.service.deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel. Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every
+ * further level is created on demand and has buckets as wide as the full span of the level below.
+ * Adding an entry and expiring it are O(1) apart from the cascade of an entry down the levels, which
+ * happens at most once per level. Level 0 rounds deadlines up to the next tick, so entries fire up to one
+ * tick late but never early.
+ * <p>
+ * Not thread-safe: the owner must confine all calls to one thread.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    public record Entry<T>(long deadlineMs, T value) {
+    }
+
+    private final Level<T> root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level<>(tickMs, wheelSize, startMs, true);
+    }
+
+    /**
+     * @return false if the deadline has already been reached, in which case the entry is not stored and
+     * the caller should treat it as expired
+     */
+    public boolean add(long deadlineMs, T value) {
+        if (!root.add(new Entry<>(deadlineMs, value))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the clock tick by tick up to {@code nowMs}, passing every entry whose deadline has been
+     * reached to {@code expired}.
+     */
+    public void advanceClock(long nowMs, Consumer<Entry<T>> expired) {
+        while (root.currentTime + root.tickMs <= nowMs) {
+            long time = root.currentTime + root.tickMs;
+            List<Entry<T>> drained = new ArrayList<>();
+            // A level's bucket opens when the clock reaches the start of its span; cascade it into lower levels
+            for (Level<T> level = root; level != null; level = level.overflow) {
+                if (time % level.tickMs != 0) {
+                    break;
+                }
+                level.currentTime = time;
+                level.drain(time, drained);
+            }
+            for (Entry<T> entry : drained) {
+                if (!root.add(entry)) {
+                    size--;
+                    expired.accept(entry);
+                }
+            }
+        }
+    }
+
+    public long currentTime() {
+        return root.currentTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int levels() {
+        int levels = 0;
+        for (Level<T> level = root; level != null; level = level.overflow) {
+            levels++;
+        }
+        return levels;
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final boolean roundUp;
+        private final List<Entry<T>>[] buckets;
+        private long currentTime;
+        private Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs, boolean roundUp) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.roundUp = roundUp;
+            this.buckets = new List[wheelSize];
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        boolean add(Entry<T> entry) {
+            long deadline = entry.deadlineMs();
+            if (roundUp) {
+                if (deadline <= currentTime) {
+                    return false;
+                }
+                // The bucket drained at the first tick boundary at or after the deadline
+                long slot = Math.floorDiv(deadline + tickMs - 1, tickMs);
+                if (slot * tickMs <= currentTime + interval) {
+                    put(slot, entry);
+                    return true;
+                }
+            } else if (deadline < currentTime + interval) {
+                // The bucket opened at the start of the span containing the deadline, then cascaded down
+                put(deadline / tickMs, entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime, false);
+            }
+            return overflow.add(entry);
+        }
+
+        private void put(long slot, Entry<T> entry) {
+            int index = (int) (slot % wheelSize);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        void drain(long time, List<Entry<T>> target) {
+            int index = (int) ((time / tickMs) % wheelSize);
+            List<Entry<T>> bucket = buckets[index];
+            if (bucket != null) {
+                target.addAll(bucket);
+                buckets[index] = null;
+            }
+        }
+    }
+}
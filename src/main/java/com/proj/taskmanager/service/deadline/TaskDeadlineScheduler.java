@@ -0,0 +1,373 @@
+package com.proj.taskmanager.service.deadline;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.ProjectVersion;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires reminder and overdue events for task due dates from an in-memory timing wheel instead of polling
+ * the tasks table. Only tasks due within the next {@code horizon-days} are kept in memory; the rest are
+ * loaded day by day as they enter the horizon.
+ * <p>
+ * The wheel is owned by a single ticker thread. Request threads only enqueue schedule/cancel commands,
+ * and fired batches are handed to a separate thread so slow listeners do not delay the clock.
+ * <p>
+ * This node's committed task events are applied as they arrive. Every {@code sync-delay-ms} the wheel also
+ * follows each project's version, reading the due dates and tombstones written since the last round, so
+ * tasks created, re-dated, closed or deleted on other nodes are scheduled or cancelled here as well. The
+ * rows this node wrote are read again then, which schedules nothing new. Before a batch is fired its tasks
+ * are checked against the database, so a deadline that has moved meanwhile is not reported.
+ */
+@Slf4j
+@Service
+public class TaskDeadlineScheduler {
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ProjectVersionRepository projectVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int horizonDays;
+    private final Duration reminderLead;
+    private final int batchSize;
+    private final Clock clock;
+    private final ZoneId zone;
+
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    // Latest schedule per task, only touched by the ticker thread; wheel entries that no longer match are stale
+    private final Map<Long, Deadline> scheduled = new HashMap<>();
+    // Project version each project's due dates are synced through; guards the sync rounds and start
+    private final Map<Long, Long> syncedVersions = new HashMap<>();
+    private HierarchicalTimingWheel<Deadline> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService dispatcher;
+
+    private final Timer firingLag;
+    private final Map<TaskDeadlineEvent.Kind, Counter> fired = new EnumMap<>(TaskDeadlineEvent.Kind.class);
+    private volatile int occupancy;
+    private volatile int scheduledTasks;
+
+    private record Deadline(Long taskId, Long projectId, LocalDate dueDate, TaskDeadlineEvent.Kind kind, long deadlineMs) {
+    }
+
+    private record Command(Long taskId, Long projectId, LocalDate dueDate) {
+    }
+
+    private record Change(long version, Command command) {
+    }
+
+    @Autowired
+    public TaskDeadlineScheduler(TaskRepository taskRepository,
+                                 TaskTombstoneRepository taskTombstoneRepository,
+                                 ProjectVersionRepository projectVersionRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${task.deadlines.tick-ms:1000}") long tickMs,
+                                 @Value("${task.deadlines.wheel-size:64}") int wheelSize,
+                                 @Value("${task.deadlines.horizon-days:7}") int horizonDays,
+                                 @Value("${task.deadlines.reminder-lead-hours:24}") int reminderLeadHours,
+                                 @Value("${task.deadlines.batch-size:500}") int batchSize) {
+        this(taskRepository, taskTombstoneRepository, projectVersionRepository, eventPublisher, meterRegistry, tickMs, wheelSize, horizonDays, reminderLeadHours, batchSize,
+                Clock.systemDefaultZone());
+    }
+
+    TaskDeadlineScheduler(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                          ProjectVersionRepository projectVersionRepository, ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry, long tickMs, int wheelSize, int horizonDays, int reminderLeadHours,
+                          int batchSize, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.projectVersionRepository = projectVersionRepository;
+        this.eventPublisher = eventPublisher;
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.horizonDays = horizonDays;
+        this.reminderLead = Duration.ofHours(reminderLeadHours);
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.zone = clock.getZone();
+
+        Gauge.builder("task.deadlines.wheel.entries", () -> occupancy)
+                .description("Timer entries held in the deadline wheel, including superseded ones not yet expired")
+                .register(meterRegistry);
+        Gauge.builder("task.deadlines.scheduled.tasks", () -> scheduledTasks)
+                .description("Tasks with a pending reminder or overdue timer")
+                .register(meterRegistry);
+        this.firingLag = Timer.builder("task.deadlines.firing.lag")
+                .description("Delay between a deadline and the moment its event was fired")
+                .register(meterRegistry);
+        for (TaskDeadlineEvent.Kind kind : TaskDeadlineEvent.Kind.values()) {
+            fired.put(kind, Counter.builder("task.deadlines.fired").tag("kind", kind.name()).register(meterRegistry));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int loaded;
+        synchronized (syncedVersions) {
+            wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, clock.millis());
+            dispatcher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "task-deadline-dispatcher"));
+            ticker = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "task-deadline-ticker"));
+
+            // Versions are read before the tasks, so a change committed in between is synced again, which changes nothing
+            for (ProjectVersion version : projectVersionRepository.findAll()) {
+                syncedVersions.put(version.getProjectId(), version.getVersion());
+            }
+            LocalDate today = LocalDate.now(clock);
+            loaded = loadDueBetween(today, today.plusDays(horizonDays));
+        }
+        log.info("Loaded {} upcoming task deadlines into the timing wheel", loaded);
+
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        Task task = event.task();
+        boolean open = task != null && (task.getStatus() == TaskStatus.PENDING || task.getStatus() == TaskStatus.IN_PROGRESS);
+        if (event.type() == TaskEvent.Type.DELETED || !open || task.getDueDate() == null) {
+            commands.add(new Command(event.taskId(), event.projectId(), null));
+        } else {
+            commands.add(new Command(event.taskId(), event.projectId(), task.getDueDate()));
+        }
+    }
+
+    // Pull in the day that has just entered the horizon
+    @Scheduled(cron = "${task.deadlines.refill-cron:0 1 0 * * *}")
+    public void refillHorizon() {
+        LocalDate day = LocalDate.now(clock).plusDays(horizonDays);
+        loadDueBetween(day, day);
+    }
+
+    /**
+     * Schedules or cancels the deadlines of tasks changed since the last round, on any node. Reads one
+     * project_versions row per project, and the changed rows of the projects whose version has moved.
+     */
+    @Scheduled(fixedDelayString = "${task.deadlines.sync-delay-ms:5000}")
+    public void syncWithProjectVersions() {
+        synchronized (syncedVersions) {
+            if (wheel == null) {
+                return;
+            }
+            Set<Long> projectIds = new HashSet<>();
+            int changes = 0;
+            for (ProjectVersion version : projectVersionRepository.findAll()) {
+                projectIds.add(version.getProjectId());
+                long from = syncedVersions.getOrDefault(version.getProjectId(), 0L);
+                if (version.getVersion() > from) {
+                    changes += syncProject(version.getProjectId(), from);
+                    syncedVersions.put(version.getProjectId(), version.getVersion());
+                }
+            }
+            // Purged projects
+            syncedVersions.keySet().retainAll(projectIds);
+            if (changes > 0) {
+                log.debug("Synced {} task due date changes into the timing wheel", changes);
+            }
+        }
+    }
+
+    /**
+     * Rows newer than the version read for the round are applied too and read again next round. Deletions whose
+     * tombstones were purged are not seen, but the check before firing drops their deadlines.
+     */
+    private int syncProject(Long projectId, long from) {
+        List<Change> changes = new ArrayList<>();
+        long syncVersion = from;
+        long afterId = Long.MAX_VALUE;
+        List<TaskDueDateChange> page;
+        do {
+            page = taskRepository.findDueDatesChangedSince(projectId, syncVersion, afterId, PageRequest.ofSize(LOAD_PAGE_SIZE));
+            for (TaskDueDateChange task : page) {
+                boolean open = task.status() == TaskStatus.PENDING || task.status() == TaskStatus.IN_PROGRESS;
+                changes.add(new Change(task.syncVersion(), new Command(task.taskId(), projectId, open ? task.dueDate() : null)));
+                syncVersion = task.syncVersion();
+                afterId = task.taskId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        syncVersion = from;
+        afterId = Long.MAX_VALUE;
+        List<TaskTombstone> tombstones;
+        do {
+            tombstones = taskTombstoneRepository.findChangedSince(projectId, syncVersion, afterId, PageRequest.ofSize(LOAD_PAGE_SIZE));
+            for (TaskTombstone tombstone : tombstones) {
+                changes.add(new Change(tombstone.getSyncVersion(), new Command(tombstone.getTaskId(), projectId, null)));
+                syncVersion = tombstone.getSyncVersion();
+                afterId = tombstone.getTaskId();
+            }
+        } while (tombstones.size() == LOAD_PAGE_SIZE);
+
+        // A task restored from the archive has its tombstone before its row
+        changes.sort(Comparator.comparingLong(Change::version));
+        changes.forEach(change -> commands.add(change.command()));
+        return changes.size();
+    }
+
+    private int loadDueBetween(LocalDate from, LocalDate to) {
+        int loaded = 0;
+        long afterId = 0;
+        List<TaskDeadlineEvent.DueTask> page;
+        do {
+            page = taskRepository.findOpenTasksDueBetween(from, to, afterId, PageRequest.ofSize(LOAD_PAGE_SIZE));
+            for (TaskDeadlineEvent.DueTask dueTask : page) {
+                commands.add(new Command(dueTask.taskId(), dueTask.projectId(), dueTask.dueDate()));
+                afterId = dueTask.taskId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return loaded;
+    }
+
+    private void tick() {
+        try {
+            long now = clock.millis();
+            Map<TaskDeadlineEvent.Kind, List<Deadline>> due = new EnumMap<>(TaskDeadlineEvent.Kind.class);
+
+            Command command;
+            while ((command = commands.poll()) != null) {
+                apply(command, now, due);
+            }
+            wheel.advanceClock(now, entry -> collect(entry.value(), due));
+
+            occupancy = wheel.size();
+            scheduledTasks = scheduled.size();
+            due.forEach((kind, entries) -> dispatch(kind, entries, now));
+        } catch (RuntimeException e) {
+            log.error("Task deadline tick failed", e);
+        }
+    }
+
+    private void apply(Command command, long now, Map<TaskDeadlineEvent.Kind, List<Deadline>> due) {
+        Deadline next = nextDeadline(command, now);
+        if (next != null && next.equals(scheduled.get(command.taskId()))) {
+            return; // already scheduled, e.g. a change of this node read again by the sync
+        }
+        scheduled.remove(command.taskId());
+        if (next == null) {
+            return;
+        }
+        scheduled.put(command.taskId(), next);
+        if (!wheel.add(next.deadlineMs(), next)) {
+            collect(next, due);
+        }
+    }
+
+    private Deadline nextDeadline(Command command, long now) {
+        if (command.dueDate() == null) {
+            return null;
+        }
+        long overdueAt = command.dueDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        if (overdueAt <= now || command.dueDate().isAfter(LocalDate.now(clock).plusDays(horizonDays))) {
+            return null;
+        }
+        long reminderAt = overdueAt - reminderLead.toMillis();
+        return reminderAt > now
+                ? new Deadline(command.taskId(), command.projectId(), command.dueDate(), TaskDeadlineEvent.Kind.REMINDER, reminderAt)
+                : new Deadline(command.taskId(), command.projectId(), command.dueDate(), TaskDeadlineEvent.Kind.OVERDUE, overdueAt);
+    }
+
+    private void collect(Deadline entry, Map<TaskDeadlineEvent.Kind, List<Deadline>> due) {
+        if (!entry.equals(scheduled.get(entry.taskId()))) {
+            return; // rescheduled or cancelled since this entry was added
+        }
+        due.computeIfAbsent(entry.kind(), kind -> new ArrayList<>()).add(entry);
+
+        if (entry.kind() == TaskDeadlineEvent.Kind.REMINDER) {
+            long overdueAt = entry.dueDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            Deadline overdue = new Deadline(entry.taskId(), entry.projectId(), entry.dueDate(), TaskDeadlineEvent.Kind.OVERDUE, overdueAt);
+            scheduled.put(entry.taskId(), overdue);
+            if (!wheel.add(overdueAt, overdue)) {
+                due.computeIfAbsent(TaskDeadlineEvent.Kind.OVERDUE, kind -> new ArrayList<>()).add(overdue);
+                scheduled.remove(entry.taskId());
+            }
+        } else {
+            scheduled.remove(entry.taskId());
+        }
+    }
+
+    private void dispatch(TaskDeadlineEvent.Kind kind, List<Deadline> entries, long now) {
+        for (Deadline entry : entries) {
+            firingLag.record(Math.max(0, now - entry.deadlineMs()), TimeUnit.MILLISECONDS);
+        }
+
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<TaskDeadlineEvent.DueTask> scheduledBatch = entries.subList(from, Math.min(entries.size(), from + batchSize)).stream()
+                    .map(entry -> new TaskDeadlineEvent.DueTask(entry.taskId(), entry.projectId(), entry.dueDate()))
+                    .toList();
+            dispatcher.execute(() -> {
+                try {
+                    // The wheel can be a sync round behind: only tasks still open and due that day are reported
+                    Set<TaskDeadlineEvent.DueTask> current = new HashSet<>(taskRepository.findOpenDueTasks(
+                            scheduledBatch.stream().map(TaskDeadlineEvent.DueTask::taskId).toList()));
+                    List<TaskDeadlineEvent.DueTask> batch = scheduledBatch.stream().filter(current::contains).toList();
+                    if (!batch.isEmpty()) {
+                        fired.get(kind).increment(batch.size());
+                        eventPublisher.publishEvent(new TaskDeadlineEvent(kind, batch));
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to handle {} batch of {} tasks", kind, scheduledBatch.size(), e);
+                }
+            });
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,8 @@
+package com.proj.taskmanager.service.deadline;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public record TaskDueDateChange(Long taskId, Long projectId, long syncVersion, LocalDate dueDate, TaskStatus status) {
+}
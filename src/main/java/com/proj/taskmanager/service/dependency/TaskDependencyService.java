@@ -0,0 +1,137 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.dto.TaskDependencyGraphDto;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.model.TaskDependency;
+import com.proj.taskmanager.repository.TaskDependencyRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps one {@link TaskGraph} per project in memory. A cached graph is used only while its version equals the
+ * project's current version, which every task and dependency change bumps, so a stale graph is never served
+ * and no cross-node invalidation is needed.
+ * <p>
+ * Adding an edge bumps the project version first. That takes the project_versions row lock, so concurrent
+ * edge additions in the same project are serialized and cannot form a cycle between them.
+ */
+@Slf4j
+@Service
+public class TaskDependencyService {
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectVersionService projectVersionService;
+
+    private final Map<Long, TaskGraph> graphs;
+
+    public TaskDependencyService(TaskDependencyRepository dependencyRepository,
+                                 TaskRepository taskRepository,
+                                 ProjectVersionService projectVersionService,
+                                 @Value("${task.dependencies.cached-projects:256}") int cachedProjects) {
+        this.dependencyRepository = dependencyRepository;
+        this.taskRepository = taskRepository;
+        this.projectVersionService = projectVersionService;
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TaskGraph> eldest) {
+                return size() > cachedProjects;
+            }
+        };
+    }
+
+    /**
+     * Records that {@code blockedId} waits for {@code blockerId}. The caller has checked that both tasks exist in
+     * the project and that the user may change it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addDependency(Long projectId, Long blockerId, Long blockedId) {
+        if (blockerId.equals(blockedId)) {
+            throw new RuntimeException("A task cannot depend on itself");
+        }
+        long version = projectVersionService.markChanged(projectId);
+        // Under the row lock nobody else can change the graph, so a graph loaded at the previous version is current
+        TaskGraph graph = cachedAt(projectId, version - 1);
+        if (graph == null) {
+            graph = load(projectId, version - 1);
+        }
+        if (graph.hasEdge(blockerId, blockedId)) {
+            throw new AlreadyExistsException("Task " + blockedId + " already depends on task " + blockerId);
+        }
+        if (graph.reaches(blockedId, blockerId)) {
+            throw new RuntimeException("Task " + blockedId + " cannot depend on task " + blockerId
+                    + ": that would create a dependency cycle");
+        }
+        dependencyRepository.save(new TaskDependency(projectId, blockerId, blockedId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeDependency(Long projectId, Long blockerId, Long blockedId) {
+        if (dependencyRepository.deleteEdge(blockerId, blockedId) == 0) {
+            throw new RuntimeException("Task " + blockedId + " does not depend on task " + blockerId);
+        }
+        projectVersionService.markChanged(projectId);
+    }
+
+    // Task deletion bumps the project version itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForTask(Long taskId) {
+        dependencyRepository.deleteByTaskId(taskId);
+    }
+
+    // Called once a deleted project's edges are purged
+    public void evictProject(Long projectId) {
+        synchronized (graphs) {
+            graphs.remove(projectId);
+        }
+    }
+
+    public TaskDependencyGraphDto analyze(Long projectId) {
+        TaskGraph graph = getGraph(projectId);
+        TaskGraph.Analysis analysis = graph.analyze();
+        return new TaskDependencyGraphDto(graph.size(), graph.edgeCount(),
+                Arrays.stream(analysis.topologicalOrder()).boxed().toList(),
+                Arrays.stream(analysis.blocked()).boxed().toList(),
+                Arrays.stream(analysis.criticalPath()).boxed().toList());
+    }
+
+    public TaskGraph getGraph(Long projectId) {
+        long version = projectVersionService.getVersion(projectId);
+        TaskGraph graph = cachedAt(projectId, version);
+        return graph != null ? graph : load(projectId, version);
+    }
+
+    private TaskGraph cachedAt(Long projectId, long version) {
+        synchronized (graphs) {
+            TaskGraph graph = graphs.get(projectId);
+            return graph != null && graph.version() == version ? graph : null;
+        }
+    }
+
+    /**
+     * The version is read before the rows, so a change committed in between makes the graph newer than its
+     * version says. That only causes an extra reload later, never a stale graph passing for a current one.
+     */
+    private TaskGraph load(Long projectId, long version) {
+        long started = System.currentTimeMillis();
+        TaskGraph graph = TaskGraph.build(version, taskRepository.findGraphNodes(projectId),
+                dependencyRepository.findEdgesByProjectId(projectId));
+        synchronized (graphs) {
+            TaskGraph cached = graphs.get(projectId);
+            if (cached == null || cached.version() < version) {
+                graphs.put(projectId, graph);
+            }
+        }
+        log.debug("Loaded dependency graph of project {} with {} tasks and {} edges in {} ms",
+                projectId, graph.size(), graph.edgeCount(), System.currentTimeMillis() - started);
+        return graph;
+    }
+}
@@ -0,0 +1,227 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.repository.TaskDependencyRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable dependency graph of one project in compressed sparse row form: tasks are numbered by their
+ * position in the sorted {@code taskIds} array, and the tasks blocked by node {@code i} are
+ * {@code targets[offsets[i]] .. targets[offsets[i + 1] - 1]}. Traversals and the analysis run in O(V+E)
+ * over primitive arrays.
+ * <p>
+ * {@code version} is the project version the graph was loaded at, so callers can tell whether it is still current.
+ */
+public final class TaskGraph {
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+
+    private final long version;
+    private final long[] taskIds;
+    private final BitSet open;
+    private final int[] dueDays;
+    private final int[] offsets;
+    private final int[] targets;
+
+    public record Analysis(long[] topologicalOrder, long[] blocked, long[] criticalPath) {
+    }
+
+    private TaskGraph(long version, long[] taskIds, BitSet open, int[] dueDays, int[] offsets, int[] targets) {
+        this.version = version;
+        this.taskIds = taskIds;
+        this.open = open;
+        this.dueDays = dueDays;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * @param nodes tasks of the project ordered by id
+     * @param edges edges between them; edges to tasks missing from {@code nodes} are ignored
+     */
+    public static TaskGraph build(long version, List<TaskGraphNode> nodes, List<TaskDependencyRepository.Edge> edges) {
+        int n = nodes.size();
+        long[] taskIds = new long[n];
+        BitSet open = new BitSet(n);
+        int[] dueDays = new int[n];
+        for (int i = 0; i < n; i++) {
+            TaskGraphNode node = nodes.get(i);
+            taskIds[i] = node.taskId();
+            if (node.status() == TaskStatus.PENDING || node.status() == TaskStatus.IN_PROGRESS) {
+                open.set(i);
+            }
+            dueDays[i] = node.dueDate() != null ? (int) node.dueDate().toEpochDay() : NO_DUE_DATE;
+        }
+
+        // Counting sort of the edges by source node
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] offsets = new int[n + 1];
+        int edgeCount = 0;
+        for (TaskDependencyRepository.Edge edge : edges) {
+            int source = Arrays.binarySearch(taskIds, edge.blockerId());
+            int target = Arrays.binarySearch(taskIds, edge.blockedId());
+            if (source < 0 || target < 0) {
+                continue;
+            }
+            from[edgeCount] = source;
+            to[edgeCount] = target;
+            offsets[source + 1]++;
+            edgeCount++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edgeCount];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < edgeCount; e++) {
+            targets[next[from[e]]++] = to[e];
+        }
+        return new TaskGraph(version, taskIds, open, dueDays, offsets, targets);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public boolean contains(long taskId) {
+        return Arrays.binarySearch(taskIds, taskId) >= 0;
+    }
+
+    public boolean hasEdge(long blockerId, long blockedId) {
+        int source = Arrays.binarySearch(taskIds, blockerId);
+        int target = Arrays.binarySearch(taskIds, blockedId);
+        if (source < 0 || target < 0) {
+            return false;
+        }
+        for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+            if (targets[e] == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code toTaskId} is reachable from {@code fromTaskId} along blocker-to-blocked edges. Adding the edge
+     * {@code blocker -> blocked} closes a cycle exactly when {@code reaches(blocked, blocker)}.
+     */
+    public boolean reaches(long fromTaskId, long toTaskId) {
+        int start = Arrays.binarySearch(taskIds, fromTaskId);
+        int goal = Arrays.binarySearch(taskIds, toTaskId);
+        if (start < 0 || goal < 0) {
+            return false;
+        }
+        if (start == goal) {
+            return true;
+        }
+        BitSet visited = new BitSet(taskIds.length);
+        int[] stack = new int[Math.max(1, taskIds.length)];
+        int top = 0;
+        stack[top++] = start;
+        visited.set(start);
+        while (top > 0) {
+            int node = stack[--top];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int target = targets[e];
+                if (target == goal) {
+                    return true;
+                }
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    stack[top++] = target;
+                }
+            }
+        }
+        return false;
+    }
+
+    public Analysis analyze() {
+        int n = taskIds.length;
+        int[] inDegree = new int[n];
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+
+        // Kahn's algorithm; ties are released in id order because the queue is seeded in id order
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int node = order[head++];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                if (--inDegree[targets[e]] == 0) {
+                    order[tail++] = targets[e];
+                }
+            }
+        }
+        if (tail < n) {
+            throw new IllegalStateException("Dependency graph contains a cycle");
+        }
+
+        // Longest chain of open tasks ending at each node, walking the nodes in topological order
+        int[] length = new int[n];
+        int[] previous = new int[n];
+        Arrays.fill(previous, -1);
+        BitSet blocked = new BitSet(n);
+        for (int node : order) {
+            if (!open.get(node)) {
+                continue;
+            }
+            if (length[node] == 0) {
+                length[node] = 1;
+            }
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int target = targets[e];
+                if (!open.get(target)) {
+                    continue;
+                }
+                blocked.set(target);
+                int candidate = length[node] + 1;
+                if (candidate > length[target]
+                        || (candidate == length[target] && dueDays[node] < dueDays[previous[target]])) {
+                    length[target] = candidate;
+                    previous[target] = node;
+                }
+            }
+        }
+
+        int end = -1;
+        for (int i = 0; i < n; i++) {
+            if (length[i] > 0 && (end < 0 || length[i] > length[end]
+                    || (length[i] == length[end] && dueDays[i] < dueDays[end]))) {
+                end = i;
+            }
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int node = end; node >= 0; node = previous[node]) {
+            path.add(node);
+        }
+        long[] criticalPath = new long[path.size()];
+        for (int i = 0; i < criticalPath.length; i++) {
+            criticalPath[i] = taskIds[path.get(path.size() - 1 - i)];
+        }
+
+        long[] topologicalOrder = new long[n];
+        for (int i = 0; i < n; i++) {
+            topologicalOrder[i] = taskIds[order[i]];
+        }
+        return new Analysis(topologicalOrder, blocked.stream().mapToLong(i -> taskIds[i]).toArray(), criticalPath);
+    }
+}
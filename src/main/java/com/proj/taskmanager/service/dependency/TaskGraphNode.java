@@ -0,0 +1,8 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public record TaskGraphNode(Long taskId, TaskStatus status, LocalDate dueDate) {
+}
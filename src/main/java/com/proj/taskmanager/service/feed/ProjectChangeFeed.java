@@ -0,0 +1,487 @@
+package com.proj.taskmanager.service.feed;
+
+import com.proj.taskmanager.dto.TaskChangeDto;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events feed of committed task changes, one channel per project.
+ * <p>
+ * Subscriptions are async requests, so an idle subscriber holds a connection but no thread. Publishing only
+ * appends to each subscriber's bounded queue; a small sender pool drains the queues and does the blocking
+ * writes, at most one sender per subscriber at a time. A subscriber whose queue fills up is disconnected and
+ * can reconnect with {@code Last-Event-ID} to replay what it missed from the channel's recent-events ring,
+ * or is told to resync when that is no longer possible. A write that blocks for longer than
+ * {@code task.feed.send-timeout-ms} disconnects its subscriber, and the pool gets a stand-in thread until the
+ * container gives up on the stuck write, so clients that stop reading cannot take all senders.
+ * <p>
+ * Task events reach only the node that committed the change. Changes made on other nodes are relayed from the
+ * project's versioned rows: every {@code task.feed.relay-delay-ms} each channel reads its project's version, and
+ * the changes up to the version seen one round earlier go out as {@code task-updated} or {@code task-deleted},
+ * without an actor. A project version belongs to one transaction on one node, so the relay skips the versions
+ * this node already delivered from its own events; the round of delay gives those events time to arrive. When a
+ * round would relay more than {@code task.feed.relay-batch-size} rows, or the tombstones it needs are purged,
+ * subscribers are told to resync instead.
+ */
+@Slf4j
+@Service
+public class ProjectChangeFeed {
+    static final String RESYNC_EVENT = "resync";
+
+    private final ProjectAccessService projectAccessService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Executor senders;
+    private final int queueCapacity;
+    private final int replaySize;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutMs;
+    private final int relayBatchSize;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    // Seeded from the clock so event ids keep increasing across restarts and stale Last-Event-IDs get a resync
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger subscribers = new AtomicInteger();
+    // Subscribers a sender is draining, including ones already disconnected for other reasons
+    private final Set<Subscriber> draining = ConcurrentHashMap.newKeySet();
+    private final Counter overflows;
+    private final Counter stalls;
+    private final Counter relayed;
+
+    record FeedEvent(long id, String name, Object data) {
+    }
+
+    private record RemoteChange(long version, TaskEvent event) {
+    }
+
+    @Autowired
+    public ProjectChangeFeed(ProjectAccessService projectAccessService,
+                             ProjectVersionService projectVersionService,
+                             TaskRepository taskRepository,
+                             TaskTombstoneRepository taskTombstoneRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${task.feed.sender-threads:4}") int senderThreads,
+                             @Value("${task.feed.queue-capacity:256}") int queueCapacity,
+                             @Value("${task.feed.replay-size:512}") int replaySize,
+                             @Value("${task.feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${task.feed.send-timeout-ms:10000}") long sendTimeoutMs,
+                             @Value("${task.feed.relay-batch-size:500}") int relayBatchSize) {
+        this(projectAccessService, projectVersionService, taskRepository, taskTombstoneRepository, meterRegistry,
+                Executors.newFixedThreadPool(senderThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "project-feed-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                queueCapacity, replaySize, emitterTimeoutMs, sendTimeoutMs, relayBatchSize);
+    }
+
+    ProjectChangeFeed(ProjectAccessService projectAccessService, ProjectVersionService projectVersionService,
+                      TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                      MeterRegistry meterRegistry, Executor senders,
+                      int queueCapacity, int replaySize, long emitterTimeoutMs, long sendTimeoutMs, int relayBatchSize) {
+        this.projectAccessService = projectAccessService;
+        this.projectVersionService = projectVersionService;
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.senders = senders;
+        this.queueCapacity = queueCapacity;
+        this.replaySize = replaySize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.relayBatchSize = relayBatchSize;
+
+        Gauge.builder("task.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("task.feed.overflows")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+        this.stalls = Counter.builder("task.feed.stalls")
+                .description("Subscribers disconnected because a write to them blocked for too long")
+                .register(meterRegistry);
+        this.relayed = Counter.builder("task.feed.relayed")
+                .description("Changes committed on other nodes and relayed to this node's subscribers")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, Long projectId, Long lastEventId) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "follow");
+
+        Subscriber subscriber = new Subscriber(projectId, createEmitter(), new ArrayBlockingQueue<>(queueCapacity));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // Changes committed up to now are left to the client's initial fetch; the relay starts after them
+        long version = projectVersionService.getVersion(projectId);
+        // Register and replay inside the map entry's compute, which also serializes against the channel being
+        // dropped by remove(), so no event is missed or delivered twice
+        channels.compute(projectId, (id, existing) -> {
+            Channel channel = existing != null ? existing : new Channel(projectId, sequence.get(), version);
+            synchronized (channel) {
+                channel.subscribers.add(subscriber);
+                if (lastEventId != null) {
+                    replay(channel, subscriber, lastEventId);
+                }
+            }
+            return channel;
+        });
+        subscribers.incrementAndGet();
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        Channel channel = channels.get(event.projectId());
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            long version = event.task() != null ? event.task().getSyncVersion() : 0;
+            if (event.type() == TaskEvent.Type.ARCHIVED) {
+                // The archiver's event carries no version; its tombstone is recognized by task id instead
+                channel.archivedThisRound.add(event.taskId());
+            } else if (version > 0) {
+                if (version <= channel.relayedThrough) {
+                    return; // committed before the subscription, or already relayed
+                }
+                channel.localVersions.add(version);
+            }
+        }
+        publish(channel, "task-" + event.type().name().toLowerCase(), TaskChangeDto.of(event));
+    }
+
+    /**
+     * Reminders and overdue transitions go out as {@code task-reminder} and {@code task-overdue}. Every node
+     * runs its own deadline scheduler, so each one forwards the deadlines it fires to its own subscribers.
+     */
+    @EventListener
+    public void onTaskDeadline(TaskDeadlineEvent event) {
+        String name = "task-" + event.kind().name().toLowerCase();
+        for (TaskDeadlineEvent.DueTask task : event.tasks()) {
+            publish(task.projectId(), name, task);
+        }
+    }
+
+    private void publish(Long projectId, String name, Object data) {
+        Channel channel = channels.get(projectId);
+        if (channel != null) {
+            publish(channel, name, data);
+        }
+    }
+
+    private void publish(Channel channel, String name, Object data) {
+        List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (channel) {
+            FeedEvent feedEvent = new FeedEvent(sequence.incrementAndGet(), name, data);
+            channel.recent.addLast(feedEvent);
+            if (channel.recent.size() > replaySize) {
+                channel.floor = channel.recent.removeFirst().id();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                if (!subscriber.closed.get() && !subscriber.queue.offer(feedEvent)) {
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+        // Schedule and disconnect outside the channel lock; remove() takes the map lock first
+        channel.subscribers.forEach(this::schedule);
+        overflowed.forEach(this::disconnectSlow);
+    }
+
+    // Comment lines keep proxies from closing idle connections and reveal dead ones on the next write
+    @Scheduled(fixedRateString = "${task.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.closed.get()) {
+                    continue;
+                }
+                if (subscriber.queue.offer(Subscriber.HEARTBEAT)) {
+                    schedule(subscriber);
+                } else {
+                    disconnectSlow(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relays changes committed on other nodes to the subscribers of each followed project.
+     */
+    @Scheduled(fixedDelayString = "${task.feed.relay-delay-ms:1000}")
+    public void relayRemoteChanges() {
+        for (Channel channel : channels.values()) {
+            try {
+                relay(channel);
+            } catch (RuntimeException e) {
+                log.warn("Relaying changes of project {} to the change feed failed", channel.projectId, e);
+            }
+        }
+    }
+
+    // A write blocks its sender until the client reads; one that stops reading is dropped instead of holding it
+    @Scheduled(fixedRateString = "${task.feed.stall-check-ms:1000}")
+    public void disconnectStalled() {
+        long cutoff = System.currentTimeMillis() - sendTimeoutMs;
+        for (Subscriber subscriber : draining) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && startedAt < cutoff && subscriber.stalled.compareAndSet(false, true)) {
+                stalls.increment();
+                log.debug("Disconnecting stalled change feed subscriber of project {}", subscriber.projectId);
+                remove(subscriber);
+                subscriber.emitter.completeWithError(new IOException("Change feed write timed out"));
+                // The blocked write only returns once the container times it out; lend the pool a thread meanwhile
+                resizeSenders(1);
+            }
+        }
+    }
+
+    public int subscriberCount(Long projectId) {
+        Channel channel = channels.get(projectId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    private void replay(Channel channel, Subscriber subscriber, long lastEventId) {
+        if (lastEventId >= channel.floor) {
+            boolean complete = channel.recent.stream()
+                    .filter(event -> event.id() > lastEventId)
+                    .allMatch(subscriber.queue::offer);
+            if (complete) {
+                return;
+            }
+            subscriber.queue.clear();
+        }
+        subscriber.queue.offer(new FeedEvent(sequence.get(), RESYNC_EVENT, Map.of("projectId", channel.projectId)));
+    }
+
+    private void relay(Channel channel) {
+        Long projectId = channel.projectId;
+        long current = projectVersionService.getVersion(projectId);
+        long from;
+        long upTo;
+        synchronized (channel) {
+            from = channel.relayedThrough;
+            upTo = channel.seenVersion;
+            channel.seenVersion = Math.max(current, upTo);
+        }
+        List<RemoteChange> changes = new ArrayList<>();
+        boolean truncated = false;
+        if (upTo > from) {
+            PageRequest page = PageRequest.ofSize(relayBatchSize + 1);
+            List<Task> tasks = taskRepository.findChangedSince(projectId, from, Long.MAX_VALUE, page);
+            List<TaskTombstone> tombstones = taskTombstoneRepository.findChangedSince(projectId, from, Long.MAX_VALUE, page);
+            truncated = tasks.size() > relayBatchSize && tasks.get(relayBatchSize).getSyncVersion() <= upTo
+                    || tombstones.size() > relayBatchSize && tombstones.get(relayBatchSize).getSyncVersion() <= upTo
+                    || projectVersionService.getPurgedThrough(projectId) > from;
+            for (Task task : tasks) {
+                if (task.getSyncVersion() <= upTo) {
+                    changes.add(new RemoteChange(task.getSyncVersion(), TaskEvent.of(TaskEvent.Type.UPDATED, task, null)));
+                }
+            }
+            for (TaskTombstone tombstone : tombstones) {
+                if (tombstone.getSyncVersion() <= upTo) {
+                    changes.add(new RemoteChange(tombstone.getSyncVersion(),
+                            new TaskEvent(TaskEvent.Type.DELETED, tombstone.getTaskId(), projectId, null, null, List.of())));
+                }
+            }
+            changes.sort(Comparator.comparingLong(RemoteChange::version));
+        }
+
+        List<TaskEvent> remote = new ArrayList<>();
+        synchronized (channel) {
+            for (RemoteChange change : changes) {
+                boolean local = channel.localVersions.contains(change.version())
+                        || change.event().type() == TaskEvent.Type.DELETED
+                        && (channel.archivedThisRound.remove(change.event().taskId())
+                        || channel.archivedLastRound.remove(change.event().taskId()));
+                if (!local) {
+                    remote.add(change.event());
+                }
+            }
+            channel.relayedThrough = Math.max(from, upTo);
+            channel.localVersions.headSet(channel.relayedThrough, true).clear();
+            // An archive's tombstone is relayed the round after its event arrives; older ids were never matched
+            channel.archivedLastRound = channel.archivedThisRound;
+            channel.archivedThisRound = new HashSet<>();
+        }
+
+        if (truncated) {
+            publish(channel, RESYNC_EVENT, Map.of("projectId", projectId));
+            return;
+        }
+        relayed.increment(remote.size());
+        for (TaskEvent event : remote) {
+            publish(channel, "task-" + event.type().name().toLowerCase(), TaskChangeDto.of(event));
+        }
+    }
+
+    // Too slow to keep up: drop the connection rather than buffer without bound or block the publisher
+    private void disconnectSlow(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        overflows.increment();
+        log.debug("Disconnecting slow change feed subscriber of project {}", subscriber.projectId);
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed.get() && !subscriber.queue.isEmpty() && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        draining.add(subscriber);
+        try {
+            FeedEvent event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedAt = System.currentTimeMillis();
+                if (event == Subscriber.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sendStartedAt = 0;
+            draining.remove(subscriber);
+            subscriber.sending.set(false);
+            if (subscriber.stalled.get()) {
+                resizeSenders(-1);
+            }
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        schedule(subscriber);
+    }
+
+    private synchronized void resizeSenders(int delta) {
+        if (senders instanceof ThreadPoolExecutor pool) {
+            int size = pool.getCorePoolSize() + delta;
+            if (delta > 0) {
+                pool.setMaximumPoolSize(size);
+                pool.setCorePoolSize(size);
+            } else {
+                pool.setCorePoolSize(size);
+                pool.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(subscriber.projectId, (id, channel) -> {
+            synchronized (channel) {
+                channel.subscribers.remove(subscriber);
+                return channel.subscribers.isEmpty() ? null : channel;
+            }
+        });
+    }
+
+    private static final class Channel {
+        private final Long projectId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<FeedEvent> recent = new ArrayDeque<>();
+        // Events with an id up to and including this one can no longer be replayed
+        private long floor;
+        // Project versions through which changes are delivered, and the version read by the last relay round
+        private long relayedThrough;
+        private long seenVersion;
+        // Versions above relayedThrough delivered from this node's own events
+        private final TreeSet<Long> localVersions = new TreeSet<>();
+        private Set<Long> archivedThisRound = new HashSet<>();
+        private Set<Long> archivedLastRound = new HashSet<>();
+
+        private Channel(Long projectId, long floor, long version) {
+            this.projectId = projectId;
+            this.floor = floor;
+            this.relayedThrough = version;
+            this.seenVersion = version;
+        }
+    }
+
+    private static final class Subscriber {
+        private static final FeedEvent HEARTBEAT = new FeedEvent(0, null, null);
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        // When the write in progress started, 0 while none is
+        private volatile long sendStartedAt;
+
+        private Subscriber(Long projectId, SseEmitter emitter, BlockingQueue<FeedEvent> queue) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.proj.taskmanager.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.taskmanager.model.IdempotencyRecord;
+import com.proj.taskmanager.repository.IdempotencyRecordRepository;
+import com.proj.taskmanager.response.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes create endpoints safe to retry. The first request with an Idempotency-Key runs normally and its
+ * successful response is kept for {@code idempotency.ttl-hours}; retries with the same key get that response
+ * back without the endpoint running again.
+ * <p>
+ * Recent keys live in a bounded LRU map on each node. A retry that arrives while the first request is still
+ * running on the same node waits for its result. The idempotency_keys table is the fallback for keys
+ * evicted from the map and for retries that land on another node, where a request still in flight is
+ * answered with 409 Conflict.
+ * <p>
+ * Failed responses are not kept, so a retry after a failure runs again. The response is recorded after the
+ * endpoint's own transaction commits; if a node dies in between, the key is taken over once it has been in
+ * flight for {@code idempotency.in-flight-timeout-seconds}.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    private final Map<CacheKey, Entry> entries;
+
+    private record CacheKey(Long userId, String scope, String key) {
+    }
+
+    private record Entry(String requestHash, CompletableFuture<StoredResponse> result, LocalDateTime expiresAt) {
+    }
+
+    private record StoredResponse(int statusCode, String eTag, String body) {
+    }
+
+    // Outcome of claiming a key in the database: ours to run, already answered, or running elsewhere
+    private record Claim(Long recordId, StoredResponse response, String requestHash) {
+        boolean owned() {
+            return recordId != null;
+        }
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.in-flight-timeout-seconds:30}") long inFlightTimeoutSeconds,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inFlightTimeout = Duration.ofSeconds(inFlightTimeoutSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} unless a response for the key already exists, in which case that response is
+     * returned instead.
+     *
+     * @param scope   the endpoint, so a key is only replayed for the endpoint it was first used on
+     * @param key     the Idempotency-Key header, or null to just run the action
+     * @param request the request body; a retry with the same key must send the same body
+     */
+    public ResponseEntity<ApiResponse> execute(Long userId, String scope, String key, Object request,
+                                               Supplier<ResponseEntity<ApiResponse>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = fingerprint(request);
+        CacheKey cacheKey = new CacheKey(userId, scope, key);
+        LocalDateTime now = LocalDateTime.now();
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(cacheKey);
+            if (existing != null && existing.expiresAt().isBefore(now)) {
+                entries.remove(cacheKey);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(cacheKey, new Entry(requestHash, mine, now.plus(ttl)));
+            }
+        }
+        if (existing != null) {
+            if (!existing.requestHash().equals(requestHash)) {
+                return keyReused();
+            }
+            return awaitAndReplay(existing.result());
+        }
+
+        // This node runs the request; until it completes, local retries wait on `mine`
+        Claim claim;
+        try {
+            claim = claim(cacheKey, requestHash, now);
+        } catch (RuntimeException e) {
+            forget(cacheKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        if (!claim.owned()) {
+            forget(cacheKey, mine);
+            if (!claim.requestHash().equals(requestHash)) {
+                mine.complete(null);
+                return keyReused();
+            }
+            if (claim.response() == null) {
+                mine.complete(null);
+                return inProgress();
+            }
+            remember(cacheKey, claim.requestHash(), claim.response());
+            mine.complete(claim.response());
+            return replay(claim.response());
+        }
+
+        ResponseEntity<ApiResponse> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(cacheKey, mine, claim.recordId());
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        StoredResponse stored = toStored(response);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            complete(claim.recordId(), stored);
+            mine.complete(stored);
+        } else {
+            // Concurrent retries get the same failure, later ones run again
+            release(cacheKey, mine, claim.recordId());
+            mine.complete(stored);
+        }
+        return response;
+    }
+
+    @Scheduled(cron = "${idempotency.purge-cron:0 10 * * * *}")
+    public int purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+        return deleted != null ? deleted : 0;
+    }
+
+    private Claim claim(CacheKey cacheKey, String requestHash, LocalDateTime now) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Optional<IdempotencyRecord> found = recordRepository.findByUserIdAndScopeAndIdempotencyKey(
+                    cacheKey.userId(), cacheKey.scope(), cacheKey.key());
+            if (found.isPresent()) {
+                IdempotencyRecord record = found.get();
+                if (record.getExpiresAt().isBefore(now)) {
+                    transactionTemplate.executeWithoutResult(status -> recordRepository.deleteById(record.getId()));
+                    continue;
+                }
+                if (record.getCompletedAt() != null) {
+                    return new Claim(null, new StoredResponse(record.getStatusCode(), record.getETag(), record.getResponseBody()),
+                            record.getRequestHash());
+                }
+                Integer claimed = transactionTemplate.execute(status -> recordRepository.claimAbandoned(record.getId(),
+                        requestHash, now, now.plus(ttl), now.minus(inFlightTimeout)));
+                if (claimed != null && claimed > 0) {
+                    log.warn("Taking over idempotency key of user {} abandoned since {}", cacheKey.userId(), record.getStartedAt());
+                    return new Claim(record.getId(), null, requestHash);
+                }
+                return new Claim(null, null, record.getRequestHash());
+            }
+            try {
+                IdempotencyRecord record = transactionTemplate.execute(status -> recordRepository.saveAndFlush(
+                        new IdempotencyRecord(cacheKey.userId(), cacheKey.scope(), cacheKey.key(), requestHash, now, now.plus(ttl))));
+                return new Claim(record.getId(), null, requestHash);
+            } catch (DataIntegrityViolationException e) {
+                // Another node inserted the key first; read what it stored
+            }
+        }
+        throw new IllegalStateException("Could not claim idempotency key " + cacheKey.key());
+    }
+
+    private void complete(Long recordId, StoredResponse stored) {
+        transactionTemplate.executeWithoutResult(status -> recordRepository.findById(recordId).ifPresent(record -> {
+            record.setStatusCode(stored.statusCode());
+            record.setETag(stored.eTag());
+            record.setResponseBody(stored.body());
+            record.setCompletedAt(LocalDateTime.now());
+        }));
+    }
+
+    private void release(CacheKey cacheKey, CompletableFuture<StoredResponse> result, Long recordId) {
+        forget(cacheKey, result);
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordRepository.deleteInFlight(recordId));
+        } catch (RuntimeException e) {
+            // The key frees itself once it has been in flight for the timeout
+            log.warn("Releasing idempotency key {} failed", cacheKey.key(), e);
+        }
+    }
+
+    private void remember(CacheKey cacheKey, String requestHash, StoredResponse stored) {
+        synchronized (entries) {
+            entries.putIfAbsent(cacheKey, new Entry(requestHash, CompletableFuture.completedFuture(stored),
+                    LocalDateTime.now().plus(ttl)));
+        }
+    }
+
+    private void forget(CacheKey cacheKey, CompletableFuture<StoredResponse> result) {
+        synchronized (entries) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && entry.result() == result) {
+                entries.remove(cacheKey);
+            }
+        }
+    }
+
+    private ResponseEntity<ApiResponse> awaitAndReplay(CompletableFuture<StoredResponse> result) {
+        try {
+            StoredResponse stored = result.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return stored != null ? replay(stored) : inProgress();
+        } catch (TimeoutException e) {
+            return inProgress();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private ResponseEntity<ApiResponse> replay(StoredResponse stored) {
+        try {
+            JsonNode body = objectMapper.readTree(stored.body());
+            ApiResponse response = new ApiResponse(body.path("message").asText(null),
+                    objectMapper.treeToValue(body.get("data"), Object.class));
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true");
+            if (stored.eTag() != null) {
+                builder.eTag(stored.eTag());
+            }
+            return builder.body(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not valid JSON", e);
+        }
+    }
+
+    private StoredResponse toStored(ResponseEntity<ApiResponse> response) {
+        try {
+            return new StoredResponse(response.getStatusCode().value(), response.getHeaders().getFirst(HttpHeaders.ETAG),
+                    objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request cannot be fingerprinted", e);
+        }
+    }
+
+    private static ResponseEntity<ApiResponse> keyReused() {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ApiResponse(HEADER + " was already used for a different request", null));
+    }
+
+    private static ResponseEntity<ApiResponse> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse("A request with this " + HEADER + " is still in progress", null));
+    }
+}
@@ -0,0 +1,26 @@
+package com.proj.taskmanager.service.label;
+
+/**
+ * A boolean combination of labels such as {@code bug AND (backend OR api) AND NOT blocked}. NOT binds
+ * tighter than AND, which binds tighter than OR; keywords are case-insensitive.
+ */
+public sealed interface LabelExpression {
+    record Label(String name) implements LabelExpression {
+    }
+
+    record Not(LabelExpression operand) implements LabelExpression {
+    }
+
+    record And(LabelExpression left, LabelExpression right) implements LabelExpression {
+    }
+
+    record Or(LabelExpression left, LabelExpression right) implements LabelExpression {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query is empty, malformed or names more than 64 labels
+     */
+    static LabelExpression parse(String query) {
+        return new LabelExpressionParser(query).parse();
+    }
+}
@@ -0,0 +1,102 @@
+package com.proj.taskmanager.service.label;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Recursive descent over: or := and (OR and)*, and := unary (AND unary)*, unary := NOT unary | ( or ) | label
+final class LabelExpressionParser {
+    static final int MAX_TERMS = 64;
+    private static final int MAX_LENGTH = 2000;
+
+    private final List<String> tokens;
+    private int position;
+    private int terms;
+
+    LabelExpressionParser(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Label query is empty");
+        }
+        if (query.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Label query is longer than " + MAX_LENGTH + " characters");
+        }
+        this.tokens = tokenize(query);
+    }
+
+    LabelExpression parse() {
+        LabelExpression expression = or();
+        if (position < tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + tokens.get(position) + "' in label query");
+        }
+        return expression;
+    }
+
+    private LabelExpression or() {
+        LabelExpression left = and();
+        while (accept("OR")) {
+            left = new LabelExpression.Or(left, and());
+        }
+        return left;
+    }
+
+    private LabelExpression and() {
+        LabelExpression left = unary();
+        while (accept("AND")) {
+            left = new LabelExpression.And(left, unary());
+        }
+        return left;
+    }
+
+    private LabelExpression unary() {
+        if (accept("NOT")) {
+            return new LabelExpression.Not(unary());
+        }
+        if (accept("(")) {
+            LabelExpression inner = or();
+            if (!accept(")")) {
+                throw new IllegalArgumentException("Missing ')' in label query");
+            }
+            return inner;
+        }
+        if (position == tokens.size()) {
+            throw new IllegalArgumentException("Label query ends where a label was expected");
+        }
+        String token = tokens.get(position++);
+        if (token.equals(")") || TaskLabelService.isKeyword(token)) {
+            throw new IllegalArgumentException("Expected a label but found '" + token + "'");
+        }
+        if (++terms > MAX_TERMS) {
+            throw new IllegalArgumentException("Label query has more than " + MAX_TERMS + " labels");
+        }
+        return new LabelExpression.Label(TaskLabelService.normalize(token));
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (char c : query.toCharArray()) {
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!word.isEmpty()) {
+                    tokens.add(word.toString());
+                    word.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                word.append(c);
+            }
+        }
+        if (!word.isEmpty()) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+}
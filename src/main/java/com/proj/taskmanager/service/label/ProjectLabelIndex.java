@@ -0,0 +1,165 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.repository.TaskLabelRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Label index of one project: a compressed bitmap of task ordinals per label, plus one of all live tasks for
+ * NOT. Tasks are numbered by their position in the ascending {@code taskIds} array, so ordinals and ids sort
+ * the same way and a page of matches is read straight off the result bitmap. New tasks are appended, which
+ * keeps the order as long as ids only grow; deleted tasks keep their ordinal until the next rebuild.
+ * <p>
+ * {@code version} is the project version the index reflects. The index is not thread-safe; the owning
+ * service synchronizes on it.
+ */
+final class ProjectLabelIndex {
+    private volatile long version;
+    private long[] taskIds;
+    private int size;
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> labels = new HashMap<>();
+
+    record Page(long total, long[] taskIds, boolean hasMore) {
+    }
+
+    private ProjectLabelIndex(long version, long[] taskIds) {
+        this.version = version;
+        this.taskIds = taskIds;
+        this.size = taskIds.length;
+        live.add(0L, taskIds.length);
+    }
+
+    /**
+     * @param taskIds     ids of the project's tasks in ascending order
+     * @param assignments labels of those tasks; labels of tasks missing from {@code taskIds} are ignored
+     */
+    static ProjectLabelIndex build(long version, List<Long> taskIds, List<TaskLabelRepository.Assignment> assignments) {
+        ProjectLabelIndex index = new ProjectLabelIndex(version, taskIds.stream().mapToLong(Long::longValue).toArray());
+        for (TaskLabelRepository.Assignment assignment : assignments) {
+            int ordinal = index.ordinalOf(assignment.taskId());
+            if (ordinal >= 0) {
+                index.labels.computeIfAbsent(assignment.name(), name -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+        index.labels.values().forEach(RoaringBitmap::runOptimize);
+        return index;
+    }
+
+    long version() {
+        return version;
+    }
+
+    void advanceTo(long version) {
+        this.version = Math.max(this.version, version);
+    }
+
+    int size() {
+        return live.getCardinality();
+    }
+
+    /**
+     * @return false if the id is lower than one already indexed, in which case the index has to be rebuilt
+     */
+    boolean addTask(long taskId) {
+        int ordinal = ordinalOf(taskId);
+        if (ordinal >= 0) {
+            live.add(ordinal);
+            return true;
+        }
+        if (size > 0 && taskIds[size - 1] > taskId) {
+            return false;
+        }
+        if (size == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, Math.max(16, size * 2));
+        }
+        taskIds[size] = taskId;
+        live.add(size++);
+        return true;
+    }
+
+    void removeTask(long taskId) {
+        int ordinal = ordinalOf(taskId);
+        if (ordinal < 0) {
+            return;
+        }
+        live.remove(ordinal);
+        labels.values().removeIf(tasks -> {
+            tasks.remove(ordinal);
+            return tasks.isEmpty();
+        });
+    }
+
+    /**
+     * Moves a task from the {@code removed} labels to the {@code added} ones; labels it has in both are left alone.
+     */
+    void relabel(long taskId, Collection<String> removed, Collection<String> added) {
+        int ordinal = ordinalOf(taskId);
+        if (ordinal < 0 || !live.contains(ordinal)) {
+            return;
+        }
+        for (String name : removed) {
+            RoaringBitmap tasks = labels.get(name);
+            if (tasks != null && !added.contains(name)) {
+                tasks.remove(ordinal);
+                if (tasks.isEmpty()) {
+                    labels.remove(name);
+                }
+            }
+        }
+        for (String name : added) {
+            labels.computeIfAbsent(name, n -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    /**
+     * Evaluates the expression and returns up to {@code limit} matching task ids greater than {@code afterTaskId}
+     * in ascending order, together with the number of matches overall.
+     */
+    Page find(LabelExpression expression, long afterTaskId, int limit) {
+        RoaringBitmap matches = evaluate(expression);
+        int from = ordinalOf(afterTaskId);
+        from = from >= 0 ? from + 1 : -from - 1;
+
+        long[] page = new long[limit];
+        int count = 0;
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(from);
+        while (count < limit && iterator.hasNext()) {
+            page[count++] = taskIds[iterator.next()];
+        }
+        return new Page(matches.getLongCardinality(), Arrays.copyOf(page, count), iterator.hasNext());
+    }
+
+    Map<String, Integer> counts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        labels.forEach((name, tasks) -> counts.put(name, tasks.getCardinality()));
+        return counts;
+    }
+
+    // Returns either a stored bitmap or a new one; stored bitmaps are only read, never modified here
+    private RoaringBitmap evaluate(LabelExpression expression) {
+        if (expression instanceof LabelExpression.Label label) {
+            return labels.getOrDefault(label.name(), new RoaringBitmap());
+        }
+        if (expression instanceof LabelExpression.Not not) {
+            return RoaringBitmap.andNot(live, evaluate(not.operand()));
+        }
+        if (expression instanceof LabelExpression.And and) {
+            return RoaringBitmap.and(evaluate(and.left()), evaluate(and.right()));
+        }
+        LabelExpression.Or or = (LabelExpression.Or) expression;
+        return RoaringBitmap.or(evaluate(or.left()), evaluate(or.right()));
+    }
+
+    private int ordinalOf(long taskId) {
+        return Arrays.binarySearch(taskIds, 0, size, taskId);
+    }
+}
@@ -0,0 +1,257 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.model.TaskLabel;
+import com.proj.taskmanager.repository.TaskLabelRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Task labels and one {@link ProjectLabelIndex} per project in memory, so label queries are answered with
+ * bitmap operations before any task row is read.
+ * <p>
+ * Like the dependency graphs, an index is only used while its version equals the project's current version.
+ * Unlike them, it is not thrown away on every task write: committed task events carry the project version of
+ * their change and move the index along when they follow on from it. Any change that skips a version, such as
+ * one made on another node or one that publishes no task event, leaves the index behind, and the next query
+ * rebuilds it.
+ */
+@Slf4j
+@Service
+public class TaskLabelService {
+    public static final String FIELD = "labels";
+    public static final int MAX_LABELS_PER_TASK = 20;
+    private static final Pattern LABEL = Pattern.compile("[a-z0-9][a-z0-9_.:/-]{0,49}");
+    private static final Set<String> KEYWORDS = Set.of("and", "or", "not");
+
+    private final TaskLabelRepository labelRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectVersionService projectVersionService;
+
+    private final Map<Long, ProjectLabelIndex> indexes;
+
+    public record Page(long total, List<Long> taskIds, Long nextAfter) {
+    }
+
+    public TaskLabelService(TaskLabelRepository labelRepository,
+                            TaskRepository taskRepository,
+                            ProjectVersionService projectVersionService,
+                            @Value("${task.labels.cached-projects:256}") int cachedProjects) {
+        this.labelRepository = labelRepository;
+        this.taskRepository = taskRepository;
+        this.projectVersionService = projectVersionService;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ProjectLabelIndex> eldest) {
+                return size() > cachedProjects;
+            }
+        };
+    }
+
+    /**
+     * Lower-cases a label and checks it: 1 to 50 of letters, digits and {@code _ . : / -}, starting with a
+     * letter or digit, and not a query keyword.
+     */
+    public static String normalize(String label) {
+        String name = label == null ? "" : label.strip().toLowerCase(Locale.ROOT);
+        if (!LABEL.matcher(name).matches() || KEYWORDS.contains(name)) {
+            throw new IllegalArgumentException("Invalid label: '" + label + "'");
+        }
+        return name;
+    }
+
+    // Sorted and without duplicates, which is also how labels are rendered in task events
+    public static List<String> normalize(Collection<String> labels) {
+        Set<String> names = new TreeSet<>();
+        for (String label : labels) {
+            names.add(normalize(label));
+        }
+        if (names.size() > MAX_LABELS_PER_TASK) {
+            throw new IllegalArgumentException("A task can have at most " + MAX_LABELS_PER_TASK + " labels");
+        }
+        return List.copyOf(names);
+    }
+
+    static boolean isKeyword(String token) {
+        return KEYWORDS.contains(token.toLowerCase(Locale.ROOT));
+    }
+
+    public List<String> getLabels(Long taskId) {
+        return labelRepository.findNamesByTaskId(taskId);
+    }
+
+    /**
+     * Replaces the labels of a task. The caller has bumped the project version and publishes the change as
+     * a task event built with {@link #labelChange}.
+     *
+     * @param labels normalized labels
+     * @return the labels the task had before
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> replaceLabels(Long projectId, Long taskId, List<String> labels) {
+        List<String> previous = labelRepository.findNamesByTaskId(taskId);
+        List<String> removed = previous.stream().filter(name -> !labels.contains(name)).toList();
+        if (!removed.isEmpty()) {
+            labelRepository.deleteByTaskIdAndNameIn(taskId, removed);
+        }
+        labelRepository.saveAll(labels.stream()
+                .filter(name -> !previous.contains(name))
+                .map(name -> new TaskLabel(projectId, taskId, name))
+                .toList());
+        return previous;
+    }
+
+    public static TaskFieldChange labelChange(List<String> before, List<String> after) {
+        return new TaskFieldChange(FIELD, before.isEmpty() ? null : String.join(",", before),
+                after.isEmpty() ? null : String.join(",", after));
+    }
+
+    // Task deletion bumps the project version itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForTask(Long taskId) {
+        labelRepository.deleteByTaskId(taskId);
+    }
+
+    // Called once a deleted project's labels are purged
+    public void evictProject(Long projectId) {
+        synchronized (indexes) {
+            indexes.remove(projectId);
+        }
+    }
+
+    /**
+     * Tasks of the project matching the expression, in id order after {@code afterTaskId}.
+     */
+    public Page find(Long projectId, LabelExpression expression, long afterTaskId, int limit) {
+        ProjectLabelIndex index = getIndex(projectId);
+        ProjectLabelIndex.Page page;
+        synchronized (index) {
+            page = index.find(expression, afterTaskId, limit);
+        }
+        List<Long> taskIds = new ArrayList<>(page.taskIds().length);
+        for (long taskId : page.taskIds()) {
+            taskIds.add(taskId);
+        }
+        Long nextAfter = page.hasMore() ? taskIds.get(taskIds.size() - 1) : null;
+        return new Page(page.total(), taskIds, nextAfter);
+    }
+
+    // Label name to number of tasks carrying it, by name
+    public Map<String, Integer> countLabels(Long projectId) {
+        ProjectLabelIndex index = getIndex(projectId);
+        synchronized (index) {
+            return index.counts();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        ProjectLabelIndex index;
+        synchronized (indexes) {
+            index = indexes.get(event.projectId());
+        }
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            if (!apply(index, event)) {
+                evict(event.projectId(), index);
+            }
+        }
+    }
+
+    /**
+     * @return false if the index can't follow the event and has to be rebuilt
+     */
+    private static boolean apply(ProjectLabelIndex index, TaskEvent event) {
+        // Archived tasks leave without a version, and restored ones come back with labels the event doesn't carry
+        if (event.task() == null || event.type() == TaskEvent.Type.RESTORED) {
+            return false;
+        }
+        long version = event.task().getSyncVersion();
+        if (version < index.version()) {
+            // Already in the index, which was loaded after this change committed
+            return true;
+        }
+        // Events of one transaction share its version; the next transaction's are one higher
+        if (version > index.version() + 1) {
+            return false;
+        }
+        switch (event.type()) {
+            case CREATED -> {
+                if (!index.addTask(event.taskId())) {
+                    return false;
+                }
+            }
+            case DELETED -> index.removeTask(event.taskId());
+            default -> {
+                for (TaskFieldChange change : event.changes()) {
+                    if (FIELD.equals(change.field())) {
+                        index.relabel(event.taskId(), split(change.oldValue()), split(change.newValue()));
+                    }
+                }
+            }
+        }
+        index.advanceTo(version);
+        return true;
+    }
+
+    private static List<String> split(String labels) {
+        return labels == null ? List.of() : List.of(labels.split(","));
+    }
+
+    private ProjectLabelIndex getIndex(Long projectId) {
+        long version = projectVersionService.getVersion(projectId);
+        synchronized (indexes) {
+            ProjectLabelIndex index = indexes.get(projectId);
+            if (index != null && index.version() == version) {
+                return index;
+            }
+        }
+        return load(projectId, version);
+    }
+
+    private void evict(Long projectId, ProjectLabelIndex index) {
+        synchronized (indexes) {
+            indexes.remove(projectId, index);
+        }
+    }
+
+    /**
+     * The version is read before the rows, so a change committed in between makes the index newer than its
+     * version says. Its event is then applied a second time, which leaves the index as it was.
+     */
+    private ProjectLabelIndex load(Long projectId, long version) {
+        long started = System.currentTimeMillis();
+        ProjectLabelIndex index = ProjectLabelIndex.build(version,
+                taskRepository.findIdsByProjectId(projectId, Pageable.unpaged()),
+                labelRepository.findAssignmentsByProjectId(projectId));
+        synchronized (indexes) {
+            ProjectLabelIndex cached = indexes.get(projectId);
+            if (cached == null || cached.version() < version) {
+                indexes.put(projectId, index);
+            }
+        }
+        log.debug("Loaded label index of project {} with {} tasks in {} ms",
+                projectId, index.size(), System.currentTimeMillis() - started);
+        return index;
+    }
+}
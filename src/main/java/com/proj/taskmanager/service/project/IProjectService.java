@@ -1,5 +1,7 @@
 package com.proj.taskmanager.service.project;
 
+import com.proj.taskmanager.dto.ProjectDeletionDto;
+import com.proj.taskmanager.dto.ProjectDto;
 import com.proj.taskmanager.enums.ProjectRole;
 import com.proj.taskmanager.model.Project;
 import com.proj.taskmanager.request.project.CreateProjectReq;
@@ -12,12 +14,16 @@ public interface IProjectService {
     
     List<Project> getAllProjectsByUserId(Long userId);
     
-    void deleteProject(Long userId, Long projectId);
+    ProjectDeletionDto deleteProject(Long userId, Long projectId);
+
+    ProjectDeletionDto getProjectDeletion(Long userId, Long projectId);
     
-    void addMemberToProject(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole);
+    Project addMemberToProject(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole, Long expectedVersion);
     
-    void removeMemberFromProject(Long userId, Long projectId, Long projectMemberId);
+    Project removeMemberFromProject(Long userId, Long projectId, Long projectMemberId, Long expectedVersion);
     
-    void changeMemberRole(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole);
+    Project changeMemberRole(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole, Long expectedVersion);
+
+    ProjectDto convertProjectToDto(Project project);
 
 }
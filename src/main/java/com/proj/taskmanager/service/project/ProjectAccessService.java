@@ -0,0 +1,67 @@
+package com.proj.taskmanager.service.project;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Who may do what in a project. The user who created a project owns it; owners and EDITOR members manage the
+ * project and its tasks, and every member, whatever the role, can read them.
+ * <p>
+ * The {@code validate} methods throw with a message built from the action, e.g. {@code "add task in"} gives
+ * "Only project owner or editor can add task in the project".
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectAccessService {
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+
+    public boolean isOwner(Long userId, Project project) {
+        return project.getCreatedBy().getId().equals(userId);
+    }
+
+    public boolean isMember(Long userId, Project project) {
+        return isOwner(userId, project) || projectMemberRepository.existsByProjectIdAndUserId(project.getId(), userId);
+    }
+
+    public boolean canManage(Long userId, Project project) {
+        return isOwner(userId, project) || projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId)
+                .filter(member -> member.getRole() == ProjectRole.EDITOR)
+                .isPresent();
+    }
+
+    public void validateUserCanManageProject(Long userId, Project project, String action) {
+        if (!canManage(userId, project)) {
+            throw new RuntimeException("Only project owner or editor can " + action + " the project");
+        }
+    }
+
+    public void validateUserCanManageTask(Long userId, Task task, String action) {
+        validateUserCanManageTask(userId, task.getProject(), action);
+    }
+
+    // For a task of the project that is not loaded, e.g. one still in the archive
+    public void validateUserCanManageTask(Long userId, Project project, String action) {
+        if (!canManage(userId, project)) {
+            throw new RuntimeException("Only project owner or editor can " + action + " the task");
+        }
+    }
+
+    public void validateUserIsProjectMember(Long userId, Project project, String action) {
+        if (!isMember(userId, project)) {
+            throw new RuntimeException("User must be a project member to " + action + " the project");
+        }
+    }
+
+    // For callers that only have the id; a deleted project is not found
+    public void validateUserIsProjectMember(Long userId, Long projectId, String action) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        validateUserIsProjectMember(userId, project, action);
+    }
+}
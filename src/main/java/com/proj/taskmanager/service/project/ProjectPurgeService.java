@@ -0,0 +1,236 @@
+package com.proj.taskmanager.service.project;
+
+import com.proj.taskmanager.dto.ProjectDeletionDto;
+import com.proj.taskmanager.enums.ProjectDeletionStatus;
+import com.proj.taskmanager.model.ProjectDeletion;
+import com.proj.taskmanager.repository.ArchivedTaskRepository;
+import com.proj.taskmanager.repository.CustomFieldRepository;
+import com.proj.taskmanager.repository.ProjectDeletionRepository;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskActivityRepository;
+import com.proj.taskmanager.repository.TaskAttachmentRepository;
+import com.proj.taskmanager.repository.TaskClaimRepository;
+import com.proj.taskmanager.repository.TaskDependencyRepository;
+import com.proj.taskmanager.repository.TaskFieldValueRepository;
+import com.proj.taskmanager.repository.TaskLabelRepository;
+import com.proj.taskmanager.repository.TaskRecurrenceRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import com.proj.taskmanager.repository.TimeEntryRepository;
+import com.proj.taskmanager.repository.TimeRollupRepository;
+import com.proj.taskmanager.service.dependency.TaskDependencyService;
+import com.proj.taskmanager.service.label.TaskLabelService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes deleted projects in the background. Deleting a project only marks it, which hides it from every
+ * query at once; this worker then deletes its rows {@code project.purge.batch-size} at a time, one short
+ * transaction per batch, and records its progress in project_deletions. The project row goes last, once
+ * nothing refers to it any more.
+ * <p>
+ * Each batch locks the deletion row and then takes the project version lock, the one task writes and the
+ * archiver take, so purges of the same project never overlap and a write that raced the deletion is cleaned
+ * up by a later batch.
+ */
+@Slf4j
+@Service
+public class ProjectPurgeService {
+    private final ProjectDeletionRepository deletionRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskFieldValueRepository fieldValueRepository;
+    private final CustomFieldRepository customFieldRepository;
+    private final TaskLabelRepository labelRepository;
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskClaimRepository claimRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final TimeRollupRepository timeRollupRepository;
+    private final ProjectVersionService projectVersionService;
+    private final TaskCounterService taskCounterService;
+    private final TaskDependencyService taskDependencyService;
+    private final TaskLabelService taskLabelService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public ProjectPurgeService(ProjectDeletionRepository deletionRepository,
+                               ProjectRepository projectRepository,
+                               ProjectMemberRepository projectMemberRepository,
+                               TaskRepository taskRepository,
+                               ArchivedTaskRepository archivedTaskRepository,
+                               TaskActivityRepository activityRepository,
+                               TaskAttachmentRepository attachmentRepository,
+                               TaskDependencyRepository dependencyRepository,
+                               TaskFieldValueRepository fieldValueRepository,
+                               CustomFieldRepository customFieldRepository,
+                               TaskLabelRepository labelRepository,
+                               TaskRecurrenceRepository recurrenceRepository,
+                               TaskTombstoneRepository tombstoneRepository,
+                               TaskClaimRepository claimRepository,
+                               TimeEntryRepository timeEntryRepository,
+                               TimeRollupRepository timeRollupRepository,
+                               ProjectVersionService projectVersionService,
+                               TaskCounterService taskCounterService,
+                               TaskDependencyService taskDependencyService,
+                               TaskLabelService taskLabelService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${project.purge.batch-size:1000}") int batchSize,
+                               @Value("${project.purge.retention-days:7}") int retentionDays) {
+        this.deletionRepository = deletionRepository;
+        this.projectRepository = projectRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.activityRepository = activityRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.fieldValueRepository = fieldValueRepository;
+        this.customFieldRepository = customFieldRepository;
+        this.labelRepository = labelRepository;
+        this.recurrenceRepository = recurrenceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.claimRepository = claimRepository;
+        this.timeEntryRepository = timeEntryRepository;
+        this.timeRollupRepository = timeRollupRepository;
+        this.projectVersionService = projectVersionService;
+        this.taskCounterService = taskCounterService;
+        this.taskDependencyService = taskDependencyService;
+        this.taskLabelService = taskLabelService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Hides the project and queues it for the purge. The caller has checked that the user may delete it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ProjectDeletion markDeleted(Long projectId, Long userId) {
+        // Waits for task writes in flight and moves the project's ETags
+        projectVersionService.markChanged(projectId);
+        if (projectRepository.markDeleted(projectId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        long tasksTotal = taskCounterService.getCounters(projectId).total();
+        return deletionRepository.save(new ProjectDeletion(projectId, userId, tasksTotal));
+    }
+
+    public ProjectDeletionDto getDeletion(Long userId, Long projectId) {
+        return deletionRepository.findById(projectId)
+                .filter(deletion -> deletion.getRequestedBy().equals(userId))
+                .map(ProjectDeletionDto::of)
+                .orElseThrow(() -> new RuntimeException("No deletion found for project with id: " + projectId));
+    }
+
+    @Scheduled(fixedDelayString = "${project.purge.poll-ms:5000}")
+    public void purgePending() {
+        for (Long projectId : deletionRepository.findUnfinishedProjectIds()) {
+            try {
+                purge(projectId);
+            } catch (RuntimeException e) {
+                log.warn("Purging deleted project {} failed, will retry", projectId, e);
+            }
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        transactionTemplate.execute(status -> deletionRepository.deleteCompletedBefore(cutoff));
+    }
+
+    /**
+     * Deletes everything left of a deleted project, one batch per transaction.
+     *
+     * @return the number of batches run
+     */
+    public int purge(Long projectId) {
+        long started = System.currentTimeMillis();
+        int batches = 0;
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeBatch(projectId)))) {
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("Purged deleted project {} in {} batches and {} ms", projectId, batches, System.currentTimeMillis() - started);
+        }
+        return batches;
+    }
+
+    /**
+     * @return true if rows were deleted, false once the project is gone
+     */
+    private boolean purgeBatch(Long projectId) {
+        ProjectDeletion deletion = deletionRepository.findByIdForUpdate(projectId).orElse(null);
+        if (deletion == null || deletion.getStatus() == ProjectDeletionStatus.COMPLETED) {
+            return false;
+        }
+        projectVersionService.markChanged(projectId);
+        deletion.setStatus(ProjectDeletionStatus.RUNNING);
+        deletion.setUpdatedAt(LocalDateTime.now());
+        PageRequest batch = PageRequest.ofSize(batchSize);
+
+        // Recurrence rules first so the generator stops adding tasks, edges before tasks and tasks before the
+        // archive, which only the archiver adds to
+        int deleted = deleteBatch(recurrenceRepository, recurrenceRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(dependencyRepository, dependencyRepository.findIdsByProjectId(projectId, batch));
+        if (deleted > 0) {
+            deletion.setOtherRowsDeleted(deletion.getOtherRowsDeleted() + deleted);
+            return true;
+        }
+        deleted = deleteBatch(taskRepository, taskRepository.findIdsByProjectId(projectId, batch));
+        if (deleted > 0) {
+            deletion.setTasksDeleted(deletion.getTasksDeleted() + deleted);
+            return true;
+        }
+        deleted = deleteBatch(archivedTaskRepository, archivedTaskRepository.findIdsByProjectId(projectId, batch));
+        if (deleted > 0) {
+            deletion.setArchivedTasksDeleted(deletion.getArchivedTasksDeleted() + deleted);
+            return true;
+        }
+        deleted = deleteBatch(activityRepository, activityRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(attachmentRepository, attachmentRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(labelRepository, labelRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(fieldValueRepository, fieldValueRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(customFieldRepository, customFieldRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(tombstoneRepository, tombstoneRepository.findTaskTombstoneIds(projectId, batch))
+                + deleteBatch(claimRepository, claimRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(timeEntryRepository, timeEntryRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(timeRollupRepository, timeRollupRepository.findIdsByProjectId(projectId, batch))
+                + deleteBatch(projectMemberRepository, projectMemberRepository.findIdsByProjectId(projectId, batch));
+        if (deleted > 0) {
+            deletion.setOtherRowsDeleted(deletion.getOtherRowsDeleted() + deleted);
+            return true;
+        }
+
+        taskCounterService.deleteForProject(projectId);
+        projectVersionService.deleteForProject(projectId);
+        taskDependencyService.evictProject(projectId);
+        taskLabelService.evictProject(projectId);
+        projectRepository.purgeDeleted(projectId);
+        deletion.setStatus(ProjectDeletionStatus.COMPLETED);
+        deletion.setCompletedAt(deletion.getUpdatedAt());
+        return false;
+    }
+
+    private static int deleteBatch(JpaRepository<?, Long> repository, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            repository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+}
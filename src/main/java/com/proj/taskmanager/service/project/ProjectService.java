@@ -1,12 +1,18 @@
 package com.proj.taskmanager.service.project;
 
+import com.proj.taskmanager.dto.ProjectDeletionDto;
+import com.proj.taskmanager.dto.ProjectDto;
 import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.exceptions.PreconditionFailedException;
 import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectDeletion;
 import com.proj.taskmanager.model.ProjectMember;
 import com.proj.taskmanager.model.User;
 import com.proj.taskmanager.repository.ProjectMemberRepository;
 import com.proj.taskmanager.repository.ProjectRepository;
 import com.proj.taskmanager.request.project.CreateProjectReq;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import com.proj.taskmanager.service.task.TaskTombstoneService;
 import com.proj.taskmanager.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,7 +27,12 @@ import java.util.Optional;
 public class ProjectService implements IProjectService {
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessService projectAccessService;
     private final IUserService userService;
+    private final TaskCounterService taskCounterService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskTombstoneService taskTombstoneService;
+    private final ProjectPurgeService projectPurgeService;
 
     @Override
     @Transactional
@@ -41,6 +52,9 @@ public class ProjectService implements IProjectService {
         projectMember.setRole(ProjectRole.OWNER);
         
         projectMemberRepository.save(projectMember);
+        project.getMembers().add(projectMember);
+        taskCounterService.createForProject(project.getId());
+        projectVersionService.createForProject(project.getId());
         
         return project;
     }
@@ -52,18 +66,27 @@ public class ProjectService implements IProjectService {
 
     @Override
     @Transactional
-    public void deleteProject(Long userId, Long projectId) {
+    public ProjectDeletionDto deleteProject(Long userId, Long projectId) {
         Project project = getProjectById(projectId);
-        validateUserCanManageProject(userId, project, "delete");
-        
-        projectRepository.deleteById(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "delete");
+
+        // Only hides the project; its tasks and other rows are removed by the purge worker
+        ProjectDeletion deletion = projectPurgeService.markDeleted(projectId, userId);
+        taskTombstoneService.recordProjectDeleted(projectId);
+        return ProjectDeletionDto.of(deletion);
+    }
+
+    @Override
+    public ProjectDeletionDto getProjectDeletion(Long userId, Long projectId) {
+        return projectPurgeService.getDeletion(userId, projectId);
     }
 
     @Override
     @Transactional
-    public void addMemberToProject(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole) {
-        Project project = getProjectById(projectId);
-        validateUserCanManageProject(userId, project, "add member to");
+    public Project addMemberToProject(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole, Long expectedVersion) {
+        Project project = getProjectForUpdate(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "add member to");
+        validateVersion(project, expectedVersion);
         
         User userToAdd = userService.getUserById(projectMemberId);
         
@@ -77,15 +100,18 @@ public class ProjectService implements IProjectService {
         projectMember.setRole(projectRole);
         
         projectMemberRepository.save(projectMember);
+        projectVersionService.markChanged(projectId);
+        return project;
     }
 
     @Override
     @Transactional
-    public void removeMemberFromProject(Long userId, Long projectId, Long projectMemberId) {
-        Project project = getProjectById(projectId);
-        validateUserCanManageProject(userId, project, "remove member from");
+    public Project removeMemberFromProject(Long userId, Long projectId, Long projectMemberId, Long expectedVersion) {
+        Project project = getProjectForUpdate(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "remove member from");
+        validateVersion(project, expectedVersion);
         
-        if (project.getCreatedBy().getId().equals(projectMemberId)) {
+        if (projectAccessService.isOwner(projectMemberId, project)) {
             throw new RuntimeException("Cannot remove project owner from the project");
         }
         
@@ -99,15 +125,18 @@ public class ProjectService implements IProjectService {
         }
         
         projectMemberRepository.deleteById(projectMember.get().getId());
+        projectVersionService.markChanged(projectId);
+        return project;
     }
 
     @Override
     @Transactional
-    public void changeMemberRole(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole) {
-        Project project = getProjectById(projectId);
-        validateUserCanManageProject(userId, project, "update member's role in");
+    public Project changeMemberRole(Long userId, Long projectId, Long projectMemberId, ProjectRole projectRole, Long expectedVersion) {
+        Project project = getProjectForUpdate(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "update member's role in");
+        validateVersion(project, expectedVersion);
         
-        if (project.getCreatedBy().getId().equals(projectMemberId)) {
+        if (projectAccessService.isOwner(projectMemberId, project)) {
             throw new RuntimeException("Cannot change project owner's role");
         }
         
@@ -118,6 +147,22 @@ public class ProjectService implements IProjectService {
         
         projectMember.get().setRole(projectRole);
         projectMemberRepository.save(projectMember.get());
+        projectVersionService.markChanged(projectId);
+        return project;
+    }
+
+    @Override
+    public ProjectDto convertProjectToDto(Project project) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(project.getId());
+        projectDto.setName(project.getName());
+        projectDto.setCreatedBy(project.getCreatedBy() != null ? userService.convertUserToDto(project.getCreatedBy()) : null);
+        projectDto.setCreatedAt(project.getCreatedAt());
+        projectDto.setVersion(project.getVersion());
+        projectDto.setMembers(project.getMembers().stream()
+                .map(member -> new ProjectDto.Member(userService.convertUserToDto(member.getUser()), member.getRole()))
+                .toList());
+        return projectDto;
     }
 
     // Helper methods
@@ -126,15 +171,15 @@ public class ProjectService implements IProjectService {
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
     }
 
-    private void validateUserCanManageProject(Long userId, Project project, String action) {
-        boolean isOwner = project.getCreatedBy().getId().equals(userId);
-        
-        if (!isOwner) {
-            Optional<ProjectMember> userMembership = projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId);
-            
-            if (userMembership.isEmpty() || userMembership.get().getRole() != ProjectRole.EDITOR) {
-                throw new RuntimeException("Only project owner or editor can " + action + " the project");
-            }
+    private Project getProjectForUpdate(Long projectId) {
+        return projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+    }
+
+    private void validateVersion(Project project, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project has been modified by someone else (current version "
+                    + project.getVersion() + ", expected " + expectedVersion + ")");
         }
     }
 }
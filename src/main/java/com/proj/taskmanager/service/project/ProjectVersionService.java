@@ -0,0 +1,81 @@
+package com.proj.taskmanager.service.project;
+
+import com.proj.taskmanager.model.ProjectVersion;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-project change counters behind the list endpoint ETags. The counters live in the database and are
+ * read with a primary key lookup on every request, so all app nodes agree on them without any cache
+ * invalidation between nodes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectVersionService {
+    private final ProjectVersionRepository projectVersionRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createForProject(Long projectId) {
+        projectVersionRepository.save(new ProjectVersion(projectId, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForProject(Long projectId) {
+        projectVersionRepository.deleteById(projectId);
+    }
+
+    /**
+     * Bumps the project's version in the caller's transaction. The row lock taken by the update is held until
+     * commit, so versions are handed out in commit order and a reader never sees a version before all lower
+     * ones of the same project are committed.
+     *
+     * @return the new version, which the caller stamps on the rows it changes
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long markChanged(Long projectId) {
+        if (projectVersionRepository.increment(projectId) == 0) {
+            projectVersionRepository.save(new ProjectVersion(projectId, 1));
+            return 1;
+        }
+        return getVersion(projectId);
+    }
+
+    /**
+     * Bumps the project's version by {@code count} in one update, for a caller that stamps that many rows with
+     * one version each. Same lock as {@link #markChanged(Long)}.
+     *
+     * @return the last of the {@code count} new versions; the first is {@code count - 1} lower
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long markChanged(Long projectId, int count) {
+        if (projectVersionRepository.incrementBy(projectId, count) == 0) {
+            projectVersionRepository.save(new ProjectVersion(projectId, count));
+            return count;
+        }
+        return getVersion(projectId);
+    }
+
+    public long getVersion(Long projectId) {
+        return projectVersionRepository.findVersion(projectId).orElse(0L);
+    }
+
+    public long getPurgedThrough(Long projectId) {
+        return projectVersionRepository.findById(projectId).map(ProjectVersion::getPurgedThrough).orElse(0L);
+    }
+
+    /**
+     * Combined version of every project the user can see. Changes whenever one of them changes or the user
+     * joins or leaves a project.
+     */
+    public long getUserProjectsVersion(Long userId) {
+        long hash = 17;
+        for (ProjectVersion version : projectVersionRepository.findVisibleToUser(userId)) {
+            hash = hash * 0x9E3779B97F4A7C15L + version.getProjectId();
+            hash = hash * 0x9E3779B97F4A7C15L + version.getVersion();
+        }
+        return hash & Long.MAX_VALUE;
+    }
+}
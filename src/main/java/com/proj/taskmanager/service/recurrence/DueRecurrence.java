@@ -0,0 +1,36 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import com.proj.taskmanager.model.TaskRecurrence;
+
+import java.time.LocalDate;
+
+/**
+ * A rule with occurrences to materialize, read as a plain row: the generator advances rules with a JDBC batch,
+ * which managed entities would not see.
+ */
+public record DueRecurrence(
+        Long id,
+        Long projectId,
+        String title,
+        String description,
+        Long assigneeId,
+        Long createdById,
+        RecurrenceFrequency frequency,
+        int interval,
+        String cron,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate nextOccurrence,
+        int occurrenceIndex
+) {
+    public static DueRecurrence of(TaskRecurrence rule) {
+        return new DueRecurrence(rule.getId(), rule.getProjectId(), rule.getTitle(), rule.getDescription(),
+                rule.getAssigneeId(), rule.getCreatedById(), rule.getFrequency(), rule.getInterval(), rule.getCron(),
+                rule.getStartDate(), rule.getEndDate(), rule.getNextOccurrence(), rule.getOccurrenceIndex());
+    }
+
+    public RecurrenceSchedule schedule() {
+        return RecurrenceSchedule.of(frequency, interval, cron, startDate, endDate);
+    }
+}
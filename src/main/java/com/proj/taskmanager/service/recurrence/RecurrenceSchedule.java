@@ -0,0 +1,76 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * The dates of a recurrence rule. Occurrence n of a daily, weekly or monthly rule is computed from the start
+ * date rather than from occurrence n - 1, so a monthly rule starting on the 31st comes back to the 31st after
+ * a short month instead of drifting to the 28th.
+ */
+public final class RecurrenceSchedule {
+    private static final int MAX_INTERVAL = 365;
+
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final CronExpression cron;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    private RecurrenceSchedule(RecurrenceFrequency frequency, int interval, CronExpression cron,
+                               LocalDate startDate, LocalDate endDate) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.cron = cron;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the interval, cron expression or date range is invalid
+     */
+    public static RecurrenceSchedule of(RecurrenceFrequency frequency, int interval, String cron,
+                                        LocalDate startDate, LocalDate endDate) {
+        if (frequency == null || startDate == null) {
+            throw new IllegalArgumentException("A recurrence needs a frequency and a start date");
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date " + endDate + " is before start date " + startDate);
+        }
+        if (frequency == RecurrenceFrequency.CRON) {
+            if (cron == null || !CronExpression.isValidExpression(cron)) {
+                throw new IllegalArgumentException("Invalid cron expression: " + cron);
+            }
+            return new RecurrenceSchedule(frequency, 1, CronExpression.parse(cron), startDate, endDate);
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("Interval must be between 1 and " + MAX_INTERVAL);
+        }
+        return new RecurrenceSchedule(frequency, interval, null, startDate, endDate);
+    }
+
+    /**
+     * Date of occurrence {@code index}, or null if the schedule ends before it.
+     *
+     * @param previous the date of occurrence {@code index - 1}, or null for the first one; only cron rules use it
+     */
+    public LocalDate occurrence(int index, LocalDate previous) {
+        LocalDate date = switch (frequency) {
+            case DAILY -> startDate.plusDays((long) index * interval);
+            case WEEKLY -> startDate.plusWeeks((long) index * interval);
+            case MONTHLY -> startDate.plusMonths((long) index * interval);
+            case CRON -> nextCronDate(previous != null ? previous : startDate.minusDays(1));
+        };
+        return date == null || (endDate != null && date.isAfter(endDate)) ? null : date;
+    }
+
+    // First matching day after the given one; null if the expression never matches again
+    private LocalDate nextCronDate(LocalDate after) {
+        LocalDateTime next = cron.next(after.atTime(LocalTime.MAX));
+        return next != null ? next.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,284 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.dto.TaskRecurrenceDto;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskRecurrence;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRecurrenceRepository;
+import com.proj.taskmanager.repository.TaskRecurrenceRepositoryCustom.Advance;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.request.recurrence.CreateRecurrenceReq;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskCounterDelta;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Turns recurrence rules into tasks. Every rule keeps the date of its next occurrence; the generator reads the
+ * rules due within {@code task.recurrence.horizon-days}, {@code task.recurrence.batch-size} at a time, and per
+ * batch moves them past the horizon and inserts their tasks in one transaction with JDBC batches.
+ * <p>
+ * A rule only moves if it is still at the occurrence the generator read, and tasks are unique per rule and
+ * occurrence date, so a restart or a second node running the same batch never creates a task twice: whoever
+ * commits second finds the rules already moved and skips them.
+ */
+@Slf4j
+@Service
+public class TaskRecurrenceService {
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskBoardService taskBoardService;
+    private final TaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int batchSize;
+
+    public TaskRecurrenceService(TaskRecurrenceRepository recurrenceRepository,
+                                 TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 ProjectAccessService projectAccessService,
+                                 ProjectVersionService projectVersionService,
+                                 TaskBoardService taskBoardService,
+                                 TaskCounterService taskCounterService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${task.recurrence.horizon-days:14}") int horizonDays,
+                                 @Value("${task.recurrence.batch-size:500}") int batchSize) {
+        this.recurrenceRepository = recurrenceRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectAccessService = projectAccessService;
+        this.projectVersionService = projectVersionService;
+        this.taskBoardService = taskBoardService;
+        this.taskCounterService = taskCounterService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${task.recurrence.generate-cron:0 0 * * * *}")
+    public void generateDue() {
+        generate(LocalDate.now(), batchSize);
+    }
+
+    /**
+     * Materializes every occurrence up to {@code today} plus the horizon.
+     *
+     * @return the number of tasks created
+     */
+    public int generate(LocalDate today, int batchSize) {
+        LocalDate horizon = today.plusDays(horizonDays);
+        long started = System.currentTimeMillis();
+        int created = 0;
+        List<DueRecurrence> page;
+        // Generated rules move past the horizon, so the next page starts at the front again
+        while (!(page = recurrenceRepository.findDue(horizon, PageRequest.ofSize(batchSize))).isEmpty()) {
+            List<DueRecurrence> batch = page;
+            Integer inserted = transactionTemplate.execute(status -> generateBatch(batch, horizon));
+            created += inserted != null ? inserted : 0;
+        }
+        if (created > 0) {
+            log.info("Generated {} recurring tasks up to {} in {} ms", created, horizon, System.currentTimeMillis() - started);
+        }
+        return created;
+    }
+
+    private int generateBatch(List<DueRecurrence> rules, LocalDate horizon) {
+        // Lock the projects in id order so concurrent batches cannot deadlock; a rule another generator moved
+        // while we waited fails its claim below
+        Map<Long, Long> syncVersions = new HashMap<>();
+        for (Long projectId : new TreeSet<>(rules.stream().map(DueRecurrence::projectId).toList())) {
+            syncVersions.put(projectId, projectVersionService.markChanged(projectId));
+        }
+
+        List<Occurrences> planned = rules.stream().map(rule -> Occurrences.upTo(rule, horizon)).toList();
+        boolean[] claimed = recurrenceRepository.advanceAll(planned.stream()
+                .map(occurrences -> new Advance(occurrences.rule().id(), occurrences.rule().nextOccurrence(),
+                        occurrences.next(), occurrences.nextIndex()))
+                .toList());
+        List<Occurrences> owned = new ArrayList<>(planned.size());
+        for (int i = 0; i < planned.size(); i++) {
+            if (claimed[i]) {
+                owned.add(planned.get(i));
+            }
+        }
+        return insertTasks(owned, syncVersions);
+    }
+
+    private int insertTasks(List<Occurrences> occurrences, Map<Long, Long> syncVersions) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Task>> byProject = new TreeMap<>();
+        for (Occurrences rule : occurrences) {
+            for (LocalDate date : rule.dates()) {
+                byProject.computeIfAbsent(rule.rule().projectId(), id -> new ArrayList<>())
+                        .add(toTask(rule.rule(), date, syncVersions.get(rule.rule().projectId()), now));
+            }
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        byProject.forEach((projectId, projectTasks) -> {
+            List<String> ranks = taskBoardService.ranksAtEnd(projectId, TaskStatus.PENDING, projectTasks.size());
+            for (int i = 0; i < projectTasks.size(); i++) {
+                projectTasks.get(i).setBoardRank(ranks.get(i));
+            }
+            tasks.addAll(projectTasks);
+        });
+        taskRepository.insertAll(tasks);
+
+        byProject.forEach((projectId, projectTasks) -> {
+            TaskCounterDelta delta = TaskCounterDelta.ZERO;
+            for (Task task : projectTasks) {
+                delta = delta.plus(TaskCounterDelta.between(null, TaskCounterService.snapshot(task)));
+                eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, task, null));
+            }
+            taskCounterService.applyDelta(projectId, delta);
+        });
+        return tasks.size();
+    }
+
+    private static Task toTask(DueRecurrence rule, LocalDate date, long syncVersion, LocalDateTime now) {
+        Project project = new Project();
+        project.setId(rule.projectId());
+        User creator = new User();
+        creator.setId(rule.createdById());
+
+        Task task = new Task();
+        task.setTitle(rule.title());
+        task.setDescription(rule.description());
+        task.setStatus(TaskStatus.PENDING);
+        task.setDueDate(date);
+        task.setProject(project);
+        task.setCreatedBy(creator);
+        if (rule.assigneeId() != null) {
+            User assignee = new User();
+            assignee.setId(rule.assigneeId());
+            task.setAssignee(assignee);
+        }
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setSyncVersion(syncVersion);
+        task.setRecurrenceId(rule.id());
+        task.setOccurrenceDate(date);
+        return task;
+    }
+
+    /**
+     * Saves a rule and creates its tasks up to the horizon right away.
+     */
+    public TaskRecurrenceDto createRecurrence(Long userId, CreateRecurrenceReq request) {
+        return transactionTemplate.execute(status -> {
+            Project project = projectRepository.findById(request.projectId())
+                    .orElseThrow(() -> new RuntimeException("Project not found with id: " + request.projectId()));
+            projectAccessService.validateUserCanManageProject(userId, project, "manage recurring tasks of");
+            if (request.assigneeId() != null && !projectAccessService.isMember(request.assigneeId(), project)) {
+                throw new RuntimeException("Assignee must be a member of the project");
+            }
+
+            LocalDate today = LocalDate.now();
+            LocalDate startDate = request.startDate() != null ? request.startDate() : today;
+            if (startDate.isBefore(today)) {
+                throw new RuntimeException("Start date cannot be in the past");
+            }
+            int interval = request.interval() != null ? request.interval() : 1;
+            RecurrenceSchedule schedule;
+            try {
+                schedule = RecurrenceSchedule.of(request.frequency(), interval, request.cron(), startDate, request.endDate());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException(e.getMessage());
+            }
+            LocalDate first = schedule.occurrence(0, null);
+            if (first == null) {
+                throw new RuntimeException("The schedule has no occurrences");
+            }
+
+            long syncVersion = projectVersionService.markChanged(project.getId());
+            TaskRecurrence rule = new TaskRecurrence();
+            rule.setProjectId(project.getId());
+            rule.setTitle(request.title());
+            rule.setDescription(request.description());
+            rule.setAssigneeId(request.assigneeId());
+            rule.setCreatedById(userId);
+            rule.setFrequency(request.frequency());
+            rule.setInterval(interval);
+            rule.setCron(request.cron());
+            rule.setStartDate(startDate);
+            rule.setEndDate(request.endDate());
+            rule.setNextOccurrence(first);
+            rule.setCreatedAt(LocalDateTime.now());
+            recurrenceRepository.save(rule);
+
+            // Nobody else can see the rule yet, so it needs no claim
+            Occurrences occurrences = Occurrences.upTo(DueRecurrence.of(rule), today.plusDays(horizonDays));
+            rule.setNextOccurrence(occurrences.next());
+            rule.setOccurrenceIndex(occurrences.nextIndex());
+            insertTasks(List.of(occurrences), Map.of(project.getId(), syncVersion));
+            return TaskRecurrenceDto.of(rule);
+        });
+    }
+
+    /**
+     * Stops a rule. Tasks it already created stay.
+     */
+    public void deleteRecurrence(Long userId, Long recurrenceId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskRecurrence rule = recurrenceRepository.findById(recurrenceId)
+                    .orElseThrow(() -> new RuntimeException("Recurrence not found with id: " + recurrenceId));
+            Project project = projectRepository.findById(rule.getProjectId())
+                    .orElseThrow(() -> new RuntimeException("Recurrence not found with id: " + recurrenceId));
+            projectAccessService.validateUserCanManageProject(userId, project, "manage recurring tasks of");
+            recurrenceRepository.delete(rule);
+        });
+    }
+
+    public List<TaskRecurrenceDto> getRecurrences(Long userId, Long projectId) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "view the recurring tasks of");
+        return recurrenceRepository.findByProjectIdOrderById(projectId).stream()
+                .map(TaskRecurrenceDto::of)
+                .toList();
+    }
+
+    /**
+     * The dates of a rule from its next occurrence up to a horizon, and where the rule continues after them.
+     */
+    private record Occurrences(DueRecurrence rule, List<LocalDate> dates, LocalDate next, int nextIndex) {
+
+        static Occurrences upTo(DueRecurrence rule, LocalDate horizon) {
+            RecurrenceSchedule schedule = rule.schedule();
+            List<LocalDate> dates = new ArrayList<>();
+            LocalDate date = rule.nextOccurrence();
+            int index = rule.occurrenceIndex();
+            while (date != null && !date.isAfter(horizon)) {
+                dates.add(date);
+                index++;
+                date = schedule.occurrence(index, date);
+            }
+            return new Occurrences(rule, dates, date, index);
+        }
+    }
+}
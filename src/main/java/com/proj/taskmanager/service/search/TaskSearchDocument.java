@@ -0,0 +1,4 @@
+package com.proj.taskmanager.service.search;
+
+public record TaskSearchDocument(Long taskId, Long projectId, long syncVersion, String title, String description) {
+}
@@ -0,0 +1,4 @@
+package com.proj.taskmanager.service.search;
+
+public record TaskSearchHit(long taskId, float score) {
+}
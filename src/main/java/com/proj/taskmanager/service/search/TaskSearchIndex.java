@@ -0,0 +1,336 @@
+package com.proj.taskmanager.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ * <p>
+ * Every indexed version of a task gets the next int ordinal, so posting lists only ever grow at the end
+ * and are stored as delta + varint encoded bytes. Re-indexing a task tombstones its previous ordinal;
+ * the dead entries are reclaimed when the index is rebuilt from the database. Indexing a task again with the
+ * same project and text is a no-op, so replaying a change the index already holds leaves no tombstone.
+ */
+public class TaskSearchIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalByTaskId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] taskIds = new long[1024];
+    private long[] projectIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private long[] textHashes = new long[1024];
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    public record Stats(int liveDocs, int deletedDocs, int terms, long postingBytes) {
+    }
+
+    public void index(long taskId, long projectId, String title, String description) {
+        long textHash = textHash(title, description);
+        lock.readLock().lock();
+        try {
+            Integer current = ordinalByTaskId.get(taskId);
+            if (current != null && projectIds[current] == projectId && textHashes[current] == textHash) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int length = addTokens(title, TITLE_WEIGHT, termFrequencies) + addTokens(description, 1, termFrequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(taskId);
+
+            int ordinal = docCount++;
+            ensureCapacity(docCount);
+            taskIds[ordinal] = taskId;
+            projectIds[ordinal] = projectId;
+            docLengths[ordinal] = length;
+            textHashes[ordinal] = textHash;
+            ordinalByTaskId.put(taskId, ordinal);
+            liveDocs++;
+            liveLength += length;
+
+            for (Map.Entry<String, int[]> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(ordinal, entry.getValue()[0]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops every task of the project, for a caller that indexes the project's current tasks again
+    public int removeProject(long projectId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> removed = new ArrayList<>();
+            ordinalByTaskId.forEach((taskId, ordinal) -> {
+                if (projectIds[ordinal] == projectId) {
+                    removed.add(taskId);
+                }
+            });
+            removed.forEach(this::removeInternal);
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best matching tasks for any of the query terms.
+     *
+     * @param projectFilter only tasks in these projects are returned; null means no restriction
+     */
+    public List<TaskSearchHit> search(String query, Set<Long> projectFilter, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float avgLength = Math.max(1f, (float) liveLength / liveDocs);
+            ScoreAccumulator scores = new ScoreAccumulator();
+
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                int df = Math.min(list.docFrequency, liveDocs);
+                float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+
+                byte[] data = list.data;
+                int position = 0;
+                int doc = -1;
+                while (position < list.size) {
+                    int delta = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data[position++];
+                        delta |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    int freq = 0;
+                    shift = 0;
+                    do {
+                        b = data[position++];
+                        freq |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    doc += delta;
+
+                    if (deleted.get(doc) || (projectFilter != null && !projectFilter.contains(projectIds[doc]))) {
+                        continue;
+                    }
+                    float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    scores.add(doc, idf * freq * (K1 + 1) / (freq + norm));
+                }
+            }
+
+            Comparator<TaskSearchHit> byScore = Comparator.comparingDouble(TaskSearchHit::score)
+                    .thenComparingLong(TaskSearchHit::taskId);
+            PriorityQueue<TaskSearchHit> top = new PriorityQueue<>(limit + 1, byScore);
+            for (int i = 0; i < scores.keys.length; i++) {
+                int doc = scores.keys[i];
+                if (doc < 0) {
+                    continue;
+                }
+                top.add(new TaskSearchHit(taskIds[doc], scores.values[i]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<TaskSearchHit> hits = new ArrayList<>(top);
+            hits.sort(byScore.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.size;
+            }
+            return new Stats(liveDocs, docCount - liveDocs, postings.size(), bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.append(Character.toLowerCase(c));
+                }
+            } else if (!current.isEmpty()) {
+                if (current.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(current.toString());
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    // 64-bit FNV-1a over both texts
+    private static long textHash(String title, String description) {
+        long hash = 0xcbf29ce484222325L;
+        for (String text : new String[]{title, description}) {
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static int addTokens(String text, int weight, Map<String, int[]> termFrequencies) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.computeIfAbsent(token, t -> new int[1])[0] += weight;
+        }
+        return tokens.size() * weight;
+    }
+
+    private boolean removeInternal(long taskId) {
+        Integer ordinal = ordinalByTaskId.remove(taskId);
+        if (ordinal == null) {
+            return false;
+        }
+        deleted.set(ordinal);
+        liveDocs--;
+        liveLength -= docLengths[ordinal];
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > taskIds.length) {
+            int newLength = Math.max(capacity, taskIds.length * 2);
+            taskIds = Arrays.copyOf(taskIds, newLength);
+            projectIds = Arrays.copyOf(projectIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+            textHashes = Arrays.copyOf(textHashes, newLength);
+        }
+    }
+
+    private static final class PostingList {
+        private byte[] data = new byte[8];
+        private int size;
+        private int lastDoc = -1;
+        private int docFrequency;
+
+        void add(int doc, int freq) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(freq);
+            lastDoc = doc;
+            docFrequency++;
+        }
+
+        private void writeVarInt(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(size + 5, data.length + (data.length >> 1)));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+
+    /**
+     * Open-addressing int to float map so scoring does not box every matching document.
+     */
+    private static final class ScoreAccumulator {
+        private int[] keys = newKeys(64);
+        private float[] values = new float[64];
+        private int size;
+
+        void add(int key, float value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] < 0) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] += value;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            float[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new float[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] >= 0) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int[] newKeys(int length) {
+            int[] keys = new int[length];
+            Arrays.fill(keys, -1);
+            return keys;
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
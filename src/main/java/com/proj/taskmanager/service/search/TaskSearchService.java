@@ -0,0 +1,329 @@
+package com.proj.taskmanager.service.search;
+
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectVersion;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the tasks of the projects a user can see, served from an in-memory {@link TaskSearchIndex}
+ * on each node.
+ * <p>
+ * The index follows each project's version the way delta sync does. This node's committed task events are applied
+ * as they arrive, and before every search the searched projects are caught up from the version they are indexed
+ * through, with the tasks and tombstones written since, so changes made on other nodes are found as well. A
+ * project whose tombstones have been purged past that version is indexed again from its tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+    private static final int REBUILD_PAGE_SIZE = 5000;
+    private static final int CATCH_UP_PAGE_SIZE = 500;
+    private static final int MAX_LOCAL_VERSIONS = 10_000;
+    private static final int MAX_LIMIT = 100;
+    private static final Set<String> TEXT_FIELDS = Set.of("title", "description");
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectVersionRepository projectVersionRepository;
+
+    @Value("${task.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final Object rebuildLock = new Object();
+    private volatile Generation current = Generation.of(new TaskSearchIndex(), Map.of());
+    // Changes committed while a rebuild is running, replayed onto the new index before it is swapped in
+    private List<TaskEvent> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        }
+        apply(current, event);
+    }
+
+    public List<Task> search(Long userId, String query, int limit) {
+        Set<Long> visibleProjectIds = projectRepository.findProjectsByUserId(userId).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        if (visibleProjectIds.isEmpty()) {
+            return List.of();
+        }
+
+        TaskSearchIndex index = catchUp(userId, visibleProjectIds);
+        List<TaskSearchHit> hits = index.search(query, visibleProjectIds, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).taskId(), i);
+        }
+        List<Task> tasks = new ArrayList<>(taskRepository.findAllById(rank.keySet()));
+        tasks.sort(Comparator.comparing(task -> rank.get(task.getId())));
+        return tasks;
+    }
+
+    /**
+     * Re-reads every task from the database into a fresh index and swaps it in.
+     * Searches keep using the old index until the new one is complete.
+     */
+    public TaskSearchIndex.Stats rebuild() {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                throw new IllegalStateException("Search index rebuild already running");
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        long started = System.currentTimeMillis();
+        Generation fresh;
+        try {
+            // Versions are read before the rows, so a change committed in between is caught up again, which is a no-op
+            fresh = Generation.of(new TaskSearchIndex(), projectVersionRepository.findAll().stream()
+                    .collect(Collectors.toMap(ProjectVersion::getProjectId, ProjectVersion::getVersion)));
+            long afterId = 0;
+            List<TaskSearchDocument> page;
+            do {
+                page = taskRepository.findSearchDocuments(afterId, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+                for (TaskSearchDocument document : page) {
+                    fresh.index().index(document.taskId(), document.projectId(), document.title(), document.description());
+                    afterId = document.taskId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (rebuildLock) {
+            pendingDuringRebuild.forEach(event -> apply(fresh, event));
+            pendingDuringRebuild = null;
+            current = fresh;
+        }
+
+        TaskSearchIndex.Stats stats = fresh.index().stats();
+        log.info("Rebuilt task search index with {} tasks and {} terms in {} ms",
+                stats.liveDocs(), stats.terms(), System.currentTimeMillis() - started);
+        return stats;
+    }
+
+    public TaskSearchIndex.Stats stats() {
+        return current.index().stats();
+    }
+
+    // Updated tasks leave their old postings behind; reclaim them once they dominate the index
+    @Scheduled(fixedDelayString = "${task.search.compaction-check-ms:3600000}")
+    public void compactIfNeeded() {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                return;
+            }
+        }
+        TaskSearchIndex.Stats stats = current.index().stats();
+        if (stats.deletedDocs() > 100_000 && stats.deletedDocs() > stats.liveDocs()) {
+            rebuild();
+        }
+    }
+
+    private static void apply(Generation target, TaskEvent event) {
+        // Archiving publishes no version; the tombstone it writes removes the task at the next catch-up
+        if (event.task() == null) {
+            return;
+        }
+        Progress progress = target.progress(event.projectId());
+        synchronized (progress) {
+            long version = event.task().getSyncVersion();
+            // A catch-up has read this change from the database already, or a later one
+            if (version < progress.indexedThrough) {
+                return;
+            }
+            progress.record(version);
+            if (event.type() == TaskEvent.Type.DELETED) {
+                target.index().remove(event.taskId());
+            } else if (changesText(event)) {
+                Task task = event.task();
+                target.index().index(task.getId(), event.projectId(), task.getTitle(), task.getDescription());
+            }
+        }
+    }
+
+    // Status changes, assignments, moves and labels leave the indexed text alone, and the lazy description unloaded
+    private static boolean changesText(TaskEvent event) {
+        return event.type() == TaskEvent.Type.CREATED || event.type() == TaskEvent.Type.RESTORED
+                || event.changes().stream().anyMatch(change -> TEXT_FIELDS.contains(change.field()));
+    }
+
+    private TaskSearchIndex catchUp(Long userId, Set<Long> projectIds) {
+        Generation target = current;
+        for (ProjectVersion version : projectVersionRepository.findVisibleToUser(userId)) {
+            if (projectIds.contains(version.getProjectId())) {
+                catchUp(target, version);
+            }
+        }
+        return target.index();
+    }
+
+    private void catchUp(Generation target, ProjectVersion version) {
+        Long projectId = version.getProjectId();
+        Progress progress = target.progress(projectId);
+        long from;
+        synchronized (progress) {
+            from = progress.indexedThrough;
+        }
+        if (version.getVersion() <= from) {
+            return;
+        }
+        // Deletions up to purgedThrough went with their tombstones, so the project is indexed again from its tasks
+        boolean reload = version.getPurgedThrough() > from;
+        List<Change> changes = readChanges(projectId, reload ? 0 : from, !reload);
+
+        synchronized (progress) {
+            if (progress.indexedThrough != from) {
+                // Another search caught the project up meanwhile
+                return;
+            }
+            if (reload) {
+                target.index().removeProject(projectId);
+            }
+            for (Change change : changes) {
+                if (!reload && progress.localVersions.contains(change.version())) {
+                    continue;
+                }
+                if (change.document() == null) {
+                    target.index().remove(change.taskId());
+                } else {
+                    TaskSearchDocument document = change.document();
+                    target.index().index(document.taskId(), projectId, document.title(), document.description());
+                }
+            }
+            // Rows newer than the version were read too; reading them again next time changes nothing
+            progress.indexedThrough = version.getVersion();
+            if (reload) {
+                progress.localVersions.clear();
+            } else {
+                progress.localVersions.headSet(version.getVersion(), true).clear();
+            }
+        }
+        log.debug("Caught up search index of project {} from version {} to {} with {} changes",
+                projectId, reload ? 0 : from, version.getVersion(), changes.size());
+    }
+
+    // Tasks and tombstones written after the version, in version order so a restore follows the archiving
+    private List<Change> readChanges(Long projectId, long since, boolean withTombstones) {
+        List<Change> changes = new ArrayList<>();
+        long syncVersion = since;
+        long afterId = Long.MAX_VALUE;
+        List<TaskSearchDocument> documents;
+        do {
+            documents = taskRepository.findSearchDocumentsChangedSince(projectId, syncVersion, afterId,
+                    PageRequest.ofSize(CATCH_UP_PAGE_SIZE));
+            for (TaskSearchDocument document : documents) {
+                changes.add(new Change(document.syncVersion(), document.taskId(), document));
+                syncVersion = document.syncVersion();
+                afterId = document.taskId();
+            }
+        } while (documents.size() == CATCH_UP_PAGE_SIZE);
+
+        if (withTombstones) {
+            syncVersion = since;
+            afterId = Long.MAX_VALUE;
+            List<TaskTombstone> tombstones;
+            do {
+                tombstones = taskTombstoneRepository.findChangedSince(projectId, syncVersion, afterId,
+                        PageRequest.ofSize(CATCH_UP_PAGE_SIZE));
+                for (TaskTombstone tombstone : tombstones) {
+                    changes.add(new Change(tombstone.getSyncVersion(), tombstone.getTaskId(), null));
+                    syncVersion = tombstone.getSyncVersion();
+                    afterId = tombstone.getTaskId();
+                }
+            } while (tombstones.size() == CATCH_UP_PAGE_SIZE);
+        }
+        changes.sort(Comparator.comparingLong(Change::version));
+        return changes;
+    }
+
+    // The index with the version each project is indexed through; a rebuild swaps in a new one
+    private record Generation(TaskSearchIndex index, Map<Long, Progress> progress) {
+        static Generation of(TaskSearchIndex index, Map<Long, Long> versions) {
+            Generation generation = new Generation(index, new ConcurrentHashMap<>());
+            versions.forEach((projectId, version) -> generation.progress.put(projectId, new Progress(version)));
+            return generation;
+        }
+
+        // Projects created after the index was built start at version 0
+        Progress progress(Long projectId) {
+            return progress.computeIfAbsent(projectId, id -> new Progress(0));
+        }
+    }
+
+    private static final class Progress {
+        private long indexedThrough;
+        // This node's changes above indexedThrough, already applied from their events
+        private final TreeSet<Long> localVersions = new TreeSet<>();
+
+        Progress(long indexedThrough) {
+            this.indexedThrough = indexedThrough;
+        }
+
+        // Events of one transaction share its version; the next transaction's are one higher
+        void record(long version) {
+            if (version > indexedThrough + 1) {
+                localVersions.add(version);
+                // Only a hint to skip rows at the next catch-up; past the cap they are simply indexed again
+                if (localVersions.size() > MAX_LOCAL_VERSIONS) {
+                    localVersions.clear();
+                }
+                return;
+            }
+            indexedThrough = version;
+            while (!localVersions.isEmpty() && localVersions.first() <= indexedThrough + 1) {
+                indexedThrough = localVersions.pollFirst();
+            }
+        }
+    }
+
+    // A document to index, or a deletion when null
+    private record Change(long version, long taskId, TaskSearchDocument document) {
+    }
+}
@@ -1,10 +1,23 @@
 package com.proj.taskmanager.service.task;
 
+import com.proj.taskmanager.dto.TaskBoardDto;
+import com.proj.taskmanager.dto.TaskCountersDto;
+import com.proj.taskmanager.dto.TaskDependencyGraphDto;
+import com.proj.taskmanager.dto.TaskDto;
+import com.proj.taskmanager.dto.TaskFieldPage;
+import com.proj.taskmanager.dto.TaskInboxPage;
+import com.proj.taskmanager.dto.TaskLabelPage;
+import com.proj.taskmanager.dto.TaskSummaryDto;
+import com.proj.taskmanager.dto.TaskSyncPage;
+import com.proj.taskmanager.enums.TaskStatus;
 import com.proj.taskmanager.model.Task;
 import com.proj.taskmanager.request.task.CreateTaskReq;
+import com.proj.taskmanager.request.task.MoveTaskReq;
 import com.proj.taskmanager.request.task.UpdateTaskReq;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface ITaskService {
     Task createTask(Long userId, CreateTaskReq task);
@@ -15,11 +28,51 @@ public interface ITaskService {
     
     Task getTaskById(Long taskId);
     
-    Task updateTask(Long userId, Long taskId, UpdateTaskReq request);
+    Task updateTask(Long userId, Long taskId, UpdateTaskReq request, Long expectedVersion);
     
-    Task assignTask(Long userId, Long taskId, Long assigneeId);
+    Task assignTask(Long userId, Long taskId, Long assigneeId, Long expectedVersion);
+
+    Optional<Task> claimNextTask(Long userId, Long projectId);
     
-    Task updateTaskDueDate(Long userId, Long taskId, java.time.LocalDate dueDate);
+    Task updateTaskDueDate(Long userId, Long taskId, java.time.LocalDate dueDate, Long expectedVersion);
+
+    Task updateTaskStatus(Long userId, Long taskId, TaskStatus status, Long expectedVersion);
+
+    Task restoreTask(Long userId, Long taskId);
+
+    Task moveTask(Long userId, Long taskId, MoveTaskReq request, Long expectedVersion);
+
+    TaskBoardDto getBoard(Long userId, Long projectId, int perColumn);
+
+    List<TaskSummaryDto> getBoardColumn(Long userId, Long projectId, TaskStatus status, Long afterTaskId, int limit);
     
     void deleteTask(Long userId, Long taskId);
+
+    TaskInboxPage getAssignedTasks(Long userId, String cursor, int limit);
+
+    TaskCountersDto getTaskCounters(Long userId, Long projectId);
+
+    void addTaskDependency(Long userId, Long taskId, Long blockerId);
+
+    void removeTaskDependency(Long userId, Long taskId, Long blockerId);
+
+    TaskDependencyGraphDto getDependencyGraph(Long userId, Long projectId);
+
+    Task setTaskLabels(Long userId, Long taskId, List<String> labels, Long expectedVersion);
+
+    List<String> getTaskLabels(Long userId, Long taskId);
+
+    Map<String, Integer> getProjectLabels(Long userId, Long projectId);
+
+    TaskLabelPage findTasksByLabels(Long userId, Long projectId, String query, Long afterTaskId, int limit);
+
+    Task setTaskCustomFields(Long userId, Long taskId, Map<String, Object> values, Long expectedVersion);
+
+    TaskFieldPage findTasksByFields(Long userId, Long projectId, List<String> filters, String sort, String cursor, int limit);
+
+    TaskSyncPage syncTasks(Long userId, Long projectId, String cursor, int limit);
+
+    TaskDto convertTaskToDto(Task task);
+
+    TaskSummaryDto convertTaskToSummaryDto(Task task);
 }
@@ -0,0 +1,129 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskClaim;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskClaimRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finishes task claims outside the claiming transaction. Bumping the project version and the unassigned counter
+ * takes the project's project_versions and project_task_counters row locks until commit, which would put every
+ * claimer of a project in one line. A claim therefore only assigns its locked task and queues a task_claims row.
+ * <p>
+ * The stamper picks queued claims up in batches from every node: with one project version bump it gives each
+ * task its own sync version, applies the counter change for the whole batch and publishes the ASSIGNED events.
+ * Sync, counters and the change feed see a claim once it is stamped, {@code task.claims.stamp-delay-ms} after
+ * it commits at most; claims queued on a node that went away are stamped by the others.
+ */
+@Slf4j
+@Service
+public class TaskClaimService {
+    private final TaskClaimRepository claimRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectVersionService projectVersionService;
+    private final TaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TaskClaimService(TaskClaimRepository claimRepository,
+                            TaskRepository taskRepository,
+                            ProjectRepository projectRepository,
+                            ProjectVersionService projectVersionService,
+                            TaskCounterService taskCounterService,
+                            ApplicationEventPublisher eventPublisher,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${task.claims.stamp-batch-size:500}") int batchSize) {
+        this.claimRepository = claimRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectVersionService = projectVersionService;
+        this.taskCounterService = taskCounterService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // The claimer has locked the task with SKIP LOCKED and found it open and unassigned
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordClaim(Long projectId, Long taskId, Long userId) {
+        claimRepository.save(new TaskClaim(projectId, taskId, userId));
+    }
+
+    /**
+     * Stamps every queued claim.
+     *
+     * @return the number of claims stamped
+     */
+    @Scheduled(fixedDelayString = "${task.claims.stamp-delay-ms:200}")
+    public int stampPending() {
+        int stamped = 0;
+        for (Long projectId : claimRepository.findPendingProjectIds()) {
+            try {
+                int batch;
+                do {
+                    batch = stamp(projectId);
+                    stamped += batch;
+                } while (batch == batchSize);
+            } catch (RuntimeException e) {
+                log.warn("Stamping task claims of project {} failed", projectId, e);
+            }
+        }
+        return stamped;
+    }
+
+    /**
+     * Stamps up to one batch of the project's queued claims in one transaction.
+     */
+    public int stamp(Long projectId) {
+        Integer stamped = transactionTemplate.execute(status -> {
+            List<TaskClaim> claims = claimRepository.lockPending(projectId, batchSize);
+            if (claims.isEmpty()) {
+                return 0;
+            }
+            if (!projectRepository.existsById(projectId)) {
+                // The project is deleted; do not leave version or counter rows behind for the purge
+                claimRepository.deleteAllInBatch(claims);
+                return claims.size();
+            }
+            List<Long> taskIds = claims.stream().map(TaskClaim::getTaskId).toList();
+            long lastVersion = projectVersionService.markChanged(projectId, claims.size());
+            taskRepository.updateSyncVersions(taskIds, lastVersion - claims.size() + 1);
+            claimRepository.deleteAllInBatch(claims);
+            // Every claimed task was open and unassigned; later changes to it carry their own deltas
+            taskCounterService.applyDelta(projectId, new TaskCounterDelta(0, 0, 0, 0, 0, -claims.size()));
+
+            // Tasks deleted since their claim only leave the counter change behind
+            Map<Long, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                    .filter(task -> task.getProject() != null)
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            for (TaskClaim claim : claims) {
+                Task task = tasks.get(claim.getTaskId());
+                if (task != null) {
+                    eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.ASSIGNED, task, claim.getUserId(),
+                            List.of(new TaskFieldChange("assigneeId", null, String.valueOf(claim.getUserId())))));
+                }
+            }
+            return claims.size();
+        });
+        return stamped != null ? stamped : 0;
+    }
+}
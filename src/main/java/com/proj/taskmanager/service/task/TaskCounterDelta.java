@@ -0,0 +1,48 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.enums.TaskStatus;
+
+/**
+ * Change to apply to a project's task counters. Also used for absolute counts computed from the tasks table.
+ * Overdue and unassigned only count open (pending or in progress) tasks.
+ */
+public record TaskCounterDelta(long pending, long inProgress, long completed, long cancelled, long overdue, long unassigned) {
+
+    public static final TaskCounterDelta ZERO = new TaskCounterDelta(0, 0, 0, 0, 0, 0);
+
+    public record State(TaskStatus status, boolean overdue, boolean unassigned) {
+    }
+
+    public static TaskCounterDelta between(State before, State after) {
+        return of(after, 1).plus(of(before, -1));
+    }
+
+    public static TaskCounterDelta of(State state, int sign) {
+        if (state == null) {
+            return ZERO;
+        }
+        return new TaskCounterDelta(
+                state.status() == TaskStatus.PENDING ? sign : 0,
+                state.status() == TaskStatus.IN_PROGRESS ? sign : 0,
+                state.status() == TaskStatus.COMPLETED ? sign : 0,
+                state.status() == TaskStatus.CANCELLED ? sign : 0,
+                state.overdue() ? sign : 0,
+                state.unassigned() ? sign : 0
+        );
+    }
+
+    public TaskCounterDelta plus(TaskCounterDelta other) {
+        return new TaskCounterDelta(
+                pending + other.pending,
+                inProgress + other.inProgress,
+                completed + other.completed,
+                cancelled + other.cancelled,
+                overdue + other.overdue,
+                unassigned + other.unassigned
+        );
+    }
+
+    public boolean isZero() {
+        return this.equals(ZERO);
+    }
+}
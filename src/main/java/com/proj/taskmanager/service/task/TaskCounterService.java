@@ -0,0 +1,228 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.dto.TaskCountersDto;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.model.ProjectTaskCounter;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.repository.ProjectTaskCounterRepository;
+import com.proj.taskmanager.repository.TaskClaimRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps per-project task counters in the project_task_counters side table.
+ * Deltas are applied in the caller's transaction; the in-memory copy is evicted after commit and
+ * reloaded with a primary key lookup, so reading a project's summary never touches the tasks table.
+ * <p>
+ * Other nodes do not see the eviction. A cached copy is therefore only served while the project version it was
+ * loaded at is current, which every task write bumps, and for {@code task.counters.cache-ttl-seconds} at most,
+ * which bounds how long a repair by {@link #reconcile} on another node goes unseen.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCounterService {
+    private static final int RECONCILE_PAGE_SIZE = 500;
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final TaskClaimRepository claimRepository;
+    private final ProjectVersionService projectVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task.counters.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private final Map<Long, CachedCounters> cache = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a reader that loaded before a commit cannot cache the stale row
+    private final AtomicLong evictions = new AtomicLong();
+
+    public static TaskCounterDelta.State snapshot(Task task) {
+        boolean open = task.getStatus() == TaskStatus.PENDING || task.getStatus() == TaskStatus.IN_PROGRESS;
+        boolean overdue = open && task.getDueDate() != null && task.getDueDate().isBefore(LocalDate.now());
+        return new TaskCounterDelta.State(task.getStatus(), overdue, open && task.getAssignee() == null);
+    }
+
+    /**
+     * Applies the change between two snapshots of a task. Pass null as before for a created task
+     * and null as after for a deleted one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long projectId, TaskCounterDelta.State before, TaskCounterDelta.State after) {
+        applyDelta(projectId, TaskCounterDelta.between(before, after));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long projectId, TaskCounterDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        if (counterRepository.applyDelta(projectId, delta, LocalDateTime.now()) == 0) {
+            // No row yet: count from the tasks table, which already includes this transaction's changes
+            createFromTasks(projectId);
+        }
+        evictAfterCommit(projectId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createForProject(Long projectId) {
+        counterRepository.save(new ProjectTaskCounter(projectId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForProject(Long projectId) {
+        counterRepository.findById(projectId).ifPresent(counterRepository::delete);
+        evictAfterCommit(projectId);
+    }
+
+    public TaskCountersDto getCounters(Long projectId) {
+        // Read before the row, so a write committed in between only makes the copy look older than it is
+        long version = projectVersionService.getVersion(projectId);
+        long now = System.currentTimeMillis();
+        CachedCounters cached = cache.get(projectId);
+        if (cached != null && cached.version() == version && now < cached.expiresAt()) {
+            return cached.counters();
+        }
+        long generation = evictions.get();
+        ProjectTaskCounter counter = counterRepository.findById(projectId)
+                .orElseGet(() -> transactionTemplate.execute(status -> createFromTasks(projectId)));
+        TaskCountersDto counters = toDto(counter);
+        cache.put(projectId, new CachedCounters(counters, version, now + cacheTtlSeconds * 1000));
+        if (evictions.get() != generation) {
+            cache.remove(projectId);
+        }
+        return counters;
+    }
+
+    /**
+     * Recounts every project from the tasks table and repairs rows that drifted, for example because
+     * open tasks became overdue without being touched.
+     */
+    @Scheduled(cron = "${task.counters.reconcile-cron:0 5 0 * * *}")
+    public void reconcileAll() {
+        long afterId = 0;
+        int repaired = 0;
+        List<Long> projectIds;
+        do {
+            projectIds = counterRepository.findProjectIdsAfter(afterId, PageRequest.ofSize(RECONCILE_PAGE_SIZE));
+            for (Long projectId : projectIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(projectId)))) {
+                    repaired++;
+                }
+                afterId = projectId;
+            }
+        } while (projectIds.size() == RECONCILE_PAGE_SIZE);
+
+        if (repaired > 0) {
+            log.warn("Repaired task counters for {} projects", repaired);
+        }
+    }
+
+    /**
+     * Tasks that just became overdue shift the overdue count without any write to the task. Recounting
+     * the affected projects rather than incrementing keeps this idempotent when several nodes fire the same deadline.
+     */
+    @EventListener
+    public void onTaskDeadline(TaskDeadlineEvent event) {
+        if (event.kind() != TaskDeadlineEvent.Kind.OVERDUE) {
+            return;
+        }
+        event.tasks().stream()
+                .map(TaskDeadlineEvent.DueTask::projectId)
+                .distinct()
+                .forEach(projectId -> transactionTemplate.execute(status -> reconcile(projectId)));
+    }
+
+    /**
+     * Locks the counter row before counting so that concurrent deltas are either already committed
+     * and visible to the count, or wait and apply on top of the repaired values. Claims not stamped yet are
+     * assigned in the tasks table but still counted as unassigned until their delta arrives.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reconcile(Long projectId) {
+        ProjectTaskCounter counter = counterRepository.findByIdForUpdate(projectId).orElse(null);
+        if (counter == null) {
+            return false;
+        }
+        TaskCounterDelta actual = countFromTasks(projectId);
+        if (actual.equals(toDelta(counter))) {
+            return false;
+        }
+
+        log.info("Task counters for project {} drifted: stored {}, actual {}", projectId, toDelta(counter), actual);
+        copy(actual, counter);
+        counterRepository.save(counter);
+        evictAfterCommit(projectId);
+        return true;
+    }
+
+    private ProjectTaskCounter createFromTasks(Long projectId) {
+        ProjectTaskCounter counter = new ProjectTaskCounter(projectId);
+        copy(countFromTasks(projectId), counter);
+        return counterRepository.save(counter);
+    }
+
+    private TaskCounterDelta countFromTasks(Long projectId) {
+        return counterRepository.countByProjectId(projectId, LocalDate.now())
+                .plus(new TaskCounterDelta(0, 0, 0, 0, 0, claimRepository.countByProjectId(projectId)));
+    }
+
+    private void evictAfterCommit(Long projectId) {
+        evict(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(projectId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long projectId) {
+        evictions.incrementAndGet();
+        cache.remove(projectId);
+    }
+
+    private record CachedCounters(TaskCountersDto counters, long version, long expiresAt) {
+    }
+
+    private static void copy(TaskCounterDelta counts, ProjectTaskCounter counter) {
+        counter.setPending((int) counts.pending());
+        counter.setInProgress((int) counts.inProgress());
+        counter.setCompleted((int) counts.completed());
+        counter.setCancelled((int) counts.cancelled());
+        counter.setOverdue((int) counts.overdue());
+        counter.setUnassigned((int) counts.unassigned());
+        counter.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private static TaskCounterDelta toDelta(ProjectTaskCounter counter) {
+        return new TaskCounterDelta(counter.getPending(), counter.getInProgress(), counter.getCompleted(),
+                counter.getCancelled(), counter.getOverdue(), counter.getUnassigned());
+    }
+
+    private static TaskCountersDto toDto(ProjectTaskCounter counter) {
+        return new TaskCountersDto(counter.getProjectId(), counter.getPending(), counter.getInProgress(),
+                counter.getCompleted(), counter.getCancelled(), counter.getOverdue(), counter.getUnassigned(),
+                counter.getUpdatedAt());
+    }
+}
@@ -0,0 +1,6 @@
+package com.proj.taskmanager.service.task;
+
+import java.util.Map;
+
+public record TaskCustomFields(Long taskId, Map<String, Object> customFields) {
+}
@@ -0,0 +1,7 @@
+package com.proj.taskmanager.service.task;
+
+import java.util.Map;
+
+// The lazy attributes of a task
+public record TaskDetails(Long taskId, String description, Map<String, Object> customFields) {
+}
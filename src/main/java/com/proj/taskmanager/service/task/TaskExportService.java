@@ -0,0 +1,115 @@
+package com.proj.taskmanager.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.taskmanager.dto.TaskExportRow;
+import com.proj.taskmanager.enums.TaskExportFormat;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a project's tasks to the response as NDJSON or CSV straight from a database cursor.
+ * Rows are read as projections rather than entities, so neither the persistence context nor the
+ * response buffer grows with the size of the project.
+ */
+@Slf4j
+@Service
+public class TaskExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,title,description,status,dueDate,createdById,createdByEmail,"
+            + "assigneeId,assigneeEmail,createdAt,updatedAt,version";
+
+    private final TaskRepository taskRepository;
+    private final ProjectAccessService projectAccessService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskExportService(TaskRepository taskRepository,
+                             ProjectAccessService projectAccessService,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.projectAccessService = projectAccessService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks access before anything is written, so a denied export still gets a normal error response.
+     * The returned body runs later on an async request thread.
+     */
+    public StreamingResponseBody export(Long userId, Long projectId, TaskExportFormat format) {
+        projectAccessService.validateUserIsProjectMember(userId, projectId, "export");
+
+        return out -> {
+            long started = System.currentTimeMillis();
+            long rows = writeTo(projectId, format, out);
+            log.info("Exported {} tasks of project {} as {} in {} ms", rows, projectId, format, System.currentTimeMillis() - started);
+        };
+    }
+
+    public long writeTo(Long projectId, TaskExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<TaskExportRow> stream = taskRepository.streamExportRows(projectId)) {
+                long count = 0;
+                if (format == TaskExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write("\r\n");
+                }
+                for (Iterator<TaskExportRow> it = stream.iterator(); it.hasNext(); count++) {
+                    TaskExportRow row = it.next();
+                    if (format == TaskExportFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Task export of project " + projectId + " aborted", e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private static void writeCsv(Writer writer, TaskExportRow row) throws IOException {
+        Object[] values = {row.id(), row.title(), row.description(), row.status(), row.dueDate(),
+                row.createdById(), row.createdByEmail(), row.assigneeId(), row.assigneeEmail(),
+                row.createdAt(), row.updatedAt(), row.version()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
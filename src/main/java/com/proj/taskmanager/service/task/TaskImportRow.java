@@ -0,0 +1,8 @@
+package com.proj.taskmanager.service.task;
+
+/**
+ * One row of an import file as read, before validation. Every field is kept as text so CSV and NDJSON
+ * input go through the same parsing and error reporting.
+ */
+public record TaskImportRow(String title, String description, String dueDate, String status, String assigneeEmail) {
+}
@@ -0,0 +1,354 @@
+package com.proj.taskmanager.service.task;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.taskmanager.dto.TaskImportReport;
+import com.proj.taskmanager.enums.TaskExportFormat;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.request.task.CreateTaskReq;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.utils.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from a CSV or NDJSON stream. Rows are parsed one at a time, validated with the same
+ * rules as {@link CreateTaskReq}, and written in fixed-size JDBC batches that each commit on their own,
+ * so memory is bounded by the batch size and a bad batch does not undo the ones before it.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // Width of the title column; the description is TEXT and takes whatever the API takes
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessService projectAccessService;
+    private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskBoardService taskBoardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TaskImportService(TaskRepository taskRepository,
+                             ProjectRepository projectRepository,
+                             ProjectMemberRepository projectMemberRepository,
+                             ProjectAccessService projectAccessService,
+                             UserRepository userRepository,
+                             TaskCounterService taskCounterService,
+                             ProjectVersionService projectVersionService,
+                             TaskBoardService taskBoardService,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${task.import.batch-size:1000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.projectAccessService = projectAccessService;
+        this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
+        this.projectVersionService = projectVersionService;
+        this.taskBoardService = taskBoardService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public TaskImportReport importTasks(Long userId, Long projectId, TaskExportFormat format, InputStream input) throws IOException {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        projectAccessService.validateUserCanManageProject(userId, project, "import tasks into");
+
+        Import state = new Import(userId, project, userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
+        state.assignableUserIds.addAll(projectMemberRepository.findUserIdsByProjectId(projectId));
+        state.assignableUserIds.add(project.getCreatedBy().getId());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == TaskExportFormat.CSV) {
+            readCsv(new CsvReader(reader), state);
+        } else {
+            readNdjson(reader, state);
+        }
+        flush(state);
+
+        TaskImportReport report = new TaskImportReport(state.rowsRead, state.imported, state.failed, state.batches,
+                System.currentTimeMillis() - state.started, state.errors, state.failed > state.errors.size());
+        log.info("Imported {} of {} tasks into project {} in {} batches ({} ms)",
+                report.imported(), report.rowsRead(), projectId, report.batches(), report.elapsedMs());
+        return report;
+    }
+
+    private void readCsv(CsvReader csv, Import state) throws IOException {
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new RuntimeException("CSV header must contain a title column");
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            TaskImportRow row = new TaskImportRow(column(record, columns, "title"), column(record, columns, "description"),
+                    column(record, columns, "duedate"), column(record, columns, "status"), column(record, columns, "assigneeemail"));
+            accept(csv.getRecordLine(), row, state);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Import state) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            TaskImportRow row;
+            try {
+                row = objectMapper.readValue(line, TaskImportRow.class);
+            } catch (JsonProcessingException e) {
+                state.rowsRead++;
+                reject(state, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(lineNumber, row, state);
+        }
+    }
+
+    private void accept(long line, TaskImportRow row, Import state) {
+        state.rowsRead++;
+        Task task;
+        try {
+            task = toTask(row, state);
+        } catch (IllegalArgumentException e) {
+            reject(state, line, e.getMessage());
+            return;
+        }
+        state.batch.add(task);
+        state.batchLines.add(line);
+        if (row.assigneeEmail() != null && !row.assigneeEmail().isBlank()) {
+            state.batchEmails.put(line, row.assigneeEmail().trim().toLowerCase(Locale.ROOT));
+        }
+        if (state.batch.size() >= batchSize) {
+            flush(state);
+        }
+    }
+
+    private Task toTask(TaskImportRow row, Import state) {
+        LocalDate dueDate = null;
+        if (row.dueDate() != null && !row.dueDate().isBlank()) {
+            try {
+                dueDate = LocalDate.parse(row.dueDate().trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("dueDate: expected yyyy-MM-dd but was '" + row.dueDate() + "'");
+            }
+        }
+        TaskStatus status = TaskStatus.PENDING;
+        if (row.status() != null && !row.status().isBlank()) {
+            try {
+                status = TaskStatus.valueOf(row.status().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("status: unknown value '" + row.status() + "'");
+            }
+        }
+
+        CreateTaskReq request = new CreateTaskReq(row.title(), row.description(), state.project.getId(), dueDate, null, null);
+        Set<ConstraintViolation<CreateTaskReq>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (request.title().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("title: must be at most " + MAX_TITLE_LENGTH + " characters");
+        }
+
+        Task task = new Task();
+        task.setTitle(request.title());
+        task.setDescription(request.description());
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setProject(state.project);
+        task.setCreatedBy(state.creator);
+        task.setCreatedAt(state.importedAt);
+        task.setUpdatedAt(state.importedAt);
+        return task;
+    }
+
+    private void flush(Import state) {
+        resolveAssignees(state);
+        if (state.batch.isEmpty()) {
+            return;
+        }
+
+        List<Task> tasks = state.batch;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long syncVersion = projectVersionService.markChanged(state.project.getId());
+                tasks.forEach(task -> task.setSyncVersion(syncVersion));
+                assignBoardRanks(state.project.getId(), tasks);
+                taskRepository.insertAll(tasks);
+                TaskCounterDelta delta = TaskCounterDelta.ZERO;
+                for (Task task : tasks) {
+                    delta = delta.plus(TaskCounterDelta.between(null, TaskCounterService.snapshot(task)));
+                    eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, task, state.userId));
+                }
+                taskCounterService.applyDelta(state.project.getId(), delta);
+            });
+            state.imported += tasks.size();
+            state.batches++;
+            log.debug("Import into project {}: {} rows read, {} imported, {} failed",
+                    state.project.getId(), state.rowsRead, state.imported, state.failed);
+        } catch (DataAccessException | TransactionException e) {
+            String message = "Batch rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            state.batchLines.forEach(line -> reject(state, line, message));
+        }
+
+        state.batch = new ArrayList<>(batchSize);
+        state.batchLines.clear();
+    }
+
+    // Appends each status column's rows to the bottom of that column, keeping file order
+    private void assignBoardRanks(Long projectId, List<Task> tasks) {
+        Map<TaskStatus, List<Task>> byStatus = tasks.stream()
+                .collect(Collectors.groupingBy(Task::getStatus, () -> new EnumMap<>(TaskStatus.class), Collectors.toList()));
+        byStatus.forEach((status, column) -> {
+            List<String> ranks = taskBoardService.ranksAtEnd(projectId, status, column.size());
+            for (int i = 0; i < column.size(); i++) {
+                column.get(i).setBoardRank(ranks.get(i));
+            }
+        });
+    }
+
+    // One lookup per batch for every assignee email in it; rows whose assignee cannot be used are rejected
+    private void resolveAssignees(Import state) {
+        if (state.batchEmails.isEmpty()) {
+            return;
+        }
+        Map<String, Long> userIds = new HashMap<>();
+        userRepository.findByEmailIn(new HashSet<>(state.batchEmails.values()))
+                .forEach(user -> userIds.put(user.getEmail().toLowerCase(Locale.ROOT), user.getId()));
+
+        List<Task> accepted = new ArrayList<>(state.batch.size());
+        List<Long> acceptedLines = new ArrayList<>(state.batch.size());
+        for (int i = 0; i < state.batch.size(); i++) {
+            Long line = state.batchLines.get(i);
+            Task task = state.batch.get(i);
+            String email = state.batchEmails.get(line);
+            if (email != null) {
+                Long assigneeId = userIds.get(email);
+                if (assigneeId == null) {
+                    reject(state, line, "assigneeEmail: no user with email " + email);
+                    continue;
+                }
+                if (!state.assignableUserIds.contains(assigneeId)) {
+                    reject(state, line, "assigneeEmail: " + email + " is not a member of the project");
+                    continue;
+                }
+                User assignee = new User();
+                assignee.setId(assigneeId);
+                task.setAssignee(assignee);
+            }
+            accepted.add(task);
+            acceptedLines.add(line);
+        }
+        state.batch = accepted;
+        state.batchLines.clear();
+        state.batchLines.addAll(acceptedLines);
+        state.batchEmails.clear();
+    }
+
+    private void reject(Import state, long line, String message) {
+        state.failed++;
+        if (state.errors.size() < MAX_REPORTED_ERRORS) {
+            state.errors.add(new TaskImportReport.RowError(line, message));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static final class Import {
+        private final Long userId;
+        private final Project project;
+        private final User creator;
+        private final LocalDateTime importedAt = LocalDateTime.now();
+        private final long started = System.currentTimeMillis();
+        private final Set<Long> assignableUserIds = new HashSet<>();
+        private final List<TaskImportReport.RowError> errors = new ArrayList<>();
+
+        private List<Task> batch = new ArrayList<>();
+        private final List<Long> batchLines = new ArrayList<>();
+        private final Map<Long, String> batchEmails = new HashMap<>();
+
+        private long rowsRead;
+        private long imported;
+        private long failed;
+        private int batches;
+
+        private Import(Long userId, Project project, User creator) {
+            this.userId = userId;
+            this.project = project;
+            this.creator = creator;
+        }
+    }
+}
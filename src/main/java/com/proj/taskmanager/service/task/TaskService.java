@@ -1,39 +1,89 @@
 package com.proj.taskmanager.service.task;
 
-import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.dto.TaskBoardDto;
+import com.proj.taskmanager.dto.TaskCountersDto;
+import com.proj.taskmanager.dto.TaskDependencyGraphDto;
+import com.proj.taskmanager.dto.TaskDto;
+import com.proj.taskmanager.dto.TaskFieldPage;
+import com.proj.taskmanager.dto.TaskInboxPage;
+import com.proj.taskmanager.dto.TaskLabelPage;
+import com.proj.taskmanager.dto.TaskSummaryDto;
+import com.proj.taskmanager.dto.TaskSyncPage;
 import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.exceptions.PreconditionFailedException;
+import com.proj.taskmanager.model.CustomField;
 import com.proj.taskmanager.model.Project;
-import com.proj.taskmanager.model.ProjectMember;
 import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
 import com.proj.taskmanager.model.User;
-import com.proj.taskmanager.repository.ProjectMemberRepository;
 import com.proj.taskmanager.repository.ProjectRepository;
 import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskRepositoryCustom;
 import com.proj.taskmanager.request.task.CreateTaskReq;
+import com.proj.taskmanager.request.task.MoveTaskReq;
 import com.proj.taskmanager.request.task.UpdateTaskReq;
+import com.proj.taskmanager.service.archive.TaskArchiveService;
+import com.proj.taskmanager.service.attachment.TaskAttachmentService;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.customfield.CustomFieldService;
+import com.proj.taskmanager.service.dependency.TaskDependencyService;
+import com.proj.taskmanager.service.label.LabelExpression;
+import com.proj.taskmanager.service.label.TaskLabelService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.time.TimeTrackingService;
 import com.proj.taskmanager.service.user.IUserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService implements ITaskService {
+    private static final int MAX_SYNC_PAGE_SIZE = 1000;
+    private static final int MAX_BOARD_PAGE_SIZE = 500;
+    private static final int MAX_INBOX_PAGE_SIZE = 200;
+    private static final int MAX_LABEL_PAGE_SIZE = 200;
+    private static final int MAX_FIELD_PAGE_SIZE = 200;
+    // Sorts before any real due date, so the first inbox page starts at the beginning of the index range
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final String UNDATED = "-";
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessService projectAccessService;
     private final IUserService userService;
-
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskCounterService taskCounterService;
+    private final TaskClaimService taskClaimService;
+    private final ProjectVersionService projectVersionService;
+    private final TaskTombstoneService taskTombstoneService;
+    private final TaskDependencyService taskDependencyService;
+    private final TaskBoardService taskBoardService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskAttachmentService taskAttachmentService;
+    private final TaskLabelService taskLabelService;
+    private final CustomFieldService customFieldService;
+    private final TimeTrackingService timeTrackingService;
 
     @Override
+    @Transactional
     public Task createTask(Long userId, CreateTaskReq request) {
         Project project = getProjectById(request.projectId());
-        validateUserCanManageProject(userId, project, "add task in");
+        projectAccessService.validateUserCanManageProject(userId, project, "add task in");
 
         User user = userService.getUserById(userId);
 
@@ -48,7 +98,7 @@ public class TaskService implements ITaskService {
 
         if (request.assigneeId() != null) {
             User assignee = userService.getUserById(request.assigneeId());
-            validateUserIsProjectMember(assignee.getId(), project, "assign task to");
+            projectAccessService.validateUserIsProjectMember(assignee.getId(), project, "assign task to");
             task.setAssignee(assignee);
         }
 
@@ -56,7 +106,15 @@ public class TaskService implements ITaskService {
             task.setDueDate(request.dueDate());
         }
 
+        if (request.priority() != null) {
+            task.setPriority(request.priority());
+        }
+
+        task.setSyncVersion(projectVersionService.markChanged(project.getId()));
+        task.setBoardRank(taskBoardService.rankAtEnd(project.getId(), task.getStatus(), null));
         taskRepository.save(task);
+        taskCounterService.recordChange(project.getId(), null, TaskCounterService.snapshot(task));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, task, userId));
         return task;
     }
 
@@ -68,60 +126,217 @@ public class TaskService implements ITaskService {
     @Override
     @Transactional
     public void deleteTask(Long userId, Long taskId) {
-        Task task = findTaskById(taskId);
-        validateUserCanManageTask(userId, task, "delete");
-
+        Task task = findTaskForUpdate(userId, taskId, "delete");
+
+        long syncVersion = projectVersionService.markChanged(task.getProject().getId());
+        // Listeners that follow the project version read the deletion's version from the event's task
+        task.setSyncVersion(syncVersion);
+        taskDependencyService.deleteForTask(taskId);
+        taskAttachmentService.deleteForTask(taskId);
+        taskLabelService.deleteForTask(taskId);
+        customFieldService.deleteForTask(taskId);
+        timeTrackingService.deleteForTask(task.getProject().getId(), taskId);
         taskRepository.deleteById(taskId);
+        taskTombstoneService.recordTaskDeleted(task.getProject().getId(), taskId, syncVersion);
+        taskCounterService.recordChange(task.getProject().getId(), TaskCounterService.snapshot(task), null);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.DELETED, task, userId));
     }
 
     @Override
     @Transactional
-    public Task updateTask(Long userId, Long taskId, UpdateTaskReq request) {
-        Task task = findTaskById(taskId);
-        validateUserCanManageTask(userId, task, "update");
+    public Task updateTask(Long userId, Long taskId, UpdateTaskReq request, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "update");
+        validateVersion(task, expectedVersion);
+        TaskCounterDelta.State before = TaskCounterService.snapshot(task);
+        // Only load the lazy description when the request replaces it
+        boolean descriptionChanges = request.description() != null;
+        Map<String, String> fieldsBefore = TaskFieldChange.fieldsOf(task, descriptionChanges);
 
         if (request.title() != null) {
             task.setTitle(request.title());
         }
-        if (request.description() != null) {
+        if (descriptionChanges) {
             task.setDescription(request.description());
         }
         if (request.dueDate() != null) {
             task.setDueDate(request.dueDate());
         }
+        if (request.priority() != null) {
+            task.setPriority(request.priority());
+        }
         if (request.assigneeId() != null) {
             User assignee = userService.getUserById(request.assigneeId());
-            validateUserIsProjectMember(assignee.getId(), task.getProject(), "assign task to");
+            projectAccessService.validateUserIsProjectMember(assignee.getId(), task.getProject(), "assign task to");
             task.setAssignee(assignee);
         }
 
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        task.setSyncVersion(projectVersionService.markChanged(task.getProject().getId()));
+        Task saved = taskRepository.save(task);
+        taskCounterService.recordChange(task.getProject().getId(), before, TaskCounterService.snapshot(saved));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId,
+                TaskFieldChange.between(fieldsBefore, TaskFieldChange.fieldsOf(saved, descriptionChanges))));
+        return saved;
     }
 
     @Override
     @Transactional
-    public Task assignTask(Long userId, Long taskId, Long assigneeId) {
-        Task task = findTaskById(taskId);
-        validateUserCanManageTask(userId, task, "assign");
+    public Task assignTask(Long userId, Long taskId, Long assigneeId, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "assign");
+        validateVersion(task, expectedVersion);
+        TaskCounterDelta.State before = TaskCounterService.snapshot(task);
+        Map<String, String> fieldsBefore = TaskFieldChange.fieldsOf(task);
 
         User assignee = userService.getUserById(assigneeId);
-        validateUserIsProjectMember(assignee.getId(), task.getProject(), "assign task to");
+        projectAccessService.validateUserIsProjectMember(assignee.getId(), task.getProject(), "assign task to");
         
         task.setAssignee(assignee);
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        task.setSyncVersion(projectVersionService.markChanged(task.getProject().getId()));
+        Task saved = taskRepository.save(task);
+        taskCounterService.recordChange(task.getProject().getId(), before, TaskCounterService.snapshot(saved));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.ASSIGNED, saved, userId,
+                TaskFieldChange.between(fieldsBefore, TaskFieldChange.fieldsOf(saved))));
+        return saved;
     }
 
+    /**
+     * Assigns the project's most urgent open task to the caller. Concurrent claimers lock different rows and never
+     * wait for each other's picks. The claim takes no project-wide lock: the new sync version, the counter change
+     * and the ASSIGNED event follow when {@link TaskClaimService} stamps the claim after commit.
+     */
     @Override
     @Transactional
-    public Task updateTaskDueDate(Long userId, Long taskId, LocalDate dueDate) {
-        Task task = findTaskById(taskId);
-        validateUserCanManageTask(userId, task, "update due date for");
+    public Optional<Task> claimNextTask(Long userId, Long projectId) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserCanManageProject(userId, project, "claim tasks in");
+        User user = userService.getUserById(userId);
+
+        Optional<Long> taskId = taskRepository.lockNextClaimable(projectId);
+        if (taskId.isEmpty()) {
+            return Optional.empty();
+        }
+        Task task = findTaskById(taskId.get());
+        task.setAssignee(user);
+        task.setUpdatedAt(LocalDateTime.now());
+        Task saved = taskRepository.save(task);
+        taskClaimService.recordClaim(projectId, saved.getId(), userId);
+        return Optional.of(saved);
+    }
+
+    @Override
+    @Transactional
+    public Task updateTaskDueDate(Long userId, Long taskId, LocalDate dueDate, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "update due date for");
+        validateVersion(task, expectedVersion);
+        TaskCounterDelta.State before = TaskCounterService.snapshot(task);
+        Map<String, String> fieldsBefore = TaskFieldChange.fieldsOf(task);
 
         task.setDueDate(dueDate);
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        task.setSyncVersion(projectVersionService.markChanged(task.getProject().getId()));
+        Task saved = taskRepository.save(task);
+        taskCounterService.recordChange(task.getProject().getId(), before, TaskCounterService.snapshot(saved));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId,
+                TaskFieldChange.between(fieldsBefore, TaskFieldChange.fieldsOf(saved))));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Task updateTaskStatus(Long userId, Long taskId, TaskStatus status, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "update status of");
+        validateVersion(task, expectedVersion);
+        TaskCounterDelta.State before = TaskCounterService.snapshot(task);
+        Map<String, String> fieldsBefore = TaskFieldChange.fieldsOf(task);
+
+        if (!task.getStatus().canTransitionTo(status)) {
+            throw new RuntimeException("Cannot move task from " + task.getStatus() + " to " + status);
+        }
+
+        task.setStatus(status);
+        task.setUpdatedAt(LocalDateTime.now());
+        task.setSyncVersion(projectVersionService.markChanged(task.getProject().getId()));
+        task.setBoardRank(taskBoardService.rankAtEnd(task.getProject().getId(), status, task.getId()));
+        Task saved = taskRepository.save(task);
+        taskCounterService.recordChange(task.getProject().getId(), before, TaskCounterService.snapshot(saved));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId,
+                TaskFieldChange.between(fieldsBefore, TaskFieldChange.fieldsOf(saved))));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Task restoreTask(Long userId, Long taskId) {
+        return taskArchiveService.restore(taskId, userId, "restore")
+                .orElseThrow(() -> new RuntimeException("Task " + taskId + " is not archived"));
+    }
+
+    @Override
+    @Transactional
+    public Task moveTask(Long userId, Long taskId, MoveTaskReq request, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "move");
+        validateVersion(task, expectedVersion);
+        TaskCounterDelta.State before = TaskCounterService.snapshot(task);
+        Map<String, String> fieldsBefore = TaskFieldChange.fieldsOf(task);
+
+        TaskStatus status = request.status() != null ? request.status() : task.getStatus();
+        if (status != task.getStatus() && !task.getStatus().canTransitionTo(status)) {
+            throw new RuntimeException("Cannot move task from " + task.getStatus() + " to " + status);
+        }
+        Long projectId = task.getProject().getId();
+        task.setSyncVersion(projectVersionService.markChanged(projectId));
+        // Neighbours are read under the project lock taken above, so their ranks cannot change before commit
+        Task above = findBoardNeighbour(task, status, request.aboveTaskId());
+        Task below = findBoardNeighbour(task, status, request.belowTaskId());
+
+        task.setStatus(status);
+        task.setBoardRank(taskBoardService.rankBetween(projectId, status, taskId, above, below));
+        task.setUpdatedAt(LocalDateTime.now());
+        Task saved = taskRepository.save(task);
+        taskCounterService.recordChange(projectId, before, TaskCounterService.snapshot(saved));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId,
+                TaskFieldChange.between(fieldsBefore, TaskFieldChange.fieldsOf(saved))));
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskBoardDto getBoard(Long userId, Long projectId, int perColumn) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view the board of");
+
+        int columnSize = Math.min(Math.max(perColumn, 1), MAX_BOARD_PAGE_SIZE);
+        Map<TaskStatus, List<TaskRepositoryCustom.BoardRow>> rowsByStatus = taskRepository.findBoard(projectId, columnSize).stream()
+                .collect(Collectors.groupingBy(row -> row.task().getStatus(), () -> new EnumMap<>(TaskStatus.class), Collectors.toList()));
+
+        List<TaskBoardDto.Column> columns = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            List<TaskRepositoryCustom.BoardRow> rows = rowsByStatus.getOrDefault(status, List.of());
+            long total = rows.isEmpty() ? 0 : rows.get(0).columnTotal();
+            Long nextAfter = total > rows.size() ? rows.get(rows.size() - 1).task().getId() : null;
+            columns.add(new TaskBoardDto.Column(status, total,
+                    rows.stream().map(row -> convertTaskToSummaryDto(row.task())).toList(), nextAfter));
+        }
+        return new TaskBoardDto(projectId, columns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummaryDto> getBoardColumn(Long userId, Long projectId, TaskStatus status, Long afterTaskId, int limit) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view the board of");
+        Task after = null;
+        if (afterTaskId != null) {
+            after = findTaskById(afterTaskId);
+            if (!after.getProject().getId().equals(projectId) || after.getStatus() != status) {
+                throw new RuntimeException("Task " + afterTaskId + " is not in the " + status + " column of this project");
+            }
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_BOARD_PAGE_SIZE);
+        return taskBoardService.getColumn(projectId, status, after, pageSize).stream()
+                .map(this::convertTaskToSummaryDto)
+                .toList();
     }
 
     @Override
@@ -136,51 +351,351 @@ public class TaskService implements ITaskService {
         return taskRepository.findByProjectIdAndAssigneeId(projectId, userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TaskInboxPage getAssignedTasks(Long userId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_INBOX_PAGE_SIZE);
+        InboxCursor from = parseInboxCursor(cursor);
+
+        // Dated tasks first, then the undated ones; each part is a single index range scan
+        List<Task> tasks = new ArrayList<>(pageSize + 1);
+        if (from.dueDate() != null) {
+            tasks.addAll(taskRepository.findAssignedDueAfter(userId, from.dueDate(), from.taskId(), PageRequest.ofSize(pageSize + 1)));
+        }
+        if (tasks.size() <= pageSize) {
+            long afterTaskId = from.dueDate() == null ? from.taskId() : 0;
+            tasks.addAll(taskRepository.findAssignedUndatedAfter(userId, afterTaskId, PageRequest.ofSize(pageSize + 1 - tasks.size())));
+        }
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = page.get(page.size() - 1);
+            nextCursor = (last.getDueDate() != null ? last.getDueDate().toString() : UNDATED) + "." + last.getId();
+        }
+        return new TaskInboxPage(page.stream().map(this::convertTaskToSummaryDto).toList(), nextCursor);
+    }
+
+    @Override
+    public TaskCountersDto getTaskCounters(Long userId, Long projectId) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view counters of");
+        return taskCounterService.getCounters(projectId);
+    }
+
+    @Override
+    @Transactional
+    public void addTaskDependency(Long userId, Long taskId, Long blockerId) {
+        Task task = findTaskForUpdate(userId, taskId, "add dependency to");
+        Task blocker = findTaskById(blockerId);
+        if (!blocker.getProject().getId().equals(task.getProject().getId())) {
+            throw new RuntimeException("Tasks can only depend on tasks of the same project");
+        }
+        taskDependencyService.addDependency(task.getProject().getId(), blockerId, taskId);
+    }
+
+    @Override
+    @Transactional
+    public void removeTaskDependency(Long userId, Long taskId, Long blockerId) {
+        Task task = findTaskForUpdate(userId, taskId, "remove dependency from");
+        taskDependencyService.removeDependency(task.getProject().getId(), blockerId, taskId);
+    }
+
+    @Override
+    public TaskDependencyGraphDto getDependencyGraph(Long userId, Long projectId) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view dependencies of");
+        return taskDependencyService.analyze(projectId);
+    }
+
+    @Override
+    @Transactional
+    public Task setTaskLabels(Long userId, Long taskId, List<String> labels, Long expectedVersion) {
+        List<String> normalized = TaskLabelService.normalize(labels);
+        Task task = findTaskForUpdate(userId, taskId, "label");
+        validateVersion(task, expectedVersion);
+        if (taskLabelService.getLabels(taskId).equals(normalized)) {
+            return task;
+        }
+
+        Long projectId = task.getProject().getId();
+        task.setUpdatedAt(LocalDateTime.now());
+        task.setSyncVersion(projectVersionService.markChanged(projectId));
+        // Read again under the project lock, so the event has the labels this change actually replaced
+        List<String> previous = taskLabelService.replaceLabels(projectId, taskId, normalized);
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId,
+                List.of(TaskLabelService.labelChange(previous, normalized))));
+        return saved;
+    }
+
+    @Override
+    public List<String> getTaskLabels(Long userId, Long taskId) {
+        Task task = findTaskById(taskId);
+        projectAccessService.validateUserIsProjectMember(userId, task.getProject(), "view labels of");
+        return taskLabelService.getLabels(taskId);
+    }
+
+    @Override
+    public Map<String, Integer> getProjectLabels(Long userId, Long projectId) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view labels of");
+        return taskLabelService.countLabels(projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskLabelPage findTasksByLabels(Long userId, Long projectId, String query, Long afterTaskId, int limit) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "filter tasks of");
+        LabelExpression expression = LabelExpression.parse(query);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_LABEL_PAGE_SIZE);
+        TaskLabelService.Page page = taskLabelService.find(projectId, expression, afterTaskId != null ? afterTaskId : 0, pageSize);
+        // Only the page of matches is read from the table; a task deleted since the index saw it is skipped
+        Map<Long, Task> tasks = taskRepository.findAllById(page.taskIds()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        List<TaskSummaryDto> summaries = page.taskIds().stream()
+                .map(tasks::get)
+                .filter(task -> task != null && task.getProject() != null)
+                .map(this::convertTaskToSummaryDto)
+                .toList();
+        return new TaskLabelPage(page.total(), summaries, page.nextAfter());
+    }
+
+    @Override
+    @Transactional
+    public Task setTaskCustomFields(Long userId, Long taskId, Map<String, Object> values, Long expectedVersion) {
+        Task task = findTaskForUpdate(userId, taskId, "update");
+        validateVersion(task, expectedVersion);
+
+        Long projectId = task.getProject().getId();
+        CustomFieldService.Update update = customFieldService.update(projectId, taskId, task.getCustomFields(), values);
+        if (update.changes().isEmpty()) {
+            return task;
+        }
+        task.setCustomFields(update.values());
+        task.setUpdatedAt(LocalDateTime.now());
+        task.setSyncVersion(projectVersionService.markChanged(projectId));
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, saved, userId, update.changes()));
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskFieldPage findTasksByFields(Long userId, Long projectId, List<String> filters, String sort, String cursor, int limit) {
+        Project project = getProjectById(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "filter tasks of");
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_FIELD_PAGE_SIZE);
+        CustomFieldService.Page page = customFieldService.find(projectId, filters, sort, cursor, pageSize);
+        if (page.taskIds().isEmpty()) {
+            return new TaskFieldPage(List.of(), page.nextCursor());
+        }
+        Map<Long, Task> tasks = taskRepository.findAllById(page.taskIds()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        // The values come from their own column, without loading the descriptions next to them
+        Map<Long, Map<String, Object>> values = taskRepository.findCustomFields(page.taskIds()).stream()
+                .collect(Collectors.toMap(TaskCustomFields::taskId, TaskCustomFields::customFields));
+        List<CustomField> fields = customFieldService.getDefinitions(projectId);
+        List<TaskSummaryDto> summaries = page.taskIds().stream()
+                .map(tasks::get)
+                .filter(task -> task != null && task.getProject() != null)
+                .map(task -> {
+                    TaskSummaryDto summary = convertTaskToSummaryDto(task);
+                    summary.setCustomFields(CustomFieldService.render(fields, values.get(task.getId())));
+                    return summary;
+                })
+                .toList();
+        return new TaskFieldPage(summaries, page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSyncPage syncTasks(Long userId, Long projectId, String cursor, int limit) {
+        Project project = projectRepository.findById(projectId).orElse(null);
+        if (project == null) {
+            if (taskTombstoneService.isProjectDeleted(projectId)) {
+                return TaskSyncPage.deletedProject();
+            }
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        projectAccessService.validateUserIsProjectMember(userId, project, "sync");
+
+        long[] from = parseSyncCursor(cursor);
+        if (from != null && from[0] < projectVersionService.getPurgedThrough(projectId)) {
+            return TaskSyncPage.reset();
+        }
+
+        // Tasks and tombstones share the (syncVersion, taskId) key space; read one page of each and merge
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SYNC_PAGE_SIZE);
+        long afterVersion = from != null ? from[0] : 0;
+        long afterTaskId = from != null ? from[1] : 0;
+        List<Task> tasks = taskRepository.findChangedSince(projectId, afterVersion, afterTaskId, PageRequest.ofSize(pageSize + 1));
+        // A first sync starts from an empty copy, so there is nothing to delete yet
+        List<TaskTombstone> tombstones = from == null ? List.of()
+                : taskTombstoneService.findDeletedSince(projectId, afterVersion, afterTaskId, pageSize + 1);
+
+        // Clients keep full copies, so descriptions and custom fields come along, but in one query rather than one per task
+        Map<Long, TaskDetails> details = tasks.isEmpty() ? Map.of() : taskRepository.findDetails(
+                tasks.stream().map(Task::getId).toList()).stream()
+                .collect(Collectors.toMap(TaskDetails::taskId, row -> row));
+        List<CustomField> fields = details.values().stream().anyMatch(row -> row.customFields() != null)
+                ? customFieldService.getDefinitions(projectId) : List.of();
+
+        List<TaskDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long lastVersion = afterVersion;
+        long lastTaskId = afterTaskId;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < pageSize && (t < tasks.size() || d < tombstones.size())) {
+            boolean takeTask = d >= tombstones.size() || (t < tasks.size()
+                    && compareSyncKeys(tasks.get(t).getSyncVersion(), tasks.get(t).getId(),
+                    tombstones.get(d).getSyncVersion(), tombstones.get(d).getTaskId()) < 0);
+            if (takeTask) {
+                Task task = tasks.get(t++);
+                TaskDetails row = details.get(task.getId());
+                changed.add(row != null ? toDto(task, row.description(), CustomFieldService.render(fields, row.customFields()))
+                        : toDto(task, null, Map.of()));
+                lastVersion = task.getSyncVersion();
+                lastTaskId = task.getId();
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getTaskId());
+                lastVersion = tombstone.getSyncVersion();
+                lastTaskId = tombstone.getTaskId();
+            }
+        }
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        return new TaskSyncPage(changed, deleted, lastVersion + "." + lastTaskId, hasMore, false, false);
+    }
+
+    @Override
+    public TaskDto convertTaskToDto(Task task) {
+        Map<String, Object> values = task.getCustomFields();
+        List<CustomField> fields = values == null || values.isEmpty() || task.getProject() == null
+                ? List.of() : customFieldService.getDefinitions(task.getProject().getId());
+        return toDto(task, task.getDescription(), CustomFieldService.render(fields, values));
+    }
+
+    @Override
+    public TaskSummaryDto convertTaskToSummaryDto(Task task) {
+        return fillSummary(task, new TaskSummaryDto());
+    }
+
+    private TaskDto toDto(Task task, String description, Map<String, Object> customFields) {
+        TaskDto taskDto = fillSummary(task, new TaskDto());
+        taskDto.setDescription(description);
+        taskDto.setCustomFields(customFields);
+        return taskDto;
+    }
+
+    // Reads no lazy attribute of the task, so it is safe for lists
+    private <T extends TaskSummaryDto> T fillSummary(Task task, T taskDto) {
+        taskDto.setId(task.getId());
+        taskDto.setTitle(task.getTitle());
+        taskDto.setStatus(task.getStatus());
+        taskDto.setPriority(task.getPriority());
+        taskDto.setDueDate(task.getDueDate());
+        taskDto.setProjectId(task.getProject() != null ? task.getProject().getId() : null);
+        taskDto.setCreatedBy(task.getCreatedBy() != null ? userService.convertUserToDto(task.getCreatedBy()) : null);
+        taskDto.setAssignee(task.getAssignee() != null ? userService.convertUserToDto(task.getAssignee()) : null);
+        taskDto.setCreatedAt(task.getCreatedAt());
+        taskDto.setUpdatedAt(task.getUpdatedAt());
+        taskDto.setVersion(task.getVersion());
+        taskDto.setBoardRank(task.getBoardRank());
+        taskDto.setRecurrenceId(task.getRecurrenceId());
+        return taskDto;
+    }
+
     // Helper methods
     private Project getProjectById(Long projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
     }
 
-    private Task findTaskById(Long taskId) {
-        return taskRepository.findById(taskId)
+    private Task findBoardNeighbour(Task task, TaskStatus status, Long neighbourId) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(task.getId())) {
+            throw new RuntimeException("A task cannot be placed next to itself");
+        }
+        Task neighbour = findTaskById(neighbourId);
+        if (!neighbour.getProject().getId().equals(task.getProject().getId()) || neighbour.getStatus() != status) {
+            throw new RuntimeException("Task " + neighbourId + " is not in the " + status + " column of this project");
+        }
+        return neighbour;
+    }
+
+    // Writes reach archived tasks too: the task is moved back to the tasks table first, once the user may write it
+    private Task findTaskForUpdate(Long userId, Long taskId, String action) {
+        Task task = findLiveTask(taskId)
+                .or(() -> taskArchiveService.restore(taskId, userId, action))
+                .or(() -> findLiveTask(taskId))
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+        projectAccessService.validateUserCanManageTask(userId, task, action);
+        return task;
     }
 
-    private void validateUserCanManageProject(Long userId, Project project, String action) {
-        boolean isOwner = project.getCreatedBy().getId().equals(userId);
+    private Task findTaskById(Long taskId) {
+        return findLiveTask(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+    }
 
-        if (!isOwner) {
-            Optional<ProjectMember> userMembership = projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId);
+    // A deleted project is hidden from Hibernate, so its tasks waiting for the purge come back without one
+    private Optional<Task> findLiveTask(Long taskId) {
+        return taskRepository.findById(taskId).filter(task -> task.getProject() != null);
+    }
 
-            if (userMembership.isEmpty() || userMembership.get().getRole() != ProjectRole.EDITOR) {
-                throw new RuntimeException("Only project owner or editor can " + action + " the project");
-            }
+    /**
+     * Rejects the write when the client's If-Match version no longer matches the stored one.
+     * Races between this check and commit are caught by the @Version column on flush.
+     */
+    private void validateVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task has been modified by someone else (current version "
+                    + task.getVersion() + ", expected " + expectedVersion + ")");
         }
     }
 
-    private void validateUserCanManageTask(Long userId, Task task, String action) {
-        Project project = task.getProject();
-        boolean isOwner = project.getCreatedBy().getId().equals(userId);
-
-        if (!isOwner) {
-            Optional<ProjectMember> userMembership = projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId);
-
-            if (userMembership.isEmpty() || userMembership.get().getRole() != ProjectRole.EDITOR) {
-                throw new RuntimeException("Only project owner or editor can " + action + " the task");
-            }
+    // Cursors are "<syncVersion>.<taskId>" of the last change the client has seen
+    private static long[] parseSyncCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int dot = cursor.indexOf('.');
+        try {
+            return new long[]{Long.parseLong(cursor.substring(0, dot)), Long.parseLong(cursor.substring(dot + 1))};
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid sync cursor: " + cursor);
         }
     }
 
-    private void validateUserIsProjectMember(Long userId, Project project, String action) {
-        boolean isOwner = project.getCreatedBy().getId().equals(userId);
+    // Inbox cursors are "<dueDate>.<taskId>", or "-.<taskId>" once the pages are into the undated tasks
+    private static InboxCursor parseInboxCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new InboxCursor(FIRST_DUE_DATE, 0);
+        }
+        int dot = cursor.indexOf('.');
+        try {
+            String dueDate = cursor.substring(0, dot);
+            long taskId = Long.parseLong(cursor.substring(dot + 1));
+            return new InboxCursor(dueDate.equals(UNDATED) ? null : LocalDate.parse(dueDate), taskId);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid inbox cursor: " + cursor);
+        }
+    }
 
-        if (!isOwner) {
-            Optional<ProjectMember> userMembership = projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId);
+    // A null due date means the position is among the undated tasks
+    private record InboxCursor(LocalDate dueDate, long taskId) {
+    }
 
-            if (userMembership.isEmpty()) {
-                throw new RuntimeException("User must be a project member to " + action + " the project");
-            }
-        }
+    private static int compareSyncKeys(long version, long taskId, long otherVersion, long otherTaskId) {
+        int byVersion = Long.compare(version, otherVersion);
+        return byVersion != 0 ? byVersion : Long.compare(taskId, otherTaskId);
     }
 }
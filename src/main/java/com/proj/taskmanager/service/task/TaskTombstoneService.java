@@ -0,0 +1,71 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes and expires the deletion records served by delta sync. Expired task tombstones move the project's
+ * purge floor forward so that clients holding an older cursor are told to start over instead of silently
+ * keeping deleted tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskTombstoneService {
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final ProjectVersionRepository projectVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskDeleted(Long projectId, Long taskId, long syncVersion) {
+        tombstoneRepository.save(new TaskTombstone(projectId, taskId, syncVersion));
+    }
+
+    // One project-level record replaces the task tombstones, which the project purge removes with its tasks
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProjectDeleted(Long projectId) {
+        tombstoneRepository.save(new TaskTombstone(projectId, null, 0));
+    }
+
+    public List<TaskTombstone> findDeletedSince(Long projectId, long syncVersion, Long taskId, int limit) {
+        return tombstoneRepository.findChangedSince(projectId, syncVersion, taskId, PageRequest.ofSize(limit));
+    }
+
+    public boolean isProjectDeleted(Long projectId) {
+        return tombstoneRepository.existsByProjectIdAndTaskIdIsNull(projectId);
+    }
+
+    @Scheduled(cron = "${task.sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        for (TaskTombstoneRepository.PurgeCandidate candidate : tombstoneRepository.findPurgeableByProject(cutoff)) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                projectVersionRepository.advancePurgedThrough(candidate.projectId(), candidate.throughSyncVersion());
+                return tombstoneRepository.deleteTaskTombstonesThrough(candidate.projectId(), candidate.throughSyncVersion());
+            });
+            purged += deleted != null ? deleted : 0;
+        }
+        Integer projects = transactionTemplate.execute(status -> tombstoneRepository.deleteProjectTombstonesBefore(cutoff));
+
+        if (purged > 0 || (projects != null && projects > 0)) {
+            log.info("Purged {} task tombstones and {} project tombstones older than {} days", purged, projects, retentionDays);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.proj.taskmanager.service.time;
+
+import com.proj.taskmanager.dto.ProjectTimeReportDto;
+import com.proj.taskmanager.dto.TaskTimeReportDto;
+import com.proj.taskmanager.dto.TimeEntryDto;
+import com.proj.taskmanager.dto.TimeEntryPage;
+import com.proj.taskmanager.dto.TimeWeekDto;
+import com.proj.taskmanager.enums.TimeRollupDimension;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TimeEntry;
+import com.proj.taskmanager.model.TimeRollup;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TimeEntryRepository;
+import com.proj.taskmanager.repository.TimeRollupRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Time entries on tasks and their weekly rollups per project, task and user. Every entry written or removed
+ * adjusts the three rollup rows of its week in the same transaction, so reports read only rollup rows and
+ * cost the same however many entries a project has.
+ * <p>
+ * The rollup rows of an entry are always updated in the order project, task, user, so two writers in the same
+ * week queue on the project row instead of deadlocking.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimeTrackingService {
+    public static final int MAX_MINUTES_PER_ENTRY = 24 * 60;
+    public static final int MAX_NOTE_LENGTH = 500;
+    public static final int DEFAULT_REPORT_WEEKS = 12;
+    public static final int MAX_REPORT_WEEKS = 106;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TimeEntryRepository entryRepository;
+    private final TimeRollupRepository rollupRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final TransactionTemplate transactionTemplate;
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Logs time the user spent on a task. The first entry of a week inserts that week's rollup rows; when
+     * another entry inserts the same row concurrently, the loser's transaction rolls back and runs again,
+     * now finding the row to add to.
+     */
+    public TimeEntryDto logTime(Long userId, Long taskId, int minutes, LocalDate spentOn, String note) {
+        if (minutes < 1 || minutes > MAX_MINUTES_PER_ENTRY) {
+            throw new RuntimeException("Minutes must be between 1 and " + MAX_MINUTES_PER_ENTRY);
+        }
+        if (spentOn == null || spentOn.isAfter(LocalDate.now())) {
+            throw new RuntimeException("Time cannot be logged for a day in the future");
+        }
+        String text = note == null || note.isBlank() ? null : note.strip();
+        if (text != null && text.length() > MAX_NOTE_LENGTH) {
+            throw new RuntimeException("Note is longer than " + MAX_NOTE_LENGTH + " characters");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Task task = findTask(taskId);
+                    projectAccessService.validateUserCanManageProject(userId, task.getProject(), "log time in");
+                    TimeEntry entry = new TimeEntry();
+                    entry.setProjectId(task.getProject().getId());
+                    entry.setTaskId(taskId);
+                    entry.setUserId(userId);
+                    entry.setSpentOn(spentOn);
+                    entry.setMinutes(minutes);
+                    entry.setNote(text);
+                    entry.setCreatedAt(LocalDateTime.now());
+                    entryRepository.save(entry);
+                    applyToRollups(entry.getProjectId(), taskId, userId, weekStart(spentOn), minutes, 1);
+                    return TimeEntryDto.of(entry);
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes an entry. Its author can delete it, and so can the project owner.
+     */
+    @Transactional
+    public void deleteEntry(Long userId, Long entryId) {
+        TimeEntry entry = entryRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Time entry not found with id: " + entryId));
+        Project project = findProject(entry.getProjectId());
+        if (!entry.getUserId().equals(userId) && !projectAccessService.isOwner(userId, project)) {
+            throw new RuntimeException("Only the author or the project owner can delete a time entry");
+        }
+        // A concurrent deletion of the entry or its task got there first and already took it out of the rollups
+        if (entryRepository.deleteEntry(entryId) == 0) {
+            return;
+        }
+        applyToRollups(entry.getProjectId(), entry.getTaskId(), entry.getUserId(), weekStart(entry.getSpentOn()),
+                -entry.getMinutes(), -1);
+    }
+
+    // Task deletion checks permissions itself; the task's own rollups go with it, project and user totals shrink
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForTask(Long projectId, Long taskId) {
+        List<TimeEntry> entries = entryRepository.findByTaskIdForUpdate(taskId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, long[]> byWeek = new TreeMap<>();
+        Map<UserWeek, long[]> byUserWeek = new TreeMap<>(Comparator.comparing(UserWeek::weekStart)
+                .thenComparing(UserWeek::userId));
+        for (TimeEntry entry : entries) {
+            LocalDate week = weekStart(entry.getSpentOn());
+            add(byWeek.computeIfAbsent(week, w -> new long[2]), entry);
+            add(byUserWeek.computeIfAbsent(new UserWeek(entry.getUserId(), week), w -> new long[2]), entry);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        byWeek.forEach((week, sum) -> rollupRepository.applyDelta(projectId, TimeRollupDimension.PROJECT, projectId,
+                week, -sum[0], -sum[1], now));
+        byUserWeek.forEach((key, sum) -> rollupRepository.applyDelta(projectId, TimeRollupDimension.USER, key.userId(),
+                key.weekStart(), -sum[0], -sum[1], now));
+        rollupRepository.deleteForTask(projectId, taskId);
+        entryRepository.deleteByTaskId(taskId);
+    }
+
+    public TimeEntryPage getEntries(Long userId, Long taskId, Long before, int limit) {
+        Task task = findTask(taskId);
+        projectAccessService.validateUserIsProjectMember(userId, task.getProject(), "view time of");
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<TimeEntry> entries = entryRepository.findByTaskIdAndIdLessThanOrderByIdDesc(
+                taskId, before != null ? before : Long.MAX_VALUE, PageRequest.ofSize(size));
+        Long nextBefore = entries.size() == size ? entries.get(size - 1).getId() : null;
+        return new TimeEntryPage(entries.stream().map(TimeEntryDto::of).toList(), nextBefore);
+    }
+
+    public TaskTimeReportDto getTaskReport(Long userId, Long taskId) {
+        Task task = findTask(taskId);
+        projectAccessService.validateUserIsProjectMember(userId, task.getProject(), "view time of");
+        List<TimeWeekDto> weeks = toWeeks(rollupRepository.findByProjectIdAndDimensionAndSubjectIdOrderByWeekStart(
+                task.getProject().getId(), TimeRollupDimension.TASK, taskId));
+        return new TaskTimeReportDto(taskId, weeks.stream().mapToLong(TimeWeekDto::minutes).sum(),
+                weeks.stream().mapToLong(TimeWeekDto::entries).sum(), weeks);
+    }
+
+    /**
+     * Reports the weeks from {@code from} to {@code to}, each moved back to its Monday. Without {@code to} the
+     * report ends with the current week; without {@code from} it covers {@value #DEFAULT_REPORT_WEEKS} weeks.
+     *
+     * @param forUserId only count this user's time, or null for everyone's
+     */
+    public ProjectTimeReportDto getProjectReport(Long userId, Long projectId, LocalDate from, LocalDate to, Long forUserId) {
+        Project project = findProject(projectId);
+        projectAccessService.validateUserIsProjectMember(userId, project, "view time of");
+        LocalDate last = weekStart(to != null ? to : LocalDate.now());
+        LocalDate first = from != null ? weekStart(from) : last.minusWeeks(DEFAULT_REPORT_WEEKS - 1);
+        if (first.isAfter(last)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.WEEKS.between(first, last) >= MAX_REPORT_WEEKS) {
+            throw new RuntimeException("A report can cover at most " + MAX_REPORT_WEEKS + " weeks");
+        }
+
+        List<TimeRollup> userRollups = forUserId != null
+                ? rollupRepository.findByProjectIdAndDimensionAndSubjectIdAndWeekStartBetweenOrderByWeekStart(
+                        projectId, TimeRollupDimension.USER, forUserId, first, last)
+                : rollupRepository.findByProjectIdAndDimensionAndWeekStartBetween(
+                        projectId, TimeRollupDimension.USER, first, last);
+        List<TimeWeekDto> weeks = forUserId != null
+                ? toWeeks(userRollups)
+                : toWeeks(rollupRepository.findByProjectIdAndDimensionAndSubjectIdAndWeekStartBetweenOrderByWeekStart(
+                        projectId, TimeRollupDimension.PROJECT, projectId, first, last));
+
+        Map<Long, long[]> byUser = new TreeMap<>();
+        for (TimeRollup rollup : userRollups) {
+            long[] sum = byUser.computeIfAbsent(rollup.getSubjectId(), id -> new long[2]);
+            sum[0] += rollup.getMinutes();
+            sum[1] += rollup.getEntries();
+        }
+        List<ProjectTimeReportDto.UserTotal> users = new ArrayList<>();
+        byUser.forEach((id, sum) -> {
+            if (sum[1] > 0) {
+                users.add(new ProjectTimeReportDto.UserTotal(id, sum[0], sum[1]));
+            }
+        });
+        users.sort(Comparator.comparingLong(ProjectTimeReportDto.UserTotal::minutes).reversed()
+                .thenComparing(ProjectTimeReportDto.UserTotal::userId));
+
+        return new ProjectTimeReportDto(projectId, forUserId, first, last,
+                weeks.stream().mapToLong(TimeWeekDto::minutes).sum(),
+                weeks.stream().mapToLong(TimeWeekDto::entries).sum(), weeks, users);
+    }
+
+    private record UserWeek(Long userId, LocalDate weekStart) {
+    }
+
+    private void applyToRollups(Long projectId, Long taskId, Long userId, LocalDate week, long minutes, long entries) {
+        applyToRollup(projectId, TimeRollupDimension.PROJECT, projectId, week, minutes, entries);
+        applyToRollup(projectId, TimeRollupDimension.TASK, taskId, week, minutes, entries);
+        applyToRollup(projectId, TimeRollupDimension.USER, userId, week, minutes, entries);
+    }
+
+    private void applyToRollup(Long projectId, TimeRollupDimension dimension, Long subjectId, LocalDate week,
+                               long minutes, long entries) {
+        LocalDateTime now = LocalDateTime.now();
+        if (rollupRepository.applyDelta(projectId, dimension, subjectId, week, minutes, entries, now) == 0) {
+            TimeRollup rollup = new TimeRollup(projectId, dimension, subjectId, week);
+            rollup.setMinutes(minutes);
+            rollup.setEntries(entries);
+            // Flushed here so a concurrent first insert of the same week fails this transaction now
+            rollupRepository.saveAndFlush(rollup);
+        }
+    }
+
+    // Weeks whose entries were all deleted keep a rollup row of zeros
+    private static List<TimeWeekDto> toWeeks(List<TimeRollup> rollups) {
+        return rollups.stream()
+                .filter(rollup -> rollup.getEntries() > 0)
+                .map(TimeWeekDto::of)
+                .toList();
+    }
+
+    private static void add(long[] sum, TimeEntry entry) {
+        sum[0] += entry.getMinutes();
+        sum[1]++;
+    }
+
+    private Task findTask(Long taskId) {
+        // A deleted project is hidden, so its tasks waiting for the purge come back without one
+        return taskRepository.findById(taskId)
+                .filter(task -> task.getProject() != null)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+    }
+
+    private Project findProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+    }
+}
@@ -0,0 +1,59 @@
+package com.proj.taskmanager.utils;
+
+/**
+ * Helpers for turning entity versions into HTTP entity tags and back.
+ */
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    public static String toETag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the version it refers to.
+     * Returns null when the header is absent or is the "*" wildcard, meaning the write is unconditional.
+     */
+    public static Long parseVersion(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + header);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current entity tag, using weak comparison as RFC 9110
+     * requires for this header.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
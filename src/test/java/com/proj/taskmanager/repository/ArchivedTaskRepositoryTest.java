@@ -0,0 +1,121 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.ArchivedTask;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.service.archive.ArchiveCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ArchivedTaskRepositoryTest {
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+
+        project = new Project();
+        project.setName("Project");
+        project.setCreatedBy(user);
+        project.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(project);
+    }
+
+    @Test
+    void findArchiveCandidates_ShouldOnlyReturnTasksFinishedBeforeCutoff() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        Task oldDone = persistTask("Old done", TaskStatus.COMPLETED, cutoff.minusDays(1));
+        Task oldCancelled = persistTask("Old cancelled", TaskStatus.CANCELLED, cutoff.minusDays(5));
+        persistTask("Recently done", TaskStatus.COMPLETED, cutoff.plusDays(1));
+        persistTask("Old but open", TaskStatus.IN_PROGRESS, cutoff.minusDays(1));
+        entityManager.flush();
+
+        // When
+        List<ArchiveCandidate> candidates = taskRepository.findArchiveCandidates(cutoff, 0L, PageRequest.ofSize(10));
+
+        // Then
+        assertEquals(List.of(oldDone.getId(), oldCancelled.getId()), candidates.stream().map(ArchiveCandidate::taskId).toList());
+        assertEquals(TaskStatus.CANCELLED, candidates.get(1).status());
+    }
+
+    @Test
+    void archiveAndRestore_ShouldMoveRowsBetweenTablesKeepingIds() {
+        // Given
+        Task done = persistTask("Done", TaskStatus.COMPLETED, LocalDateTime.now().minusDays(200));
+        done.setBoardRank("i5");
+        Task open = persistTask("Open", TaskStatus.PENDING, LocalDateTime.now());
+        entityManager.flush();
+        Long version = done.getVersion();
+        entityManager.clear();
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        // When
+        archivedTaskRepository.archive(List.of(done.getId()), archivedAt);
+
+        // Then
+        assertTrue(taskRepository.findById(done.getId()).isEmpty());
+        assertTrue(taskRepository.findById(open.getId()).isPresent());
+        ArchivedTask archived = archivedTaskRepository.findById(done.getId()).orElseThrow();
+        assertEquals("Done", archived.getTitle());
+        assertEquals(project.getId(), archived.getProjectId());
+        assertEquals(user.getId(), archived.getCreatedById());
+        assertEquals("i5", archived.getBoardRank());
+        assertEquals(1, archivedTaskRepository.findByProjectIdBefore(project.getId(), Long.MAX_VALUE, PageRequest.ofSize(10)).size());
+
+        // When
+        entityManager.clear();
+        boolean restored = archivedTaskRepository.restore(done.getId());
+
+        // Then
+        assertTrue(restored);
+        assertFalse(archivedTaskRepository.restore(done.getId()));
+        entityManager.clear();
+        assertTrue(archivedTaskRepository.findById(done.getId()).isEmpty());
+        Task back = taskRepository.findById(done.getId()).orElseThrow();
+        assertEquals("Done", back.getTitle());
+        assertEquals(TaskStatus.COMPLETED, back.getStatus());
+        assertEquals(user.getId(), back.getCreatedBy().getId());
+        assertEquals(version, back.getVersion());
+    }
+
+    private Task persistTask(String title, TaskStatus status, LocalDateTime updatedAt) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description");
+        task.setStatus(status);
+        task.setProject(project);
+        task.setCreatedBy(user);
+        task.setCreatedAt(updatedAt);
+        task.setUpdatedAt(updatedAt);
+        return entityManager.persist(task);
+    }
+}
@@ -0,0 +1,115 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectTaskCounter;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.service.task.TaskCounterDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProjectTaskCounterRepositoryTest {
+
+    @Autowired
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+
+        project = new Project();
+        project.setName("Project");
+        project.setCreatedBy(user);
+        project.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(project);
+    }
+
+    @Test
+    void countByProjectId_ShouldCountStatusesOverdueAndUnassigned() {
+        // Given
+        persistTask(TaskStatus.PENDING, LocalDate.now().minusDays(1), null);
+        persistTask(TaskStatus.PENDING, LocalDate.now().plusDays(1), user);
+        persistTask(TaskStatus.IN_PROGRESS, LocalDate.now().minusDays(3), user);
+        persistTask(TaskStatus.COMPLETED, LocalDate.now().minusDays(3), null);
+        entityManager.flush();
+
+        // When
+        TaskCounterDelta counts = counterRepository.countByProjectId(project.getId(), LocalDate.now());
+
+        // Then
+        assertEquals(new TaskCounterDelta(2, 1, 1, 0, 2, 1), counts);
+    }
+
+    @Test
+    void countByProjectId_WithoutTasks_ShouldReturnZero() {
+        assertTrue(counterRepository.countByProjectId(project.getId(), LocalDate.now()).isZero());
+    }
+
+    @Test
+    void applyDelta_ShouldAddToStoredCounters() {
+        // Given
+        entityManager.persistAndFlush(new ProjectTaskCounter(project.getId()));
+
+        // When
+        int updated = counterRepository.applyDelta(project.getId(), new TaskCounterDelta(1, 2, 0, 0, 1, -1), LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, updated);
+        ProjectTaskCounter counter = counterRepository.findById(project.getId()).orElseThrow();
+        assertEquals(1, counter.getPending());
+        assertEquals(2, counter.getInProgress());
+        assertEquals(1, counter.getOverdue());
+        assertEquals(-1, counter.getUnassigned());
+    }
+
+    @Test
+    void applyDelta_WhenRowMissing_ShouldUpdateNothing() {
+        assertEquals(0, counterRepository.applyDelta(project.getId(), new TaskCounterDelta(1, 0, 0, 0, 0, 0), LocalDateTime.now()));
+    }
+
+    @Test
+    void taskCounterDelta_Between_ShouldMoveCountsAcrossStates() {
+        TaskCounterDelta.State before = new TaskCounterDelta.State(TaskStatus.PENDING, true, true);
+        TaskCounterDelta.State after = new TaskCounterDelta.State(TaskStatus.COMPLETED, false, false);
+
+        assertEquals(new TaskCounterDelta(-1, 0, 1, 0, -1, -1), TaskCounterDelta.between(before, after));
+        assertEquals(new TaskCounterDelta(1, 0, 0, 0, 1, 1), TaskCounterDelta.between(null, before));
+        assertTrue(TaskCounterDelta.between(before, before).isZero());
+    }
+
+    private void persistTask(TaskStatus status, LocalDate dueDate, User assignee) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setProject(project);
+        task.setCreatedBy(user);
+        task.setAssignee(assignee);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(task);
+    }
+}
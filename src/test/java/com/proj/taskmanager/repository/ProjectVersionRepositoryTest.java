@@ -0,0 +1,91 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.ProjectVersion;
+import com.proj.taskmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProjectVersionRepositoryTest {
+
+    @Autowired
+    private ProjectVersionRepository projectVersionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private User member;
+    private Project owned;
+    private Project shared;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner@example.com");
+        member = persistUser("member@example.com");
+        owned = persistProject("Owned", owner);
+        shared = persistProject("Shared", member);
+
+        ProjectMember membership = new ProjectMember();
+        membership.setUser(owner);
+        membership.setProject(shared);
+        membership.setRole(ProjectRole.VIEWER);
+        entityManager.persist(membership);
+
+        entityManager.persist(new ProjectVersion(owned.getId(), 1));
+        entityManager.persist(new ProjectVersion(shared.getId(), 5));
+        entityManager.flush();
+    }
+
+    @Test
+    void increment_ShouldBumpOnlyThatProject() {
+        // When
+        int updated = projectVersionRepository.increment(owned.getId());
+
+        // Then
+        assertEquals(1, updated);
+        assertEquals(Optional.of(2L), projectVersionRepository.findVersion(owned.getId()));
+        assertEquals(Optional.of(5L), projectVersionRepository.findVersion(shared.getId()));
+        assertEquals(0, projectVersionRepository.increment(-1L));
+    }
+
+    @Test
+    void findVisibleToUser_ShouldIncludeOwnedAndMemberProjects() {
+        // When
+        List<ProjectVersion> ownerVersions = projectVersionRepository.findVisibleToUser(owner.getId());
+        List<ProjectVersion> memberVersions = projectVersionRepository.findVisibleToUser(member.getId());
+
+        // Then
+        assertEquals(List.of(owned.getId(), shared.getId()), ownerVersions.stream().map(ProjectVersion::getProjectId).toList());
+        assertEquals(List.of(shared.getId()), memberVersions.stream().map(ProjectVersion::getProjectId).toList());
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail(email);
+        user.setPassword("password");
+        return entityManager.persist(user);
+    }
+
+    private Project persistProject(String name, User createdBy) {
+        Project project = new Project();
+        project.setName(name);
+        project.setCreatedBy(createdBy);
+        project.setCreatedAt(LocalDateTime.now());
+        return entityManager.persist(project);
+    }
+}
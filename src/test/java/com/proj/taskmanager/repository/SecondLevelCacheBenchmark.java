@@ -0,0 +1,127 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Database round-trips of the lookups every task mutation makes (user, project, membership), with and
+ * without the second-level cache.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=SecondLevelCacheBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=caffeine.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheBenchmark {
+    private static final int USERS = 200;
+    private static final int PROJECTS = 50;
+    private static final int REQUESTS = 20_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mutationLookups() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ProjectMember> memberships = transactionTemplate.execute(status -> seed());
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        // "cold" empties every region before each request, which costs the same round-trips as running uncached
+        for (boolean warm : List.of(false, true)) {
+            sessionFactory.getCache().evictAll();
+            statistics.clear();
+            Random random = new Random(42);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                ProjectMember membership = memberships.get(random.nextInt(memberships.size()));
+                if (!warm) {
+                    sessionFactory.getCache().evictAll();
+                    sessionFactory.getCache().evictQueryRegions();
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.findById(membership.getUser().getId()).orElseThrow();
+                    projectRepository.findById(membership.getProject().getId()).orElseThrow();
+                    projectMemberRepository.findByProjectIdAndUserId(membership.getProject().getId(), membership.getUser().getId());
+                });
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            System.out.printf("%-6s %d requests: %d statements (%.2f per request), %d ms, L2 hits %d / misses %d, query cache hits %d%n",
+                    warm ? "warm" : "cold", REQUESTS, statistics.getPrepareStatementCount(),
+                    (double) statistics.getPrepareStatementCount() / REQUESTS, elapsedMs,
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                    statistics.getQueryCacheHitCount());
+        }
+    }
+
+    private List<ProjectMember> seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("User");
+            user.setLastName(String.valueOf(i));
+            user.setEmail("bench" + i + "@example.com");
+            user.setPassword("password");
+            users.add(userRepository.save(user));
+        }
+        List<ProjectMember> memberships = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setCreatedBy(users.get(random.nextInt(USERS)));
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            int firstMember = random.nextInt(USERS);
+            for (int m = 0; m < 10; m++) {
+                ProjectMember member = new ProjectMember();
+                member.setUser(users.get((firstMember + m) % USERS));
+                member.setProject(project);
+                member.setRole(ProjectRole.EDITOR);
+                memberships.add(projectMemberRepository.save(member));
+            }
+        }
+        return memberships;
+    }
+}
@@ -0,0 +1,192 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.model.CustomField;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: read-write cache regions only accept entries once the writing transaction is done.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=caffeine.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private CustomFieldRepository customFieldRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("cached@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Cached");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+
+            ProjectMember member = new ProjectMember();
+            member.setUser(user);
+            member.setProject(project);
+            member.setRole(ProjectRole.EDITOR);
+            projectMemberRepository.save(member);
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            customFieldRepository.deleteAllInBatch();
+            projectMemberRepository.deleteAll();
+            projectRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void findById_SecondLookup_ShouldNotHitDatabase() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        long statementsAfterWarmUp = statistics.getPrepareStatementCount();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                assertEquals("cached@example.com", userRepository.findById(user.getId()).orElseThrow().getEmail()));
+
+        // Then
+        assertEquals(statementsAfterWarmUp, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+    }
+
+    @Test
+    void findCurrentByProjectId_AfterFieldCreatedOnAnotherNode_ShouldSeeIt() {
+        // Given
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(customFieldRepository.findByProjectIdOrderById(project.getId()).isEmpty()));
+
+        // When
+        jdbcTemplate.update("INSERT INTO custom_fields (project_id, field_key, name, type, created_at) "
+                + "VALUES (?, 'team', 'Team', 'TEXT', ?)", project.getId(), LocalDateTime.now());
+
+        // Then
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(customFieldRepository.findByProjectIdOrderById(project.getId()).isEmpty());
+            assertEquals(List.of("team"), customFieldRepository.findCurrentByProjectId(project.getId()).stream()
+                    .map(CustomField::getKey)
+                    .toList());
+        });
+    }
+
+    @Test
+    void markDeleted_ShouldHideProjectLoadedBefore() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> projectRepository.findById(project.getId()).orElseThrow());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> projectRepository.markDeleted(project.getId(), LocalDateTime.now()));
+
+        // Then
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(projectRepository.findById(project.getId()).isEmpty());
+            projectMemberRepository.deleteAllInBatch();
+            assertTrue(projectRepository.purgeDeleted(project.getId()));
+        });
+    }
+
+    @Test
+    void findById_AfterDeleteOnAnotherNode_ShouldNotReturnTheProject() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> projectRepository.findById(project.getId()).orElseThrow());
+
+        // When
+        jdbcTemplate.update("UPDATE projects SET deleted_at = ? WHERE id = ?", LocalDateTime.now(), project.getId());
+
+        // Then
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(projectRepository.findById(project.getId()).isEmpty());
+            projectMemberRepository.deleteAllInBatch();
+            assertTrue(projectRepository.purgeDeleted(project.getId()));
+        });
+    }
+
+    @Test
+    void membershipQuery_ShouldBeCachedUntilMembershipsChange() {
+        // Given
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(projectMemberRepository.findByProjectIdAndUserId(project.getId(), user.getId()).isPresent()));
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(projectMemberRepository.findByProjectIdAndUserId(project.getId(), user.getId()).isPresent()));
+        long hitsBeforeChange = statistics.getQueryCacheHitCount();
+        transactionTemplate.executeWithoutResult(status -> projectMemberRepository.deleteAll());
+
+        // Then
+        assertEquals(1, hitsBeforeChange);
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(projectMemberRepository.findByProjectIdAndUserId(project.getId(), user.getId()).isEmpty()));
+    }
+}
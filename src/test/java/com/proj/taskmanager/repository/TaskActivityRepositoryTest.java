@@ -0,0 +1,57 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskActivity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskActivityRepositoryTest {
+
+    @Autowired
+    private TaskActivityRepository activityRepository;
+
+    @Test
+    void insertAll_ShouldBeReadableNewestFirstByTask() {
+        // Given
+        activityRepository.insertAll(List.of(
+                entry(100L, "CREATED", null, null),
+                entry(200L, "CREATED", null, null),
+                entry(100L, "UPDATED", "Old", "New"),
+                entry(100L, "DELETED", null, null)));
+
+        // When
+        List<TaskActivity> firstPage = activityRepository.findByTaskIdBefore(100L, Long.MAX_VALUE, PageRequest.ofSize(2));
+        List<TaskActivity> secondPage = activityRepository.findByTaskIdBefore(100L, firstPage.get(1).getId(), PageRequest.ofSize(2));
+
+        // Then
+        assertEquals(List.of("DELETED", "UPDATED"), firstPage.stream().map(TaskActivity::getAction).toList());
+        assertEquals("Old", firstPage.get(1).getOldValue());
+        assertEquals("New", firstPage.get(1).getNewValue());
+        assertEquals(List.of("CREATED"), secondPage.stream().map(TaskActivity::getAction).toList());
+    }
+
+    @Test
+    void findByProjectIdBefore_ShouldIncludeEveryTaskOfProject() {
+        // Given
+        activityRepository.insertAll(List.of(entry(100L, "CREATED", null, null), entry(200L, "CREATED", null, null)));
+
+        // When
+        List<TaskActivity> activity = activityRepository.findByProjectIdBefore(10L, Long.MAX_VALUE, PageRequest.ofSize(10));
+
+        // Then
+        assertEquals(List.of(200L, 100L), activity.stream().map(TaskActivity::getTaskId).toList());
+        assertEquals(List.of(10L), activityRepository.findProjectIdsByTaskId(200L, PageRequest.ofSize(1)));
+    }
+
+    private TaskActivity entry(Long taskId, String action, String oldValue, String newValue) {
+        String field = oldValue != null || newValue != null ? "title" : null;
+        return new TaskActivity(taskId, 10L, 1L, action, field, oldValue, newValue, LocalDateTime.now());
+    }
+}
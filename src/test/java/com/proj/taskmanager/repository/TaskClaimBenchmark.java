@@ -0,0 +1,182 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskClaimService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Claims per second on one project's 10k open tasks with 1 and 64 concurrent claimers, each claim in its own
+ * transaction doing what TaskService#claimNextTask does in the database: lock the next task skipping locked rows,
+ * assign it and queue its claim. A stamper runs alongside as it would on its schedule; the run ends once every
+ * claim is stamped. Fails if a task is handed out twice or a claim is not stamped exactly once.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TaskClaimBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjectVersionService.class, TaskCounterService.class, TaskClaimService.class})
+@TestPropertySource(properties = "task.claims.stamp-delay-ms=3600000")
+class TaskClaimBenchmark {
+    private static final int TASKS = 10_000;
+    private static final int[] CLAIMERS = {1, 64};
+    // task.claims.stamp-delay-ms
+    private static final long STAMP_DELAY_MS = 200;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void claim() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = transactionTemplate.execute(status -> seedUser());
+        Project project = transactionTemplate.execute(status -> seedProject(user));
+
+        for (int claimers : CLAIMERS) {
+            transactionTemplate.executeWithoutResult(status -> taskRepository.insertAll(newTasks(project, user)));
+            Set<Long> claimed = ConcurrentHashMap.newKeySet();
+            AtomicInteger duplicates = new AtomicInteger();
+
+            long versionBefore = projectVersionService.getVersion(project.getId());
+            AtomicBoolean claiming = new AtomicBoolean(true);
+            AtomicInteger stamped = new AtomicInteger();
+            ExecutorService stamper = Executors.newSingleThreadExecutor();
+            Future<?> stamping = stamper.submit(() -> {
+                while (claiming.get()) {
+                    stamped.addAndGet(taskClaimService.stampPending());
+                    Thread.sleep(STAMP_DELAY_MS);
+                }
+                stamped.addAndGet(taskClaimService.stampPending());
+                return null;
+            });
+
+            ExecutorService executor = Executors.newFixedThreadPool(claimers);
+            long started = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < claimers; i++) {
+                workers.add(executor.submit(() -> {
+                    Optional<Long> taskId;
+                    while ((taskId = transactionTemplate.execute(status -> claim(project.getId(), user.getId()))).isPresent()) {
+                        if (!claimed.add(taskId.get())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            long elapsedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+            claiming.set(false);
+            stamping.get();
+            long stampedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+            executor.shutdown();
+            stamper.shutdown();
+
+            assertEquals(0, duplicates.get());
+            assertEquals(TASKS, claimed.size());
+            assertEquals(TASKS, stamped.get());
+            assertEquals(versionBefore + TASKS, projectVersionService.getVersion(project.getId()));
+            System.out.printf("%2d claimers: %d tasks in %d ms (%.0f claims/s), all stamped after %d ms%n",
+                    claimers, TASKS, elapsedMs, TASKS * 1000.0 / elapsedMs, stampedMs);
+            jdbcTemplate.update("DELETE FROM tasks");
+        }
+    }
+
+    private Optional<Long> claim(Long projectId, Long userId) {
+        Optional<Long> taskId = taskRepository.lockNextClaimable(projectId);
+        taskId.ifPresent(id -> {
+            jdbcTemplate.update("UPDATE tasks SET assignee_id = ?, version = version + 1 WHERE id = ?", userId, id);
+            taskClaimService.recordClaim(projectId, id, userId);
+        });
+        return taskId;
+    }
+
+    private List<Task> newTasks(Project project, User user) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(TaskStatus.PENDING);
+            task.setPriority(priorities[random.nextInt(priorities.length)]);
+            task.setDueDate(random.nextInt(4) == 0 ? null : today.plusDays(random.nextInt(90)));
+            task.setProject(project);
+            task.setCreatedBy(user);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private User seedUser() {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail("claim-bench@example.com");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private Project seedProject(User user) {
+        Project project = new Project();
+        project.setName("Claims");
+        project.setCreatedBy(user);
+        project.setCreatedAt(LocalDateTime.now());
+        projectRepository.save(project);
+        projectVersionService.createForProject(project.getId());
+        return project;
+    }
+}
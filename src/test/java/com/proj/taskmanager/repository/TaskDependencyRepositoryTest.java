@@ -0,0 +1,52 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.TaskDependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskDependencyRepositoryTest {
+
+    @Autowired
+    private TaskDependencyRepository dependencyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new TaskDependency(10L, 1L, 2L));
+        entityManager.persist(new TaskDependency(10L, 2L, 3L));
+        entityManager.persist(new TaskDependency(20L, 7L, 8L));
+        entityManager.flush();
+    }
+
+    @Test
+    void findEdgesByProjectId_ShouldReturnOnlyThatProject() {
+        // When
+        List<TaskDependencyRepository.Edge> edges = dependencyRepository.findEdgesByProjectId(10L);
+
+        // Then
+        assertEquals(2, edges.size());
+        assertTrue(edges.contains(new TaskDependencyRepository.Edge(1L, 2L)));
+        assertTrue(edges.contains(new TaskDependencyRepository.Edge(2L, 3L)));
+    }
+
+    @Test
+    void deleteByTaskId_ShouldRemoveEdgesOnBothSides() {
+        // When
+        int deleted = dependencyRepository.deleteByTaskId(2L);
+
+        // Then
+        assertEquals(2, deleted);
+        assertTrue(dependencyRepository.findEdgesByProjectId(10L).isEmpty());
+        assertEquals(1, dependencyRepository.findEdgesByProjectId(20L).size());
+    }
+}
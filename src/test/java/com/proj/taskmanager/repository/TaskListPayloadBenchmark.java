@@ -0,0 +1,136 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bytes read from the database by a project's task list, with the lazy description left out, against reading
+ * whole rows as before. Bytes are counted as the text form of every column the list query returns.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TaskListPayloadBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.proj.taskmanager.repository.TaskListPayloadBenchmark$ListQueryCapture")
+class TaskListPayloadBenchmark {
+    private static final int TASKS = 5_000;
+    private static final int DESCRIPTION_LENGTH = 4_000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public static class ListQueryCapture implements StatementInspector {
+        static volatile String listSql;
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.replaceAll("\\s+", " ");
+            if (normalized.contains("from tasks ") && normalized.contains("join projects") && normalized.endsWith(".id=?")) {
+                listSql = normalized;
+            }
+            return sql;
+        }
+    }
+
+    @Test
+    void listProjectTasks() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long projectId = transactionTemplate.execute(status -> seed());
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.findByProjectId(projectId));
+        long lazyBytes = payloadBytes(ListQueryCapture.listSql, projectId);
+        long wholeRowBytes = payloadBytes("SELECT * FROM tasks WHERE project_id = ?", projectId);
+        System.out.printf("%d tasks, %d-char descriptions: list reads %d KB (%d bytes/task), whole rows %d KB (%d bytes/task)%n",
+                TASKS, DESCRIPTION_LENGTH, lazyBytes / 1024, lazyBytes / TASKS, wholeRowBytes / 1024, wholeRowBytes / TASKS);
+
+        // Descriptions read in bulk afterwards stand in for the eager load lists used to do
+        for (boolean withDescriptions : List.of(false, true, false, true)) {
+            long started = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Task> tasks = taskRepository.findByProjectId(projectId);
+                    if (withDescriptions) {
+                        taskRepository.findDetails(tasks.stream().map(Task::getId).toList());
+                    }
+                });
+            }
+            System.out.printf("%-20s %.1f ms per list%n", withDescriptions ? "with descriptions" : "lazy descriptions",
+                    (System.nanoTime() - started) / 1e6 / ROUNDS);
+        }
+    }
+
+    private long payloadBytes(String sql, Long projectId) {
+        long[] bytes = {0};
+        jdbcTemplate.query(sql, (ResultSet rs) -> {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                String value = rs.getString(i);
+                bytes[0] += value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+            }
+        }, projectId);
+        return bytes[0];
+    }
+
+    private Long seed() {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        user.setEmail("bench@example.com");
+        user.setPassword("password");
+        userRepository.save(user);
+
+        Project project = new Project();
+        project.setName("Project");
+        project.setCreatedBy(user);
+        project.setCreatedAt(LocalDateTime.now());
+        projectRepository.save(project);
+
+        String description = "x".repeat(DESCRIPTION_LENGTH);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription(description);
+            task.setProject(project);
+            task.setCreatedBy(user);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            task.setBoardRank("i" + i);
+            tasks.add(task);
+        }
+        taskRepository.insertAll(tasks);
+        return project.getId();
+    }
+}
@@ -0,0 +1,335 @@
+package com.proj.taskmanager.repository;
+
+import com.proj.taskmanager.dto.TaskExportRow;
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskDependency;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.service.search.TaskSearchDocument;
+import com.proj.taskmanager.service.task.TaskDetails;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+
+        project = new Project();
+        project.setName("Project");
+        project.setCreatedBy(user);
+        project.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(project);
+    }
+
+    @Test
+    void findSearchDocuments_ShouldPageById() {
+        // Given
+        Task first = persistTask("First", TaskStatus.PENDING, null);
+        Task second = persistTask("Second", TaskStatus.PENDING, null);
+        persistTask("Third", TaskStatus.PENDING, null);
+        entityManager.flush();
+
+        // When
+        List<TaskSearchDocument> page = taskRepository.findSearchDocuments(first.getId(), PageRequest.ofSize(1));
+
+        // Then
+        assertEquals(1, page.size());
+        assertEquals(second.getId(), page.get(0).taskId());
+        assertEquals(project.getId(), page.get(0).projectId());
+        assertEquals("Second", page.get(0).title());
+    }
+
+    @Test
+    void findOpenTasksDueBetween_ShouldOnlyReturnOpenTasksInWindow() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Task dueToday = persistTask("Due today", TaskStatus.PENDING, today);
+        Task dueSoon = persistTask("Due soon", TaskStatus.IN_PROGRESS, today.plusDays(3));
+        persistTask("Done", TaskStatus.COMPLETED, today.plusDays(1));
+        persistTask("Later", TaskStatus.PENDING, today.plusDays(30));
+        persistTask("No due date", TaskStatus.PENDING, null);
+        entityManager.flush();
+
+        // When
+        List<TaskDeadlineEvent.DueTask> due = taskRepository.findOpenTasksDueBetween(today, today.plusDays(7), 0L, PageRequest.ofSize(10));
+
+        // Then
+        assertEquals(List.of(dueToday.getId(), dueSoon.getId()), due.stream().map(TaskDeadlineEvent.DueTask::taskId).toList());
+        assertEquals(today.plusDays(3), due.get(1).dueDate());
+    }
+
+    @Test
+    void streamExportRows_ShouldStreamProjectTasksInIdOrderWithoutManagingEntities() {
+        // Given
+        Task assigned = persistTask("Assigned", TaskStatus.PENDING, null);
+        assigned.setAssignee(user);
+        Task unassigned = persistTask("Unassigned", TaskStatus.COMPLETED, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskExportRow> rows;
+        try (Stream<TaskExportRow> stream = taskRepository.streamExportRows(project.getId())) {
+            rows = stream.toList();
+        }
+
+        // Then
+        assertEquals(List.of(assigned.getId(), unassigned.getId()), rows.stream().map(TaskExportRow::id).toList());
+        assertEquals("john.doe@example.com", rows.get(0).assigneeEmail());
+        assertNull(rows.get(1).assigneeId());
+        assertEquals(user.getId(), rows.get(1).createdById());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void insertAll_ShouldBatchInsertAndAssignGeneratedIds() {
+        // Given
+        List<Task> tasks = List.of(newTask("Imported one", null), newTask("Imported two", LocalDate.now()));
+        tasks.get(1).setAssignee(user);
+
+        // When
+        taskRepository.insertAll(tasks);
+        entityManager.clear();
+
+        // Then
+        assertNotNull(tasks.get(0).getId());
+        assertTrue(tasks.get(1).getId() > tasks.get(0).getId());
+        Task stored = taskRepository.findById(tasks.get(1).getId()).orElseThrow();
+        assertEquals("Imported two", stored.getTitle());
+        assertEquals(user.getId(), stored.getAssignee().getId());
+        assertEquals(0L, stored.getVersion());
+    }
+
+    @Test
+    void findChangedSince_ShouldPageBySyncVersionThenId() {
+        // Given
+        Task old = persistTask("Old", TaskStatus.PENDING, null);
+        old.setSyncVersion(1L);
+        Task first = persistTask("First", TaskStatus.PENDING, null);
+        first.setSyncVersion(4L);
+        Task second = persistTask("Second", TaskStatus.PENDING, null);
+        second.setSyncVersion(4L);
+        Task third = persistTask("Third", TaskStatus.PENDING, null);
+        third.setSyncVersion(9L);
+        entityManager.flush();
+
+        // When
+        List<Task> page = taskRepository.findChangedSince(project.getId(), 4L, first.getId(), PageRequest.ofSize(10));
+
+        // Then
+        assertEquals(List.of(second.getId(), third.getId()), page.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void findBoardColumn_ShouldListColumnByRankAndFindNeighbours() {
+        // Given
+        Task bottom = persistTask("Bottom", TaskStatus.PENDING, null);
+        bottom.setBoardRank("i2");
+        Task top = persistTask("Top", TaskStatus.PENDING, null);
+        top.setBoardRank("i0");
+        Task middle = persistTask("Middle", TaskStatus.PENDING, null);
+        middle.setBoardRank("i1");
+        persistTask("Elsewhere", TaskStatus.COMPLETED, null).setBoardRank("i0i");
+        entityManager.flush();
+
+        // When
+        List<Task> firstPage = taskRepository.findBoardColumn(project.getId(), TaskStatus.PENDING, "", 0L, PageRequest.ofSize(2));
+        List<Task> secondPage = taskRepository.findBoardColumn(project.getId(), TaskStatus.PENDING, middle.getBoardRank(),
+                middle.getId(), PageRequest.ofSize(2));
+        List<String> aboveBottom = taskRepository.findBoardRanksBefore(project.getId(), TaskStatus.PENDING, "i2", bottom.getId(),
+                middle.getId(), PageRequest.ofSize(1));
+        List<String> last = taskRepository.findLastBoardRanks(project.getId(), TaskStatus.PENDING, 0L, PageRequest.ofSize(1));
+
+        // Then
+        assertEquals(List.of(top.getId(), middle.getId()), firstPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(bottom.getId()), secondPage.stream().map(Task::getId).toList());
+        assertEquals(List.of("i0"), aboveBottom);
+        assertEquals(List.of("i2"), last);
+    }
+
+    @Test
+    void findBoard_ShouldReturnTopOfEachColumnWithColumnTotals() {
+        // Given
+        Task second = persistTask("Second", TaskStatus.PENDING, null);
+        second.setBoardRank("i1");
+        Task first = persistTask("First", TaskStatus.PENDING, null);
+        first.setBoardRank("i0");
+        persistTask("Third", TaskStatus.PENDING, null).setBoardRank("i2");
+        Task done = persistTask("Done", TaskStatus.COMPLETED, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskRepositoryCustom.BoardRow> board = taskRepository.findBoard(project.getId(), 2);
+
+        // Then
+        assertEquals(List.of(done.getId(), first.getId(), second.getId()),
+                board.stream().map(row -> row.task().getId()).toList());
+        assertEquals(List.of(1L, 3L, 3L), board.stream().map(TaskRepositoryCustom.BoardRow::columnTotal).toList());
+        assertEquals("John", board.get(1).task().getCreatedBy().getFirstName());
+    }
+
+    @Test
+    void findAssigned_ShouldPageByDueDateAcrossVisibleProjectsOnly() {
+        // Given
+        LocalDate today = LocalDate.now();
+        User other = new User();
+        other.setFirstName("Jane");
+        other.setLastName("Roe");
+        other.setEmail("jane.roe@example.com");
+        other.setPassword("password");
+        entityManager.persist(other);
+        Project foreign = new Project();
+        foreign.setName("Not mine any more");
+        foreign.setCreatedBy(other);
+        foreign.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(foreign);
+
+        Task later = persistTask("Later", TaskStatus.PENDING, today.plusDays(2));
+        later.setAssignee(user);
+        Task sooner = persistTask("Sooner", TaskStatus.PENDING, today);
+        sooner.setAssignee(user);
+        Task sameDay = persistTask("Same day", TaskStatus.IN_PROGRESS, today);
+        sameDay.setAssignee(user);
+        Task undated = persistTask("Undated", TaskStatus.PENDING, null);
+        undated.setAssignee(user);
+        persistTask("Someone else's", TaskStatus.PENDING, today).setAssignee(other);
+        Task hidden = persistTask("In a project I left", TaskStatus.PENDING, today);
+        hidden.setProject(foreign);
+        hidden.setAssignee(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Task> firstPage = taskRepository.findAssignedDueAfter(user.getId(), LocalDate.of(1, 1, 1), 0L, PageRequest.ofSize(2));
+        List<Task> secondPage = taskRepository.findAssignedDueAfter(user.getId(), today, sameDay.getId(), PageRequest.ofSize(2));
+        List<Task> undatedPage = taskRepository.findAssignedUndatedAfter(user.getId(), 0L, PageRequest.ofSize(2));
+
+        // Then
+        assertEquals(List.of(sooner.getId(), sameDay.getId()), firstPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(later.getId()), secondPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(undated.getId()), undatedPage.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void findByProjectId_ShouldLeaveDescriptionUnloadedUntilRead() {
+        // Given
+        Task task = persistTask("Task", TaskStatus.PENDING, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Task loaded = taskRepository.findByProjectId(project.getId()).get(0);
+
+        // Then
+        assertFalse(Hibernate.isPropertyInitialized(loaded, "description"));
+        assertEquals("Description", loaded.getDescription());
+        assertEquals(List.of(new TaskDetails(task.getId(), "Description", null)), taskRepository.findDetails(List.of(task.getId())));
+    }
+
+    @Test
+    void update_ShouldOnlyWriteChangedColumns() {
+        // Given
+        Task task = persistTask("Task", TaskStatus.PENDING, null);
+        entityManager.flush();
+        entityManager.clear();
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Description", loaded.getDescription());
+        // Someone else edits the description after this task was read
+        entityManager.getEntityManager().createNativeQuery("UPDATE tasks SET description = 'Edited elsewhere' WHERE id = :id")
+                .setParameter("id", task.getId())
+                .executeUpdate();
+
+        // When
+        loaded.setStatus(TaskStatus.IN_PROGRESS);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Task reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, reloaded.getStatus());
+        assertEquals("Edited elsewhere", reloaded.getDescription());
+    }
+
+    @Test
+    void lockNextClaimable_ShouldPickMostUrgentUnassignedUnblockedTask() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Task undatedUrgent = persistTask("Undated urgent", TaskStatus.PENDING, null);
+        undatedUrgent.setPriority(TaskPriority.URGENT);
+        Task dueLaterUrgent = persistTask("Due later, urgent", TaskStatus.PENDING, today.plusDays(5));
+        dueLaterUrgent.setPriority(TaskPriority.URGENT);
+        Task blocked = persistTask("Blocked", TaskStatus.PENDING, today);
+        blocked.setPriority(TaskPriority.URGENT);
+        persistTask("Low", TaskStatus.PENDING, today).setPriority(TaskPriority.LOW);
+        persistTask("Taken", TaskStatus.PENDING, today).setAssignee(user);
+        persistTask("Started", TaskStatus.IN_PROGRESS, today).setPriority(TaskPriority.URGENT);
+        Task blocker = persistTask("Blocker", TaskStatus.IN_PROGRESS, null);
+        Task finishedBlocker = persistTask("Finished blocker", TaskStatus.COMPLETED, null);
+        entityManager.persist(new TaskDependency(project.getId(), blocker.getId(), blocked.getId()));
+        entityManager.persist(new TaskDependency(project.getId(), finishedBlocker.getId(), dueLaterUrgent.getId()));
+        entityManager.flush();
+
+        // When
+        Optional<Long> first = taskRepository.lockNextClaimable(project.getId());
+        dueLaterUrgent.setAssignee(user);
+        entityManager.flush();
+        Optional<Long> second = taskRepository.lockNextClaimable(project.getId());
+
+        // Then
+        assertEquals(Optional.of(dueLaterUrgent.getId()), first);
+        assertEquals(Optional.of(undatedUrgent.getId()), second);
+    }
+
+    private Task persistTask(String title, TaskStatus status, LocalDate dueDate) {
+        Task task = newTask(title, dueDate);
+        task.setStatus(status);
+        return entityManager.persist(task);
+    }
+
+    private Task newTask(String title, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description");
+        task.setDueDate(dueDate);
+        task.setProject(project);
+        task.setCreatedBy(user);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return task;
+    }
+}
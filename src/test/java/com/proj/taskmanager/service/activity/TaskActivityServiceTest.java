@@ -0,0 +1,133 @@
+package com.proj.taskmanager.service.activity;
+
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskActivity;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskActivityRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class TaskActivityServiceTest {
+
+    @Mock
+    private TaskActivityRepository activityRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<TaskActivity>> batches = Collections.synchronizedList(new ArrayList<>());
+    private TaskActivityService service;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0))))
+                .when(activityRepository).insertAll(anyList());
+
+        Project project = new Project();
+        project.setId(10L);
+        task = new Task();
+        task.setId(100L);
+        task.setTitle("Title");
+        task.setProject(project);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void onTaskEvent_ShouldWriteOneRowPerChangedField() throws InterruptedException {
+        // Given
+        service = newService(100, 2, 10);
+        Map<String, String> before = TaskFieldChange.fieldsOf(task, true);
+        task.setTitle("Renamed");
+        task.setDescription("Added");
+
+        // When
+        service.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, task, 1L, TaskFieldChange.between(before, TaskFieldChange.fieldsOf(task, true))));
+        service.stop();
+        service = null;
+
+        // Then
+        List<TaskActivity> rows = batches.stream().flatMap(List::stream).toList();
+        assertEquals(List.of("title", "description"), rows.stream().map(TaskActivity::getField).toList());
+        assertEquals("Title", rows.get(0).getOldValue());
+        assertEquals("Renamed", rows.get(0).getNewValue());
+        assertEquals(1L, rows.get(1).getActorId());
+    }
+
+    @Test
+    void stop_ShouldFlushQueuedRowsInBatches() throws InterruptedException {
+        // Given
+        service = newService(100, 10, 10);
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            service.onTaskEvent(TaskEvent.of(TaskEvent.Type.CREATED, task, 1L));
+        }
+        service.stop();
+        service = null;
+
+        // Then
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+    }
+
+    @Test
+    void onTaskEvent_WhenStopped_ShouldWriteOnCallerThread() throws InterruptedException {
+        // Given
+        service = newService(1, 10, 10);
+        service.stop();
+
+        // When
+        service.onTaskEvent(TaskEvent.of(TaskEvent.Type.DELETED, task, 1L));
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals("DELETED", batches.get(0).get(0).getAction());
+        assertNull(batches.get(0).get(0).getField());
+    }
+
+    private TaskActivityService newService(int queueCapacity, int batchSize, long flushIntervalMs) {
+        TaskActivityService created = new TaskActivityService(activityRepository, taskRepository,
+                new ProjectAccessService(projectRepository, projectMemberRepository), transactionManager, new SimpleMeterRegistry(),
+                queueCapacity, batchSize, flushIntervalMs, 10);
+        created.start();
+        return created;
+    }
+}
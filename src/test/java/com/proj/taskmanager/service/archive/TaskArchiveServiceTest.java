@@ -0,0 +1,154 @@
+package com.proj.taskmanager.service.archive;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ArchivedTaskRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import com.proj.taskmanager.service.task.TaskTombstoneService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: the archiver works in its own transactions, one per batch.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskArchiveService.class, ProjectVersionService.class, TaskTombstoneService.class, TaskCounterService.class, ProjectAccessService.class})
+class TaskArchiveServiceTest {
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Project project;
+    private Task done;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("archive@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Releases");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+
+            done = new Task();
+            done.setTitle("Ship 1.0");
+            done.setStatus(TaskStatus.COMPLETED);
+            done.setProject(project);
+            done.setCreatedBy(user);
+            done.setCreatedAt(LocalDateTime.now().minusDays(200));
+            done.setUpdatedAt(LocalDateTime.now().minusDays(100));
+            taskRepository.save(done);
+            taskCounterService.createForProject(project.getId());
+            taskCounterService.reconcile(project.getId());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        jdbcTemplate.update("DELETE FROM archived_tasks");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM project_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void archiveFinishedTasks_AfterRestore_ShouldLeaveTheRestoredTaskLive() {
+        // Given
+        assertEquals(1, taskArchiveService.archiveFinishedTasks());
+        assertTrue(archivedTaskRepository.existsById(done.getId()));
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(taskArchiveService.restore(done.getId(), user.getId(), "update").isPresent()));
+
+        // When
+        int archived = taskArchiveService.archiveFinishedTasks();
+
+        // Then
+        assertEquals(0, archived);
+        assertFalse(archivedTaskRepository.existsById(done.getId()));
+        Task restored = taskRepository.findById(done.getId()).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, restored.getStatus());
+        assertTrue(restored.getUpdatedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+        assertEquals(1, taskCounterService.getCounters(project.getId()).completed());
+    }
+
+    @Test
+    void restore_ByUserOutsideTheProject_ShouldLeaveTheTaskArchivedWithoutTouchingTheProject() {
+        // Given
+        taskArchiveService.archiveFinishedTasks();
+        long version = projectVersionService.getVersion(project.getId());
+        User outsider = new User();
+        outsider.setFirstName("Eve");
+        outsider.setLastName("Doe");
+        outsider.setEmail("outsider@example.com");
+        outsider.setPassword("password");
+        userRepository.save(outsider);
+
+        // When
+        boolean restored = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                taskArchiveService.restore(done.getId(), outsider.getId(), "update").isPresent()));
+
+        // Then
+        assertFalse(restored);
+        assertTrue(archivedTaskRepository.existsById(done.getId()));
+        assertEquals(version, projectVersionService.getVersion(project.getId()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.proj.taskmanager.service.attachment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private AttachmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttachmentStore(dir.toString(), DataSize.ofBytes(16));
+    }
+
+    @Test
+    void store_SameContentTwice_ShouldKeepOneBlobNamedByItsHash() throws Exception {
+        // When
+        AttachmentStore.StoredBlob first = store.store(stream("hello world"));
+        AttachmentStore.StoredBlob second = store.store(stream("hello world"));
+
+        // Then
+        assertEquals("b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9", first.sha256());
+        assertEquals(first, second);
+        assertEquals(11, first.size());
+        assertTrue(store.exists(first.sha256()));
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void store_TooLarge_ShouldThrowAndLeaveNothingBehind() throws Exception {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> store.store(stream("more than sixteen bytes")));
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void transferTo_ShouldWriteRequestedRange() throws Exception {
+        // Given
+        String sha256 = store.store(stream("0123456789")).sha256();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        store.transferTo(sha256, 3, 4, output);
+
+        // Then
+        assertEquals("3456", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void deleteIfUnchangedSince_StoredAgainAfterCutoff_ShouldKeepBlob() throws Exception {
+        // Given
+        String sha256 = store.store(stream("abc")).sha256();
+        Instant cutoff = Instant.now().minusSeconds(60);
+        List<String> old = new ArrayList<>();
+
+        // When
+        store.forEachBlobOlderThan(Instant.now().plusSeconds(60), old::add);
+        boolean deleted = store.deleteIfUnchangedSince(sha256, cutoff);
+
+        // Then
+        assertEquals(List.of(sha256), old);
+        assertFalse(deleted);
+        assertTrue(store.deleteIfUnchangedSince(sha256, Instant.now().plusSeconds(60)));
+        assertFalse(store.exists(sha256));
+    }
+
+    @Test
+    void byteRange_ShouldResolveAgainstContentSize() {
+        // When & Then
+        assertNull(ByteRange.of(null, 10));
+        assertEquals(new ByteRange(2, 9), ByteRange.of("bytes=2-", 10));
+        assertEquals(new ByteRange(7, 9), ByteRange.of("bytes=-3", 10));
+        assertEquals(new ByteRange(0, 9), ByteRange.of("bytes=0-100", 10));
+        assertNull(ByteRange.of("bytes=0-1,4-5", 10));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.of("bytes=10-", 10));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.of("lines=1-2", 10));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,202 @@
+package com.proj.taskmanager.service.attachment;
+
+import com.proj.taskmanager.dto.TaskAttachmentDto;
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskAttachment;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskAttachmentRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: uploads insert their metadata in their own transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskAttachmentService.class, AttachmentStore.class, ProjectAccessService.class})
+class TaskAttachmentServiceTest {
+    private static final Path DIR = createTempDir();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("task.attachments.dir", DIR::toString);
+        registry.add("task.attachments.gc-grace-minutes", () -> "0");
+    }
+
+    @Autowired
+    private TaskAttachmentService taskAttachmentService;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private User viewer;
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            owner = saveUser("owner@example.com");
+            viewer = saveUser("viewer@example.com");
+
+            Project project = new Project();
+            project.setName("Design");
+            project.setCreatedBy(owner);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+
+            ProjectMember member = new ProjectMember();
+            member.setUser(viewer);
+            member.setProject(project);
+            member.setRole(ProjectRole.VIEWER);
+            projectMemberRepository.save(member);
+
+            first = saveTask(project, "Mockups");
+            second = saveTask(project, "Review");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_attachments");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_members");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        taskAttachmentService.collectGarbage();
+    }
+
+    @Test
+    void upload_SameFileOnTwoTasks_ShouldShareOneBlob() throws IOException {
+        // When
+        TaskAttachmentDto a = upload(first, "mockup.png", "image/png", "pixels");
+        TaskAttachmentDto b = upload(second, "C:\\Users\\me\\copy.png", null, "pixels");
+
+        // Then
+        assertEquals(a.sha256(), b.sha256());
+        assertEquals("copy.png", b.filename());
+        assertEquals("application/octet-stream", b.contentType());
+        assertEquals(6, b.size());
+        assertEquals(1, taskAttachmentService.getAttachments(viewer.getId(), first.getId()).size());
+
+        TaskAttachment attachment = taskAttachmentService.getAttachmentForDownload(viewer.getId(), a.id());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        taskAttachmentService.writeContent(attachment, 1, 3, output);
+        assertEquals("ixe", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void upload_ByViewer_ShouldBeRejectedBeforeReadingTheBody() {
+        // Given
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskAttachmentService.upload(viewer.getId(), first.getId(),
+                "file.bin", null, 3, body));
+        assertEquals(3, body.available());
+        assertEquals(0, attachmentRepository.count());
+    }
+
+    @Test
+    void collectGarbage_ShouldDeleteOnlyUnreferencedBlobs() throws IOException {
+        // Given
+        TaskAttachmentDto kept = upload(first, "kept.txt", "text/plain", "kept");
+        TaskAttachmentDto shared = upload(first, "shared.txt", "text/plain", "shared");
+        upload(second, "shared-copy.txt", "text/plain", "shared");
+        TaskAttachmentDto dropped = upload(second, "dropped.txt", "text/plain", "dropped");
+        taskAttachmentService.deleteAttachment(owner.getId(), shared.id());
+        taskAttachmentService.deleteAttachment(owner.getId(), dropped.id());
+
+        // When
+        int deleted = taskAttachmentService.collectGarbage();
+
+        // Then
+        assertEquals(1, deleted);
+        assertThrows(RuntimeException.class, () -> taskAttachmentService.getAttachmentForDownload(owner.getId(), dropped.id()));
+        assertNotNull(taskAttachmentService.getAttachmentForDownload(owner.getId(), kept.id()));
+        assertEquals(2, attachmentRepository.count());
+    }
+
+    private TaskAttachmentDto upload(Task task, String filename, String contentType, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return taskAttachmentService.upload(owner.getId(), task.getId(), filename, contentType, bytes.length,
+                new ByteArrayInputStream(bytes));
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail(email);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private Task saveTask(Project project, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        task.setProject(project);
+        task.setCreatedBy(owner);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return taskRepository.save(task);
+    }
+
+    private static Path createTempDir() {
+        try {
+            return Files.createTempDirectory("task-attachments-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.proj.taskmanager.service.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankKeyTest {
+
+    @Test
+    void between_ShouldReturnKeyStrictlyBetweenBounds() {
+        // When & Then
+        assertEquals("i0", RankKey.between(null, null));
+        assertEquals("i1", RankKey.between("i0", null));
+        assertEquals("hz", RankKey.between(null, "i0"));
+        assertBetween("i0", "i1", RankKey.between("i0", "i1"));
+        assertBetween("i0", "i0i", RankKey.between("i0", "i0i"));
+        assertBetween("i0z", "i1", RankKey.between("i0z", "i1"));
+        assertBetween("hz", "i0", RankKey.between("hz", "i0"));
+    }
+
+    @Test
+    void between_AppendingAndPrepending_ShouldGrowKeysLogarithmically() {
+        // Given
+        String last = null;
+        String first = null;
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            String next = RankKey.between(last, null);
+            assertTrue(last == null || last.compareTo(next) < 0);
+            last = next;
+            String previous = RankKey.between(null, first);
+            assertTrue(first == null || previous.compareTo(first) < 0);
+            first = previous;
+        }
+
+        // Then
+        assertTrue(last.length() <= 5, last);
+        assertTrue(first.length() <= 5, first);
+    }
+
+    @Test
+    void between_RandomInsertions_ShouldKeepOrderAndValidKeys() {
+        // Given
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(RankKey.between(null, null)));
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position > 0 ? keys.get(position - 1) : null;
+            String upper = position < keys.size() ? keys.get(position) : null;
+            keys.add(position, RankKey.between(lower, upper));
+        }
+
+        // Then
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(RankKey.isValid(keys.get(i)), keys.get(i));
+            if (i > 0) {
+                assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0, keys.get(i - 1) + " >= " + keys.get(i));
+            }
+        }
+    }
+
+    @Test
+    void between_SameGapRepeatedly_ShouldGrowAboutOneCharacterPerFiveInserts() {
+        // Given
+        String lower = "i0";
+        String upper = "i1";
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            upper = RankKey.between(lower, upper);
+        }
+
+        // Then
+        assertBetween("i0", "i1", upper);
+        assertTrue(upper.length() <= 2 + 100 / 4, upper);
+    }
+
+    @Test
+    void between_InvalidBounds_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("i1", "i0"));
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("i1", "i1"));
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("i10", null));
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("I0", null));
+        assertFalse(RankKey.isValid("j0"));
+    }
+
+    private static void assertBetween(String lower, String upper, String key) {
+        assertTrue(lower.compareTo(key) < 0 && key.compareTo(upper) < 0, key + " is not between " + lower + " and " + upper);
+        assertTrue(RankKey.isValid(key), key);
+    }
+}
@@ -0,0 +1,208 @@
+package com.proj.taskmanager.service.customfield;
+
+import com.proj.taskmanager.dto.CustomFieldDto;
+import com.proj.taskmanager.enums.CustomFieldType;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.TaskFieldValueRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.request.project.CreateCustomFieldReq;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CustomFieldService.class, ProjectVersionService.class, ProjectAccessService.class})
+class CustomFieldServiceTest {
+
+    @Autowired
+    private CustomFieldService customFieldService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskFieldValueRepository valueRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private Project project;
+    private CustomFieldDto points;
+    private CustomFieldDto component;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setFirstName("John");
+        owner.setLastName("Doe");
+        owner.setEmail("john.doe@example.com");
+        owner.setPassword("password");
+        entityManager.persist(owner);
+
+        project = new Project();
+        project.setName("Project");
+        project.setCreatedBy(owner);
+        project.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(project);
+
+        points = customFieldService.createField(owner.getId(), project.getId(),
+                new CreateCustomFieldReq("Story_Points", "Story points", CustomFieldType.NUMBER, null));
+        component = customFieldService.createField(owner.getId(), project.getId(),
+                new CreateCustomFieldReq("component", "Component", CustomFieldType.SELECT, List.of("api", "ui")));
+    }
+
+    @Test
+    void createField_WithTakenKey_ShouldThrowAlreadyExists() {
+        // When & Then
+        assertEquals("story_points", points.key());
+        assertThrows(AlreadyExistsException.class, () -> customFieldService.createField(owner.getId(), project.getId(),
+                new CreateCustomFieldReq("story_points", "Points", CustomFieldType.TEXT, null)));
+    }
+
+    @Test
+    void update_ShouldStoreValuesByFieldIdAndRenderThemByKey() {
+        // Given
+        Task task = persistTask("Task");
+
+        // When
+        CustomFieldService.Update update = setValues(task, Map.of("story_points", 5, "component", "api"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(Map.of(points.id().toString(), 5, component.id().toString(), "api"), loaded.getCustomFields());
+        assertEquals(Map.of("story_points", 5, "component", "api"),
+                CustomFieldService.render(customFieldService.getDefinitions(project.getId()), loaded.getCustomFields()));
+        assertEquals(List.of("customFields.component", "customFields.story_points"),
+                update.changes().stream().map(TaskFieldChange::field).toList());
+        assertEquals(2, valueRepository.findByTaskId(task.getId()).size());
+    }
+
+    @Test
+    void update_ClearingAndRepeatingValues_ShouldOnlyReportRealChanges() {
+        // Given
+        Task task = persistTask("Task");
+        setValues(task, Map.of("story_points", 5, "component", "api"));
+        Map<String, Object> values = new HashMap<>();
+        values.put("story_points", 5.0);
+        values.put("component", null);
+
+        // When
+        CustomFieldService.Update update = setValues(task, values);
+
+        // Then
+        assertEquals(Map.of(points.id().toString(), 5L), update.values());
+        assertEquals(1, update.changes().size());
+        assertNull(update.changes().get(0).newValue());
+        assertEquals(1, valueRepository.findByTaskId(task.getId()).size());
+    }
+
+    @Test
+    void update_WithInvalidValue_ShouldThrow() {
+        // Given
+        Task task = persistTask("Task");
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> setValues(task, Map.of("story_points", "five")));
+        assertThrows(RuntimeException.class, () -> setValues(task, Map.of("component", "backend")));
+        assertThrows(RuntimeException.class, () -> setValues(task, Map.of("unknown", 1)));
+    }
+
+    @Test
+    void find_SortedByField_ShouldListTasksWithoutValueLastAcrossPages() {
+        // Given
+        Task three = persistTask("Three");
+        Task eight = persistTask("Eight");
+        Task none = persistTask("None");
+        Task five = persistTask("Five");
+        setValues(three, Map.of("story_points", 3, "component", "api"));
+        setValues(eight, Map.of("story_points", 8, "component", "ui"));
+        setValues(five, Map.of("story_points", 5, "component", "api"));
+        setValues(none, Map.of("component", "api"));
+        entityManager.flush();
+
+        // When
+        CustomFieldService.Page first = customFieldService.find(project.getId(), null, "-story_points", null, 2);
+        CustomFieldService.Page second = customFieldService.find(project.getId(), null, "-story_points", first.nextCursor(), 2);
+
+        // Then
+        assertEquals(List.of(eight.getId(), five.getId()), first.taskIds());
+        assertEquals(List.of(three.getId(), none.getId()), second.taskIds());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void find_WithFilters_ShouldOnlyMatchTasksHavingMatchingValues() {
+        // Given
+        Task three = persistTask("Three");
+        Task eight = persistTask("Eight");
+        Task none = persistTask("None");
+        setValues(three, Map.of("story_points", 3, "component", "api"));
+        setValues(eight, Map.of("story_points", 8, "component", "api"));
+        setValues(none, Map.of("component", "api"));
+        entityManager.flush();
+
+        // When
+        CustomFieldService.Page atLeastFour = customFieldService.find(project.getId(),
+                List.of("story_points>=4", "component=api"), null, null, 10);
+        CustomFieldService.Page notEight = customFieldService.find(project.getId(), List.of("story_points!=8"), "story_points", null, 10);
+
+        // Then
+        assertEquals(List.of(eight.getId()), atLeastFour.taskIds());
+        assertEquals(List.of(three.getId()), notEight.taskIds());
+        assertThrows(RuntimeException.class, () -> customFieldService.find(project.getId(), List.of("story_points~3"), null, null, 10));
+    }
+
+    @Test
+    void deleteField_ShouldDropItsValuesFromRenderingAndFilters() {
+        // Given
+        Task task = persistTask("Task");
+        setValues(task, Map.of("story_points", 5, "component", "api"));
+        entityManager.flush();
+
+        // When
+        customFieldService.deleteField(owner.getId(), project.getId(), points.id());
+
+        // Then
+        assertEquals(Map.of("component", "api"),
+                CustomFieldService.render(customFieldService.getDefinitions(project.getId()), task.getCustomFields()));
+        assertEquals(1, valueRepository.findByTaskId(task.getId()).size());
+        assertThrows(RuntimeException.class, () -> customFieldService.find(project.getId(), List.of("story_points>1"), null, null, 10));
+    }
+
+    private CustomFieldService.Update setValues(Task task, Map<String, Object> values) {
+        CustomFieldService.Update update = customFieldService.update(project.getId(), task.getId(), task.getCustomFields(), values);
+        task.setCustomFields(update.values());
+        return update;
+    }
+
+    private Task persistTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        task.setProject(project);
+        task.setCreatedBy(owner);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(task);
+    }
+}
@@ -0,0 +1,79 @@
+package com.proj.taskmanager.service.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void add_DeadlineAlreadyReached_ShouldBeRejectedAsExpired() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1000);
+
+        assertFalse(wheel.add(1000, "now"));
+        assertFalse(wheel.add(500, "past"));
+        assertTrue(wheel.add(1001, "next tick"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advanceClock_ShouldExpireEntriesWhenDeadlineReached() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.add(25, "a");
+        wheel.add(40, "b");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advanceClock(29, entry -> expired.add(entry.value()));
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceClock(30, entry -> expired.add(entry.value()));
+        assertEquals(List.of("a"), expired);
+
+        wheel.advanceClock(40, entry -> expired.add(entry.value()));
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceClock_ShouldCascadeFromOverflowLevels() {
+        // Level 0 spans 80 ms, level 1 spans 640 ms, level 2 spans 5120 ms
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        long[] deadlines = {15, 95, 333, 700, 4999, 12345};
+        for (long deadline : deadlines) {
+            assertTrue(wheel.add(deadline, deadline));
+        }
+        assertTrue(wheel.levels() >= 3);
+
+        List<long[]> fired = new ArrayList<>();
+        for (long now = 0; now <= 13000; now += 7) {
+            long current = now;
+            wheel.advanceClock(now, entry -> fired.add(new long[]{entry.value(), current}));
+        }
+
+        assertEquals(deadlines.length, fired.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            long deadline = fired.get(i)[0];
+            long firedAt = fired.get(i)[1];
+            assertEquals(deadlines[i], deadline);
+            assertTrue(firedAt >= deadline, "fired before its deadline: " + deadline);
+            assertTrue(firedAt - deadline < 10 + 7, "fired too late: " + deadline + " at " + firedAt);
+        }
+    }
+
+    @Test
+    void advanceClock_LargeJump_ShouldFireEverythingDue() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 16, 0);
+        for (int i = 1; i <= 1000; i++) {
+            wheel.add(i * 3L, i);
+        }
+        List<Integer> expired = new ArrayList<>();
+
+        wheel.advanceClock(1500, entry -> expired.add(entry.value()));
+
+        assertEquals(500, expired.size());
+        assertEquals(500, wheel.size());
+    }
+}
@@ -0,0 +1,171 @@
+package com.proj.taskmanager.service.deadline;
+
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.ProjectVersion;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDeadlineSchedulerTest {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private ProjectVersionRepository projectVersionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ShiftedClock clock = new ShiftedClock();
+    private TaskDeadlineScheduler scheduler;
+    private TaskDeadlineEvent.DueTask dueTask;
+    private long reminderAt;
+
+    @BeforeEach
+    void setUp() {
+        // A task due the day after tomorrow, reminded an hour before the end of that day
+        LocalDate dueDate = LocalDate.now(ZONE).plusDays(2);
+        reminderAt = dueDate.plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli() - Duration.ofHours(1).toMillis();
+        dueTask = new TaskDeadlineEvent.DueTask(100L, 10L, dueDate);
+        when(taskRepository.findOpenTasksDueBetween(any(), any(), anyLong(), any())).thenReturn(List.of(dueTask));
+        scheduler = new TaskDeadlineScheduler(taskRepository, taskTombstoneRepository, projectVersionRepository,
+                eventPublisher, new SimpleMeterRegistry(), 10, 64, 7, 1, 500, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void start_ShouldFireReminderAndThenOverdueForTaskLoadedFromHorizon() {
+        // Given
+        when(taskRepository.findOpenDueTasks(List.of(100L))).thenReturn(List.of(dueTask));
+
+        // When
+        startShortlyBeforeReminder();
+
+        // Then
+        verify(eventPublisher, timeout(3000))
+                .publishEvent(new TaskDeadlineEvent(TaskDeadlineEvent.Kind.REMINDER, List.of(dueTask)));
+        verify(eventPublisher, never())
+                .publishEvent(new TaskDeadlineEvent(TaskDeadlineEvent.Kind.OVERDUE, List.of(dueTask)));
+
+        // When
+        clock.shiftTo(clock.millis() + Duration.ofHours(1).toMillis());
+
+        // Then
+        verify(eventPublisher, timeout(2000))
+                .publishEvent(new TaskDeadlineEvent(TaskDeadlineEvent.Kind.OVERDUE, List.of(dueTask)));
+    }
+
+    @Test
+    void onTaskEvent_TaskDeletedBeforeReminder_ShouldCancelIt() {
+        // Given
+        startShortlyBeforeReminder();
+
+        // When
+        scheduler.onTaskEvent(new TaskEvent(TaskEvent.Type.DELETED, 100L, 10L, 1L, null, List.of()));
+
+        // Then
+        verify(eventPublisher, after(2000).never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void syncWithProjectVersions_ChangesOnAnotherNode_ShouldFollowThem() {
+        // Given
+        TaskDeadlineEvent.DueTask createdTask = new TaskDeadlineEvent.DueTask(200L, 10L, dueTask.dueDate());
+        when(projectVersionRepository.findAll()).thenReturn(List.of(), List.of(new ProjectVersion(10L, 5)));
+        when(taskRepository.findDueDatesChangedSince(eq(10L), eq(0L), eq(Long.MAX_VALUE), any())).thenReturn(List.of(
+                new TaskDueDateChange(100L, 10L, 4, dueTask.dueDate(), TaskStatus.COMPLETED),
+                new TaskDueDateChange(200L, 10L, 5, dueTask.dueDate(), TaskStatus.PENDING)));
+        when(taskRepository.findOpenDueTasks(List.of(200L))).thenReturn(List.of(createdTask));
+        startShortlyBeforeReminder();
+
+        // When
+        scheduler.syncWithProjectVersions();
+
+        // Then
+        verify(eventPublisher, timeout(3000))
+                .publishEvent(new TaskDeadlineEvent(TaskDeadlineEvent.Kind.REMINDER, List.of(createdTask)));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void start_TaskRedatedSinceItWasScheduled_ShouldNotFireTheOldDeadline() {
+        // Given
+        when(taskRepository.findOpenDueTasks(List.of(100L)))
+                .thenReturn(List.of(new TaskDeadlineEvent.DueTask(100L, 10L, dueTask.dueDate().plusDays(1))));
+
+        // When
+        startShortlyBeforeReminder();
+
+        // Then
+        verify(taskRepository, timeout(3000)).findOpenDueTasks(List.of(100L));
+        verify(eventPublisher, after(1000).never()).publishEvent(any(Object.class));
+    }
+
+    // A reminder whose time has passed by the time the task is loaded is skipped, so leave a margin
+    private void startShortlyBeforeReminder() {
+        clock.shiftTo(reminderAt - 1000);
+        scheduler.start();
+    }
+
+    // Runs at wall-clock speed from a moved starting point
+    private static final class ShiftedClock extends Clock {
+        private final AtomicLong offset = new AtomicLong();
+
+        void shiftTo(long millis) {
+            offset.set(millis - System.currentTimeMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis() + offset.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+    }
+}
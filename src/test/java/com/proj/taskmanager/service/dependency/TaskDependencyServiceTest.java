@@ -0,0 +1,97 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.exceptions.AlreadyExistsException;
+import com.proj.taskmanager.model.TaskDependency;
+import com.proj.taskmanager.repository.TaskDependencyRepository;
+import com.proj.taskmanager.repository.TaskDependencyRepository.Edge;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDependencyServiceTest {
+
+    @Mock
+    private TaskDependencyRepository dependencyRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectVersionService projectVersionService;
+
+    private TaskDependencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskDependencyService(dependencyRepository, taskRepository, projectVersionService, 10);
+        lenient().when(taskRepository.findGraphNodes(10L)).thenReturn(List.of(
+                new TaskGraphNode(1L, TaskStatus.PENDING, null),
+                new TaskGraphNode(2L, TaskStatus.PENDING, null),
+                new TaskGraphNode(3L, TaskStatus.PENDING, null)));
+        lenient().when(dependencyRepository.findEdgesByProjectId(10L)).thenReturn(List.of(new Edge(1L, 2L), new Edge(2L, 3L)));
+    }
+
+    @Test
+    void addDependency_ClosingCycle_ShouldBeRejected() {
+        // Given
+        when(projectVersionService.markChanged(10L)).thenReturn(6L);
+
+        // When & Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> service.addDependency(10L, 3L, 1L));
+        assertTrue(e.getMessage().contains("cycle"));
+        verify(dependencyRepository, never()).save(any(TaskDependency.class));
+    }
+
+    @Test
+    void addDependency_ExistingEdge_ShouldThrowAlreadyExists() {
+        // Given
+        when(projectVersionService.markChanged(10L)).thenReturn(6L);
+
+        // When & Then
+        assertThrows(AlreadyExistsException.class, () -> service.addDependency(10L, 1L, 2L));
+    }
+
+    @Test
+    void addDependency_ShouldReuseGraphLoadedAtPreviousVersion() {
+        // Given
+        when(projectVersionService.getVersion(10L)).thenReturn(5L);
+        service.getGraph(10L);
+        when(projectVersionService.markChanged(10L)).thenReturn(6L);
+
+        // When
+        service.addDependency(10L, 1L, 3L);
+
+        // Then
+        verify(taskRepository, times(1)).findGraphNodes(10L);
+        verify(dependencyRepository).save(any(TaskDependency.class));
+    }
+
+    @Test
+    void getGraph_AfterProjectChanged_ShouldReload() {
+        // Given
+        when(projectVersionService.getVersion(10L)).thenReturn(5L, 5L, 7L);
+
+        // When
+        TaskGraph first = service.getGraph(10L);
+        TaskGraph cached = service.getGraph(10L);
+        TaskGraph reloaded = service.getGraph(10L);
+
+        // Then
+        assertSame(first, cached);
+        assertNotSame(first, reloaded);
+        assertEquals(7L, reloaded.version());
+        verify(taskRepository, times(2)).findGraphNodes(10L);
+    }
+}
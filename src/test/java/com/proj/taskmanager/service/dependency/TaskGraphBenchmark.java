@@ -0,0 +1,62 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.repository.TaskDependencyRepository.Edge;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build, cycle check and analysis times for a large project graph.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TaskGraphBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskGraphBenchmark {
+    private static final int TASKS = 50_000;
+    private static final int EDGES = 150_000;
+    private static final int CYCLE_CHECKS = 1_000;
+
+    @Test
+    void largeProject() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<TaskGraphNode> nodes = new ArrayList<>(TASKS);
+        for (long taskId = 1; taskId <= TASKS; taskId++) {
+            TaskStatus status = random.nextInt(4) == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING;
+            nodes.add(new TaskGraphNode(taskId, status, today.plusDays(random.nextInt(365))));
+        }
+        // Edges only point from lower to higher ids, so the graph is acyclic
+        List<Edge> edges = new ArrayList<>(EDGES);
+        for (int i = 0; i < EDGES; i++) {
+            long a = 1 + random.nextInt(TASKS);
+            long b = 1 + random.nextInt(TASKS);
+            if (a != b) {
+                edges.add(new Edge(Math.min(a, b), Math.max(a, b)));
+            }
+        }
+
+        long started = System.nanoTime();
+        TaskGraph graph = TaskGraph.build(1, nodes, edges);
+        System.out.printf("Built graph with %d tasks and %d edges in %d ms%n",
+                graph.size(), graph.edgeCount(), (System.nanoTime() - started) / 1_000_000);
+
+        started = System.nanoTime();
+        int cycles = 0;
+        for (int i = 0; i < CYCLE_CHECKS; i++) {
+            if (graph.reaches(1 + random.nextInt(TASKS), 1 + random.nextInt(TASKS))) {
+                cycles++;
+            }
+        }
+        System.out.printf("%d cycle checks (%d would close a cycle): %.3f ms each%n",
+                CYCLE_CHECKS, cycles, (System.nanoTime() - started) / 1_000_000.0 / CYCLE_CHECKS);
+
+        started = System.nanoTime();
+        TaskGraph.Analysis analysis = graph.analyze();
+        System.out.printf("Analyzed in %d ms: %d blocked, critical path of %d tasks%n",
+                (System.nanoTime() - started) / 1_000_000, analysis.blocked().length, analysis.criticalPath().length);
+    }
+}
@@ -0,0 +1,86 @@
+package com.proj.taskmanager.service.dependency;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.repository.TaskDependencyRepository.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGraphTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void reaches_ShouldFollowBlockerToBlockedEdges() {
+        // Given 1 -> 2 -> 3, 4
+        TaskGraph graph = TaskGraph.build(1, nodes(1, 2, 3, 4), List.of(new Edge(1L, 2L), new Edge(2L, 3L)));
+
+        // When & Then
+        assertTrue(graph.reaches(1, 3));
+        assertFalse(graph.reaches(3, 1));
+        assertFalse(graph.reaches(1, 4));
+        assertTrue(graph.hasEdge(2, 3));
+        assertFalse(graph.hasEdge(1, 3));
+    }
+
+    @Test
+    void build_ShouldIgnoreEdgesToUnknownTasks() {
+        // When
+        TaskGraph graph = TaskGraph.build(1, nodes(1, 2), List.of(new Edge(1L, 2L), new Edge(2L, 99L)));
+
+        // Then
+        assertEquals(2, graph.size());
+        assertEquals(1, graph.edgeCount());
+        assertFalse(graph.contains(99));
+    }
+
+    @Test
+    void analyze_ShouldOrderTasksAndFindBlockedAndCriticalPath() {
+        // Given 1 -> 2 -> 4 and 1 -> 3 -> 4 -> 5, with 3 due earlier than 2; 6 is done and blocks 5
+        List<TaskGraphNode> nodes = new ArrayList<>(List.of(
+                node(1, TaskStatus.IN_PROGRESS, null),
+                node(2, TaskStatus.PENDING, TODAY.plusDays(10)),
+                node(3, TaskStatus.PENDING, TODAY.plusDays(2)),
+                node(4, TaskStatus.PENDING, TODAY.plusDays(20)),
+                node(5, TaskStatus.PENDING, TODAY.plusDays(30)),
+                node(6, TaskStatus.COMPLETED, null)));
+        List<Edge> edges = List.of(new Edge(1L, 2L), new Edge(1L, 3L), new Edge(2L, 4L), new Edge(3L, 4L),
+                new Edge(4L, 5L), new Edge(6L, 5L));
+
+        // When
+        TaskGraph.Analysis analysis = TaskGraph.build(1, nodes, edges).analyze();
+
+        // Then
+        assertArrayEquals(new long[]{1, 6, 2, 3, 4, 5}, analysis.topologicalOrder());
+        assertArrayEquals(new long[]{2, 3, 4, 5}, analysis.blocked());
+        assertArrayEquals(new long[]{1, 3, 4, 5}, analysis.criticalPath());
+    }
+
+    @Test
+    void analyze_WithoutOpenTasks_ShouldReturnEmptyCriticalPath() {
+        // Given
+        TaskGraph graph = TaskGraph.build(1, List.of(node(1, TaskStatus.COMPLETED, null)), List.of());
+
+        // When
+        TaskGraph.Analysis analysis = graph.analyze();
+
+        // Then
+        assertArrayEquals(new long[]{1}, analysis.topologicalOrder());
+        assertEquals(0, analysis.criticalPath().length);
+    }
+
+    private static List<TaskGraphNode> nodes(long... taskIds) {
+        List<TaskGraphNode> nodes = new ArrayList<>();
+        for (long taskId : taskIds) {
+            nodes.add(node(taskId, TaskStatus.PENDING, null));
+        }
+        return nodes;
+    }
+
+    private static TaskGraphNode node(long taskId, TaskStatus status, LocalDate dueDate) {
+        return new TaskGraphNode(taskId, status, dueDate);
+    }
+}
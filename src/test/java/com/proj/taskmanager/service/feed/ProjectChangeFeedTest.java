@@ -0,0 +1,274 @@
+package com.proj.taskmanager.service.feed;
+
+import com.proj.taskmanager.dto.TaskChangeDto;
+import com.proj.taskmanager.event.TaskDeadlineEvent;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectChangeFeedTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private ProjectVersionService projectVersionService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    // Sender tasks are collected and run on demand so tests control when subscribers drain
+    private final List<Runnable> pendingSends = new ArrayList<>();
+    private ProjectChangeFeed feed;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ProjectChangeFeed(new ProjectAccessService(projectRepository, projectMemberRepository),
+                projectVersionService, taskRepository, taskTombstoneRepository, new SimpleMeterRegistry(), pendingSends::add, 4, 3, 60_000, 50, 500) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+
+        User owner = new User();
+        owner.setId(1L);
+        project = new Project();
+        project.setId(10L);
+        project.setCreatedBy(owner);
+        lenient().when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        lenient().when(projectVersionService.getVersion(10L)).thenReturn(5L);
+    }
+
+    @Test
+    void onTaskEvent_ShouldDeliverCompactEventsToSubscribers() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+
+        // When
+        feed.onTaskEvent(event(TaskEvent.Type.CREATED, 100L));
+        feed.onTaskEvent(event(TaskEvent.Type.DELETED, 100L));
+        runSends();
+
+        // Then
+        assertEquals(List.of("task-created", "task-deleted"), emitter.names);
+        TaskChangeDto deleted = (TaskChangeDto) emitter.payloads.get(1);
+        assertEquals(100L, deleted.taskId());
+        assertNull(deleted.status());
+    }
+
+    @Test
+    void onTaskEvent_SlowSubscriber_ShouldBeDisconnectedWithoutAffectingOthers() {
+        // Given
+        RecordingEmitter slow = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+        feed.onTaskEvent(event(TaskEvent.Type.UPDATED, 1L));
+        pendingSends.clear(); // the slow subscriber's sender never gets past its first write
+        RecordingEmitter fast = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+
+        // When
+        for (long taskId = 2; taskId <= 6; taskId++) {
+            feed.onTaskEvent(event(TaskEvent.Type.UPDATED, taskId));
+            runSends();
+        }
+
+        // Then
+        assertTrue(slow.completed);
+        assertFalse(fast.completed);
+        assertEquals(5, fast.names.size());
+        assertEquals(1, feed.subscriberCount(10L));
+    }
+
+    @Test
+    void onTaskDeadline_ShouldDeliverRemindersToTheTasksProject() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+        TaskDeadlineEvent.DueTask due = new TaskDeadlineEvent.DueTask(100L, 10L, LocalDate.now());
+        TaskDeadlineEvent.DueTask otherProject = new TaskDeadlineEvent.DueTask(200L, 20L, LocalDate.now());
+
+        // When
+        feed.onTaskDeadline(new TaskDeadlineEvent(TaskDeadlineEvent.Kind.REMINDER, List.of(due, otherProject)));
+        runSends();
+
+        // Then
+        assertEquals(List.of("task-reminder"), emitter.names);
+        assertEquals(List.of(due), emitter.payloads);
+    }
+
+    @Test
+    void relayRemoteChanges_ShouldDeliverChangesOfOtherNodesButNotThisNodesOwnAgain() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+        Task local = task(102L, 7);
+        feed.onTaskEvent(TaskEvent.of(TaskEvent.Type.CREATED, local, 1L));
+        when(projectVersionService.getVersion(10L)).thenReturn(7L);
+        when(taskRepository.findChangedSince(eq(10L), eq(5L), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(task(100L, 6), local));
+        when(taskTombstoneRepository.findChangedSince(eq(10L), eq(5L), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(new TaskTombstone(10L, 101L, 6)));
+
+        // When
+        feed.relayRemoteChanges(); // reads version 7
+        feed.relayRemoteChanges(); // relays through it
+        feed.relayRemoteChanges();
+        runSends();
+
+        // Then
+        assertEquals(List.of("task-created", "task-updated", "task-deleted"), emitter.names);
+        assertEquals(List.of(102L, 100L, 101L), emitter.payloads.stream().map(p -> ((TaskChangeDto) p).taskId()).toList());
+        assertNull(((TaskChangeDto) emitter.payloads.get(1)).actorId());
+    }
+
+    @Test
+    void disconnectStalled_WriteBlockedPastSendTimeout_ShouldDisconnectTheSubscriber() throws Exception {
+        // Given
+        RecordingEmitter stuck = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+        stuck.release = new CountDownLatch(1);
+        feed.onTaskEvent(event(TaskEvent.Type.UPDATED, 1L));
+        Thread sender = new Thread(pendingSends.remove(0));
+        sender.start();
+        assertTrue(stuck.writing.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // When
+        feed.disconnectStalled();
+
+        // Then
+        assertTrue(stuck.failed);
+        assertEquals(0, feed.subscriberCount(10L));
+        stuck.release.countDown();
+        sender.join(1000);
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEventsOrAskForResync() {
+        // Given
+        RecordingEmitter first = (RecordingEmitter) feed.subscribe(1L, 10L, null);
+        feed.onTaskEvent(event(TaskEvent.Type.CREATED, 1L));
+        runSends();
+        long lastSeen = first.ids.get(0);
+        feed.onTaskEvent(event(TaskEvent.Type.CREATED, 2L));
+        feed.onTaskEvent(event(TaskEvent.Type.CREATED, 3L));
+
+        // When
+        RecordingEmitter resumed = (RecordingEmitter) feed.subscribe(1L, 10L, lastSeen);
+        RecordingEmitter tooOld = (RecordingEmitter) feed.subscribe(1L, 10L, lastSeen - 10);
+        runSends();
+
+        // Then
+        assertEquals(List.of(2L, 3L), resumed.payloads.stream().map(p -> ((TaskChangeDto) p).taskId()).toList());
+        assertEquals(List.of(ProjectChangeFeed.RESYNC_EVENT), tooOld.names);
+    }
+
+    @Test
+    void subscribe_NonMember_ShouldBeRejected() {
+        // Given
+        when(projectMemberRepository.existsByProjectIdAndUserId(10L, 2L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> feed.subscribe(2L, 10L, null));
+        assertEquals(0, feed.subscriberCount(10L));
+    }
+
+    private void runSends() {
+        while (!pendingSends.isEmpty()) {
+            pendingSends.remove(0).run();
+        }
+    }
+
+    private Task task(Long taskId, long syncVersion) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setProject(project);
+        task.setSyncVersion(syncVersion);
+        return task;
+    }
+
+    private TaskEvent event(TaskEvent.Type type, Long taskId) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setProject(project);
+        return TaskEvent.of(type, task, 1L);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> payloads = new ArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private CountDownLatch release;
+        private boolean completed;
+        private volatile boolean failed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            if (release != null) {
+                try {
+                    release.await(); // a client that stopped reading
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            ids.add(Long.parseLong(line.substring(3)));
+                        } else if (line.startsWith("event:")) {
+                            names.add(line.substring(6));
+                        }
+                    }
+                } else {
+                    payloads.add(part.getData());
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failed = true;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.proj.taskmanager.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.taskmanager.repository.IdempotencyRecordRepository;
+import com.proj.taskmanager.request.project.CreateProjectReq;
+import com.proj.taskmanager.response.ApiResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: keys are claimed and completed in their own transactions.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({IdempotencyService.class, ObjectMapper.class})
+@TestPropertySource(properties = "idempotency.cache-size=1")
+class IdempotencyServiceTest {
+    private static final CreateProjectReq REQUEST = new CreateProjectReq("Apollo");
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    // The service and its in-memory keys outlive a test, so every test uses keys of its own
+    private final String key = UUID.randomUUID().toString();
+
+    @AfterEach
+    void tearDown() {
+        recordRepository.deleteAll();
+    }
+
+    @Test
+    void execute_Retry_ShouldReplayFirstResponseWithoutRunningAgain() {
+        // Given
+        ResponseEntity<ApiResponse> first = idempotencyService.execute(1L, "project/create", key + "-1", REQUEST, created());
+
+        // When
+        ResponseEntity<ApiResponse> retry = idempotencyService.execute(1L, "project/create", key + "-1", REQUEST, created());
+        // Pushes key-1 out of the one-entry cache, so the next retry is answered from the database
+        idempotencyService.execute(1L, "project/create", key + "-2", REQUEST, created());
+        ResponseEntity<ApiResponse> fromDatabase = idempotencyService.execute(1L, "project/create", key + "-1", REQUEST, created());
+
+        // Then
+        assertEquals(2, calls.get());
+        for (ResponseEntity<ApiResponse> replay : new ResponseEntity[]{retry, fromDatabase}) {
+            assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+            assertEquals(first.getHeaders().getETag(), replay.getHeaders().getETag());
+            assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+            assertEquals(Map.of("id", 1), replay.getBody().getData());
+        }
+    }
+
+    @Test
+    void execute_SameKeyOtherUserOrEndpoint_ShouldRunAgain() {
+        // When
+        idempotencyService.execute(1L, "project/create", key, REQUEST, created());
+        idempotencyService.execute(2L, "project/create", key, REQUEST, created());
+        idempotencyService.execute(1L, "task/create", key, REQUEST, created());
+
+        // Then
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_SameKeyDifferentBody_ShouldBeRejected() {
+        // Given
+        idempotencyService.execute(1L, "project/create", key, REQUEST, created());
+
+        // When
+        ResponseEntity<ApiResponse> response = idempotencyService.execute(1L, "project/create", key,
+                new CreateProjectReq("Gemini"), created());
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_FailedResponse_ShouldNotBeKept() {
+        // Given
+        idempotencyService.execute(1L, "project/create", key, REQUEST, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.badRequest().body(new ApiResponse("Database unavailable", null));
+        });
+
+        // When
+        ResponseEntity<ApiResponse> retry = idempotencyService.execute(1L, "project/create", key, REQUEST, created());
+
+        // Then
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_ShouldWaitForInFlightResult() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<ApiResponse>> original = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(1L, "project/create", key, REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return created().get();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<ResponseEntity<ApiResponse>> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(1L, "project/create", key, REQUEST, created()));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        // Then
+        assertEquals(HttpStatus.CREATED, original.get(5, TimeUnit.SECONDS).getStatusCode());
+        ResponseEntity<ApiResponse> replay = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, calls.get());
+    }
+
+    private Supplier<ResponseEntity<ApiResponse>> created() {
+        return () -> {
+            int id = calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).eTag("\"0\"")
+                    .body(new ApiResponse("Project created successfully!", Map.of("id", id)));
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.service.label.LabelExpression.And;
+import com.proj.taskmanager.service.label.LabelExpression.Label;
+import com.proj.taskmanager.service.label.LabelExpression.Not;
+import com.proj.taskmanager.service.label.LabelExpression.Or;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelExpressionTest {
+
+    @Test
+    void parse_ShouldBindNotTighterThanAndTighterThanOr() {
+        // When
+        LabelExpression expression = LabelExpression.parse("bug or Backend AND not blocked");
+
+        // Then
+        assertEquals(new Or(new Label("bug"), new And(new Label("backend"), new Not(new Label("blocked")))), expression);
+    }
+
+    @Test
+    void parse_ShouldHonourParentheses() {
+        // When
+        LabelExpression expression = LabelExpression.parse("NOT (bug OR ui) AND team:core");
+
+        // Then
+        assertEquals(new And(new Not(new Or(new Label("bug"), new Label("ui"))), new Label("team:core")), expression);
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedQueries() {
+        // When & Then
+        for (String query : List.of("", "bug AND", "(bug", "bug)", "bug ui", "AND bug", "b@d")) {
+            assertThrows(IllegalArgumentException.class, () -> LabelExpression.parse(query), query);
+        }
+    }
+
+    @Test
+    void parse_ShouldLimitTheNumberOfLabels() {
+        // Given
+        String query = String.join(" OR ", Collections.nCopies(LabelExpressionParser.MAX_TERMS + 1, "bug"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> LabelExpression.parse(query));
+    }
+}
@@ -0,0 +1,54 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.repository.TaskLabelRepository.Assignment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build and query times of the label index for a large project.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=ProjectLabelIndexBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProjectLabelIndexBenchmark {
+    private static final int TASKS = 100_000;
+    private static final int LABELS = 300;
+    private static final int LABELS_PER_TASK = 4;
+    private static final int QUERIES = 1_000;
+
+    @Test
+    void largeProject() {
+        Random random = new Random(42);
+        List<Long> taskIds = new ArrayList<>(TASKS);
+        List<Assignment> assignments = new ArrayList<>(TASKS * LABELS_PER_TASK);
+        for (long taskId = 1; taskId <= TASKS; taskId++) {
+            taskIds.add(taskId);
+            for (int i = 0; i < LABELS_PER_TASK; i++) {
+                // Skewed towards the first labels, as real label use is
+                int label = (int) (LABELS * Math.pow(random.nextDouble(), 3));
+                assignments.add(new Assignment(taskId, "label-" + label));
+            }
+        }
+
+        long started = System.nanoTime();
+        ProjectLabelIndex index = ProjectLabelIndex.build(1, taskIds, assignments);
+        System.out.printf("Built index of %d tasks and %d labels in %d ms%n",
+                index.size(), index.counts().size(), (System.nanoTime() - started) / 1_000_000);
+
+        List<LabelExpression> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(LabelExpression.parse(String.format("(label-%d OR label-%d) AND NOT label-%d",
+                    random.nextInt(20), random.nextInt(LABELS), random.nextInt(LABELS))));
+        }
+        long matches = 0;
+        started = System.nanoTime();
+        for (LabelExpression query : queries) {
+            matches += index.find(query, 0, 50).total();
+        }
+        System.out.printf("%d queries (%d matches on average): %.3f ms each%n",
+                QUERIES, matches / QUERIES, (System.nanoTime() - started) / 1_000_000.0 / QUERIES);
+    }
+}
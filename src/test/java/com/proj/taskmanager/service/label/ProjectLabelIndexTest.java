@@ -0,0 +1,70 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.repository.TaskLabelRepository.Assignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectLabelIndexTest {
+
+    private static ProjectLabelIndex index() {
+        // Given tasks 10..50; 10, 20 and 30 are bugs, 20 and 40 are backend, 30 is blocked
+        return ProjectLabelIndex.build(5, List.of(10L, 20L, 30L, 40L, 50L), List.of(
+                new Assignment(10L, "bug"), new Assignment(20L, "bug"), new Assignment(30L, "bug"),
+                new Assignment(20L, "backend"), new Assignment(40L, "backend"),
+                new Assignment(30L, "blocked"), new Assignment(99L, "bug")));
+    }
+
+    private static long[] find(ProjectLabelIndex index, String query) {
+        return index.find(LabelExpression.parse(query), 0, 100).taskIds();
+    }
+
+    @Test
+    void find_ShouldEvaluateBooleanQueries() {
+        // When & Then
+        ProjectLabelIndex index = index();
+        assertArrayEquals(new long[]{20}, find(index, "bug AND backend"));
+        assertArrayEquals(new long[]{10, 20, 30, 40}, find(index, "bug OR backend"));
+        assertArrayEquals(new long[]{10, 20}, find(index, "bug AND NOT blocked"));
+        assertArrayEquals(new long[]{50}, find(index, "NOT (bug OR backend)"));
+        assertArrayEquals(new long[0], find(index, "unknown"));
+    }
+
+    @Test
+    void find_ShouldPageAfterTheGivenTaskId() {
+        // When
+        ProjectLabelIndex.Page first = index().find(LabelExpression.parse("NOT blocked"), 0, 2);
+        ProjectLabelIndex.Page second = index().find(LabelExpression.parse("NOT blocked"), 25, 2);
+        ProjectLabelIndex.Page last = index().find(LabelExpression.parse("NOT blocked"), 40, 2);
+
+        // Then
+        assertArrayEquals(new long[]{10, 20}, first.taskIds());
+        assertTrue(first.hasMore());
+        assertEquals(4, first.total());
+        assertArrayEquals(new long[]{40, 50}, second.taskIds());
+        assertFalse(second.hasMore());
+        assertArrayEquals(new long[]{50}, last.taskIds());
+    }
+
+    @Test
+    void updates_ShouldKeepTheIndexInStepWithTasks() {
+        // Given
+        ProjectLabelIndex index = index();
+
+        // When
+        index.relabel(30L, List.of("bug", "blocked"), List.of("bug", "backend"));
+        index.removeTask(20L);
+        assertTrue(index.addTask(60L));
+        index.relabel(60L, List.of(), List.of("blocked"));
+
+        // Then
+        assertArrayEquals(new long[]{30, 40}, find(index, "backend"));
+        assertArrayEquals(new long[]{60}, find(index, "blocked"));
+        assertArrayEquals(new long[]{10, 30, 40, 50, 60}, find(index, "NOT unknown"));
+        assertEquals(Map.of("bug", 2, "backend", 2, "blocked", 1), index.counts());
+        assertFalse(index.addTask(15L), "an id below the highest one needs a rebuild");
+    }
+}
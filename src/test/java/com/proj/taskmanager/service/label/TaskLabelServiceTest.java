@@ -0,0 +1,101 @@
+package com.proj.taskmanager.service.label;
+
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.repository.TaskLabelRepository;
+import com.proj.taskmanager.repository.TaskLabelRepository.Assignment;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLabelServiceTest {
+
+    @Mock
+    private TaskLabelRepository labelRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectVersionService projectVersionService;
+
+    private TaskLabelService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskLabelService(labelRepository, taskRepository, projectVersionService, 10);
+        lenient().when(taskRepository.findIdsByProjectId(10L, Pageable.unpaged())).thenReturn(List.of(1L, 2L));
+        lenient().when(labelRepository.findAssignmentsByProjectId(10L)).thenReturn(List.of(
+                new Assignment(1L, "bug"), new Assignment(2L, "ui")));
+    }
+
+    private static Task task(long taskId, long syncVersion) {
+        Project project = new Project();
+        project.setId(10L);
+        Task task = new Task();
+        task.setId(taskId);
+        task.setProject(project);
+        task.setSyncVersion(syncVersion);
+        return task;
+    }
+
+    private List<Long> find(String query) {
+        return service.find(10L, LabelExpression.parse(query), 0, 10).taskIds();
+    }
+
+    @Test
+    void onTaskEvent_FollowingTheIndexVersion_ShouldUpdateItInPlace() {
+        // Given
+        when(projectVersionService.getVersion(10L)).thenReturn(5L, 6L, 7L);
+        find("bug");
+
+        // When
+        service.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, task(2L, 6L), 1L,
+                List.of(TaskLabelService.labelChange(List.of("ui"), List.of("bug", "ui")))));
+        List<Long> relabelled = find("bug");
+        service.onTaskEvent(TaskEvent.of(TaskEvent.Type.CREATED, task(3L, 7L), 1L));
+        List<Long> created = find("NOT bug");
+
+        // Then
+        assertEquals(List.of(1L, 2L), relabelled);
+        assertEquals(List.of(3L), created);
+        verify(taskRepository, times(1)).findIdsByProjectId(10L, Pageable.unpaged());
+    }
+
+    @Test
+    void onTaskEvent_SkippingAVersion_ShouldRebuildOnNextQuery() {
+        // Given
+        when(projectVersionService.getVersion(10L)).thenReturn(5L, 7L);
+        find("bug");
+
+        // When
+        service.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, task(2L, 7L), 1L,
+                List.of(TaskLabelService.labelChange(List.of("ui"), List.of("bug")))));
+        Map<String, Integer> counts = service.countLabels(10L);
+
+        // Then the rebuilt index reflects the rows, not the skipped event
+        assertEquals(Map.of("bug", 1, "ui", 1), counts);
+        verify(taskRepository, times(2)).findIdsByProjectId(10L, Pageable.unpaged());
+    }
+
+    @Test
+    void normalize_ShouldLowerCaseSortAndDropDuplicates() {
+        // When & Then
+        assertEquals(List.of("backend", "bug"), TaskLabelService.normalize(List.of(" Bug", "backend", "BUG")));
+        assertThrows(IllegalArgumentException.class, () -> TaskLabelService.normalize(List.of("not")));
+        assertThrows(IllegalArgumentException.class, () -> TaskLabelService.normalize(List.of("has space")));
+    }
+}
@@ -0,0 +1,100 @@
+package com.proj.taskmanager.service.project;
+
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectAccessServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @InjectMocks
+    private ProjectAccessService projectAccessService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setId(1L);
+        project = new Project();
+        project.setId(10L);
+        project.setCreatedBy(owner);
+    }
+
+    @Test
+    void validateUserCanManageTask_Owner_ShouldPassWithoutLookingUpMembership() {
+        // Given
+        Task task = new Task();
+        task.setProject(project);
+
+        // When & Then
+        assertDoesNotThrow(() -> projectAccessService.validateUserCanManageTask(1L, task, "update"));
+        verifyNoInteractions(projectMemberRepository);
+    }
+
+    @Test
+    void validateUserCanManageProject_Viewer_ShouldBeRejectedButCountAsMember() {
+        // Given
+        when(projectMemberRepository.findByProjectIdAndUserId(10L, 2L)).thenReturn(Optional.of(member(ProjectRole.VIEWER)));
+        when(projectMemberRepository.existsByProjectIdAndUserId(10L, 2L)).thenReturn(true);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> projectAccessService.validateUserCanManageProject(2L, project, "add task in"));
+
+        // Then
+        assertEquals("Only project owner or editor can add task in the project", exception.getMessage());
+        assertDoesNotThrow(() -> projectAccessService.validateUserIsProjectMember(2L, project, "view the board of"));
+    }
+
+    @Test
+    void canManage_Editor_ShouldBeTrue() {
+        // Given
+        when(projectMemberRepository.findByProjectIdAndUserId(10L, 3L)).thenReturn(Optional.of(member(ProjectRole.EDITOR)));
+
+        // When & Then
+        assertTrue(projectAccessService.canManage(3L, project));
+    }
+
+    @Test
+    void validateUserIsProjectMember_ByIdForNonMember_ShouldThrow() {
+        // Given
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(projectMemberRepository.existsByProjectIdAndUserId(10L, 4L)).thenReturn(false);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> projectAccessService.validateUserIsProjectMember(4L, 10L, "follow"));
+
+        // Then
+        assertEquals("User must be a project member to follow the project", exception.getMessage());
+    }
+
+    private ProjectMember member(ProjectRole role) {
+        ProjectMember member = new ProjectMember();
+        member.setProject(project);
+        member.setRole(role);
+        return member;
+    }
+}
@@ -0,0 +1,197 @@
+package com.proj.taskmanager.service.project;
+
+import com.proj.taskmanager.dto.ProjectDeletionDto;
+import com.proj.taskmanager.enums.ProjectDeletionStatus;
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskActivity;
+import com.proj.taskmanager.model.TaskDependency;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ArchivedTaskRepository;
+import com.proj.taskmanager.repository.ProjectDeletionRepository;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskActivityRepository;
+import com.proj.taskmanager.repository.TaskDependencyRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.dependency.TaskDependencyService;
+import com.proj.taskmanager.service.label.TaskLabelService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: the purge works in its own transactions, one per batch.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjectPurgeService.class, ProjectVersionService.class, TaskCounterService.class, TaskDependencyService.class,
+        TaskLabelService.class})
+@TestPropertySource(properties = "project.purge.batch-size=2")
+class ProjectPurgeServiceTest {
+
+    @Autowired
+    private ProjectPurgeService projectPurgeService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskDependencyRepository dependencyRepository;
+
+    @Autowired
+    private TaskActivityRepository activityRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ProjectDeletionRepository deletionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("purge@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Doomed");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+
+            ProjectMember member = new ProjectMember();
+            member.setUser(user);
+            member.setProject(project);
+            member.setRole(ProjectRole.OWNER);
+            projectMemberRepository.save(member);
+
+            projectVersionService.createForProject(project.getId());
+
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Task task = new Task();
+                task.setTitle("Task " + i);
+                task.setStatus(i == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+                task.setProject(project);
+                task.setCreatedBy(user);
+                task.setCreatedAt(LocalDateTime.now());
+                task.setUpdatedAt(LocalDateTime.now());
+                tasks.add(taskRepository.save(task));
+            }
+            taskRepository.flush();
+            archivedTaskRepository.archive(List.of(tasks.get(0).getId()), LocalDateTime.now());
+            dependencyRepository.save(new TaskDependency(project.getId(), tasks.get(1).getId(), tasks.get(2).getId()));
+            activityRepository.save(new TaskActivity(tasks.get(1).getId(), project.getId(), user.getId(), "CREATED",
+                    null, null, null, LocalDateTime.now()));
+            tombstoneRepository.save(new TaskTombstone(project.getId(), 999L, 1));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectPurgeService.purgePending();
+        transactionTemplate.executeWithoutResult(status -> {
+            deletionRepository.deleteAll();
+            tombstoneRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void markDeleted_ShouldHideProjectAndKeepItsRowsForThePurge() {
+        // Given
+        Long projectId = project.getId();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> projectPurgeService.markDeleted(projectId, user.getId()));
+
+        // Then
+        assertTrue(projectRepository.findById(projectId).isEmpty());
+        assertTrue(projectRepository.findProjectsByUserId(user.getId()).isEmpty());
+        assertEquals(5, taskRepository.findIdsByProjectId(projectId, Pageable.unpaged()).size());
+        ProjectDeletionDto deletion = projectPurgeService.getDeletion(user.getId(), projectId);
+        assertEquals(ProjectDeletionStatus.QUEUED, deletion.status());
+        assertEquals(5, deletion.tasksTotal());
+        assertThrows(RuntimeException.class, () -> projectPurgeService.getDeletion(user.getId() + 1, projectId));
+    }
+
+    @Test
+    void purge_ShouldRemoveEverythingInBatchesAndReportProgress() {
+        // Given
+        Long projectId = project.getId();
+        transactionTemplate.executeWithoutResult(status -> projectPurgeService.markDeleted(projectId, user.getId()));
+
+        // When
+        int batches = projectPurgeService.purge(projectId);
+
+        // Then
+        // 1 dependency, 5 tasks in 3 batches, 1 archived task, then activity, tombstone and member together
+        assertEquals(6, batches);
+        ProjectDeletionDto deletion = projectPurgeService.getDeletion(user.getId(), projectId);
+        assertEquals(ProjectDeletionStatus.COMPLETED, deletion.status());
+        assertEquals(5, deletion.tasksDeleted());
+        assertEquals(1, deletion.archivedTasksDeleted());
+        assertEquals(4, deletion.otherRowsDeleted());
+        assertNotNull(deletion.completedAt());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects WHERE id = ?", Long.class, projectId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_tasks", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_members", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_versions", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_task_counters", Long.class));
+        assertEquals(0, projectPurgeService.purge(projectId));
+    }
+}
@@ -0,0 +1,88 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceScheduleTest {
+
+    @Test
+    void occurrence_Monthly_ShouldComeBackToStartDayAfterShortMonth() {
+        // Given
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.MONTHLY, 1, null,
+                LocalDate.of(2026, 1, 31), null);
+
+        // When
+        List<LocalDate> dates = occurrences(schedule, 3);
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31)), dates);
+    }
+
+    @Test
+    void occurrence_WeeklyWithInterval_ShouldSkipWeeks() {
+        // Given
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.WEEKLY, 2, null,
+                LocalDate.of(2026, 10, 5), null);
+
+        // When
+        List<LocalDate> dates = occurrences(schedule, 3);
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2026, 10, 5), LocalDate.of(2026, 10, 19), LocalDate.of(2026, 11, 2)), dates);
+    }
+
+    @Test
+    void occurrence_Cron_ShouldMatchOnlySelectedDays() {
+        // Given
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "0 0 0 * * MON-FRI",
+                LocalDate.of(2026, 10, 16), null);
+
+        // When
+        List<LocalDate> dates = occurrences(schedule, 4);
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2026, 10, 16), LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 20),
+                LocalDate.of(2026, 10, 21)), dates);
+        dates.forEach(date -> assertNotEquals(DayOfWeek.SATURDAY, date.getDayOfWeek()));
+    }
+
+    @Test
+    void occurrence_AfterEndDate_ShouldReturnNull() {
+        // Given
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.DAILY, 1, null,
+                LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2));
+
+        // When & Then
+        assertEquals(LocalDate.of(2026, 10, 2), schedule.occurrence(1, LocalDate.of(2026, 10, 1)));
+        assertNull(schedule.occurrence(2, LocalDate.of(2026, 10, 2)));
+    }
+
+    @Test
+    void of_InvalidRule_ShouldThrow() {
+        // When & Then
+        LocalDate start = LocalDate.of(2026, 10, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "not a cron", start, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecurrenceSchedule.of(RecurrenceFrequency.DAILY, 0, null, start, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecurrenceSchedule.of(RecurrenceFrequency.DAILY, 1, null, start, start.minusDays(1)));
+    }
+
+    private static List<LocalDate> occurrences(RecurrenceSchedule schedule, int count) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate previous = null;
+        for (int i = 0; i < count; i++) {
+            previous = schedule.occurrence(i, previous);
+            dates.add(previous);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,122 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Generator throughput over 100k daily rules due today, with the default batch size against one rule per
+ * transaction (on a slice, which is slow enough).
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TaskRecurrenceBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskRecurrenceService.class, ProjectVersionService.class, TaskBoardService.class, TaskCounterService.class, ProjectAccessService.class})
+@TestPropertySource(properties = "task.recurrence.horizon-days=0")
+class TaskRecurrenceBenchmark {
+    private static final int RULES = 100_000;
+    private static final int PER_RULE_SLICE = 2_000;
+    private static final int PROJECTS = 100;
+
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void generate() {
+        LocalDate today = LocalDate.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = transactionTemplate.execute(status -> seedUser());
+        List<Long> projectIds = transactionTemplate.execute(status -> seedProjects(user));
+
+        for (int[] run : new int[][]{{PER_RULE_SLICE, 1}, {RULES, 500}}) {
+            int rules = run[0];
+            int batchSize = run[1];
+            seedRules(user.getId(), projectIds, rules, today);
+
+            long started = System.nanoTime();
+            int created = taskRecurrenceService.generate(today, batchSize);
+            long elapsedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+            assertEquals(rules, created);
+            assertEquals(0, taskRecurrenceService.generate(today, batchSize));
+
+            System.out.printf("batch size %3d: %d rules in %d ms (%.0f rules/s)%n",
+                    batchSize, rules, elapsedMs, rules * 1000.0 / elapsedMs);
+            jdbcTemplate.update("DELETE FROM tasks");
+            jdbcTemplate.update("DELETE FROM task_recurrences");
+        }
+    }
+
+    private User seedUser() {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail("recurrence-bench@example.com");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private List<Long> seedProjects(User user) {
+        List<Long> projectIds = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+            projectIds.add(project.getId());
+        }
+        return projectIds;
+    }
+
+    private void seedRules(Long userId, List<Long> projectIds, int count, LocalDate today) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{projectIds.get(i % projectIds.size()), "Rule " + i, userId, Date.valueOf(today),
+                    Date.valueOf(today), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_recurrences (project_id, title, created_by_id, frequency, repeat_interval, "
+                + "start_date, next_occurrence, occurrence_index, created_at) VALUES (?, ?, ?, 'DAILY', 1, ?, ?, 0, ?)", rows);
+    }
+}
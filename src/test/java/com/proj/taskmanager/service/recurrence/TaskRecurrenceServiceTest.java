@@ -0,0 +1,174 @@
+package com.proj.taskmanager.service.recurrence;
+
+import com.proj.taskmanager.dto.TaskRecurrenceDto;
+import com.proj.taskmanager.enums.RecurrenceFrequency;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRecurrenceRepository;
+import com.proj.taskmanager.repository.TaskRecurrenceRepositoryCustom.Advance;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.request.recurrence.CreateRecurrenceReq;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.task.TaskCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: the generator works in its own transactions, one per batch.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskRecurrenceService.class, ProjectVersionService.class, TaskBoardService.class, TaskCounterService.class, ProjectAccessService.class})
+@TestPropertySource(properties = "task.recurrence.horizon-days=6")
+class TaskRecurrenceServiceTest {
+
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private TaskRecurrenceRepository recurrenceRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("recurring@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Chores");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_recurrences");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM project_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void createRecurrence_ShouldCreateTasksUpToHorizon() {
+        // Given
+        LocalDate today = LocalDate.now();
+        CreateRecurrenceReq request = new CreateRecurrenceReq(project.getId(), "Water plants", "Every other day",
+                user.getId(), RecurrenceFrequency.DAILY, 2, null, today, null);
+
+        // When
+        TaskRecurrenceDto recurrence = taskRecurrenceService.createRecurrence(user.getId(), request);
+
+        // Then
+        assertEquals(today.plusDays(8), recurrence.nextOccurrence());
+        assertEquals(List.of(today, today.plusDays(2), today.plusDays(4), today.plusDays(6)), occurrenceDates(recurrence.id()));
+        assertEquals(today.plusDays(8), recurrenceRepository.findById(recurrence.id()).orElseThrow().getNextOccurrence());
+        assertEquals(4, taskRepository.findAll().stream().filter(task -> user.getId().equals(task.getAssignee().getId())).count());
+    }
+
+    @Test
+    void generate_RunTwice_ShouldCreateEachOccurrenceOnce() {
+        // Given
+        LocalDate today = LocalDate.now();
+        TaskRecurrenceDto daily = taskRecurrenceService.createRecurrence(user.getId(), new CreateRecurrenceReq(project.getId(),
+                "Stand-up notes", null, null, RecurrenceFrequency.DAILY, null, null, today, today.plusDays(9)));
+        TaskRecurrenceDto weekly = taskRecurrenceService.createRecurrence(user.getId(), new CreateRecurrenceReq(project.getId(),
+                "Weekly report", null, null, RecurrenceFrequency.WEEKLY, 1, null, today, null));
+
+        // When
+        int created = taskRecurrenceService.generate(today.plusDays(7), 1);
+        int createdAgain = taskRecurrenceService.generate(today.plusDays(7), 1);
+
+        // Then
+        // Up to day 13: the daily rule ends after ten days, the weekly one gets its second occurrence
+        assertEquals(3 + 1, created);
+        assertEquals(0, createdAgain);
+        assertEquals(10, occurrenceDates(daily.id()).size());
+        assertEquals(List.of(today, today.plusDays(7)), occurrenceDates(weekly.id()));
+        assertNull(recurrenceRepository.findById(daily.id()).orElseThrow().getNextOccurrence());
+        assertEquals(12L, jdbcTemplate.queryForObject("SELECT pending FROM project_task_counters WHERE project_id = ?",
+                Long.class, project.getId()));
+    }
+
+    @Test
+    void advanceAll_RuleAlreadyMoved_ShouldNotClaimIt() {
+        // Given
+        LocalDate today = LocalDate.now();
+        TaskRecurrenceDto recurrence = taskRecurrenceService.createRecurrence(user.getId(), new CreateRecurrenceReq(project.getId(),
+                "Backup", null, null, RecurrenceFrequency.MONTHLY, 1, null, today, null));
+        LocalDate next = recurrence.nextOccurrence();
+
+        // When
+        boolean[] stale = recurrenceRepository.advanceAll(List.of(new Advance(recurrence.id(), today, next, 1)));
+        boolean[] current = recurrenceRepository.advanceAll(List.of(new Advance(recurrence.id(), next, next.plusMonths(1), 2)));
+
+        // Then
+        assertFalse(stale[0]);
+        assertTrue(current[0]);
+    }
+
+    @Test
+    void createRecurrence_StartInPast_ShouldThrow() {
+        // Given
+        CreateRecurrenceReq request = new CreateRecurrenceReq(project.getId(), "Late", null, null,
+                RecurrenceFrequency.DAILY, 1, null, LocalDate.now().minusDays(1), null);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskRecurrenceService.createRecurrence(user.getId(), request));
+        assertEquals(0, recurrenceRepository.count());
+    }
+
+    private List<LocalDate> occurrenceDates(Long recurrenceId) {
+        return jdbcTemplate.queryForList("SELECT occurrence_date FROM tasks WHERE recurrence_id = ? ORDER BY occurrence_date",
+                LocalDate.class, recurrenceId);
+    }
+}
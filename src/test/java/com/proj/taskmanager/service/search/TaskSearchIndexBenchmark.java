@@ -0,0 +1,63 @@
+package com.proj.taskmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Query latency of the search index at a few million tasks.
+ * Run with: ./mvnw test -DskipTests=false -Dtest=TaskSearchIndexBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskSearchIndexBenchmark {
+    private static final int TASKS = 3_000_000;
+    private static final int PROJECTS = 20_000;
+    private static final int QUERIES = 2_000;
+
+    private static final String[] WORDS = {
+            "login", "bug", "release", "database", "migration", "payment", "invoice", "customer", "report",
+            "dashboard", "search", "index", "timeout", "deploy", "review", "design", "mobile", "android", "ios",
+            "api", "cache", "latency", "export", "import", "email", "notification", "security", "audit", "billing"
+    };
+
+    @Test
+    void queryLatency() {
+        Random random = new Random(42);
+        TaskSearchIndex index = new TaskSearchIndex();
+
+        long started = System.nanoTime();
+        for (long taskId = 1; taskId <= TASKS; taskId++) {
+            index.index(taskId, 1 + random.nextInt(PROJECTS), sentence(random, 4), sentence(random, 30));
+        }
+        System.out.printf("Indexed %d tasks in %d ms: %s%n", TASKS, (System.nanoTime() - started) / 1_000_000, index.stats());
+
+        Set<Long> visibleProjects = new HashSet<>();
+        while (visibleProjects.size() < 50) {
+            visibleProjects.add(1L + random.nextInt(PROJECTS));
+        }
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String query = sentence(random, 1 + random.nextInt(3)) + " " + Long.toString(random.nextInt(1000), 36);
+            long start = System.nanoTime();
+            index.search(query, visibleProjects, 20);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("Query latency over %d queries: p50=%.2f ms p95=%.2f ms p99=%.2f ms%n", QUERIES,
+                latencies[QUERIES / 2] / 1e6, latencies[QUERIES * 95 / 100] / 1e6, latencies[QUERIES * 99 / 100] / 1e6);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Skewed vocabulary: a few hot words plus a long tail of rarer tokens
+            sb.append(random.nextInt(4) == 0 ? WORDS[random.nextInt(WORDS.length)] : "w" + random.nextInt(50_000)).append(' ');
+        }
+        return sb.toString();
+    }
+}
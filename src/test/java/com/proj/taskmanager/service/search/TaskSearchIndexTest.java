@@ -0,0 +1,91 @@
+package com.proj.taskmanager.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.index(1L, 10L, "Fix login bug", "Users cannot log in with SSO");
+        index.index(2L, 10L, "Write release notes", "Mention the login bug fix");
+        index.index(3L, 20L, "Login page redesign", "New layout for the login page");
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseAndSplitOnPunctuation() {
+        assertEquals(List.of("fix", "the", "api", "v2", "login"), TaskSearchIndex.tokenize("Fix the API-v2 login!"));
+        assertTrue(TaskSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesFirst() {
+        List<TaskSearchHit> hits = index.search("bug", null, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.get(0).taskId());
+        assertEquals(2L, hits.get(1).taskId());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_ShouldRespectProjectFilter() {
+        List<TaskSearchHit> hits = index.search("login", Set.of(20L), 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).taskId());
+    }
+
+    @Test
+    void search_ShouldRespectLimit() {
+        assertEquals(2, index.search("login", null, 2).size());
+    }
+
+    @Test
+    void index_ExistingTask_ShouldReplacePreviousContent() {
+        index.index(1L, 10L, "Upgrade database", "Move to the new cluster");
+
+        assertTrue(index.search("sso", null, 10).isEmpty());
+        assertEquals(1L, index.search("database", null, 10).get(0).taskId());
+        assertEquals(3, index.stats().liveDocs());
+        assertEquals(1, index.stats().deletedDocs());
+    }
+
+    @Test
+    void index_SameTextAgain_ShouldKeepTheEntry() {
+        index.index(1L, 10L, "Fix login bug", "Users cannot log in with SSO");
+
+        assertEquals(3, index.stats().liveDocs());
+        assertEquals(0, index.stats().deletedDocs());
+    }
+
+    @Test
+    void removeProject_ShouldOnlyRemoveTasksOfThatProject() {
+        assertEquals(2, index.removeProject(10L));
+
+        assertEquals(List.of(3L), index.search("login", null, 10).stream().map(TaskSearchHit::taskId).toList());
+    }
+
+    @Test
+    void remove_ShouldHideTaskFromResults() {
+        assertTrue(index.remove(3L));
+        assertFalse(index.remove(3L));
+
+        assertTrue(index.search("redesign", null, 10).isEmpty());
+        assertEquals(2, index.stats().liveDocs());
+    }
+
+    @Test
+    void search_UnknownTerm_ShouldReturnEmpty() {
+        assertTrue(index.search("nothing-matches-this", null, 10).isEmpty());
+        assertTrue(index.search("  ", null, 10).isEmpty());
+    }
+}
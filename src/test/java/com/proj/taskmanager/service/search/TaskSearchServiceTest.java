@@ -0,0 +1,213 @@
+package com.proj.taskmanager.service.search;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.ProjectVersionRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskTombstoneRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs against committed data: writes of another node are made through the repositories without publishing
+ * task events, so this node's index only learns about them by catching up.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskSearchService.class, ProjectVersionService.class})
+class TaskSearchServiceTest {
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private ProjectVersionRepository projectVersionRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Project project;
+    private Task report;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("search@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Finance");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+        });
+        report = createOnAnotherNode("Quarterly report", "Collect the numbers");
+        // The service outlives the test; start from an index of this test's data
+        taskSearchService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void search_AfterChangesOnAnotherNode_ShouldFindTheCurrentTasks() {
+        // Given
+        assertEquals(List.of("Quarterly report"), titles("quarterly"));
+
+        // When
+        Task budget = createOnAnotherNode("Budget review", "Next year's budget");
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(report.getId()).orElseThrow();
+            task.setTitle("Yearly summary");
+            task.setSyncVersion(projectVersionService.markChanged(project.getId()));
+        });
+
+        // Then
+        assertEquals(List.of("Budget review"), titles("budget"));
+        assertEquals(List.of("Yearly summary"), titles("summary"));
+        assertTrue(titles("quarterly").isEmpty());
+
+        // When
+        deleteOnAnotherNode(budget);
+
+        // Then
+        assertTrue(titles("budget").isEmpty());
+        assertEquals(2, taskSearchService.stats().deletedDocs());
+    }
+
+    @Test
+    void search_AfterTombstonesPurgedPastTheIndexedVersion_ShouldIndexTheProjectAgain() {
+        // Given
+        Task budget = createOnAnotherNode("Budget review", "Next year's budget");
+        assertEquals(List.of("Budget review"), titles("budget"));
+
+        // When
+        deleteOnAnotherNode(budget);
+        transactionTemplate.executeWithoutResult(status -> {
+            taskTombstoneRepository.deleteAllInBatch();
+            projectVersionRepository.advancePurgedThrough(project.getId(), projectVersionService.getVersion(project.getId()));
+        });
+
+        // Then
+        assertTrue(titles("budget").isEmpty());
+        assertEquals(List.of("Quarterly report"), titles("report"));
+    }
+
+    @Test
+    void onTaskEvent_UpdateOutsideTitleAndDescription_ShouldNotReadTheDescription() {
+        // Given
+        Task lazyTask = spy(report);
+        taskSearchService.onTaskEvent(TaskEvent.of(TaskEvent.Type.CREATED, lazyTask, user.getId()));
+        clearInvocations(lazyTask);
+
+        // When
+        lazyTask.setSyncVersion(lazyTask.getSyncVersion() + 1);
+        taskSearchService.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, lazyTask, user.getId(),
+                List.of(new TaskFieldChange("status", "PENDING", "IN_PROGRESS"))));
+        taskSearchService.onTaskEvent(TaskEvent.of(TaskEvent.Type.ASSIGNED, lazyTask, user.getId(),
+                List.of(new TaskFieldChange("assigneeId", null, "2"))));
+
+        // Then
+        verify(lazyTask, never()).getDescription();
+        assertEquals(1, taskSearchService.stats().liveDocs());
+        assertEquals(0, taskSearchService.stats().deletedDocs());
+    }
+
+    @Test
+    void onTaskEvent_TitleChange_ShouldReindexTheTask() {
+        // Given
+        taskSearchService.onTaskEvent(TaskEvent.of(TaskEvent.Type.CREATED, report, user.getId()));
+        report.setTitle("Yearly report");
+        report.setSyncVersion(report.getSyncVersion() + 1);
+
+        // When
+        taskSearchService.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, report, user.getId(),
+                List.of(new TaskFieldChange("title", "Quarterly report", "Yearly report"))));
+
+        // Then
+        assertEquals(1, taskSearchService.stats().liveDocs());
+        assertEquals(1, taskSearchService.stats().deletedDocs());
+    }
+
+    private List<String> titles(String query) {
+        return taskSearchService.search(user.getId(), query, 10).stream().map(Task::getTitle).toList();
+    }
+
+    private Task createOnAnotherNode(String title, String description) {
+        return transactionTemplate.execute(status -> {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(TaskStatus.PENDING);
+            task.setProject(project);
+            task.setCreatedBy(user);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            task.setSyncVersion(projectVersionService.markChanged(project.getId()));
+            return taskRepository.save(task);
+        });
+    }
+
+    private void deleteOnAnotherNode(Task task) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long syncVersion = projectVersionService.markChanged(project.getId());
+            taskRepository.deleteById(task.getId());
+            taskTombstoneRepository.save(new TaskTombstone(project.getId(), task.getId(), syncVersion));
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskClaimRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: claims and their stamping commit in separate transactions. The scheduled stamper
+ * is held back so the tests decide when claims are stamped.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskClaimService.class, ProjectVersionService.class, TaskCounterService.class})
+@RecordApplicationEvents
+@TestPropertySource(properties = "task.claims.stamp-delay-ms=3600000")
+class TaskClaimServiceTest {
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private TaskClaimRepository claimRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Project project;
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("claims@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Support");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+
+            first = saveTask("Reply to ticket");
+            second = saveTask("Close ticket");
+            taskCounterService.createForProject(project.getId());
+            taskCounterService.reconcile(project.getId());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_claims");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM project_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void stampPending_ShouldVersionEachClaimedTaskAndApplyTheCounterChangeOnce() {
+        // Given
+        claim(first);
+        claim(second);
+        long versionBefore = projectVersionService.getVersion(project.getId());
+        long taskVersion = taskRepository.findById(first.getId()).orElseThrow().getVersion();
+
+        // When
+        boolean repairedBefore = transactionTemplate.execute(status -> taskCounterService.reconcile(project.getId()));
+        int stamped = taskClaimService.stampPending();
+
+        // Then
+        assertFalse(repairedBefore);
+        assertEquals(2, stamped);
+        assertEquals(0, claimRepository.count());
+        assertEquals(versionBefore + 2, projectVersionService.getVersion(project.getId()));
+        Task stampedFirst = taskRepository.findById(first.getId()).orElseThrow();
+        Task stampedSecond = taskRepository.findById(second.getId()).orElseThrow();
+        assertEquals(versionBefore + 1, stampedFirst.getSyncVersion());
+        assertEquals(versionBefore + 2, stampedSecond.getSyncVersion());
+        assertEquals(taskVersion, stampedFirst.getVersion());
+        assertEquals(0, taskCounterService.getCounters(project.getId()).unassigned());
+        assertEquals(2, taskCounterService.getCounters(project.getId()).pending());
+        List<TaskEvent> assigned = events.stream(TaskEvent.class).toList();
+        assertEquals(List.of(first.getId(), second.getId()), assigned.stream().map(TaskEvent::taskId).toList());
+        assertTrue(assigned.stream().allMatch(event -> event.type() == TaskEvent.Type.ASSIGNED
+                && user.getId().equals(event.actorId())));
+    }
+
+    @Test
+    void stampPending_WithClaimedTaskDeleted_ShouldStillApplyItsCounterChange() {
+        // Given
+        claim(first);
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(first.getId()).orElseThrow();
+            taskRepository.delete(task);
+            taskCounterService.recordChange(project.getId(), TaskCounterService.snapshot(task), null);
+        });
+
+        // When
+        taskClaimService.stampPending();
+
+        // Then
+        assertEquals(1, taskCounterService.getCounters(project.getId()).unassigned());
+        assertEquals(1, taskCounterService.getCounters(project.getId()).pending());
+        assertEquals(0, events.stream(TaskEvent.class).count());
+    }
+
+    // What TaskService#claimNextTask writes
+    private void claim(Task task) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Task locked = taskRepository.findById(task.getId()).orElseThrow();
+            locked.setAssignee(user);
+            taskRepository.save(locked);
+            taskClaimService.recordClaim(project.getId(), task.getId(), user.getId());
+        });
+    }
+
+    private Task saveTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        task.setProject(project);
+        task.setCreatedBy(user);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,110 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: writes of another node are simulated with plain JDBC, which this node's
+ * cache cannot see.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskCounterService.class, ProjectVersionService.class})
+class TaskCounterServiceTest {
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            user.setEmail("counters@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            project = new Project();
+            project.setName("Counted");
+            project.setCreatedBy(user);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+            projectVersionService.createForProject(project.getId());
+
+            Task task = new Task();
+            task.setTitle("Count me");
+            task.setStatus(TaskStatus.PENDING);
+            task.setProject(project);
+            task.setCreatedBy(user);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            taskRepository.save(task);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM project_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void getCounters_AfterWriteOnAnotherNode_ShouldNotServeTheCachedCopy() {
+        // Given
+        assertEquals(1, taskCounterService.getCounters(project.getId()).pending());
+
+        // When
+        jdbcTemplate.update("UPDATE tasks SET status = 'IN_PROGRESS' WHERE project_id = ?", project.getId());
+        jdbcTemplate.update("UPDATE project_task_counters SET pending = 0, in_progress = 1 WHERE project_id = ?", project.getId());
+        jdbcTemplate.update("UPDATE project_versions SET version = version + 1 WHERE project_id = ?", project.getId());
+
+        // Then
+        assertEquals(0, taskCounterService.getCounters(project.getId()).pending());
+        assertEquals(1, taskCounterService.getCounters(project.getId()).inProgress());
+    }
+}
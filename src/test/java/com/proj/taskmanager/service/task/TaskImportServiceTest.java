@@ -0,0 +1,218 @@
+package com.proj.taskmanager.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.taskmanager.dto.TaskImportReport;
+import com.proj.taskmanager.enums.TaskExportFormat;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private ProjectVersionService projectVersionService;
+
+    @Mock
+    private TaskBoardService taskBoardService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskImportService importService;
+    private User owner;
+    private Project project;
+    private final List<List<Task>> insertedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new TaskImportService(taskRepository, projectRepository, projectMemberRepository,
+                new ProjectAccessService(projectRepository, projectMemberRepository), userRepository, taskCounterService, projectVersionService, taskBoardService, eventPublisher, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 2);
+
+        owner = new User();
+        owner.setId(1L);
+        owner.setEmail("owner@example.com");
+
+        project = new Project();
+        project.setId(10L);
+        project.setName("Project");
+        project.setCreatedBy(owner);
+        project.setCreatedAt(LocalDateTime.now());
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        lenient().when(taskBoardService.ranksAtEnd(eq(10L), any(), anyInt())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(2)).mapToObj(i -> "i" + (i + 1)).toList());
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        lenient().when(projectMemberRepository.findUserIdsByProjectId(10L)).thenReturn(Set.of(2L));
+        lenient().doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            long id = 100 + insertedBatches.stream().mapToInt(List::size).sum();
+            for (Task task : tasks) {
+                task.setId(id++);
+            }
+            insertedBatches.add(List.copyOf(tasks));
+            return null;
+        }).when(taskRepository).insertAll(any());
+    }
+
+    @Test
+    void importTasks_Csv_ShouldBatchValidRowsAndReportInvalidOnes() throws Exception {
+        // Given
+        String csv = "title,description,dueDate,status,assigneeEmail\r\n"
+                + "First,\"Spans\ntwo lines\",2030-01-31,in_progress,member@example.com\r\n"
+                + "Second,\"Has \"\"quotes\"\", and a comma\",,,\r\n"
+                + ",Missing title,,,\r\n"
+                + "Bad date,Description,31/01/2030,,\r\n"
+                + "Stranger,Description,,,stranger@example.com\r\n"
+                + "Third,Description,,completed,\r\n";
+        when(userRepository.findByEmailIn(any())).thenAnswer(invocation -> {
+            Set<String> emails = Set.copyOf(invocation.getArgument(0));
+            return emails.contains("member@example.com") ? List.of(userIdView(2L, "member@example.com")) : List.of();
+        });
+
+        // When
+        TaskImportReport report = importService.importTasks(1L, 10L, TaskExportFormat.CSV, stream(csv));
+
+        // Then
+        assertEquals(6, report.rowsRead());
+        assertEquals(3, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(5L, 6L, 7L), report.errors().stream().map(TaskImportReport.RowError::line).toList());
+        assertTrue(report.errors().get(0).message().startsWith("title:"));
+        assertTrue(report.errors().get(2).message().contains("no user with email stranger@example.com"));
+
+        List<Task> imported = insertedBatches.stream().flatMap(List::stream).toList();
+        assertEquals(List.of("First", "Second", "Third"), imported.stream().map(Task::getTitle).toList());
+        assertEquals("Spans\ntwo lines", imported.get(0).getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, imported.get(0).getStatus());
+        assertEquals(LocalDate.of(2030, 1, 31), imported.get(0).getDueDate());
+        assertEquals(2L, imported.get(0).getAssignee().getId());
+        assertEquals("Has \"quotes\", and a comma", imported.get(1).getDescription());
+        assertSame(owner, imported.get(2).getCreatedBy());
+
+        ArgumentCaptor<TaskCounterDelta> deltas = ArgumentCaptor.forClass(TaskCounterDelta.class);
+        verify(taskCounterService, times(report.batches())).applyDelta(eq(10L), deltas.capture());
+        TaskCounterDelta total = deltas.getAllValues().stream().reduce(TaskCounterDelta.ZERO, TaskCounterDelta::plus);
+        assertEquals(new TaskCounterDelta(1, 1, 1, 0, 0, 1), total);
+        verify(eventPublisher, times(3)).publishEvent(any(TaskEvent.class));
+    }
+
+    @Test
+    void importTasks_Ndjson_ShouldRejectMalformedLinesAndKeepGoing() throws Exception {
+        // Given
+        String ndjson = "{\"title\":\"One\",\"description\":\"First\"}\n"
+                + "{not json}\n"
+                + "\n"
+                + "{\"title\":\"Two\",\"description\":\"Second\",\"status\":\"done\"}\n"
+                + "{\"title\":\"Three\",\"description\":\"Third\",\"dueDate\":\"2030-02-01\"}\n";
+
+        // When
+        TaskImportReport report = importService.importTasks(1L, 10L, TaskExportFormat.NDJSON, stream(ndjson));
+
+        // Then
+        assertEquals(4, report.rowsRead());
+        assertEquals(2, report.imported());
+        assertEquals(List.of(2L, 4L), report.errors().stream().map(TaskImportReport.RowError::line).toList());
+        assertEquals(List.of(2, 0), List.of(insertedBatches.get(0).size(), insertedBatches.size() - 1));
+        verify(userRepository, never()).findByEmailIn(any());
+    }
+
+    @Test
+    void importTasks_LongDescription_ShouldBeImportedButLongTitleRejected() throws Exception {
+        // Given
+        String description = "d".repeat(5000);
+        String ndjson = "{\"title\":\"Long\",\"description\":\"" + description + "\"}\n"
+                + "{\"title\":\"" + "t".repeat(256) + "\",\"description\":\"Short\"}\n";
+
+        // When
+        TaskImportReport report = importService.importTasks(1L, 10L, TaskExportFormat.NDJSON, stream(ndjson));
+
+        // Then
+        assertEquals(1, report.imported());
+        assertEquals(description, insertedBatches.get(0).get(0).getDescription());
+        assertEquals(List.of(2L), report.errors().stream().map(TaskImportReport.RowError::line).toList());
+        assertTrue(report.errors().get(0).message().startsWith("title:"));
+    }
+
+    @Test
+    void importTasks_ByViewer_ShouldBeRejected() {
+        // Given
+        when(projectMemberRepository.findByProjectIdAndUserId(10L, 2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class,
+                () -> importService.importTasks(2L, 10L, TaskExportFormat.CSV, stream("title\nTask\n")));
+        verify(taskRepository, never()).insertAll(any());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserRepository.UserIdView userIdView(Long id, String email) {
+        return new UserRepository.UserIdView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
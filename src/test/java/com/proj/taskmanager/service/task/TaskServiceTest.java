@@ -0,0 +1,513 @@
+package com.proj.taskmanager.service.task;
+
+import com.proj.taskmanager.dto.TaskBoardDto;
+import com.proj.taskmanager.dto.TaskInboxPage;
+import com.proj.taskmanager.dto.TaskSummaryDto;
+import com.proj.taskmanager.dto.TaskSyncPage;
+import com.proj.taskmanager.enums.TaskPriority;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.event.TaskEvent;
+import com.proj.taskmanager.event.TaskFieldChange;
+import com.proj.taskmanager.exceptions.PreconditionFailedException;
+import com.proj.taskmanager.model.CustomField;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.TaskTombstone;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TaskRepositoryCustom;
+import com.proj.taskmanager.request.task.MoveTaskReq;
+import com.proj.taskmanager.request.task.UpdateTaskReq;
+import com.proj.taskmanager.service.archive.TaskArchiveService;
+import com.proj.taskmanager.service.attachment.TaskAttachmentService;
+import com.proj.taskmanager.service.board.TaskBoardService;
+import com.proj.taskmanager.service.customfield.CustomFieldService;
+import com.proj.taskmanager.service.dependency.TaskDependencyService;
+import com.proj.taskmanager.service.label.TaskLabelService;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import com.proj.taskmanager.service.project.ProjectVersionService;
+import com.proj.taskmanager.service.time.TimeTrackingService;
+import com.proj.taskmanager.service.user.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private ProjectAccessService projectAccessService;
+
+    @Mock
+    private IUserService userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private ProjectVersionService projectVersionService;
+
+    @Mock
+    private TaskTombstoneService taskTombstoneService;
+
+    @Mock
+    private TaskDependencyService taskDependencyService;
+
+    @Mock
+    private TaskBoardService taskBoardService;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    @Mock
+    private TaskAttachmentService taskAttachmentService;
+
+    @Mock
+    private TaskLabelService taskLabelService;
+
+    @Mock
+    private CustomFieldService customFieldService;
+
+    @Mock
+    private TimeTrackingService timeTrackingService;
+
+    @Mock
+    private TaskClaimService taskClaimService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private User owner;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setId(1L);
+        owner.setEmail("owner@example.com");
+
+        project = new Project();
+        project.setId(10L);
+        project.setName("Project");
+        project.setCreatedBy(owner);
+        project.setCreatedAt(LocalDateTime.now());
+
+        task = new Task();
+        task.setId(100L);
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setStatus(TaskStatus.PENDING);
+        task.setProject(project);
+        task.setCreatedBy(owner);
+        task.setVersion(3L);
+    }
+
+    @Test
+    void updateTask_WithMatchingVersion_ShouldUpdate() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Task result = taskService.updateTask(1L, 100L, new UpdateTaskReq("New title", null, null, null, TaskPriority.HIGH), 3L);
+
+        // Then
+        assertEquals("New title", result.getTitle());
+        assertEquals(TaskPriority.HIGH, result.getPriority());
+        verify(taskRepository).save(task);
+    }
+
+    @Test
+    void updateTask_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(1L, 100L, new UpdateTaskReq("New title", null, null, null, null), 2L));
+        assertEquals("Task", task.getTitle());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTask_WithoutVersion_ShouldUpdateUnconditionally() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Task result = taskService.updateTask(1L, 100L, new UpdateTaskReq(null, "Changed", null, null, null), null);
+
+        // Then
+        assertEquals("Changed", result.getDescription());
+    }
+
+    @Test
+    void updateTask_ShouldOnlyCompareDescriptionWhenRequestChangesIt() {
+        // Given
+        Task lazyTask = spy(task);
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(lazyTask));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        taskService.updateTask(1L, 100L, new UpdateTaskReq("New title", null, null, null, null), 3L);
+
+        // Then
+        verify(lazyTask, never()).getDescription();
+
+        // When
+        taskService.updateTask(1L, 100L, new UpdateTaskReq(null, "Changed", null, null, null), null);
+
+        // Then
+        ArgumentCaptor<TaskEvent> events = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(new TaskFieldChange("title", "Task", "New title")), events.getAllValues().get(0).changes());
+        assertEquals(List.of(new TaskFieldChange("description", "Description", "Changed")), events.getAllValues().get(1).changes());
+    }
+
+    @Test
+    void updateTask_OnArchivedTask_ShouldRestoreItFirst() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.empty());
+        when(taskArchiveService.restore(100L, 1L, "update")).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Task result = taskService.updateTask(1L, 100L, new UpdateTaskReq("Reopened", null, null, null, null), 3L);
+
+        // Then
+        assertEquals("Reopened", result.getTitle());
+        verify(taskArchiveService).restore(100L, 1L, "update");
+    }
+
+    @Test
+    void setTaskLabels_ShouldReplaceLabelsAndPublishTheChange() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskLabelService.getLabels(100L)).thenReturn(List.of("bug"));
+        when(projectVersionService.markChanged(10L)).thenReturn(7L);
+        when(taskLabelService.replaceLabels(10L, 100L, List.of("backend", "urgent"))).thenReturn(List.of("bug"));
+
+        // When
+        Task result = taskService.setTaskLabels(1L, 100L, List.of("Urgent", " backend ", "urgent"), 3L);
+
+        // Then
+        assertEquals(7L, result.getSyncVersion());
+        ArgumentCaptor<TaskEvent> event = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskEvent.Type.UPDATED, event.getValue().type());
+        assertEquals(List.of(new TaskFieldChange("labels", "bug", "backend,urgent")), event.getValue().changes());
+    }
+
+    @Test
+    void setTaskLabels_WithUnchangedLabels_ShouldNotWrite() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskLabelService.getLabels(100L)).thenReturn(List.of("bug"));
+
+        // When
+        taskService.setTaskLabels(1L, 100L, List.of("BUG"), null);
+
+        // Then
+        verify(taskLabelService, never()).replaceLabels(anyLong(), anyLong(), any());
+        verify(projectVersionService, never()).markChanged(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void setTaskCustomFields_ShouldStoreValuesAndPublishTheChanges() {
+        // Given
+        Map<String, Object> values = Map.of("story_points", 5);
+        List<TaskFieldChange> changes = List.of(new TaskFieldChange("customFields.story_points", null, "5"));
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(customFieldService.update(10L, 100L, null, values))
+                .thenReturn(new CustomFieldService.Update(Map.of("3", 5L), changes));
+        when(projectVersionService.markChanged(10L)).thenReturn(7L);
+
+        // When
+        Task result = taskService.setTaskCustomFields(1L, 100L, values, 3L);
+
+        // Then
+        assertEquals(Map.of("3", 5L), result.getCustomFields());
+        assertEquals(7L, result.getSyncVersion());
+        ArgumentCaptor<TaskEvent> event = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(changes, event.getValue().changes());
+    }
+
+    @Test
+    void claimNextTask_ShouldAssignTheLockedTaskAndQueueItsStamp() {
+        // Given
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(userService.getUserById(1L)).thenReturn(owner);
+        when(taskRepository.lockNextClaimable(10L)).thenReturn(Optional.of(100L));
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<Task> result = taskService.claimNextTask(1L, 10L);
+
+        // Then
+        assertEquals(owner, result.orElseThrow().getAssignee());
+        verify(taskClaimService).recordClaim(10L, 100L, 1L);
+        verify(projectVersionService, never()).markChanged(anyLong());
+        verifyNoInteractions(taskCounterService, eventPublisher);
+    }
+
+    @Test
+    void claimNextTask_WithNothingLeft_ShouldReturnEmptyWithoutWriting() {
+        // Given
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(userService.getUserById(1L)).thenReturn(owner);
+        when(taskRepository.lockNextClaimable(10L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Task> result = taskService.claimNextTask(1L, 10L);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(taskClaimService, eventPublisher);
+    }
+
+    @Test
+    void updateTaskStatus_ValidTransition_ShouldChangeStatus() {
+        // Given
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Task result = taskService.updateTaskStatus(1L, 100L, TaskStatus.IN_PROGRESS, 3L);
+
+        // Then
+        assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
+        assertNotNull(result.getUpdatedAt());
+    }
+
+    @Test
+    void updateTaskStatus_InvalidTransition_ShouldThrow() {
+        // Given
+        task.setStatus(TaskStatus.CANCELLED);
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskService.updateTaskStatus(1L, 100L, TaskStatus.COMPLETED, null));
+        assertTrue(exception.getMessage().contains("Cannot move task"));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void moveTask_BetweenNeighbours_ShouldOnlyRewriteMovedTask() {
+        // Given
+        Task above = boardTask(101L, TaskStatus.IN_PROGRESS, "i1");
+        Task below = boardTask(102L, TaskStatus.IN_PROGRESS, "i2");
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(101L)).thenReturn(Optional.of(above));
+        when(taskRepository.findById(102L)).thenReturn(Optional.of(below));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectVersionService.markChanged(10L)).thenReturn(8L);
+        when(taskBoardService.rankBetween(10L, TaskStatus.IN_PROGRESS, 100L, above, below)).thenReturn("i1i");
+
+        // When
+        Task result = taskService.moveTask(1L, 100L, new MoveTaskReq(TaskStatus.IN_PROGRESS, 101L, 102L), 3L);
+
+        // Then
+        assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
+        assertEquals("i1i", result.getBoardRank());
+        assertEquals(8L, result.getSyncVersion());
+        verify(taskRepository).save(task);
+        verify(taskRepository, never()).save(above);
+        verify(taskRepository, never()).save(below);
+    }
+
+    @Test
+    void moveTask_NextToTaskInAnotherColumn_ShouldThrow() {
+        // Given
+        Task other = boardTask(101L, TaskStatus.COMPLETED, "i1");
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(101L)).thenReturn(Optional.of(other));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskService.moveTask(1L, 100L, new MoveTaskReq(null, 101L, null), null));
+        assertTrue(exception.getMessage().contains("PENDING column"));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void getBoard_ShouldListEveryStatusWithTotalsAndContinuation() {
+        // Given
+        Task first = boardTask(101L, TaskStatus.PENDING, "i0");
+        Task second = boardTask(102L, TaskStatus.PENDING, "i1");
+        Task done = boardTask(103L, TaskStatus.COMPLETED, "i0");
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(taskRepository.findBoard(10L, 2)).thenReturn(List.of(
+                new TaskRepositoryCustom.BoardRow(first, 5), new TaskRepositoryCustom.BoardRow(second, 5),
+                new TaskRepositoryCustom.BoardRow(done, 1)));
+
+        // When
+        TaskBoardDto board = taskService.getBoard(1L, 10L, 2);
+
+        // Then
+        assertEquals(TaskStatus.values().length, board.columns().size());
+        TaskBoardDto.Column pending = board.columns().get(TaskStatus.PENDING.ordinal());
+        assertEquals(5, pending.total());
+        assertEquals(List.of(101L, 102L), pending.tasks().stream().map(TaskSummaryDto::getId).toList());
+        assertEquals(102L, pending.nextAfter());
+        TaskBoardDto.Column completed = board.columns().get(TaskStatus.COMPLETED.ordinal());
+        assertEquals(1, completed.total());
+        assertNull(completed.nextAfter());
+        assertEquals(0, board.columns().get(TaskStatus.IN_PROGRESS.ordinal()).total());
+    }
+
+    @Test
+    void taskStatus_Transitions() {
+        assertTrue(TaskStatus.PENDING.canTransitionTo(TaskStatus.IN_PROGRESS));
+        assertTrue(TaskStatus.IN_PROGRESS.canTransitionTo(TaskStatus.COMPLETED));
+        assertTrue(TaskStatus.COMPLETED.canTransitionTo(TaskStatus.IN_PROGRESS));
+        assertTrue(TaskStatus.CANCELLED.canTransitionTo(TaskStatus.PENDING));
+        assertFalse(TaskStatus.COMPLETED.canTransitionTo(TaskStatus.CANCELLED));
+        assertFalse(TaskStatus.PENDING.canTransitionTo(TaskStatus.PENDING));
+        assertFalse(TaskStatus.PENDING.canTransitionTo(null));
+    }
+
+    @Test
+    void syncTasks_ShouldMergeChangesAndDeletionsInOrder() {
+        // Given
+        Task later = new Task();
+        later.setId(101L);
+        later.setTitle("Later");
+        later.setStatus(TaskStatus.PENDING);
+        later.setProject(project);
+        later.setSyncVersion(7L);
+        task.setSyncVersion(5L);
+        TaskTombstone tombstone = new TaskTombstone(10L, 99L, 6L);
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(projectVersionService.getPurgedThrough(10L)).thenReturn(0L);
+        when(taskRepository.findChangedSince(eq(10L), eq(4L), eq(0L), any())).thenReturn(List.of(task, later));
+        when(taskTombstoneService.findDeletedSince(10L, 4L, 0L, 3)).thenReturn(List.of(tombstone));
+        CustomField points = new CustomField();
+        points.setId(5L);
+        points.setKey("story_points");
+        when(taskRepository.findDetails(List.of(100L, 101L))).thenReturn(List.of(
+                new TaskDetails(100L, "Loaded with the page", Map.of("5", 3, "4", "deleted field")),
+                new TaskDetails(101L, null, null)));
+        when(customFieldService.getDefinitions(10L)).thenReturn(List.of(points));
+
+        // When
+        TaskSyncPage page = taskService.syncTasks(1L, 10L, "4.0", 2);
+
+        // Then
+        assertEquals(List.of(100L), page.changed().stream().map(dto -> dto.getId()).toList());
+        assertEquals("Loaded with the page", page.changed().get(0).getDescription());
+        assertEquals(Map.of("story_points", 3), page.changed().get(0).getCustomFields());
+        assertEquals(List.of(99L), page.deleted());
+        assertEquals("6.99", page.cursor());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void syncTasks_WithCursorOlderThanTombstones_ShouldRequireReset() {
+        // Given
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(projectVersionService.getPurgedThrough(10L)).thenReturn(50L);
+
+        // When
+        TaskSyncPage page = taskService.syncTasks(1L, 10L, "20.100", 100);
+
+        // Then
+        assertTrue(page.resetRequired());
+        verify(taskRepository, never()).findChangedSince(anyLong(), anyLong(), anyLong(), any());
+        verify(taskTombstoneService, never()).findDeletedSince(anyLong(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void syncTasks_ForDeletedProject_ShouldReportProjectDeleted() {
+        // Given
+        when(projectRepository.findById(10L)).thenReturn(Optional.empty());
+        when(taskTombstoneService.isProjectDeleted(10L)).thenReturn(true);
+
+        // When
+        TaskSyncPage page = taskService.syncTasks(1L, 10L, "20.100", 100);
+
+        // Then
+        assertTrue(page.projectDeleted());
+    }
+
+    @Test
+    void getAssignedTasks_ShouldContinueWithUndatedTasksAfterTheDatedOnes() {
+        // Given
+        task.setDueDate(LocalDate.of(2026, 3, 1));
+        task.setAssignee(owner);
+        Task undated = boardTask(102L, TaskStatus.PENDING, "i0");
+        Task undatedLater = boardTask(105L, TaskStatus.PENDING, "i1");
+        when(taskRepository.findAssignedDueAfter(eq(1L), eq(LocalDate.of(2026, 2, 1)), eq(7L), any())).thenReturn(List.of(task));
+        when(taskRepository.findAssignedUndatedAfter(eq(1L), eq(0L), any())).thenReturn(List.of(undated, undatedLater));
+
+        // When
+        TaskInboxPage page = taskService.getAssignedTasks(1L, "2026-02-01.7", 2);
+
+        // Then
+        assertEquals(List.of(100L, 102L), page.tasks().stream().map(dto -> dto.getId()).toList());
+        assertEquals("-.102", page.nextCursor());
+    }
+
+    @Test
+    void getAssignedTasks_WithUndatedCursor_ShouldSkipDatedTasks() {
+        // Given
+        when(taskRepository.findAssignedUndatedAfter(eq(1L), eq(102L), any())).thenReturn(List.of(boardTask(105L, TaskStatus.PENDING, "i1")));
+
+        // When
+        TaskInboxPage page = taskService.getAssignedTasks(1L, "-.102", 2);
+
+        // Then
+        assertEquals(List.of(105L), page.tasks().stream().map(dto -> dto.getId()).toList());
+        assertNull(page.nextCursor());
+        verify(taskRepository, never()).findAssignedDueAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    private Task boardTask(Long id, TaskStatus status, String boardRank) {
+        Task boardTask = new Task();
+        boardTask.setId(id);
+        boardTask.setStatus(status);
+        boardTask.setProject(project);
+        boardTask.setBoardRank(boardRank);
+        return boardTask;
+    }
+}
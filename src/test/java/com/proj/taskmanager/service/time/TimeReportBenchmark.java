@@ -0,0 +1,166 @@
+package com.proj.taskmanager.service.time;
+
+import com.proj.taskmanager.dto.ProjectTimeReportDto;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Time of a one-year project report read from the weekly rollups, against summing the same year straight from
+ * time_entries, as a project grows from 10k to 500k entries. The rollup report should stay flat. Entries are
+ * seeded with batched inserts and the rollups rebuilt with one grouped insert per dimension, which is what
+ * TimeTrackingService would have left behind; one entry per size is then logged through the service.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TimeReportBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TimeTrackingService.class, ProjectAccessService.class})
+class TimeReportBenchmark {
+    private static final int[] ENTRIES = {10_000, 100_000, 500_000};
+    private static final int TASKS = 200;
+    private static final int USERS = 20;
+    private static final int WEEKS = 52;
+    private static final int REPORTS = 200;
+    private static final int BATCH = 5_000;
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void report() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDate lastWeek = TimeTrackingService.weekStart(LocalDate.now());
+        LocalDate firstWeek = lastWeek.minusWeeks(WEEKS - 1);
+        List<Long> userIds = new ArrayList<>();
+        Project project = transactionTemplate.execute(status -> seed(userIds));
+        List<Long> taskIds = taskRepository.findByProjectId(project.getId()).stream().map(Task::getId).toList();
+        Long ownerId = userIds.get(0);
+
+        Random random = new Random(42);
+        int seeded = 0;
+        for (int entries : ENTRIES) {
+            while (seeded < entries) {
+                int size = Math.min(BATCH, entries - seeded);
+                insertEntries(project.getId(), taskIds, userIds, firstWeek, size, random);
+                seeded += size;
+            }
+            rebuildRollups();
+            timeTrackingService.logTime(ownerId, taskIds.get(0), 30, LocalDate.now(), null);
+
+            // Untimed round first, so the smallest size is not measuring the JIT
+            for (int i = 0; i < REPORTS; i++) {
+                timeTrackingService.getProjectReport(ownerId, project.getId(), firstWeek, lastWeek, null);
+            }
+            ProjectTimeReportDto report = null;
+            long started = System.nanoTime();
+            for (int i = 0; i < REPORTS; i++) {
+                report = timeTrackingService.getProjectReport(ownerId, project.getId(), firstWeek, lastWeek, null);
+            }
+            double rollupMs = (System.nanoTime() - started) / 1e6 / REPORTS;
+
+            Long summed = null;
+            started = System.nanoTime();
+            for (int i = 0; i < REPORTS; i++) {
+                summed = jdbcTemplate.queryForObject("SELECT SUM(minutes) FROM time_entries WHERE project_id = ? " +
+                        "AND spent_on BETWEEN ? AND ?", Long.class, project.getId(), firstWeek, lastWeek.plusDays(6));
+            }
+            double scanMs = (System.nanoTime() - started) / 1e6 / REPORTS;
+
+            assertEquals(summed, report.minutes());
+            System.out.printf("%7d entries: rollup report %.3f ms, summing entries %.3f ms%n", seeded + 1, rollupMs, scanMs);
+            jdbcTemplate.update("DELETE FROM time_entries WHERE id = (SELECT MAX(id) FROM time_entries)");
+        }
+    }
+
+    private void insertEntries(Long projectId, List<Long> taskIds, List<Long> userIds, LocalDate firstWeek,
+                               int count, Random random) {
+        List<Object[]> rows = new ArrayList<>(count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{projectId, taskIds.get(random.nextInt(taskIds.size())),
+                    userIds.get(random.nextInt(userIds.size())),
+                    Date.valueOf(firstWeek.plusDays(random.nextInt(WEEKS * 7))), 15 + random.nextInt(240), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO time_entries (project_id, task_id, user_id, spent_on, minutes, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void rebuildRollups() {
+        jdbcTemplate.update("DELETE FROM time_rollups");
+        String week = "DATEADD(DAY, 1 - ISO_DAY_OF_WEEK(spent_on), spent_on)";
+        for (String[] dimension : new String[][]{{"PROJECT", "project_id"}, {"TASK", "task_id"}, {"USER", "user_id"}}) {
+            jdbcTemplate.update("INSERT INTO time_rollups (project_id, dimension, subject_id, week_start, minutes, entries, updated_at) " +
+                    "SELECT project_id, '" + dimension[0] + "', " + dimension[1] + ", " + week + ", SUM(minutes), COUNT(*), " +
+                    "CURRENT_TIMESTAMP FROM time_entries GROUP BY project_id, " + dimension[1] + ", " + week);
+        }
+    }
+
+    private Project seed(List<Long> userIds) {
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("Bench");
+            user.setLastName("Mark " + i);
+            user.setEmail("time-bench-" + i + "@example.com");
+            user.setPassword("password");
+            userIds.add(userRepository.save(user).getId());
+        }
+        Project project = new Project();
+        project.setName("Timesheets");
+        project.setCreatedBy(userRepository.getReferenceById(userIds.get(0)));
+        project.setCreatedAt(LocalDateTime.now());
+        projectRepository.save(project);
+
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(TaskStatus.PENDING);
+            task.setProject(project);
+            task.setCreatedBy(project.getCreatedBy());
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            taskRepository.save(task);
+        }
+        return project;
+    }
+}
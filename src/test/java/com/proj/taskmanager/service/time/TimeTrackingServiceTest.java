@@ -0,0 +1,244 @@
+package com.proj.taskmanager.service.time;
+
+import com.proj.taskmanager.dto.ProjectTimeReportDto;
+import com.proj.taskmanager.dto.TaskTimeReportDto;
+import com.proj.taskmanager.dto.TimeEntryDto;
+import com.proj.taskmanager.dto.TimeEntryPage;
+import com.proj.taskmanager.dto.TimeWeekDto;
+import com.proj.taskmanager.enums.ProjectRole;
+import com.proj.taskmanager.enums.TaskStatus;
+import com.proj.taskmanager.model.Project;
+import com.proj.taskmanager.model.ProjectMember;
+import com.proj.taskmanager.model.Task;
+import com.proj.taskmanager.model.User;
+import com.proj.taskmanager.repository.ProjectMemberRepository;
+import com.proj.taskmanager.repository.ProjectRepository;
+import com.proj.taskmanager.repository.TaskRepository;
+import com.proj.taskmanager.repository.TimeEntryRepository;
+import com.proj.taskmanager.repository.UserRepository;
+import com.proj.taskmanager.service.project.ProjectAccessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against committed data: logging time commits in its own transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TimeTrackingService.class, ProjectAccessService.class})
+class TimeTrackingServiceTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private TimeEntryRepository entryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private User editor;
+    private User viewer;
+    private Project project;
+    private Task design;
+    private Task review;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            owner = saveUser("owner@example.com");
+            editor = saveUser("editor@example.com");
+            viewer = saveUser("viewer@example.com");
+
+            project = new Project();
+            project.setName("Website");
+            project.setCreatedBy(owner);
+            project.setCreatedAt(LocalDateTime.now());
+            projectRepository.save(project);
+
+            saveMember(editor, ProjectRole.EDITOR);
+            saveMember(viewer, ProjectRole.VIEWER);
+
+            design = saveTask("Design");
+            review = saveTask("Review");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM time_rollups");
+        jdbcTemplate.update("DELETE FROM time_entries");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_members");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void logTime_ShouldRollUpPerTaskUserAndWeek() {
+        // Given
+        timeTrackingService.logTime(owner.getId(), design.getId(), 60, MONDAY, "Wireframes");
+        timeTrackingService.logTime(owner.getId(), review.getId(), 30, MONDAY.plusDays(6), null);
+        timeTrackingService.logTime(editor.getId(), design.getId(), 45, MONDAY.plusDays(7), "  ");
+
+        // When
+        TaskTimeReportDto task = timeTrackingService.getTaskReport(viewer.getId(), design.getId());
+        ProjectTimeReportDto all = timeTrackingService.getProjectReport(viewer.getId(), project.getId(),
+                MONDAY.plusDays(2), MONDAY.plusDays(13), null);
+        ProjectTimeReportDto mine = timeTrackingService.getProjectReport(editor.getId(), project.getId(),
+                MONDAY, MONDAY.plusDays(7), editor.getId());
+
+        // Then
+        assertEquals(105, task.minutes());
+        assertEquals(List.of(new TimeWeekDto(MONDAY, 60, 1), new TimeWeekDto(MONDAY.plusWeeks(1), 45, 1)), task.weeks());
+
+        assertEquals(MONDAY, all.from());
+        assertEquals(MONDAY.plusWeeks(1), all.to());
+        assertEquals(135, all.minutes());
+        assertEquals(3, all.entries());
+        assertEquals(List.of(new TimeWeekDto(MONDAY, 90, 2), new TimeWeekDto(MONDAY.plusWeeks(1), 45, 1)), all.weeks());
+        assertEquals(List.of(new ProjectTimeReportDto.UserTotal(owner.getId(), 90, 2),
+                new ProjectTimeReportDto.UserTotal(editor.getId(), 45, 1)), all.users());
+
+        assertEquals(45, mine.minutes());
+        assertEquals(List.of(new TimeWeekDto(MONDAY.plusWeeks(1), 45, 1)), mine.weeks());
+    }
+
+    @Test
+    void logTime_ShouldRejectViewersAndInvalidEntries() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> timeTrackingService.logTime(viewer.getId(), design.getId(), 30, MONDAY, null));
+        assertThrows(RuntimeException.class, () -> timeTrackingService.logTime(owner.getId(), design.getId(), 0, MONDAY, null));
+        assertThrows(RuntimeException.class, () -> timeTrackingService.logTime(owner.getId(), design.getId(), 1441, MONDAY, null));
+        assertThrows(RuntimeException.class, () -> timeTrackingService.logTime(owner.getId(), design.getId(), 30,
+                LocalDate.now().plusDays(1), null));
+        assertEquals(0, entryRepository.count());
+    }
+
+    @Test
+    void logTime_ConcurrentFirstEntriesOfAWeek_ShouldAllBeCounted() throws Exception {
+        // Given
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<TimeEntryDto>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < writers; i++) {
+            results.add(executor.submit(() -> timeTrackingService.logTime(owner.getId(), design.getId(), 10, MONDAY, null)));
+        }
+        for (Future<TimeEntryDto> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // Then
+        TaskTimeReportDto report = timeTrackingService.getTaskReport(owner.getId(), design.getId());
+        assertEquals(List.of(new TimeWeekDto(MONDAY, 80, 8)), report.weeks());
+    }
+
+    @Test
+    void deleteEntry_ShouldTakeItOutOfTheRollups() {
+        // Given
+        TimeEntryDto first = timeTrackingService.logTime(editor.getId(), design.getId(), 60, MONDAY, null);
+        TimeEntryDto second = timeTrackingService.logTime(editor.getId(), design.getId(), 15, MONDAY, null);
+
+        // When
+        assertThrows(RuntimeException.class, () -> timeTrackingService.deleteEntry(viewer.getId(), first.id()));
+        timeTrackingService.deleteEntry(editor.getId(), first.id());
+        timeTrackingService.deleteEntry(owner.getId(), second.id());
+
+        // Then
+        TaskTimeReportDto report = timeTrackingService.getTaskReport(owner.getId(), design.getId());
+        assertEquals(0, report.minutes());
+        assertTrue(report.weeks().isEmpty());
+        assertTrue(timeTrackingService.getProjectReport(owner.getId(), project.getId(), MONDAY, MONDAY, null).users().isEmpty());
+    }
+
+    @Test
+    void deleteForTask_ShouldRemoveItsEntriesAndShrinkProjectAndUserTotals() {
+        // Given
+        timeTrackingService.logTime(owner.getId(), design.getId(), 60, MONDAY, null);
+        timeTrackingService.logTime(editor.getId(), design.getId(), 20, MONDAY.plusWeeks(1), null);
+        timeTrackingService.logTime(owner.getId(), review.getId(), 30, MONDAY, null);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                timeTrackingService.deleteForTask(project.getId(), design.getId()));
+
+        // Then
+        ProjectTimeReportDto report = timeTrackingService.getProjectReport(owner.getId(), project.getId(),
+                MONDAY, MONDAY.plusWeeks(1), null);
+        assertEquals(30, report.minutes());
+        assertEquals(List.of(new TimeWeekDto(MONDAY, 30, 1)), report.weeks());
+        assertEquals(List.of(new ProjectTimeReportDto.UserTotal(owner.getId(), 30, 1)), report.users());
+        assertTrue(timeTrackingService.getTaskReport(owner.getId(), design.getId()).weeks().isEmpty());
+        TimeEntryPage entries = timeTrackingService.getEntries(owner.getId(), review.getId(), null, 10);
+        assertEquals(1, entries.entries().size());
+        assertNull(entries.nextBefore());
+        assertEquals(1, entryRepository.count());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail(email);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private void saveMember(User user, ProjectRole role) {
+        ProjectMember member = new ProjectMember();
+        member.setUser(user);
+        member.setProject(project);
+        member.setRole(role);
+        projectMemberRepository.save(member);
+    }
+
+    private Task saveTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        task.setProject(project);
+        task.setCreatedBy(owner);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return taskRepository.save(task);
+    }
+}